@@ -2,7 +2,6 @@ package aitoa.algorithms;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.Arrays;
 import java.util.Random;
 
 import aitoa.structure.IBinarySearchOperator;
@@ -117,6 +116,15 @@ public final class EA<X, Y> extends Metaheuristic2<X, Y> {
 // create local variables
     final Random random = process.getRandom();
     final ISpace<X> searchSpace = process.getSearchSpace();
+    final int[] genotype = IntPopulation.create(searchSpace);
+    if (genotype != null) { // use structure of arrays
+      try (final IntPopulation pop = IntPopulation
+          .allocate(this.mu + this.lambda, genotype.length)) {
+        this.solveInt((IBlackBoxProcess<int[], Y>) process,
+            genotype, pop);
+      }
+      return;
+    }
     int p2; // to hold index of second selected record
 
     final Record<X>[] P = new Record[this.mu + this.lambda];
@@ -134,8 +142,8 @@ public final class EA<X, Y> extends Metaheuristic2<X, Y> {
     }
 
     for (;;) { // main loop: one iteration = one generation
-// sort the population: mu best records at front are selected
-      Arrays.sort(P, Record.BY_QUALITY);
+// select the mu best records and move them to the front
+      Utils.selectBest(P, this.mu);
 // shuffle the first mu solutions to ensure fairness
       RandomUtils.shuffle(random, P, 0, this.mu);
       int p1 = -1; // index to iterate over first parent
@@ -174,6 +182,67 @@ public final class EA<X, Y> extends Metaheuristic2<X, Y> {
   }
 // end relevant
 
+  /**
+   * The same algorithm as {@link #solve(IBlackBoxProcess)}, but
+   * for {@code int[]} genotypes stored in an
+   * {@link IntPopulation}. The selected parents are copied out
+   * of the population once per generation.
+   *
+   * @param process
+   *          the black box process
+   * @param x
+   *          the array to hold the offspring
+   * @param pop
+   *          the population
+   */
+  @SuppressWarnings("unchecked")
+  private void solveInt(final IBlackBoxProcess<int[], Y> process,
+      final int[] x, final IntPopulation pop) {
+    final Random random = process.getRandom();
+    final INullarySearchOperator<int[]> nullary =
+        (INullarySearchOperator<int[]>) this.nullary;
+    final IUnarySearchOperator<int[]> unary =
+        (IUnarySearchOperator<int[]>) this.unary;
+    final IBinarySearchOperator<int[]> binary =
+        (IBinarySearchOperator<int[]>) this.binary;
+    int p2;
+
+    for (int i = pop.size(); (--i) >= 0;) {
+      nullary.apply(x, random);
+      pop.set(i, x, process.evaluate(x));
+      if (process.shouldTerminate()) {
+        return;
+      }
+    }
+
+    final int[][] parents = new int[this.mu][x.length];
+    for (;;) {
+      pop.selectBest(this.mu);
+      pop.shuffle(random, 0, this.mu);
+      for (int i = this.mu; (--i) >= 0;) {
+        pop.get(i, parents[i]);
+      }
+      int p1 = -1;
+
+      for (int index = pop.size(); (--index) >= this.mu;) {
+        if (process.shouldTerminate()) {
+          return;
+        }
+        p1 = (p1 + 1) % this.mu;
+        final int[] sel = parents[p1];
+        if (random.nextDouble() <= this.cr) {
+          do {
+            p2 = random.nextInt(this.mu);
+          } while (p2 == p1);
+          binary.apply(sel, parents[p2], x, random);
+        } else {
+          unary.apply(sel, x, random);
+        }
+        pop.set(index, x, process.evaluate(x));
+      }
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public void printSetup(final Writer output)
@@ -48,6 +48,12 @@ public final class EA1p1<X, Y> extends Metaheuristic1<X, Y> {
   @Override
 // start relevant
   public void solve(final IBlackBoxProcess<X, Y> process) {
+// end relevant
+    if (process.canEvaluateBounded()) {
+      this.solveBounded(process);
+      return;
+    }
+// start relevant
 // initialize local variables xCur, xBest, random
     final X xCur = process.getSearchSpace().create();
     final X xBest = process.getSearchSpace().create();
@@ -71,6 +77,38 @@ public final class EA1p1<X, Y> extends Metaheuristic1<X, Y> {
   } // process will have remembered the best candidate solution
 // end relevant
 
+  /**
+   * Solve the problem like {@link #solve(IBlackBoxProcess)}, but
+   * pass the smallest value larger than the current best
+   * objective value as cutoff to the process, which then may
+   * stop the evaluation of a candidate solution early once it
+   * cannot be accepted. This follows exactly the same search
+   * trajectory.
+   *
+   * @param process
+   *          the process
+   */
+  private void solveBounded(
+      final IBlackBoxProcess<X, Y> process) {
+    final X xCur = process.getSearchSpace().create();
+    final X xBest = process.getSearchSpace().create();
+    final Random random = process.getRandom();
+
+    this.nullary.apply(xBest, random);
+    double fBest = process.evaluate(xBest);
+
+    while (!process.shouldTerminate()) {
+      this.unary.apply(xBest, xCur, random);
+// values equal to fBest are accepted, so they must be exact
+      final double fCur =
+          process.evaluate(xCur, Math.nextUp(fBest));
+      if (fCur <= fBest) {
+        fBest = fCur;
+        process.getSearchSpace().copy(xCur, xBest);
+      }
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
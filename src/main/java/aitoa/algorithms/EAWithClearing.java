@@ -33,6 +33,15 @@ import aitoa.utils.RandomUtils;
  * problems where these values are integers. In numerical
  * problems, we could, e.g., base the comparisons on some
  * similarity thresholds.
+ * <p>
+ * If {@link #hashing} is enabled, the search operators maintain
+ * {@linkplain aitoa.utils.ZobristHash hashes} of the genotypes.
+ * Two individuals are then only considered as equal if they have
+ * the same quality and the same hash, so different genotypes
+ * with the same quality can survive together. Furthermore, an
+ * offspring with the same hash as one of its parents is a
+ * duplicate and is not evaluated again: it receives the quality
+ * of its parent and is cleared in the next generation.
  *
  * @param <X>
  *          the search space
@@ -50,6 +59,8 @@ public final class EAWithClearing<X, Y>
   public final int mu;
   /** the number of offsprings per generation */
   public final int lambda;
+  /** should the genotypes be compared via their hashes? */
+  public final boolean hashing;
 
   /**
    * Create a new instance of the evolutionary algorithm with
@@ -72,6 +83,36 @@ public final class EAWithClearing<X, Y>
       final IUnarySearchOperator<X> pUnary,
       final IBinarySearchOperator<X> pBinary, final double pCr,
       final int pMu, final int pLambda) {
+    this(pNullary, pUnary, pBinary, pCr, pMu, pLambda, false);
+  }
+
+  /**
+   * Create a new instance of the evolutionary algorithm with
+   * clearing
+   *
+   * @param pNullary
+   *          the nullary search operator.
+   * @param pUnary
+   *          the unary search operator
+   * @param pBinary
+   *          the binary search operator
+   * @param pCr
+   *          the crossover rate
+   * @param pMu
+   *          the number of parents to be selected
+   * @param pLambda
+   *          the number of offspring to be created
+   * @param pHashing
+   *          should the genotypes be compared via their hashes?
+   *          This requires that the search operators
+   *          {@linkplain IUnarySearchOperator#canHash() can
+   *          compute hashes}. Offspring identical to a parent
+   *          are then not evaluated and hence consume no FE.
+   */
+  public EAWithClearing(final INullarySearchOperator<X> pNullary,
+      final IUnarySearchOperator<X> pUnary,
+      final IBinarySearchOperator<X> pBinary, final double pCr,
+      final int pMu, final int pLambda, final boolean pHashing) {
     super(pNullary, pUnary, pBinary);
     if ((pCr < 0d) || (pCr > 1d) || (!(Double.isFinite(pCr)))) {
       throw new IllegalArgumentException(
@@ -92,6 +133,12 @@ public final class EAWithClearing<X, Y>
           "Invalid lambda: " + pLambda); //$NON-NLS-1$
     }
     this.lambda = pLambda;
+    if (pHashing && !(pNullary.canHash() && pUnary.canHash()
+        && ((pCr <= 0d) || pBinary.canHash()))) {
+      throw new IllegalArgumentException(
+          "Hashing requires operators that can hash."); //$NON-NLS-1$
+    }
+    this.hashing = pHashing;
   }
 
   /** {@inheritDoc} */
@@ -106,6 +153,19 @@ public final class EAWithClearing<X, Y>
 // create local variables
     final Random random = process.getRandom();
     final ISpace<X> searchSpace = process.getSearchSpace();
+    final int[] genotype = IntPopulation.create(searchSpace);
+    if (genotype != null) { // use structure of arrays
+      try (final IntPopulation pop = IntPopulation
+          .allocate(this.mu + this.lambda, genotype.length)) {
+        this.solveInt((IBlackBoxProcess<int[], Y>) process,
+            genotype, pop);
+      }
+      return;
+    }
+    if (this.hashing) {
+      this.solveHashed(process);
+      return;
+    }
     int p2;
 
     final Record<X>[] P = new Record[this.mu + this.lambda];
@@ -152,6 +212,174 @@ public final class EAWithClearing<X, Y>
   }
 // end relevant
 
+  /**
+   * The same algorithm as {@link #solve(IBlackBoxProcess)}, but
+   * with genotype hashes stored in {@link HashRecord}s, which
+   * are used for clearing and for recognizing offspring that are
+   * duplicates of their parents.
+   * <p>
+   * Such a duplicate takes over the objective value of its
+   * parent without being passed to
+   * {@link IBlackBoxProcess#evaluate(Object)}, so it consumes
+   * no FE. A run with hashing therefore performs more
+   * generations within the same FE budget than the same run
+   * without, and the two are not directly comparable in terms
+   * of FEs. If two different points have the same hash, which
+   * is very unlikely, the offspring receives the objective value
+   * of its parent although it was never evaluated.
+   *
+   * @param process
+   *          the black box process
+   */
+  @SuppressWarnings("unchecked")
+  private void
+      solveHashed(final IBlackBoxProcess<X, Y> process) {
+    final Random random = process.getRandom();
+    final ISpace<X> searchSpace = process.getSearchSpace();
+    int p2;
+
+    final HashRecord<X>[] P =
+        new HashRecord[this.mu + this.lambda];
+    for (int i = P.length; (--i) >= 0;) {
+      final X x = searchSpace.create();
+      final long hash = this.nullary.applyHashed(x, random);
+      P[i] = new HashRecord<>(x, process.evaluate(x), hash);
+      if (process.shouldTerminate()) {
+        return;
+      }
+    }
+
+    while (!process.shouldTerminate()) {
+      RandomUtils.shuffle(random, P, 0, P.length);
+      final int u = Utils.hashBasedClearing(P, this.mu);
+      RandomUtils.shuffle(random, P, 0, u);
+      int p1 = -1;
+      for (int index = P.length; (--index) >= u;) {
+        if (process.shouldTerminate()) {
+          return;
+        }
+        final HashRecord<X> dest = P[index];
+        p1 = (p1 + 1) % u;
+        final HashRecord<X> sel = P[p1];
+        if ((u >= 2) && (random.nextDouble() <= this.cr)) {
+          do {
+            p2 = random.nextInt(u);
+          } while (p2 == p1);
+          dest.hash = this.binary.applyHashed(sel.x, sel.hash,
+              P[p2].x, P[p2].hash, dest.x, random);
+        } else {
+          p2 = p1;
+          dest.hash = this.unary.applyHashed(sel.x, sel.hash,
+              dest.x, random);
+        }
+// an offspring identical to a parent needs no evaluation
+        if (dest.hash == sel.hash) {
+          dest.quality = sel.quality;
+        } else {
+          if (dest.hash == P[p2].hash) {
+            dest.quality = P[p2].quality;
+          } else {
+            dest.quality = process.evaluate(dest.x);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * The same algorithm as {@link #solve(IBlackBoxProcess)}, but
+   * for {@code int[]} genotypes stored in an
+   * {@link IntPopulation}. The selected parents are copied out
+   * of the population once per generation.
+   *
+   * @param process
+   *          the black box process
+   * @param x
+   *          the array to hold the offspring
+   * @param pop
+   *          the population
+   */
+  @SuppressWarnings("unchecked")
+  private void solveInt(final IBlackBoxProcess<int[], Y> process,
+      final int[] x, final IntPopulation pop) {
+    final Random random = process.getRandom();
+    final INullarySearchOperator<int[]> nullary =
+        (INullarySearchOperator<int[]>) this.nullary;
+    final IUnarySearchOperator<int[]> unary =
+        (IUnarySearchOperator<int[]>) this.unary;
+    final IBinarySearchOperator<int[]> binary =
+        (IBinarySearchOperator<int[]>) this.binary;
+    int p2;
+
+    final boolean useHashes = this.hashing;
+    long hash = 0L;
+
+    for (int i = pop.size(); (--i) >= 0;) {
+      if (useHashes) {
+        hash = nullary.applyHashed(x, random);
+      } else {
+        nullary.apply(x, random);
+      }
+      pop.set(i, x, process.evaluate(x));
+      pop.setHash(i, hash);
+      if (process.shouldTerminate()) {
+        return;
+      }
+    }
+
+    final int[][] parents = new int[this.mu][x.length];
+    final long[] hashes = new long[this.mu];
+    while (!process.shouldTerminate()) {
+      pop.shuffle(random, 0, pop.size());
+      final int u = useHashes ? pop.hashBasedClearing(this.mu)
+          : pop.qualityBasedClearing(this.mu);
+      pop.shuffle(random, 0, u);
+      for (int i = u; (--i) >= 0;) {
+        pop.get(i, parents[i]);
+        hashes[i] = pop.getHash(i);
+      }
+      int p1 = -1;
+      for (int index = pop.size(); (--index) >= u;) {
+        if (process.shouldTerminate()) {
+          return;
+        }
+        p1 = (p1 + 1) % u;
+        final int[] sel = parents[p1];
+        if ((u >= 2) && (random.nextDouble() <= this.cr)) {
+          do {
+            p2 = random.nextInt(u);
+          } while (p2 == p1);
+          if (useHashes) {
+            hash = binary.applyHashed(sel, hashes[p1],
+                parents[p2], hashes[p2], x, random);
+          } else {
+            binary.apply(sel, parents[p2], x, random);
+          }
+        } else {
+          p2 = p1;
+          if (useHashes) {
+            hash = unary.applyHashed(sel, hashes[p1], x, random);
+          } else {
+            unary.apply(sel, x, random);
+          }
+        }
+// the parents are still at indices p1 and p2 < u
+        final double quality;
+        if (useHashes && (hash == hashes[p1])) {
+          quality = pop.getQuality(p1);
+        } else {
+          if (useHashes && (hash == hashes[p2])) {
+            quality = pop.getQuality(p2);
+          } else {
+            quality = process.evaluate(x);
+          }
+        }
+        pop.set(index, x, quality);
+        pop.setHash(index, hash);
+      }
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public void printSetup(final Writer output)
@@ -168,6 +396,8 @@ public final class EAWithClearing<X, Y>
     output.write(System.lineSeparator());
     output.write(LogFormat.mapEntry("clearing", true)); //$NON-NLS-1$
     output.write(System.lineSeparator());
+    output.write(LogFormat.mapEntry("hashing", this.hashing)); //$NON-NLS-1$
+    output.write(System.lineSeparator());
     output.write(LogFormat.mapEntry("restarts", false)); //$NON-NLS-1$
     output.write(System.lineSeparator());
   }
@@ -175,8 +405,9 @@ public final class EAWithClearing<X, Y>
   /** {@inheritDoc} */
   @Override
   public String toString() {
-    return Experiment.nameFromObjectsMerge(((((("eac_" + //$NON-NLS-1$
-        this.mu) + '+') + this.lambda) + '@') + this.cr),
+    return Experiment.nameFromObjectsMerge((((((//
+    (this.hashing ? "eacg_" : "eac_") //$NON-NLS-1$//$NON-NLS-2$
+        + this.mu) + '+') + this.lambda) + '@') + this.cr),
         this.unary, this.binary);
   }
 // start relevant
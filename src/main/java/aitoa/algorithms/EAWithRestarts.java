@@ -2,7 +2,6 @@ package aitoa.algorithms;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.Arrays;
 import java.util.Random;
 
 import aitoa.structure.IBinarySearchOperator;
@@ -123,8 +122,8 @@ public final class EAWithRestarts<X, Y>
 // main loop: one iteration = one generation
         ++nonImprovedGen; // assume no improvement
 
-// sort the P: mu best records at front are selected
-        Arrays.sort(P, Record.BY_QUALITY);
+// select the mu best records and move them to the front
+        Utils.selectBest(P, this.mu);
 // shuffle mating pool to ensure fairness if lambda<mu
         RandomUtils.shuffle(random, P, 0, this.mu);
         int p1 = -1; // index to iterate over first parent
@@ -2,7 +2,6 @@ package aitoa.algorithms;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.Arrays;
 import java.util.Objects;
 import java.util.Random;
 
@@ -85,6 +84,15 @@ public final class EDA<X, Y> extends Metaheuristic0<X, Y> {
 // end relevant
     final Random random = process.getRandom();
     final ISpace<X> searchSpace = process.getSearchSpace();
+    final int[] genotype = IntPopulation.create(searchSpace);
+    if (genotype != null) { // use structure of arrays
+      try (final IntPopulation pop = IntPopulation
+          .allocate(this.lambda, genotype.length)) {
+        this.solveInt((IBlackBoxProcess<int[], Y>) process,
+            genotype, pop);
+      }
+      return;
+    }
     final IModel<X> M = this.model;
 
     final Record<X>[] P = new Record[this.lambda];
@@ -111,7 +119,7 @@ public final class EDA<X, Y> extends Metaheuristic0<X, Y> {
           continue restart;
         }
 // start relevant
-        Arrays.sort(P, Record.BY_QUALITY);
+        Utils.sortBest(P, this.mu);
 // update model with mu<lambda best solutions
         M.update(IModel.use(P, 0, this.mu));
 
@@ -130,6 +138,64 @@ public final class EDA<X, Y> extends Metaheuristic0<X, Y> {
   }
 // end relevant
 
+  /**
+   * The same algorithm as {@link #solve(IBlackBoxProcess)}, but
+   * for {@code int[]} genotypes stored in an
+   * {@link IntPopulation}. The selected genotypes are copied
+   * into reusable records for updating the model.
+   *
+   * @param process
+   *          the black box process
+   * @param x
+   *          the array to hold the new genotypes
+   * @param pop
+   *          the population
+   */
+  @SuppressWarnings("unchecked")
+  private void solveInt(final IBlackBoxProcess<int[], Y> process,
+      final int[] x, final IntPopulation pop) {
+    final Random random = process.getRandom();
+    final INullarySearchOperator<int[]> nullary =
+        (INullarySearchOperator<int[]>) this.nullary;
+    final IModel<int[]> M = (IModel<int[]>) this.model;
+
+    final Record<int[]>[] selected = new Record[this.mu];
+    for (int i = selected.length; (--i) >= 0;) {
+      selected[i] = new Record<>(new int[x.length], 0d);
+    }
+
+    restart: while (!process.shouldTerminate()) {
+      M.initialize();
+      for (int i = pop.size(); (--i) >= 0;) {
+        nullary.apply(x, random);
+        pop.set(i, x, process.evaluate(x));
+        if (process.shouldTerminate()) {
+          return;
+        }
+      }
+
+      for (;;) {
+        if (this.mu < M.minimumSamplesNeededForUpdate()) {
+          continue restart;
+        }
+        pop.sortBest(this.mu);
+        for (int i = this.mu; (--i) >= 0;) {
+          pop.get(i, selected[i].x);
+          selected[i].quality = pop.getQuality(i);
+        }
+        M.update(IModel.use(selected, 0, this.mu));
+
+        for (int i = 0; i < pop.size(); i++) {
+          M.apply(x, random);
+          pop.set(i, x, process.evaluate(x));
+          if (process.shouldTerminate()) {
+            return;
+          }
+        }
+      }
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public void printSetup(final Writer output)
@@ -0,0 +1,33 @@
+package aitoa.algorithms;
+
+import aitoa.structure.Record;
+
+/**
+ * A record which also stores the
+ * {@linkplain aitoa.utils.ZobristHash hash} of its point in the
+ * search space, as used by algorithms that detect duplicate
+ * genotypes
+ *
+ * @param <X>
+ *          the search space
+ */
+final class HashRecord<X> extends Record<X> {
+
+  /** the hash of the point in the search space */
+  long hash;
+
+  /**
+   * create the record
+   *
+   * @param pX
+   *          the point in the search space
+   * @param pQ
+   *          the quality
+   * @param pHash
+   *          the hash of the point
+   */
+  HashRecord(final X pX, final double pQ, final long pHash) {
+    super(pX, pQ);
+    this.hash = pHash;
+  }
+}
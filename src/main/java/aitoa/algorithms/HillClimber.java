@@ -49,6 +49,10 @@ public final class HillClimber<X, Y>
   public void solve(final IBlackBoxProcess<X, Y> process) {
 // initialize local variables xCur, xBest, random
 // end relevant
+    if (process.canEvaluateBounded()) {
+      this.solveBounded(process);
+      return;
+    }
     final X xCur = process.getSearchSpace().create();
     final X xBest = process.getSearchSpace().create();
     final Random random = process.getRandom();// get random gen
@@ -71,6 +75,35 @@ public final class HillClimber<X, Y>
   } // `process` has remembered the best candidate solution.
 // end relevant
 
+  /**
+   * Solve the problem like {@link #solve(IBlackBoxProcess)}, but
+   * pass the current best objective value as cutoff to the
+   * process, which then may stop the evaluation of a candidate
+   * solution early once it cannot be better. This follows
+   * exactly the same search trajectory.
+   *
+   * @param process
+   *          the process
+   */
+  private void solveBounded(
+      final IBlackBoxProcess<X, Y> process) {
+    final X xCur = process.getSearchSpace().create();
+    final X xBest = process.getSearchSpace().create();
+    final Random random = process.getRandom();
+
+    this.nullary.apply(xBest, random);
+    double fBest = process.evaluate(xBest);
+
+    while (!process.shouldTerminate()) {
+      this.unary.apply(xBest, xCur, random);
+      final double fCur = process.evaluate(xCur, fBest);
+      if (fCur < fBest) {
+        fBest = fCur;
+        process.getSearchSpace().copy(xCur, xBest);
+      }
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
@@ -1,10 +1,13 @@
 package aitoa.algorithms;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Random;
 
 import aitoa.structure.IBlackBoxProcess;
 import aitoa.structure.INullarySearchOperator;
 import aitoa.structure.IUnarySearchOperator;
+import aitoa.structure.LogFormat;
 import aitoa.structure.Metaheuristic1;
 import aitoa.utils.Experiment;
 
@@ -33,6 +36,9 @@ import aitoa.utils.Experiment;
 public final class HillClimber2<X, Y>
     extends Metaheuristic1<X, Y> {
 // end relevant
+  /** the number of threads used to evaluate the neighborhood */
+  public final int threads;
+
   /**
    * Create the hill climber
    *
@@ -43,7 +49,25 @@ public final class HillClimber2<X, Y>
    */
   public HillClimber2(final INullarySearchOperator<X> pNullary,
       final IUnarySearchOperator<X> pUnary) {
+    this(pNullary, pUnary, 1);
+  }
+
+  /**
+   * Create the hill climber
+   *
+   * @param pNullary
+   *          the nullary search operator.
+   * @param pUnary
+   *          the unary search operator
+   * @param pThreads
+   *          the number of threads used to evaluate the
+   *          neighborhood, {@code 1} for sequential evaluation
+   */
+  public HillClimber2(final INullarySearchOperator<X> pNullary,
+      final IUnarySearchOperator<X> pUnary, final int pThreads) {
     super(pNullary, pUnary);
+    this.threads =
+        ParallelFirstImprovement.checkThreads(pThreads);
     if (!pUnary.canEnumerate()) {
       throw new IllegalArgumentException(//
           "Unary operator cannot enumerate neighborhood."); //$NON-NLS-1$
@@ -54,6 +78,19 @@ public final class HillClimber2<X, Y>
   @Override
 // start relevant
   public void solve(final IBlackBoxProcess<X, Y> process) {
+// end relevant
+    final ParallelFirstImprovement<X> parallel =
+        ParallelFirstImprovement.create(process, this.unary,
+            this.threads);
+    if (parallel != null) {
+      this.solveParallel(process, parallel);
+      return;
+    }
+    if (process.canEvaluateBounded()) {
+      this.solveBounded(process);
+      return;
+    }
+// start relevant
 // init local variables xCur, xBest, n random, fBest, improved
     final X xCur = process.getSearchSpace().create();
     final X xBest = process.getSearchSpace().create();
@@ -85,6 +122,84 @@ public final class HillClimber2<X, Y>
   } // process will have remembered the best candidate solution
 // end relevant
 
+  /**
+   * Solve the problem like {@link #solve(IBlackBoxProcess)}, but
+   * pass the current best objective value as cutoff to the
+   * process, which then may stop the evaluation of a neighbor
+   * early once it cannot be better. This follows exactly the
+   * same search trajectory.
+   *
+   * @param process
+   *          the process
+   */
+  private void solveBounded(
+      final IBlackBoxProcess<X, Y> process) {
+    final X xCur = process.getSearchSpace().create();
+    final X xBest = process.getSearchSpace().create();
+    final Random random = process.getRandom();
+    boolean improved = true;
+
+    this.nullary.apply(xBest, random);
+    final double[] fBest = { process.evaluate(xBest) };
+
+    while (improved && !process.shouldTerminate()) {
+      improved = this.unary.enumerate(random, xBest, xCur, x -> {
+        final double fCur = process.evaluate(x, fBest[0]);
+        if (fCur < fBest[0]) {
+          fBest[0] = fCur;
+          process.getSearchSpace().copy(x, xBest);
+          return true;
+        }
+        return process.shouldTerminate();
+      });
+    }
+  }
+
+  /**
+   * Solve the problem while evaluating the neighborhood in
+   * parallel. If the unary operator enumerates the neighborhood
+   * in a deterministic order, this follows exactly the same
+   * search trajectory as the sequential version. Operators with
+   * a randomized order may use the random number generator
+   * differently in their parallel enumeration, in which case the
+   * trajectories differ.
+   *
+   * @param process
+   *          the process
+   * @param parallel
+   *          the parallel local search step
+   */
+  private void solveParallel(
+      final IBlackBoxProcess<X, Y> process,
+      final ParallelFirstImprovement<X> parallel) {
+    final X xCur = process.getSearchSpace().create();
+    final X xBest = process.getSearchSpace().create();
+    final Random random = process.getRandom();
+
+    this.nullary.apply(xBest, random);
+    double fBest = process.evaluate(xBest);
+
+    while (!process.shouldTerminate()) {
+      final double fNew =
+          parallel.step(random, xBest, xCur, fBest);
+      if (fNew >= fBest) {
+        return; // local optimum or termination
+      }
+      fBest = fNew;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printSetup(final Writer output)
+      throws IOException {
+    super.printSetup(output);
+    if (this.threads > 1) {
+      output.write(LogFormat.mapEntry("threads", this.threads)); //$NON-NLS-1$
+      output.write(System.lineSeparator());
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
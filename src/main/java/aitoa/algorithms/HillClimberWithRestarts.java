@@ -110,6 +110,10 @@ public final class HillClimberWithRestarts<X, Y>
 // start relevant
   public void solve(final IBlackBoxProcess<X, Y> process) {
 // end relevant
+    if (process.canEvaluateBounded()) {
+      this.solveBounded(process);
+      return;
+    }
     final X xCur = process.getSearchSpace().create();
     final X xBest = process.getSearchSpace().create();
     final Random random = process.getRandom();// get random gen
@@ -140,6 +144,43 @@ public final class HillClimberWithRestarts<X, Y>
   } // process has stored best-so-far result
 // end relevant
 
+  /**
+   * Solve the problem like {@link #solve(IBlackBoxProcess)}, but
+   * pass the best objective value of the current restart as
+   * cutoff to the process, which then may stop the evaluation of
+   * a candidate solution early once it cannot be better. This
+   * follows exactly the same search trajectory.
+   *
+   * @param process
+   *          the process
+   */
+  private void solveBounded(
+      final IBlackBoxProcess<X, Y> process) {
+    final X xCur = process.getSearchSpace().create();
+    final X xBest = process.getSearchSpace().create();
+    final Random random = process.getRandom();
+
+    while (!(process.shouldTerminate())) {
+      this.nullary.apply(xBest, random);
+      double fBest = process.evaluate(xBest);
+      long failCounter = 0L;
+
+      while (!(process.shouldTerminate())) {
+        this.unary.apply(xBest, xCur, random);
+        final double fCur = process.evaluate(xCur, fBest);
+        if (fCur < fBest) {
+          fBest = fCur;
+          process.getSearchSpace().copy(xCur, xBest);
+          failCounter = 0L;
+        } else {
+          if ((++failCounter) >= this.failsBeforeRestart) {
+            break;
+          }
+        }
+      }
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public void printSetup(final Writer output)
@@ -2,7 +2,6 @@ package aitoa.algorithms;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.Arrays;
 import java.util.Objects;
 import java.util.Random;
 
@@ -36,6 +35,8 @@ public final class HybridEDA<X, Y> extends Metaheuristic1<X, Y> {
   public final int lambda;
   /** the maximum number of local search steps */
   public final int maxLSSteps;
+  /** the number of threads used to evaluate the neighborhood */
+  public final int threads;
   /** the model */
   public final IModel<?> model;
 
@@ -59,6 +60,32 @@ public final class HybridEDA<X, Y> extends Metaheuristic1<X, Y> {
       final IUnarySearchOperator<X> pUnary, final int pMu,
       final int pLambda, final int pMaxLSSteps,
       final IModel<?> pModel) {
+    this(pNullary, pUnary, pMu, pLambda, pMaxLSSteps, pModel, 1);
+  }
+
+  /**
+   * Create a new instance of the estimation of distribution
+   *
+   * @param pNullary
+   *          the nullary search operator.
+   * @param pUnary
+   *          the unary search operator
+   * @param pMu
+   *          the number of solution to be selected
+   * @param pLambda
+   *          the number of new points per generation
+   * @param pMaxLSSteps
+   *          the maximum number of local search steps
+   * @param pModel
+   *          the model
+   * @param pThreads
+   *          the number of threads used to evaluate the
+   *          neighborhood, {@code 1} for sequential evaluation
+   */
+  public HybridEDA(final INullarySearchOperator<X> pNullary,
+      final IUnarySearchOperator<X> pUnary, final int pMu,
+      final int pLambda, final int pMaxLSSteps,
+      final IModel<?> pModel, final int pThreads) {
     super(pNullary, pUnary);
     if ((pLambda < 1) || (pLambda > 1_000_000)) {
       throw new IllegalArgumentException(
@@ -79,6 +106,8 @@ public final class HybridEDA<X, Y> extends Metaheuristic1<X, Y> {
               + pMaxLSSteps);
     }
     this.maxLSSteps = pMaxLSSteps;
+    this.threads =
+        ParallelFirstImprovement.checkThreads(pThreads);
 
     this.model = Objects.requireNonNull(pModel);
     if (!(this.unary.canEnumerate())) {
@@ -98,6 +127,9 @@ public final class HybridEDA<X, Y> extends Metaheuristic1<X, Y> {
     boolean improved;
     final Record<X>[] P = new Record[this.lambda];
     final X temp = searchSpace.create();
+    final ParallelFirstImprovement<X> parallel =
+        ParallelFirstImprovement.create(process, this.unary,
+            this.threads);
 
     restart: while (!process.shouldTerminate()) {
 // the initialization of local variables is omitted for brevity
@@ -117,17 +149,25 @@ public final class HybridEDA<X, Y> extends Metaheuristic1<X, Y> {
         for (final Record<X> ind : P) {
           int steps = this.maxLSSteps;
           do { // local search in style of HillClimber2
-            improved = this.unary.enumerate(random, ind.x, temp, //
-                point -> {
-                  final double newQuality =
-                      process.evaluate(point);
-                  if (newQuality < ind.quality) { // better?
-                    ind.quality = newQuality; // store quality
-                    searchSpace.copy(point, ind.x); // store
-                    return (true); // exit to next loop
-                  } // if we get here, point is not better
-                  return process.shouldTerminate();
-                }); // repeat until no improvement or time up
+            if (parallel != null) {
+              final double quality = parallel.step(random,
+                  ind.x, temp, ind.quality);
+              improved = (quality < ind.quality);
+              ind.quality = quality;
+            } else {
+              improved = this.unary.enumerate(random, ind.x,
+                  temp, //
+                  point -> {
+                    final double newQuality =
+                        process.evaluate(point, ind.quality);
+                    if (newQuality < ind.quality) { // better?
+                      ind.quality = newQuality; // store quality
+                      searchSpace.copy(point, ind.x); // store
+                      return (true); // exit to next loop
+                    } // if we get here, point is not better
+                    return process.shouldTerminate();
+                  }); // repeat until no improvement or time up
+            }
             if (process.shouldTerminate()) { // we return
               return; // best solution is stored in process
             }
@@ -137,7 +177,7 @@ public final class HybridEDA<X, Y> extends Metaheuristic1<X, Y> {
         if (this.mu < M.minimumSamplesNeededForUpdate()) {
           continue restart;
         }
-        Arrays.sort(P, Record.BY_QUALITY);
+        Utils.sortBest(P, this.mu);
         M.update(IModel.use(P, 0, this.mu)); // update
 
 // sample new population
@@ -171,6 +211,10 @@ public final class HybridEDA<X, Y> extends Metaheuristic1<X, Y> {
     output.write(System.lineSeparator());
     output.write(LogFormat.mapEntry("clearing", false));//$NON-NLS-1$
     output.write(System.lineSeparator());
+    if (this.threads > 1) {
+      output.write(LogFormat.mapEntry("threads", this.threads)); //$NON-NLS-1$
+      output.write(System.lineSeparator());
+    }
     if ((this.model != this.nullary)
         && (this.model != this.unary)) {
       this.model.printSetup(output);
@@ -2,7 +2,6 @@ package aitoa.algorithms;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.Arrays;
 import java.util.Objects;
 import java.util.Random;
 
@@ -121,7 +120,7 @@ public final class HybridEDAWithClearing<X, Y>
             improved = this.unary.enumerate(random, ind.x, temp, //
                 point -> {
                   final double newQuality =
-                      process.evaluate(point);
+                      process.evaluate(point, ind.quality);
                   if (newQuality < ind.quality) { // better?
                     ind.quality = newQuality; // store quality
                     searchSpace.copy(point, ind.x); // store
@@ -135,7 +134,6 @@ public final class HybridEDAWithClearing<X, Y>
           } while (improved && ((--steps) > 0));
         }
 
-        Arrays.sort(P, Record.BY_QUALITY);
         final int u = Utils.qualityBasedClearing(P, this.mu);
         if (u < M.minimumSamplesNeededForUpdate()) {
           continue restart;
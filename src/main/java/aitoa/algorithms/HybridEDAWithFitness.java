@@ -124,7 +124,7 @@ public final class HybridEDAWithFitness<X, Y>
             improved = this.unary.enumerate(random, ind.x, temp, //
                 point -> {
                   final double newQuality =
-                      process.evaluate(point);
+                      process.evaluate(point, ind.quality);
                   if (newQuality < ind.quality) { // better?
                     // point
                     ind.quality = newQuality; // store quality
@@ -6,11 +6,43 @@ import java.util.Arrays;
  * A very simple implementation of frequency fitness assignment,
  * based on the assumption that all objective values are positive
  * integers.
+ * <p>
+ * If the range of possible objective values is small, the
+ * frequencies are kept in a table directly indexed by the
+ * objective value. For large ranges, such as the makespan upper
+ * bounds of big JSSP instances, such a table would occupy
+ * hundreds of megabytes while only comparatively few different
+ * values are ever encountered during a run. In this case, the
+ * frequencies are kept in a primitive open-addressing hash map
+ * whose size grows with the number of distinct objective values
+ * actually seen. Both variants assign exactly the same fitness.
  */
 public final class IntFFA
     extends FitnessAssignmentProcess<Object> {
-  /** the frequency table **/
+
+  /**
+   * the largest maximum quality for which a directly indexed
+   * frequency table is used
+   */
+  static final int DENSE_LIMIT = (1 << 20) - 1;
+  /** the initial capacity of the hash map, a power of two */
+  private static final int SPARSE_CAPACITY = 1 << 10;
+  /** the key marking an empty slot in the hash map */
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  /**
+   * the frequency table indexed by objective value, or
+   * {@code null} if the hash map is used
+   */
   private final long[] mFrequencies;
+  /** the keys of the hash map */
+  private long[] mKeys;
+  /** the frequencies stored in the hash map */
+  private long[] mCounts;
+  /** the number of used slots in the hash map */
+  private int mSize;
+  /** the shift turning a hash code into a slot index */
+  private int mShift;
 
   /**
    * create the integer FFA table
@@ -20,30 +52,151 @@ public final class IntFFA
    */
   public IntFFA(final int pMax) {
     super();
-    this.mFrequencies = new long[pMax + 1];
+    if (pMax <= IntFFA.DENSE_LIMIT) {
+      this.mFrequencies = new long[pMax + 1];
+    } else {
+      this.mFrequencies = null;
+      this.allocate(IntFFA.SPARSE_CAPACITY);
+    }
+  }
+
+  /**
+   * Does this instance use a hash map instead of a directly
+   * indexed table?
+   *
+   * @return {@code true} if the hash map is used, {@code false}
+   *         otherwise
+   */
+  boolean isSparse() {
+    return (this.mFrequencies == null);
+  }
+
+  /**
+   * allocate empty hash map arrays
+   *
+   * @param capacity
+   *          the capacity, a power of two
+   */
+  private void allocate(final int capacity) {
+    this.mKeys = new long[capacity];
+    Arrays.fill(this.mKeys, IntFFA.EMPTY);
+    this.mCounts = new long[capacity];
+    this.mSize = 0;
+    this.mShift = Integer.numberOfLeadingZeros(capacity) + 33;
+  }
+
+  /**
+   * Get the slot index for a given key in the hash map
+   *
+   * @param key
+   *          the key
+   * @return the slot holding the key, or the empty slot where it
+   *         should be placed
+   */
+  private int slot(final long key) {
+    final long[] keys = this.mKeys;
+    final int mask = keys.length - 1;
+    int index =
+        (int) ((key * 0x9E3779B97F4A7C15L) >>> this.mShift);
+    for (;;) {
+      final long k = keys[index];
+      if ((k == key) || (k == IntFFA.EMPTY)) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+  }
+
+  /** double the capacity of the hash map */
+  private void grow() {
+    final long[] keys = this.mKeys;
+    final long[] counts = this.mCounts;
+    this.allocate(keys.length << 1);
+    for (int i = keys.length; (--i) >= 0;) {
+      final long key = keys[i];
+      if (key != IntFFA.EMPTY) {
+        final int index = this.slot(key);
+        this.mKeys[index] = key;
+        this.mCounts[index] = counts[i];
+        ++this.mSize;
+      }
+    }
+  }
+
+  /**
+   * Increment the frequency of a given objective value in the
+   * hash map
+   *
+   * @param key
+   *          the objective value
+   */
+  private void increment(final long key) {
+    int index = this.slot(key);
+    if (this.mKeys[index] == IntFFA.EMPTY) {
+// keep the load factor at or below 0.5
+      if ((this.mSize << 1) >= this.mKeys.length) {
+        this.grow();
+        index = this.slot(key);
+      }
+      this.mKeys[index] = key;
+      ++this.mSize;
+    }
+    ++this.mCounts[index];
   }
 
   /** {@inheritDoc} */
   @Override
   public void initialize() {
-    Arrays.fill(this.mFrequencies, 0L);
+    if (this.mFrequencies != null) {
+      Arrays.fill(this.mFrequencies, 0L);
+    } else {
+      Arrays.fill(this.mKeys, IntFFA.EMPTY);
+      Arrays.fill(this.mCounts, 0L);
+      this.mSize = 0;
+    }
   }
 
   /** {@inheritDoc} */
   @Override
   public void assignFitness(
       final FitnessRecord<? extends Object>[] pop) {
+    final long[] frequencies = this.mFrequencies;
+    if (frequencies == null) {
+      this.assignFitnessSparse(pop);
+      return;
+    }
+    for (final FitnessRecord<? extends Object> ind : pop) {
+      final double d = ind.quality;
+      if (Double.isFinite(d)) {
+        ++frequencies[((int) (d))];
+      }
+    }
+    for (final FitnessRecord<? extends Object> ind : pop) {
+      final double d = ind.quality;
+      ind.fitness = Double.isFinite(d) ? frequencies[((int) (d))]
+          : Double.POSITIVE_INFINITY;
+    }
+  }
+
+  /**
+   * Assign the fitness using the hash map
+   *
+   * @param pop
+   *          the array of records
+   */
+  private void assignFitnessSparse(
+      final FitnessRecord<? extends Object>[] pop) {
     for (final FitnessRecord<? extends Object> ind : pop) {
       final double d = ind.quality;
       if (Double.isFinite(d)) {
-        ++this.mFrequencies[((int) (d))];
+        this.increment((int) (d));
       }
     }
     for (final FitnessRecord<? extends Object> ind : pop) {
       final double d = ind.quality;
-      ind.fitness =
-          Double.isFinite(d) ? this.mFrequencies[((int) (d))]
-              : Double.POSITIVE_INFINITY;
+      ind.fitness = Double.isFinite(d)
+          ? this.mCounts[this.slot((int) (d))]
+          : Double.POSITIVE_INFINITY;
     }
   }
 
@@ -0,0 +1,753 @@
+package aitoa.algorithms;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Random;
+
+import aitoa.structure.ISpace;
+import aitoa.utils.RandomUtils;
+
+/**
+ * A population of {@code int[]} genotypes of the same length,
+ * stored as a structure of arrays: All genotypes are kept in one
+ * contiguous {@code int[]} slab and their qualities in one
+ * primitive {@code double[]} column. The order of the population
+ * is an index permutation over the slots of the slab, so sorting
+ * and shuffling only move {@code int} indices and never touch
+ * the genotypes themselves.
+ * <p>
+ * This container offers the same operations that the
+ * population-based algorithms perform on their arrays of
+ * {@link aitoa.structure.Record}s, and it performs them in
+ * exactly the same way: {@link #sort()} is stable like
+ * {@link java.util.Arrays#sort(Object[], java.util.Comparator)},
+ * {@link #shuffle(Random, int, int)} consumes the same random
+ * numbers as
+ * {@link RandomUtils#shuffle(Random, Object[], int, int)}, and
+ * {@link #selectBest(int)}, {@link #sortBest(int)}, and
+ * {@link #qualityBasedClearing(int)} behave like their
+ * counterparts in {@link Utils}.
+ * An algorithm running on this container therefore makes the
+ * same decisions as it would on records. Algorithms such as
+ * {@link EA}, {@link EAWithClearing}, {@link MA}, and
+ * {@link EDA} use it automatically if their search space is
+ * based on {@code int[]}.
+ * <p>
+ * Very large populations can keep their genes off-heap, in
+ * direct {@link IntBuffer} slabs. The garbage collector then
+ * neither has to copy nor to account for hundreds of
+ * megabytes of long-lived genes, which would otherwise lengthen
+ * its pauses and distort runtime-based budgets. Direct memory
+ * is only returned when the garbage collector finds its buffer
+ * unreachable, so {@link #close() closing} a population hands
+ * its slabs to a pool of the calling thread instead. The next
+ * off-heap population with slabs of the same sizes created in
+ * this thread, e.g., in the next run of the same algorithm on
+ * the same instance, reuses them. Each pool only keeps the
+ * slabs of the population closed last.
+ * {@link #allocate(int, int)} chooses this storage
+ * automatically for large populations. The search
+ * operators still work on {@code int[]} genotypes that are
+ * copied in and out via {@link #get(int, int[])} and
+ * {@link #set(int, int[], double)}, or they can access the genes
+ * of a genotype in place via {@link #view(int)}.
+ */
+public final class IntPopulation implements AutoCloseable {
+
+  /** the length of the runs sorted by insertion sort */
+  private static final int RUN = 32;
+  /**
+   * the number of genes from which on
+   * {@link #allocate(int, int)} stores them off-heap: 16Mi
+   * genes, i.e., 64MiB
+   */
+  static final int OFF_HEAP_THRESHOLD = 1 << 24;
+  /** the default maximum number of genes per off-heap slab */
+  private static final int SLAB_LENGTH = 1 << 24;
+  /** the zeros used to clear reused slabs */
+  private static final byte[] ZEROS = new byte[1 << 13];
+  /** the slabs released by the calling thread */
+  private static final ThreadLocal<ArrayList<ByteBuffer>> POOL =
+      ThreadLocal.withInitial(ArrayList::new);
+
+  /** the length of each genotype */
+  private final int mLength;
+  /**
+   * the genes of all genotypes, one block per slot, or
+   * {@code null} if they are stored off-heap
+   */
+  private final int[] mGenes;
+  /**
+   * the off-heap slabs with the genes, or {@code null} if they
+   * are stored on the heap
+   */
+  private final IntBuffer[] mSlabs;
+  /**
+   * the memory of the off-heap slabs, or {@code null} if the
+   * genes are stored on the heap
+   */
+  private final ByteBuffer[] mMemory;
+  /** the number of slots per off-heap slab */
+  private final int mSlotsPerSlab;
+  /** the quality of the genotype in each slot */
+  private final double[] mQuality;
+  /** is the genotype in a slot known to be a local optimum? */
+  private final boolean[] mOptimum;
+  /** the hash of the genotype in each slot */
+  private final long[] mHash;
+  /** the slots, in population order */
+  private final int[] mOrder;
+  /** the temporary array used for sorting */
+  private final int[] mTemp;
+
+  /**
+   * create the population
+   *
+   * @param pSize
+   *          the number of genotypes
+   * @param pLength
+   *          the length of each genotype
+   */
+  public IntPopulation(final int pSize, final int pLength) {
+    this(pSize, pLength, false);
+  }
+
+  /**
+   * create the population
+   *
+   * @param pSize
+   *          the number of genotypes
+   * @param pLength
+   *          the length of each genotype
+   * @param pOffHeap
+   *          should the genes be stored off-heap?
+   */
+  public IntPopulation(final int pSize, final int pLength,
+      final boolean pOffHeap) {
+    this(pSize, pLength, pOffHeap, IntPopulation.SLAB_LENGTH);
+  }
+
+  /**
+   * create the population
+   *
+   * @param pSize
+   *          the number of genotypes
+   * @param pLength
+   *          the length of each genotype
+   * @param pOffHeap
+   *          should the genes be stored off-heap?
+   * @param pSlabLength
+   *          the maximum number of genes per off-heap slab, at
+   *          least one genotype is stored in each slab
+   */
+  IntPopulation(final int pSize, final int pLength,
+      final boolean pOffHeap, final int pSlabLength) {
+    super();
+    if (pSize <= 0) {
+      throw new IllegalArgumentException(
+          "Population size must be positive, but is " //$NON-NLS-1$
+              + pSize);
+    }
+    if (pLength < 0) {
+      throw new IllegalArgumentException(
+          "Genotype length must not be negative, but is " //$NON-NLS-1$
+              + pLength);
+    }
+    this.mLength = pLength;
+    final int genes = Math.multiplyExact(pSize, pLength);
+    if (pOffHeap) {
+      this.mGenes = null;
+      this.mSlotsPerSlab =
+          Math.max(1, pSlabLength / Math.max(1, pLength));
+      this.mSlabs = new IntBuffer[((pSize - 1)
+          / this.mSlotsPerSlab) + 1];
+      this.mMemory = new ByteBuffer[this.mSlabs.length];
+      for (int i = 0, rest = pSize; i < this.mSlabs.length;
+          i++, rest -= this.mSlotsPerSlab) {
+        this.mMemory[i] = IntPopulation
+            .acquire(Math.multiplyExact(pLength,
+                Math.min(rest, this.mSlotsPerSlab)) << 2);
+        this.mSlabs[i] = this.mMemory[i].asIntBuffer();
+      }
+    } else {
+      this.mGenes = new int[genes];
+      this.mSlabs = null;
+      this.mMemory = null;
+      this.mSlotsPerSlab = pSize;
+    }
+    this.mQuality = new double[pSize];
+    this.mOptimum = new boolean[pSize];
+    this.mHash = new long[pSize];
+    this.mOrder = new int[pSize];
+    for (int i = pSize; (--i) >= 0;) {
+      this.mOrder[i] = i;
+    }
+    this.mTemp = new int[pSize];
+  }
+
+  /**
+   * Get a cleared direct buffer of the given size, from the pool
+   * of the calling thread if possible
+   *
+   * @param bytes
+   *          the size in bytes
+   * @return the buffer
+   */
+  private static ByteBuffer acquire(final int bytes) {
+    final ArrayList<ByteBuffer> pool = IntPopulation.POOL.get();
+    for (int i = pool.size(); (--i) >= 0;) {
+      final ByteBuffer buffer = pool.get(i);
+      if (buffer.capacity() == bytes) {
+        pool.remove(i);
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+          buffer.put(IntPopulation.ZEROS, 0,
+              Math.min(buffer.remaining(),
+                  IntPopulation.ZEROS.length));
+        }
+        buffer.clear();
+        return buffer;
+      }
+    }
+    return ByteBuffer.allocateDirect(bytes)
+        .order(ByteOrder.nativeOrder());
+  }
+
+  /**
+   * Hand the off-heap slabs of this population to the pool of
+   * the calling thread, replacing the slabs pooled before. The
+   * population must not be used afterwards. Populations storing
+   * their genes on the heap do nothing.
+   */
+  @Override
+  public void close() {
+    if ((this.mMemory == null) || (this.mMemory[0] == null)) {
+      return; // on the heap or already closed
+    }
+    final ArrayList<ByteBuffer> pool = IntPopulation.POOL.get();
+    pool.clear();
+    for (int i = this.mMemory.length; (--i) >= 0;) {
+      pool.add(this.mMemory[i]);
+      this.mMemory[i] = null;
+      this.mSlabs[i] = null;
+    }
+  }
+
+  /**
+   * Create a population, which stores its genes off-heap if
+   * there are at least {@link #OFF_HEAP_THRESHOLD} of them
+   *
+   * @param size
+   *          the number of genotypes
+   * @param length
+   *          the length of each genotype
+   * @return the population
+   */
+  public static IntPopulation allocate(final int size,
+      final int length) {
+    return new IntPopulation(size, length, (((long) size)
+        * length) >= IntPopulation.OFF_HEAP_THRESHOLD);
+  }
+
+  /**
+   * Get a point from the search space if it is an {@code int[]}
+   *
+   * @param space
+   *          the search space
+   * @return the new point, or {@code null} if the search space
+   *         is not based on {@code int[]}
+   */
+  static int[] create(final ISpace<?> space) {
+    final Object x = space.create();
+    return (x instanceof int[]) ? ((int[]) x) : null;
+  }
+
+  /**
+   * Get the number of genotypes in the population
+   *
+   * @return the number of genotypes in the population
+   */
+  public int size() {
+    return this.mOrder.length;
+  }
+
+  /**
+   * Get the length of each genotype
+   *
+   * @return the length of each genotype
+   */
+  public int length() {
+    return this.mLength;
+  }
+
+  /**
+   * Copy the genotype at a given index into an array
+   *
+   * @param index
+   *          the index in the population
+   * @param dest
+   *          the destination array
+   */
+  public void get(final int index, final int[] dest) {
+    final int slot = this.mOrder[index];
+    if (this.mGenes != null) {
+      System.arraycopy(this.mGenes, slot * this.mLength, dest, 0,
+          this.mLength);
+      return;
+    }
+    final IntBuffer slab =
+        this.mSlabs[slot / this.mSlotsPerSlab];
+    slab.position((slot % this.mSlotsPerSlab) * this.mLength);
+    slab.get(dest, 0, this.mLength);
+  }
+
+  /**
+   * Store a genotype and its quality at a given index
+   *
+   * @param index
+   *          the index in the population
+   * @param src
+   *          the genotype
+   * @param quality
+   *          the quality
+   */
+  public void set(final int index, final int[] src,
+      final double quality) {
+    final int slot = this.mOrder[index];
+    if (this.mGenes != null) {
+      System.arraycopy(src, 0, this.mGenes, slot * this.mLength,
+          this.mLength);
+    } else {
+      final IntBuffer slab =
+          this.mSlabs[slot / this.mSlotsPerSlab];
+      slab.position((slot % this.mSlotsPerSlab) * this.mLength);
+      slab.put(src, 0, this.mLength);
+    }
+    this.mQuality[slot] = quality;
+  }
+
+  /**
+   * Get a view of the genes of the genotype at a given index.
+   * The view has the {@linkplain #length() length} of a genotype
+   * and reads and writes the genes in place, without copying
+   * them. It remains attached to the slot of the genotype, i.e.,
+   * it should not be kept when the population is sorted or
+   * shuffled.
+   *
+   * @param index
+   *          the index in the population
+   * @return the view
+   */
+  public IntBuffer view(final int index) {
+    final int slot = this.mOrder[index];
+    if (this.mGenes != null) {
+      return IntBuffer.wrap(this.mGenes, slot * this.mLength,
+          this.mLength).slice();
+    }
+    final IntBuffer view =
+        this.mSlabs[slot / this.mSlotsPerSlab].duplicate();
+    final int start = (slot % this.mSlotsPerSlab) * this.mLength;
+    view.limit(start + this.mLength);
+    view.position(start);
+    return view.slice();
+  }
+
+  /**
+   * Check whether the genes are stored off-heap
+   *
+   * @return {@code true} if the genes are stored off-heap,
+   *         {@code false} if they are on the heap
+   */
+  public boolean isOffHeap() {
+    return this.mSlabs != null;
+  }
+
+  /**
+   * Get the quality of the genotype at a given index
+   *
+   * @param index
+   *          the index in the population
+   * @return the quality
+   */
+  public double getQuality(final int index) {
+    return this.mQuality[this.mOrder[index]];
+  }
+
+  /**
+   * Check whether the genotype at a given index is known to be a
+   * local optimum
+   *
+   * @param index
+   *          the index in the population
+   * @return {@code true} if it is, {@code false} otherwise
+   */
+  public boolean isOptimum(final int index) {
+    return this.mOptimum[this.mOrder[index]];
+  }
+
+  /**
+   * Set whether the genotype at a given index is known to be a
+   * local optimum
+   *
+   * @param index
+   *          the index in the population
+   * @param optimum
+   *          {@code true} if it is, {@code false} otherwise
+   */
+  public void setOptimum(final int index,
+      final boolean optimum) {
+    this.mOptimum[this.mOrder[index]] = optimum;
+  }
+
+  /**
+   * Get the {@linkplain aitoa.utils.ZobristHash hash} of the
+   * genotype at a given index
+   *
+   * @param index
+   *          the index in the population
+   * @return the hash
+   */
+  public long getHash(final int index) {
+    return this.mHash[this.mOrder[index]];
+  }
+
+  /**
+   * Set the {@linkplain aitoa.utils.ZobristHash hash} of the
+   * genotype at a given index
+   *
+   * @param index
+   *          the index in the population
+   * @param hash
+   *          the hash
+   */
+  public void setHash(final int index, final long hash) {
+    this.mHash[this.mOrder[index]] = hash;
+  }
+
+  /**
+   * Randomize the order of a sub-sequence of the population
+   *
+   * @param random
+   *          the random number generator
+   * @param start
+   *          the start index
+   * @param count
+   *          the number of genotypes to shuffle
+   */
+  public void shuffle(final Random random, final int start,
+      final int count) {
+    RandomUtils.shuffle(random, this.mOrder, start, count);
+  }
+
+  /**
+   * Sort the population by quality, best first. The sort is
+   * stable.
+   */
+  public void sort() {
+    this.sort(0, this.mOrder.length);
+  }
+
+  /**
+   * Sort a range of the population by quality, best first. The
+   * sort is stable.
+   *
+   * @param lo
+   *          the inclusive start index
+   * @param hi
+   *          the exclusive end index
+   */
+  private void sort(final int lo, final int hi) {
+    final int[] order = this.mOrder;
+    final double[] quality = this.mQuality;
+
+    for (int start = lo; start < hi;
+        start += IntPopulation.RUN) {
+      IntPopulation.insertionSort(order, quality, start,
+          Math.min(hi, start + IntPopulation.RUN));
+    }
+
+    int[] src = order;
+    int[] dst = this.mTemp;
+    for (int width = IntPopulation.RUN; width < (hi - lo);
+        width <<= 1) {
+      for (int start = lo; start < hi; start += (width << 1)) {
+        IntPopulation.merge(src, dst, quality, start,
+            Math.min(hi, start + width),
+            Math.min(hi, start + (width << 1)));
+      }
+      final int[] t = src;
+      src = dst;
+      dst = t;
+    }
+    if (src != order) {
+      System.arraycopy(src, lo, order, lo, hi - lo);
+    }
+  }
+
+  /**
+   * Sort a range of slots by insertion sort
+   *
+   * @param order
+   *          the slots
+   * @param quality
+   *          the qualities of the slots
+   * @param lo
+   *          the inclusive start index
+   * @param hi
+   *          the exclusive end index
+   */
+  private static void insertionSort(final int[] order,
+      final double[] quality, final int lo, final int hi) {
+    for (int i = lo + 1; i < hi; i++) {
+      final int slot = order[i];
+      final double q = quality[slot];
+      int j = i - 1;
+      while ((j >= lo)
+          && (Double.compare(quality[order[j]], q) > 0)) {
+        order[j + 1] = order[j];
+        j--;
+      }
+      order[j + 1] = slot;
+    }
+  }
+
+  /**
+   * Merge two adjacent sorted ranges of slots
+   *
+   * @param src
+   *          the source array
+   * @param dst
+   *          the destination array
+   * @param quality
+   *          the qualities of the slots
+   * @param lo
+   *          the start of the first range
+   * @param mid
+   *          the start of the second range
+   * @param hi
+   *          the exclusive end of the second range
+   */
+  private static void merge(final int[] src, final int[] dst,
+      final double[] quality, final int lo, final int mid,
+      final int hi) {
+    int i = lo;
+    int j = mid;
+    int k = lo;
+    while ((i < mid) && (j < hi)) {
+// take from the second range only if strictly better: stable
+      dst[k++] = (Double.compare(quality[src[j]],
+          quality[src[i]]) < 0) ? src[j++] : src[i++];
+    }
+    System.arraycopy(src, i, dst, k, mid - i);
+    System.arraycopy(src, j, dst, k + (mid - i), hi - j);
+  }
+
+  /**
+   * Put the {@code max} best genotypes with unique quality to
+   * the front of the population. This works exactly like
+   * {@link Utils#qualityBasedClearing(aitoa.structure.Record[], int)}.
+   *
+   * @param max
+   *          the maximum number of best genotypes to make unique
+   * @return the number {@code u} of unique-quality genotypes
+   *         retained, will be {@code 1<=u<=max}
+   */
+  public int qualityBasedClearing(final int max) {
+    final int sorted = this.sortUntilUnique(Math.max(1, max));
+
+    final int[] order = this.mOrder;
+    int unique = 0;
+    double lastQuality = Double.NEGATIVE_INFINITY;
+
+    for (int index = 0; index < sorted; index++) {
+      final int current = order[index];
+      final double currentQuality = this.mQuality[current];
+      if (currentQuality > lastQuality) {
+        if (index > unique) {
+          order[index] = order[unique];
+          order[unique] = current;
+        }
+        lastQuality = currentQuality;
+        if ((++unique) >= max) {
+          return unique;
+        }
+      }
+    }
+
+    return unique;
+  }
+
+  /**
+   * Put the {@code max} best unique genotypes to the front of
+   * the population, where two genotypes are equal if they have
+   * the same quality and the same
+   * {@linkplain #getHash(int) hash}. This works exactly like
+   * {@link Utils#hashBasedClearing(HashRecord[], int)}.
+   *
+   * @param max
+   *          the maximum number of best genotypes to make unique
+   * @return the number {@code u} of unique genotypes retained,
+   *         will be {@code 1<=u<=max}
+   */
+  public int hashBasedClearing(final int max) {
+    final int sorted = this.sortUntilUnique(Math.max(1, max));
+
+    final int[] order = this.mOrder;
+    final long[] hashes = this.mHash;
+    int unique = 0;
+    int group = 0;
+    double lastQuality = Double.NEGATIVE_INFINITY;
+
+    outer: for (int index = 0; index < sorted; index++) {
+      final int current = order[index];
+      final double currentQuality = this.mQuality[current];
+      if (currentQuality > lastQuality) {
+        lastQuality = currentQuality;
+        group = unique;
+      } else {
+        final long hash = hashes[current];
+        for (int i = group; i < unique; i++) {
+          if (hashes[order[i]] == hash) {
+            continue outer;
+          }
+        }
+      }
+      if (index > unique) {
+        order[index] = order[unique];
+        order[unique] = current;
+      }
+      if ((++unique) >= max) {
+        return unique;
+      }
+    }
+
+    return unique;
+  }
+
+  /**
+   * Sort the best genotypes until the sorted front contains at
+   * least {@code max} different qualities or the whole
+   * population is sorted
+   *
+   * @param max
+   *          the number of different qualities needed
+   * @return the length of the sorted front
+   */
+  private int sortUntilUnique(final int max) {
+    final int n = this.mOrder.length;
+    int sorted = 0;
+    int unique = 0;
+    double lastQuality = Double.NEGATIVE_INFINITY;
+
+    while (sorted < n) {
+      final int end = Math.min(n,
+          (sorted <= 0) ? max : (sorted << 1));
+      if (end < n) {
+        this.select(sorted, n, end);
+      }
+      this.sort(sorted, end);
+      for (int i = sorted; i < end; i++) {
+        final double quality = this.mQuality[this.mOrder[i]];
+        if (quality > lastQuality) {
+          lastQuality = quality;
+          ++unique;
+        }
+      }
+      sorted = end;
+      if (unique >= max) {
+        break;
+      }
+    }
+    return sorted;
+  }
+
+  /**
+   * Move the {@code k} best genotypes to the front of the
+   * population, in no particular order. This works exactly like
+   * {@link Utils#selectBest(aitoa.structure.Record[], int)}.
+   *
+   * @param k
+   *          the number of best genotypes to select
+   */
+  public void selectBest(final int k) {
+    if ((k > 0) && (k < this.mOrder.length)) {
+      this.select(0, this.mOrder.length, k);
+    }
+  }
+
+  /**
+   * Move the {@code k} best genotypes to the front of the
+   * population and sort them by quality. This works exactly like
+   * {@link Utils#sortBest(aitoa.structure.Record[], int)}.
+   *
+   * @param k
+   *          the number of best genotypes to select
+   */
+  public void sortBest(final int k) {
+    this.selectBest(k);
+    this.sort(0, Math.min(k, this.mOrder.length));
+  }
+
+  /**
+   * Rearrange a range of the population such that the genotype
+   * at index {@code k} is the one that would be there if the
+   * range was sorted. This is the same introselect as used by
+   * {@link Utils#selectBest(aitoa.structure.Record[], int)}.
+   *
+   * @param lo
+   *          the inclusive start of the range
+   * @param hi
+   *          the exclusive end of the range
+   * @param k
+   *          the index to select
+   */
+  private void select(final int lo, final int hi, final int k) {
+    final int[] order = this.mOrder;
+    final double[] quality = this.mQuality;
+    int start = lo;
+    int end = hi;
+    int depth =
+        (32 - Integer.numberOfLeadingZeros(hi - lo)) << 1;
+
+    while ((end - start) > Utils.SELECT_THRESHOLD) {
+      if ((--depth) < 0) {
+        break;
+      }
+      final double pivot = Utils.median(quality[order[start]],
+          quality[order[(start + end) >>> 1]],
+          quality[order[end - 1]]);
+
+      int lt = start;
+      int gt = end;
+      int i = start;
+      while (i < gt) {
+        final int current = order[i];
+        final int cmp = Double.compare(quality[current], pivot);
+        if (cmp < 0) {
+          order[i++] = order[lt];
+          order[lt++] = current;
+        } else {
+          if (cmp > 0) {
+            order[i] = order[--gt];
+            order[gt] = current;
+          } else {
+            i++;
+          }
+        }
+      }
+
+      if (k < lt) {
+        end = lt;
+      } else {
+        if (k >= gt) {
+          start = gt;
+        } else {
+          return;
+        }
+      }
+    }
+    this.sort(start, end);
+  }
+}
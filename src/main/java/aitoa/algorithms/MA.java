@@ -2,7 +2,6 @@ package aitoa.algorithms;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.Arrays;
 import java.util.Random;
 
 import aitoa.structure.IBinarySearchOperator;
@@ -12,7 +11,6 @@ import aitoa.structure.ISpace;
 import aitoa.structure.IUnarySearchOperator;
 import aitoa.structure.LogFormat;
 import aitoa.structure.Metaheuristic2;
-import aitoa.structure.Record;
 import aitoa.utils.Experiment;
 import aitoa.utils.RandomUtils;
 
@@ -40,6 +38,8 @@ public final class MA<X, Y> extends Metaheuristic2<X, Y> {
   public final int lambda;
   /** the maximum number of local search steps */
   public final int maxLSSteps;
+  /** the number of threads used to evaluate the neighborhood */
+  public final int threads;
 
   /**
    * Create a new instance of the memetic algorithm
@@ -61,6 +61,34 @@ public final class MA<X, Y> extends Metaheuristic2<X, Y> {
       final IUnarySearchOperator<X> pUnary,
       final IBinarySearchOperator<X> pBinary, final int pMu,
       final int pLambda, final int pMaxLSSteps) {
+    this(pNullary, pUnary, pBinary, pMu, pLambda, pMaxLSSteps,
+        1);
+  }
+
+  /**
+   * Create a new instance of the memetic algorithm
+   *
+   * @param pNullary
+   *          the nullary search operator.
+   * @param pUnary
+   *          the unary search operator
+   * @param pBinary
+   *          the binary search operator
+   * @param pMu
+   *          the number of parents to be selected
+   * @param pLambda
+   *          the number of offspring to be created
+   * @param pMaxLSSteps
+   *          the maximum number of local search steps
+   * @param pThreads
+   *          the number of threads used to evaluate the
+   *          neighborhood, {@code 1} for sequential evaluation
+   */
+  public MA(final INullarySearchOperator<X> pNullary,
+      final IUnarySearchOperator<X> pUnary,
+      final IBinarySearchOperator<X> pBinary, final int pMu,
+      final int pLambda, final int pMaxLSSteps,
+      final int pThreads) {
     super(pNullary, pUnary, pBinary);
     if ((pMu <= 1) || (pMu > 1_000_000)) {
       throw new IllegalArgumentException("Invalid mu: " + pMu); //$NON-NLS-1$
@@ -77,6 +105,8 @@ public final class MA<X, Y> extends Metaheuristic2<X, Y> {
               + pMaxLSSteps);
     }
     this.maxLSSteps = pMaxLSSteps;
+    this.threads =
+        ParallelFirstImprovement.checkThreads(pThreads);
     if (!pUnary.canEnumerate()) {
       throw new IllegalArgumentException(//
           "Unary operator cannot enumerate neighborhood."); //$NON-NLS-1$
@@ -93,8 +123,20 @@ public final class MA<X, Y> extends Metaheuristic2<X, Y> {
 // create local variables
     final Random random = process.getRandom();
     final ISpace<X> searchSpace = process.getSearchSpace();
+    final int[] genotype = IntPopulation.create(searchSpace);
+    if (genotype != null) { // use structure of arrays
+      try (final IntPopulation pop = IntPopulation
+          .allocate(this.mu + this.lambda, genotype.length)) {
+        this.solveInt((IBlackBoxProcess<int[], Y>) process,
+            genotype, pop);
+      }
+      return;
+    }
     boolean improved = false;
     final X temp = searchSpace.create();
+    final ParallelFirstImprovement<X> parallel =
+        ParallelFirstImprovement.create(process, this.unary,
+            this.threads);
     int p2;
 
     final LSRecord<X>[] P = new LSRecord[this.mu + this.lambda];
@@ -123,17 +165,25 @@ public final class MA<X, Y> extends Metaheuristic2<X, Y> {
         }
         int steps = this.maxLSSteps;
         do { // local search in style of HillClimber2
-          improved = this.unary.enumerate(random, ind.x, temp, //
-              point -> {
-                final double newQuality =
-                    process.evaluate(point);
-                if (newQuality < ind.quality) { // better?
-                  ind.quality = newQuality; // store quality
-                  searchSpace.copy(point, ind.x); // store point
-                  return true; // exit to next loop
-                } // if we get here, point is not better
-                return process.shouldTerminate();
-              }); // repeat this until no improvement or time up
+          if (parallel != null) {
+            final double quality =
+                parallel.step(random, ind.x, temp, ind.quality);
+            improved = (quality < ind.quality);
+            ind.quality = quality;
+          } else {
+            improved = this.unary.enumerate(random, ind.x,
+                temp, //
+                point -> {
+                  final double newQuality =
+                      process.evaluate(point, ind.quality);
+                  if (newQuality < ind.quality) { // better?
+                    ind.quality = newQuality; // store quality
+                    searchSpace.copy(point, ind.x); // store
+                    return true; // exit to next loop
+                  } // if we get here, point is not better
+                  return process.shouldTerminate();
+                }); // repeat until no improvement or time up
+          }
           if (process.shouldTerminate()) { // we return
             return; // best solution is stored in process
           }
@@ -141,8 +191,8 @@ public final class MA<X, Y> extends Metaheuristic2<X, Y> {
         ind.isOptimum = !improved; // is it a local optimum?
 // start relevant
       } // end of 1 ls iteration: we have refined 1 solution
-// sort the population: mu best records at front are selected
-      Arrays.sort(P, Record.BY_QUALITY);
+// select the mu best records and move them to the front
+      Utils.selectBest(P, this.mu);
 // shuffle the first mu solutions to ensure fairness
       RandomUtils.shuffle(random, P, 0, this.mu);
       int p1 = -1; // index to iterate over first parent
@@ -171,6 +221,105 @@ public final class MA<X, Y> extends Metaheuristic2<X, Y> {
   }
 // end relevant
 
+  /**
+   * The same algorithm as {@link #solve(IBlackBoxProcess)}, but
+   * for {@code int[]} genotypes stored in an
+   * {@link IntPopulation}. Each genotype is copied out of the
+   * population for its local search and the selected parents
+   * are copied out once per generation.
+   *
+   * @param process
+   *          the black box process
+   * @param x
+   *          the array to hold the offspring
+   * @param pop
+   *          the population
+   */
+  @SuppressWarnings("unchecked")
+  private void solveInt(final IBlackBoxProcess<int[], Y> process,
+      final int[] x, final IntPopulation pop) {
+    final Random random = process.getRandom();
+    final ISpace<int[]> searchSpace = process.getSearchSpace();
+    final INullarySearchOperator<int[]> nullary =
+        (INullarySearchOperator<int[]>) this.nullary;
+    final IUnarySearchOperator<int[]> unary =
+        (IUnarySearchOperator<int[]>) this.unary;
+    final IBinarySearchOperator<int[]> binary =
+        (IBinarySearchOperator<int[]>) this.binary;
+    final ParallelFirstImprovement<int[]> parallel =
+        ParallelFirstImprovement.create(process, unary,
+            this.threads);
+    boolean improved = false;
+    final int[] temp = new int[x.length];
+    final double[] quality = new double[1];
+    int p2;
+
+    for (int i = pop.size(); (--i) >= 0;) {
+      nullary.apply(x, random);
+      pop.set(i, x, process.evaluate(x));
+      if (process.shouldTerminate()) {
+        return;
+      }
+    }
+
+    final int[][] parents = new int[this.mu][x.length];
+    while (!process.shouldTerminate()) {
+      for (int i = 0; i < pop.size(); i++) {
+        if (pop.isOptimum(i)) {
+          continue;
+        }
+        pop.get(i, x);
+        quality[0] = pop.getQuality(i);
+        int steps = this.maxLSSteps;
+        do {
+          if (parallel != null) {
+            final double newQuality =
+                parallel.step(random, x, temp, quality[0]);
+            improved = (newQuality < quality[0]);
+            quality[0] = newQuality;
+          } else {
+            improved = unary.enumerate(random, x, temp, //
+                point -> {
+                  final double newQuality =
+                      process.evaluate(point, quality[0]);
+                  if (newQuality < quality[0]) {
+                    quality[0] = newQuality;
+                    searchSpace.copy(point, x);
+                    return true;
+                  }
+                  return process.shouldTerminate();
+                });
+          }
+          if (process.shouldTerminate()) {
+            return;
+          }
+        } while (improved && ((--steps) > 0));
+        pop.set(i, x, quality[0]);
+        pop.setOptimum(i, !improved);
+      }
+
+      pop.selectBest(this.mu);
+      pop.shuffle(random, 0, this.mu);
+      for (int i = this.mu; (--i) >= 0;) {
+        pop.get(i, parents[i]);
+      }
+      int p1 = -1;
+
+      for (int index = pop.size(); (--index) >= this.mu;) {
+        if (process.shouldTerminate()) {
+          return;
+        }
+        final int[] sel = parents[(++p1) % this.mu];
+        do {
+          p2 = random.nextInt(this.mu);
+        } while (p2 == p1);
+        binary.apply(sel, parents[p2], x, random);
+        pop.set(index, x, process.evaluate(x));
+        pop.setOptimum(index, false);
+      }
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public void printSetup(final Writer output)
@@ -192,6 +341,10 @@ public final class MA<X, Y> extends Metaheuristic2<X, Y> {
     output.write(LogFormat.mapEntry("maxLSSteps", //$NON-NLS-1$
         this.maxLSSteps));
     output.write(System.lineSeparator());
+    if (this.threads > 1) {
+      output.write(LogFormat.mapEntry("threads", this.threads)); //$NON-NLS-1$
+      output.write(System.lineSeparator());
+    }
   }
 
   /** {@inheritDoc} */
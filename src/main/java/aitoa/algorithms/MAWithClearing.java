@@ -133,7 +133,7 @@ public final class MAWithClearing<X, Y>
             improved = this.unary.enumerate(random, ind.x, temp, //
                 point -> {
                   final double newQuality =
-                      process.evaluate(point);
+                      process.evaluate(point, ind.quality);
                   if (newQuality < ind.quality) { // better?
                     ind.quality = newQuality; // store quality
                     searchSpace.copy(point, ind.x); // store
@@ -0,0 +1,158 @@
+package aitoa.algorithms;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import aitoa.structure.IBlackBoxProcess;
+import aitoa.structure.IObjectiveFunction;
+import aitoa.structure.IUnarySearchOperator;
+
+/**
+ * A first-improvement local search step in the style of
+ * {@link HillClimber2}, which evaluates the neighborhood in
+ * parallel via
+ * {@link IUnarySearchOperator#enumerateParallel(Random, Object, Object, java.util.List, long)}.
+ * <p>
+ * The neighbors are evaluated by concurrent evaluators obtained
+ * from {@link IBlackBoxProcess#concurrentCopy()}. Once the first
+ * improving neighbor in enumeration order is found, the process
+ * is charged with exactly the FEs that a sequential enumeration
+ * would have spent on the rejected neighbors before it, and the
+ * improving neighbor itself is evaluated by the process as
+ * usual. Evaluations done speculatively by other threads beyond
+ * this neighbor are discarded. The search trajectory and the
+ * consumed FEs therefore do not depend on the number of
+ * threads. Under an FE budget, no neighbor beyond the
+ * remaining FEs is considered, just like in a sequential
+ * enumeration.
+ *
+ * @param <X>
+ *          the search space
+ */
+final class ParallelFirstImprovement<X> {
+
+  /** the process */
+  private final IBlackBoxProcess<X, ?> mProcess;
+  /** the unary operator */
+  private final IUnarySearchOperator<X> mUnary;
+  /** the evaluators, one per thread */
+  private final ArrayList<IObjectiveFunction<X>> mEvaluators;
+
+  /**
+   * create the local search step
+   *
+   * @param pProcess
+   *          the process
+   * @param pUnary
+   *          the unary operator
+   * @param pEvaluators
+   *          the evaluators
+   */
+  private ParallelFirstImprovement(
+      final IBlackBoxProcess<X, ?> pProcess,
+      final IUnarySearchOperator<X> pUnary,
+      final ArrayList<IObjectiveFunction<X>> pEvaluators) {
+    super();
+    this.mProcess = pProcess;
+    this.mUnary = pUnary;
+    this.mEvaluators = pEvaluators;
+  }
+
+  /**
+   * Create the parallel local search step, if possible
+   *
+   * @param process
+   *          the process
+   * @param unary
+   *          the unary operator
+   * @param threads
+   *          the number of threads
+   * @return the local search step, or {@code null} if only one
+   *         thread should be used or the process does not
+   *         support concurrent evaluation
+   * @param <X>
+   *          the search space
+   */
+  static <X> ParallelFirstImprovement<X> create(
+      final IBlackBoxProcess<X, ?> process,
+      final IUnarySearchOperator<X> unary, final int threads) {
+    if (threads <= 1) {
+      return null;
+    }
+    final ArrayList<IObjectiveFunction<X>> evaluators =
+        new ArrayList<>(threads);
+    for (int i = threads; (--i) >= 0;) {
+      final IObjectiveFunction<X> evaluator =
+          process.concurrentCopy();
+      if (evaluator == null) {
+        return null;
+      }
+      evaluators.add(evaluator);
+    }
+    return new ParallelFirstImprovement<>(process, unary,
+        evaluators);
+  }
+
+  /**
+   * Check the number of threads
+   *
+   * @param threads
+   *          the number of threads
+   * @return the number of threads
+   */
+  static int checkThreads(final int threads) {
+    if ((threads < 1) || (threads > 1024)) {
+      throw new IllegalArgumentException(
+          "Invalid number of threads: " + threads); //$NON-NLS-1$
+    }
+    return threads;
+  }
+
+  /**
+   * Perform one first-improvement step: Search the neighborhood
+   * of {@code x} for a better point and, if one is found, copy
+   * it to {@code x}.
+   *
+   * @param random
+   *          the random number generator
+   * @param x
+   *          the current point, overwritten with the improved
+   *          one
+   * @param temp
+   *          a temporary point
+   * @param quality
+   *          the quality of {@code x}
+   * @return the new quality of {@code x}, which is less than
+   *         {@code quality} if and only if an improvement was
+   *         found
+   */
+  double step(final Random random, final X x, final X temp,
+      final double quality) {
+    final IBlackBoxProcess<X, ?> process = this.mProcess;
+    final ArrayList<Predicate<X>> visitors =
+        new ArrayList<>(this.mEvaluators.size());
+    for (final IObjectiveFunction<X> f : this.mEvaluators) {
+      visitors.add(point -> (process.shouldTerminate()
+          || (f.evaluate(point, quality) < quality)));
+    }
+
+// The FEs are only charged after the enumeration, so the FE
+// budget cannot terminate the process during it. Instead, the
+// enumeration stops after the remaining FEs.
+    final long index = this.mUnary.enumerateParallel(random, x,
+        temp, visitors,
+        process.getMaxFEs() - process.getConsumedFEs());
+    if (index < 0L) { // no improvement in the neighborhood
+      process.consumeFEs(-(index + 1L));
+      return quality;
+    }
+    process.consumeFEs(index);
+    final double newQuality = process.evaluate(temp);
+    if (newQuality < quality) {
+      process.getSearchSpace().copy(temp, x);
+      return newQuality;
+    }
+    return quality;
+  }
+}
@@ -9,17 +9,33 @@ import aitoa.structure.Record;
  */
 public final class Utils {
 
+  /**
+   * The size below which ranges are sorted instead of being
+   * partitioned further
+   */
+  static final int SELECT_THRESHOLD = 16;
+
   /**
    * Put the {@code max} best records with unique quality to the
-   * front of an records array {@code array}. First,
-   * {@code array} is sorted. Thus, the best records are at the
-   * front. However, some of them may have the same quality and
-   * we only want one records of each quality level at front. We
-   * therefore process the sorted {@code array} from the front
-   * and whenever we encounter a quality repeatedly, we swap
-   * these repeated records towards higher indices. Since there
-   * may be less than {@code max} records with unique quality, we
-   * return the number of unique qualities.
+   * front of an records array {@code array}. First, the best
+   * records are moved to the front of {@code array} and sorted.
+   * However, some of them may have the same quality and we only
+   * want one records of each quality level at front. We
+   * therefore process the sorted front of {@code array} and
+   * whenever we encounter a quality repeatedly, we swap these
+   * repeated records towards higher indices. Since there may be
+   * less than {@code max} records with unique quality, we return
+   * the number of unique qualities.
+   * <p>
+   * The array is not sorted completely: Only as many of the best
+   * records as needed to find {@code max} unique qualities are
+   * {@linkplain #selectBest(Record[], int) selected} and sorted,
+   * starting with {@code max} records and doubling their number
+   * whenever there are too many duplicates. If {@code max} is
+   * much smaller than the array, this takes linear time. The
+   * order of the records behind the returned unique ones is
+   * undefined.
+   * </p>
    *
    * @param array
    *          the array to process
@@ -32,12 +48,13 @@ public final class Utils {
   public static int qualityBasedClearing(final Record<?>[] array,
       final int max) {
 
-    Arrays.sort(array, Record.BY_QUALITY);// best -> first
+    final int sorted =
+        Utils.sortUntilUnique(array, Math.max(1, max));
 
     int unique = 0;
     double lastQuality = Double.NEGATIVE_INFINITY; // impossible
 
-    for (int index = 0; index < array.length; index++) {
+    for (int index = 0; index < sorted; index++) {
       final Record<?> current = array[index];
       final double currentQuality = current.quality;
       if (currentQuality > lastQuality) { // unique so-far
@@ -57,6 +74,230 @@ public final class Utils {
   }
 // end qualityClearing
 
+  /**
+   * Put the {@code max} best records with unique genotypes to
+   * the front of an array, like
+   * {@link #qualityBasedClearing(Record[], int)}. Two records
+   * are only considered as equal if they have the same quality
+   * <em>and</em> the same
+   * {@linkplain aitoa.utils.ZobristHash hash}, so different
+   * genotypes of the same quality are all retained. Since the
+   * front is sorted by quality, a record only needs to be
+   * compared with the retained records of the same quality.
+   *
+   * @param array
+   *          the array to process
+   * @param max
+   *          the maximum number of best records to make unique
+   * @return the number {@code u} of unique records retained,
+   *         will be {@code 1<=u<=max}
+   */
+  static int hashBasedClearing(final HashRecord<?>[] array,
+      final int max) {
+    final int sorted =
+        Utils.sortUntilUnique(array, Math.max(1, max));
+
+    int unique = 0;
+    int group = 0; // start of records with current quality
+    double lastQuality = Double.NEGATIVE_INFINITY;
+
+    outer: for (int index = 0; index < sorted; index++) {
+      final HashRecord<?> current = array[index];
+      final double currentQuality = current.quality;
+      if (currentQuality > lastQuality) { // new quality level
+        lastQuality = currentQuality;
+        group = unique;
+      } else { // same quality: check hashes of retained records
+        for (int i = group; i < unique; i++) {
+          if (array[i].hash == current.hash) {
+            continue outer; // duplicate
+          }
+        }
+      }
+      if (index > unique) {
+        array[index] = array[unique];
+        array[unique] = current;
+      }
+      if ((++unique) >= max) {
+        return unique;
+      }
+    }
+
+    return unique;
+  }
+
+  /**
+   * Sort the best records of an array until the sorted front
+   * contains at least {@code max} different qualities or the
+   * whole array is sorted
+   *
+   * @param array
+   *          the array
+   * @param max
+   *          the number of different qualities needed
+   * @return the length of the sorted front
+   */
+  private static int sortUntilUnique(final Record<?>[] array,
+      final int max) {
+    final int n = array.length;
+    int sorted = 0;
+    int unique = 0;
+    double lastQuality = Double.NEGATIVE_INFINITY;
+
+    while (sorted < n) {
+      final int end = Math.min(n,
+          (sorted <= 0) ? max : (sorted << 1));
+      if (end < n) {
+        Utils.select(array, sorted, n, end);
+      }
+      Arrays.sort(array, sorted, end, Record.BY_QUALITY);
+      for (int i = sorted; i < end; i++) {
+        final double quality = array[i].quality;
+        if (quality > lastQuality) {
+          lastQuality = quality;
+          ++unique;
+        }
+      }
+      sorted = end;
+      if (unique >= max) {
+        break;
+      }
+    }
+    return sorted;
+  }
+
+  /**
+   * Move the {@code k} best records of an array to its front,
+   * in no particular order. The records behind them are not
+   * better than any of them. This is done by quickselect in
+   * linear time on average, so it is much cheaper than sorting
+   * the whole array if only the best records are needed. If the
+   * order of the best records matters, use
+   * {@link #sortBest(Record[], int)}.
+   *
+   * @param array
+   *          the array
+   * @param k
+   *          the number of best records to select
+   */
+  public static void selectBest(final Record<?>[] array,
+      final int k) {
+    if ((k > 0) && (k < array.length)) {
+      Utils.select(array, 0, array.length, k);
+    }
+  }
+
+  /**
+   * Move the {@code k} best records of an array to its front
+   * and sort them by quality. The records behind them are not
+   * better than any of them and remain unsorted. The qualities
+   * of the first {@code k} records are the same as after sorting
+   * the whole array with {@link Record#BY_QUALITY}, but the
+   * selection is not stable: Of several records with the same
+   * quality, different ones may end up among the first
+   * {@code k} and in a different order than by a full stable
+   * sort.
+   *
+   * @param array
+   *          the array
+   * @param k
+   *          the number of best records to select
+   */
+  public static void sortBest(final Record<?>[] array,
+      final int k) {
+    Utils.selectBest(array, k);
+    Arrays.sort(array, 0, Math.min(k, array.length),
+        Record.BY_QUALITY);
+  }
+
+  /**
+   * Rearrange the range {@code lo..hi-1} of an array such that
+   * the record at index {@code k} is the one that would be there
+   * if the range was sorted, the records before it are not worse
+   * and those after it are not better. This is an introselect:
+   * a quickselect with a median-of-three pivot and a three-way
+   * partition, which sorts the range if it does not converge.
+   *
+   * @param array
+   *          the array
+   * @param lo
+   *          the inclusive start of the range
+   * @param hi
+   *          the exclusive end of the range
+   * @param k
+   *          the index to select
+   */
+  private static void select(final Record<?>[] array,
+      final int lo, final int hi, final int k) {
+    int start = lo;
+    int end = hi;
+    int depth =
+        (32 - Integer.numberOfLeadingZeros(hi - lo)) << 1;
+
+    while ((end - start) > Utils.SELECT_THRESHOLD) {
+      if ((--depth) < 0) {
+        break;
+      }
+      final double pivot = Utils.median(array[start].quality,
+          array[(start + end) >>> 1].quality,
+          array[end - 1].quality);
+
+// three-way partition: [start,lt) < pivot, [lt,gt) == pivot,
+// and [gt,end) > pivot
+      int lt = start;
+      int gt = end;
+      int i = start;
+      while (i < gt) {
+        final Record<?> current = array[i];
+        final int cmp = Double.compare(current.quality, pivot);
+        if (cmp < 0) {
+          array[i++] = array[lt];
+          array[lt++] = current;
+        } else {
+          if (cmp > 0) {
+            array[i] = array[--gt];
+            array[gt] = current;
+          } else {
+            i++;
+          }
+        }
+      }
+
+      if (k < lt) {
+        end = lt;
+      } else {
+        if (k >= gt) {
+          start = gt;
+        } else {
+          return;
+        }
+      }
+    }
+    Arrays.sort(array, start, end, Record.BY_QUALITY);
+  }
+
+  /**
+   * Get the median of three values
+   *
+   * @param a
+   *          the first value
+   * @param b
+   *          the second value
+   * @param c
+   *          the third value
+   * @return the median
+   */
+  static double median(final double a, final double b,
+      final double c) {
+    if (Double.compare(a, b) > 0) {
+      return Utils.median(b, a, c);
+    }
+    if (Double.compare(b, c) <= 0) {
+      return b;
+    }
+    return (Double.compare(a, c) > 0) ? a : c;
+  }
+
   /** forbidden */
   private Utils() {
     throw new UnsupportedOperationException();
@@ -44,6 +44,38 @@ public final class Ising1DObjectiveFunction
     return s;
   }
 
+  /**
+   * Count the unequal neighbors, but stop once their number
+   * reaches the cutoff.
+   *
+   * @param y
+   *          the bit string
+   * @param cutoff
+   *          the cutoff
+   * @return the objective value if it is less than
+   *         {@code cutoff}, otherwise a value which is at least
+   *         {@code cutoff}
+   */
+  @Override
+  public double evaluate(final boolean[] y,
+      final double cutoff) {
+    int last = 0;
+    int s = 0;
+    for (int i = y.length; (--i) >= 0;) {
+      if ((y[i] != y[last]) && ((++s) >= cutoff)) {
+        return s;
+      }
+      last = i;
+    }
+    return s;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canEvaluateBounded() {
+    return true;
+  }
+
   /** {@inheritDoc} */
   @Override
   public double lowerBound() {
@@ -80,6 +80,54 @@ public final class Ising2DObjectiveFunction
     return s;
   }
 
+  /**
+   * Count the unequal neighbors, but stop once their number
+   * reaches the cutoff. The check is done after each row.
+   *
+   * @param y
+   *          the bit string
+   * @param cutoff
+   *          the cutoff
+   * @return the objective value if it is less than
+   *         {@code cutoff}, otherwise a value which is at least
+   *         {@code cutoff}
+   */
+  @Override
+  public double evaluate(final boolean[] y,
+      final double cutoff) {
+    final int kk = this.k;
+    int s = 0;
+
+    int lastitimesk = 0;
+    for (int i = kk; (--i) >= 0;) {
+      final int itimesk = (i * kk);
+      int lastj = 0;
+      for (int j = kk; (--j) >= 0;) {
+        final boolean center = y[itimesk + j];
+
+        if (center != (y[(lastitimesk) + j])) {
+          ++s;
+        }
+        if (center != y[(itimesk) + lastj]) {
+          ++s;
+        }
+        lastj = j;
+      }
+      if (s >= cutoff) {
+        return s;
+      }
+      lastitimesk = itimesk;
+    }
+
+    return s;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canEvaluateBounded() {
+    return true;
+  }
+
   /** {@inheritDoc} */
   @Override
   public double lowerBound() {
@@ -51,6 +51,45 @@ public final class LinearHarmonicObjectiveFunction
     return s;
   }
 
+  /**
+   * Evaluate the bit string, but stop once the result is known
+   * to reach the cutoff: Before bit {@code i} is processed, the
+   * remaining bits can reduce the value by at most
+   * {@code i(i+1)/2}.
+   *
+   * @param y
+   *          the bit string
+   * @param cutoff
+   *          the cutoff
+   * @return the objective value if it is less than
+   *         {@code cutoff}, otherwise a lower bound of it which
+   *         is at least {@code cutoff}
+   */
+  @Override
+  public double evaluate(final boolean[] y,
+      final double cutoff) {
+    long s = this.upperBound;
+    int last = y.length;
+    for (int i = last; (--i) >= 0;) {
+      if (y[i]) {
+        s -= last;
+      } else {
+        final long bound = s - ((((long) i) * last) >>> 1);
+        if (bound >= cutoff) {
+          return bound;
+        }
+      }
+      last = i;
+    }
+    return s;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canEvaluateBounded() {
+    return true;
+  }
+
   /** {@inheritDoc} */
   @Override
   public double lowerBound() {
@@ -46,6 +46,39 @@ public final class OneMaxObjectiveFunction
     return s;
   }
 
+  /**
+   * Count the zeros, but stop once their number reaches the
+   * cutoff.
+   *
+   * @param y
+   *          the bit string
+   * @param cutoff
+   *          the cutoff
+   * @return the number of zeros if it is less than
+   *         {@code cutoff}, otherwise a value which is at least
+   *         {@code cutoff}
+   */
+  @Override
+  public double evaluate(final boolean[] y,
+      final double cutoff) {
+    int s = 0;
+    for (final boolean b : y) {
+      if (b) {
+        continue;
+      }
+      if ((++s) >= cutoff) {
+        return s;
+      }
+    }
+    return s;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canEvaluateBounded() {
+    return true;
+  }
+
   /** {@inheritDoc} */
   @Override
   public double lowerBound() {
@@ -470,6 +470,42 @@ public enum EJSSPExperimentStage implements
               new JSSPUnaryOperatorNSwap()));
 
     }
+  },
+
+  /**
+   * The eleventh stage: tabu search with the critical block
+   * neighborhoods
+   */
+  STAGE_11 {
+
+    /**
+     * Get a stream of algorithm suppliers for a given problem
+     *
+     * @param problem
+     *          the problem
+     * @return the stream of suppliers
+     */
+    @Override
+    public
+        Stream<Supplier<
+            IMetaheuristic<int[], JSSPCandidateSolution>>>
+        getAlgorithms(//
+            final JSSPMakespanObjectiveFunction problem) {
+      final ArrayList<Supplier<
+          IMetaheuristic<int[], JSSPCandidateSolution>>> list =
+              new ArrayList<>();
+
+      for (final boolean n7 : new boolean[] { false, true }) {
+        for (final int tenure : new int[] { 8, 16 }) {
+          for (final int patience : new int[] { 1024, 16384 }) {
+            list.add(() -> new JSSPTabuSearch(
+                new JSSPNullaryOperator(problem.instance),
+                problem.instance, n7, tenure, patience));
+          }
+        }
+      }
+      return list.stream();
+    }
   };
 
   /** the instances to be used */
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.Random;
 
 import aitoa.structure.IBinarySearchOperator;
+import aitoa.utils.ZobristHash;
 
 /**
  * An implementation of a binary search operator for the JSSP
@@ -98,5 +99,25 @@ public final class JSSPBinaryOperatorSequence
       }
     } // loop back to main loop and to add next operation
   } // end of function
+// end relevant
+
+  /**
+   * {@inheritDoc} The offspring is built from scratch, so its
+   * hash is computed from the offspring itself.
+   */
+  @Override
+  public long applyHashed(final int[] x0, final long hash0,
+      final int[] x1, final long hash1, final int[] dest,
+      final Random random) {
+    this.apply(x0, x1, dest, random);
+    return ZobristHash.hash(dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canHash() {
+    return true;
+  }
+// start relevant
 }
 // end relevant
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.Random;
 
 import aitoa.structure.IBinarySearchOperator;
+import aitoa.utils.ZobristHash;
 
 /**
  * An implementation of a binary search operator for the JSSP
@@ -77,4 +78,22 @@ public final class JSSPBinaryOperatorUniform
       dest[index] = choice; // store the job
     }
   }
+
+  /**
+   * {@inheritDoc} The offspring is built from scratch, so its
+   * hash is computed from the offspring itself.
+   */
+  @Override
+  public long applyHashed(final int[] x0, final long hash0,
+      final int[] x1, final long hash1, final int[] dest,
+      final Random random) {
+    this.apply(x0, x1, dest, random);
+    return ZobristHash.hash(dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canHash() {
+    return true;
+  }
 }
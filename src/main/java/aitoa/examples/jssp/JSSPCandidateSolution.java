@@ -11,11 +11,18 @@ public final class JSSPCandidateSolution {
   /**
    * the schedule: for each machine, the sequence of jobs. for
    * each job at a machine, three numbers: the job id, the start
-   * time, end the end time
+   * time, end the end time. The sequences of all machines are
+   * stored one after the other in a single flat array, the one
+   * of machine {@code k} begins at index {@link #offset(int)}.
    */
-  public final int[][] schedule;
+  public final int[] schedule;
 // end relevant
 
+  /** the number of machines */
+  public final int m;
+  /** the number of jobs */
+  public final int n;
+
   /**
    * create a blank candidate solution
    *
@@ -26,21 +33,85 @@ public final class JSSPCandidateSolution {
    */
   public JSSPCandidateSolution(final int pM, final int pN) {
     super();
-// allocate one array for each of the m machine, big enough to
-// hold the IDs of all n jobs and their start- and end-times at
-// the machine
-    this.schedule = new int[pM][3 * pN];
+    if ((pM < 0) || (pN < 0)) {
+      throw new IllegalArgumentException(//
+          "Invalid dimensions m=" + pM //$NON-NLS-1$
+              + ", n=" + pN); //$NON-NLS-1$
+    }
+    this.m = pM;
+    this.n = pN;
+// allocate one array big enough to hold, for each of the m
+// machines, the IDs of all n jobs and their start- and end-times
+// at the machine
+    this.schedule = new int[Math.multiplyExact(pM, 3 * pN)];
   }
 
   /**
-   * create a candidate solution initialized from an array
+   * create a candidate solution initialized from one array per
+   * machine, as printed by {@link JSSPSolutionSpace}
    *
    * @param pSchedule
-   *          the array
+   *          the arrays, one per machine
    */
   public JSSPCandidateSolution(final int[][] pSchedule) {
-    super();
-    this.schedule = Objects.requireNonNull(pSchedule);
+    this(pSchedule.length, (pSchedule.length > 0)
+        ? (Objects.requireNonNull(pSchedule[0]).length / 3) : 0);
+    final int length = 3 * this.n;
+    for (int k = this.m; (--k) >= 0;) {
+      if (pSchedule[k].length != length) {
+        throw new IllegalArgumentException(//
+            "Invalid array length " + //$NON-NLS-1$
+                pSchedule[k].length + //
+                ", should be " + //$NON-NLS-1$
+                length);
+      }
+      System.arraycopy(pSchedule[k], 0, this.schedule,
+          k * length, length);
+    }
+  }
+
+  /**
+   * Get the index in {@link #schedule} at which the sequence of
+   * a machine begins
+   *
+   * @param machine
+   *          the machine
+   * @return the index
+   */
+  public int offset(final int machine) {
+    return machine * 3 * this.n;
+  }
+
+  /**
+   * Get a value of the sequence of a machine
+   *
+   * @param machine
+   *          the machine
+   * @param index
+   *          the index in the sequence of the machine, i.e.,
+   *          {@code 3*p} for the job, {@code 3*p+1} for the
+   *          start, and {@code 3*p+2} for the end time of the
+   *          {@code p}<sup>th</sup> job on the machine
+   * @return the value
+   */
+  public int get(final int machine, final int index) {
+    return this.schedule[this.offset(machine) + index];
+  }
+
+  /**
+   * Set a value of the sequence of a machine
+   *
+   * @param machine
+   *          the machine
+   * @param index
+   *          the index in the sequence of the machine, as in
+   *          {@link #get(int, int)}
+   * @param value
+   *          the value
+   */
+  public void set(final int machine, final int index,
+      final int value) {
+    this.schedule[this.offset(machine) + index] = value;
   }
 
 // start relevant
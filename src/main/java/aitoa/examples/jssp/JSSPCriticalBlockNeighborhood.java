@@ -0,0 +1,419 @@
+package aitoa.examples.jssp;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A neighborhood for the JSSP which works directly on the Gantt
+ * chart of a {@link JSSPCandidateSolution} instead of on the
+ * operation sequence. It computes the critical path of the
+ * schedule, i.e., the chain of operations without idle time
+ * between them whose length is the makespan, and divides it
+ * into critical blocks, i.e., maximal runs of operations on the
+ * same machine. The makespan can only be reduced by changing
+ * the order of operations inside such blocks, and only moves at
+ * the block boundaries can shorten the critical path. This
+ * neighborhood therefore is much smaller than the swap
+ * neighborhoods on the operation sequence.
+ * <p>
+ * Two variants are supported:
+ * <ol>
+ * <li>N5 (Nowicki and Smutnicki, 1996): swap the first two and
+ * the last two operations of each block, except for the first
+ * two operations of the first block and the last two operations
+ * of the last block.</li>
+ * <li>N7 (Zhang et al., 2007): move an operation inside a block
+ * to the front or the back of the block or move the first or
+ * last operation of a block into its interior, again except for
+ * moves to the front of the first and the back of the last
+ * block. N7 contains all moves of N5.</li>
+ * </ol>
+ * A move is applied to the machine sequences of the schedule,
+ * which are then turned back into an operation sequence, i.e., a
+ * point in the {@linkplain JSSPSearchSpace search space}, via a
+ * topological sort. Mapping this point with the
+ * {@link JSSPRepresentationMapping} yields the semi-active
+ * schedule with exactly these machine sequences. Swaps of
+ * adjacent critical operations never create cycles, but the
+ * insertions of N7 may, in which case the move is reported as
+ * infeasible.
+ */
+public final class JSSPCriticalBlockNeighborhood {
+
+  /** use the N7 instead of the N5 neighborhood */
+  public final boolean n7;
+
+  /** the number of machines */
+  private final int mM;
+  /** the number of jobs */
+  private final int mN;
+  /**
+   * the instance data: for each job, the sequence of machines
+   * and times
+   */
+  private final int[][] mJobs;
+  /**
+   * for each job {@code j} and machine {@code k}, the machine of
+   * the operation of {@code j} before the one on {@code k}, or
+   * {@code -1}, at index {@code j*m+k}
+   */
+  private final int[] mPrevMachine;
+  /**
+   * for each machine {@code k} and job {@code j}, the position
+   * of {@code j} on {@code k} at index {@code k*n+j}
+   */
+  private final int[] mPosition;
+  /** the machines of the operations along the critical path */
+  private final int[] mPathMachine;
+  /** the positions of the operations along the critical path */
+  private final int[] mPathPosition;
+  /** the machines of the moves */
+  private final int[] mMoveMachine;
+  /** the source positions of the moves */
+  private final int[] mMoveFrom;
+  /** the destination positions of the moves */
+  private final int[] mMoveTo;
+  /** the number of moves */
+  private int mMoveCount;
+  /** the job sequences of the machines, at {@code k*n+p} */
+  private final int[] mOrder;
+  /** the next step of each job during the topological sort */
+  private final int[] mJobStep;
+  /** the next position at each machine during the sort */
+  private final int[] mMachineHead;
+  /** the stack of ready jobs during the topological sort */
+  private final int[] mReady;
+
+  /**
+   * create the neighborhood
+   *
+   * @param pInstance
+   *          the problem instance
+   * @param pN7
+   *          {@code true} for the N7 neighborhood,
+   *          {@code false} for N5
+   */
+  public JSSPCriticalBlockNeighborhood(
+      final JSSPInstance pInstance, final boolean pN7) {
+    super();
+    this.n7 = pN7;
+    this.mM = pInstance.m;
+    this.mN = pInstance.n;
+    this.mJobs = Objects.requireNonNull(pInstance.jobs);
+
+    final int ops = this.mM * this.mN;
+    this.mPrevMachine = new int[ops];
+    for (int j = this.mN; (--j) >= 0;) {
+      final int[] job = this.mJobs[j];
+      int prev = -1;
+      for (int i = 0; i < job.length; i += 2) {
+        this.mPrevMachine[(j * this.mM) + job[i]] = prev;
+        prev = job[i];
+      }
+    }
+
+    this.mPosition = new int[ops];
+    this.mPathMachine = new int[ops];
+    this.mPathPosition = new int[ops];
+    this.mMoveMachine = new int[ops << 2];
+    this.mMoveFrom = new int[ops << 2];
+    this.mMoveTo = new int[ops << 2];
+    this.mOrder = new int[ops];
+    this.mJobStep = new int[this.mN];
+    this.mMachineHead = new int[this.mM];
+    this.mReady = new int[this.mN];
+  }
+
+  /**
+   * Compute the critical path of a schedule and the moves of the
+   * neighborhood. The schedule must be semi-active, as produced
+   * by the {@link JSSPRepresentationMapping}, and must not be
+   * modified until the moves have been applied.
+   *
+   * @param y
+   *          the schedule
+   * @return the number of moves
+   */
+  public int computeMoves(final JSSPCandidateSolution y) {
+    final int n = this.mN;
+    final int length = 3 * n;
+    final int[] s = y.schedule;
+
+// find the position of each job on each machine and the
+// operation that finishes last
+    int machine = -1;
+    int position = -1;
+    int makespan = -1;
+    for (int k = this.mM; (--k) >= 0;) {
+      final int offset = k * length;
+      final int base = k * n;
+      for (int p = n; (--p) >= 0;) {
+        this.mPosition[base + s[offset + (3 * p)]] = p;
+      }
+      final int end = s[(offset + length) - 1];
+      if (end > makespan) {
+        makespan = end;
+        machine = k;
+        position = n - 1;
+      }
+    }
+
+// trace the critical path backwards, preferring the machine
+// predecessor so that the blocks become as long as possible
+    int count = 0;
+    for (;;) {
+      this.mPathMachine[count] = machine;
+      this.mPathPosition[count++] = position;
+      final int at = (machine * length) + (3 * position);
+      final int start = s[at + 1];
+      if (start <= 0) {
+        break;
+      }
+      if ((position > 0) && (s[at - 1] == start)) {
+        --position;
+        continue;
+      }
+      final int job = s[at];
+      machine = this.mPrevMachine[(job * this.mM) + machine];
+      position = this.mPosition[(machine * n) + job];
+    }
+
+// the path has been stored backwards, so the last block comes
+// first
+    this.mMoveCount = 0;
+    for (int i = 0; i < count;) {
+      final int blockMachine = this.mPathMachine[i];
+      int j = i + 1;
+      while ((j < count)
+          && (this.mPathMachine[j] == blockMachine)) {
+        ++j;
+      }
+      if ((j - i) > 1) {
+        this.addBlockMoves(blockMachine,
+            this.mPathPosition[j - 1], this.mPathPosition[i],
+            j >= count, i <= 0);
+      }
+      i = j;
+    }
+    return this.mMoveCount;
+  }
+
+  /**
+   * Add a move
+   *
+   * @param machine
+   *          the machine
+   * @param from
+   *          the position of the operation to move
+   * @param to
+   *          the destination position
+   */
+  private void addMove(final int machine, final int from,
+      final int to) {
+    final int i = this.mMoveCount++;
+    this.mMoveMachine[i] = machine;
+    this.mMoveFrom[i] = from;
+    this.mMoveTo[i] = to;
+  }
+
+  /**
+   * Add the moves for one critical block
+   *
+   * @param machine
+   *          the machine
+   * @param first
+   *          the position of the first operation of the block
+   * @param last
+   *          the position of the last operation of the block
+   * @param isFirst
+   *          is this the first block of the critical path?
+   * @param isLast
+   *          is this the last block of the critical path?
+   */
+  private void addBlockMoves(final int machine, final int first,
+      final int last, final boolean isFirst,
+      final boolean isLast) {
+    if ((last - first) <= 1) { // only one swap possible
+      if (!(isFirst && isLast)) {
+        this.addMove(machine, last, first);
+      }
+      return;
+    }
+
+    if (!this.n7) {
+      if (!isFirst) {
+        this.addMove(machine, first + 1, first);
+      }
+      if (!isLast) {
+        this.addMove(machine, last - 1, last);
+      }
+      return;
+    }
+
+    if (!isFirst) { // move operations to the front
+      for (int p = first; (++p) <= last;) {
+        this.addMove(machine, p, first);
+      }
+    }
+    if (!isLast) { // move operations to the back
+      for (int p = first; p < last; p++) {
+        this.addMove(machine, p, last);
+      }
+    }
+// move the first and last operation into the interior
+    for (int p = first + 1; (++p) < last;) {
+      this.addMove(machine, first, p);
+    }
+    for (int p = first; (++p) < (last - 1);) {
+      this.addMove(machine, last, p);
+    }
+  }
+
+  /**
+   * Get the machine of a move
+   *
+   * @param move
+   *          the move index
+   * @return the machine
+   */
+  public int getMoveMachine(final int move) {
+    return this.mMoveMachine[move];
+  }
+
+  /**
+   * Get the position of the operation moved by a move
+   *
+   * @param move
+   *          the move index
+   * @return the source position
+   */
+  public int getMoveFrom(final int move) {
+    return this.mMoveFrom[move];
+  }
+
+  /**
+   * Get the position to which a move puts its operation
+   *
+   * @param move
+   *          the move index
+   * @return the destination position
+   */
+  public int getMoveTo(final int move) {
+    return this.mMoveTo[move];
+  }
+
+  /**
+   * Apply a move to a schedule and store the resulting operation
+   * sequence in {@code dest}
+   *
+   * @param move
+   *          the move index
+   * @param y
+   *          the schedule for which the moves were computed
+   * @param dest
+   *          the destination operation sequence
+   * @return {@code true} if the move was feasible and
+   *         {@code dest} has been set, {@code false} if it would
+   *         create a cycle
+   */
+  public boolean applyMove(final int move,
+      final JSSPCandidateSolution y, final int[] dest) {
+    final int n = this.mN;
+    final int[] order = this.mOrder;
+    final int[] s = y.schedule;
+    for (int k = this.mM; (--k) >= 0;) {
+      final int offset = y.offset(k);
+      final int base = k * n;
+      for (int p = n; (--p) >= 0;) {
+        order[base + p] = s[offset + (3 * p)];
+      }
+    }
+
+// move the operation inside the machine sequence
+    final int base = this.mMoveMachine[move] * n;
+    final int from = base + this.mMoveFrom[move];
+    final int to = base + this.mMoveTo[move];
+    final int job = order[from];
+    if (from < to) {
+      System.arraycopy(order, from + 1, order, from, to - from);
+    } else {
+      System.arraycopy(order, to, order, to + 1, from - to);
+    }
+    order[to] = job;
+
+    return this.toSequence(dest);
+  }
+
+  /**
+   * Check whether the next operation of a job can be scheduled
+   *
+   * @param job
+   *          the job
+   * @return the machine of the next operation of the job if it
+   *         is also the next operation on this machine, or
+   *         {@code -1} otherwise
+   */
+  private int readyMachine(final int job) {
+    final int step = this.mJobStep[job];
+    if (step >= this.mM) {
+      return -1;
+    }
+    final int machine = this.mJobs[job][step << 1];
+    final int head = this.mMachineHead[machine];
+    if ((head < this.mN)
+        && (this.mOrder[(machine * this.mN) + head] == job)) {
+      return machine;
+    }
+    return -1;
+  }
+
+  /**
+   * Turn the machine sequences in {@link #mOrder} into an
+   * operation sequence via a topological sort
+   *
+   * @param dest
+   *          the destination
+   * @return {@code true} if successful, {@code false} if the
+   *         machine sequences contain a cycle
+   */
+  private boolean toSequence(final int[] dest) {
+    final int n = this.mN;
+    final int[] ready = this.mReady;
+    Arrays.fill(this.mJobStep, 0);
+    Arrays.fill(this.mMachineHead, 0);
+
+    int size = 0;
+    for (int j = n; (--j) >= 0;) {
+      if (this.readyMachine(j) >= 0) {
+        ready[size++] = j;
+      }
+    }
+
+    int count = 0;
+    while (size > 0) {
+      final int job = ready[--size];
+      dest[count++] = job;
+      final int step = this.mJobStep[job]++;
+      final int machine = this.mJobs[job][step << 1];
+      final int head = ++this.mMachineHead[machine];
+      if (this.readyMachine(job) >= 0) {
+        ready[size++] = job;
+      }
+// the next job on the machine may have become ready, unless it
+// is still waiting for its operation on another machine
+      if (head < n) {
+        final int next = this.mOrder[(machine * n) + head];
+        if (this.readyMachine(next) == machine) {
+          ready[size++] = next;
+        }
+      }
+    }
+    return count >= dest.length;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return this.n7 ? "n7" : "n5"; //$NON-NLS-1$//$NON-NLS-2$
+  }
+}
@@ -24,7 +24,10 @@ public final class JSSPExperiment {
    * design.
    *
    * @param args
-   *          only first element considered: the destination path
+   *          the destination path, the maximum number of
+   *          processors to use, and whether the runs should be
+   *          dispatched in a longest-first order ({@code true})
+   *          or randomly ({@code false}, default), all optional
    * @throws IOException
    *           if I/O fails
    */
@@ -38,9 +41,12 @@ public final class JSSPExperiment {
             (args.length > 1) ? Integer.parseInt(args[1])
                 : Integer.MAX_VALUE);
 
+    final boolean longestFirst =
+        (args.length > 2) && Boolean.parseBoolean(args[2]);
+
     Experiment.executeExperimentInParallel(//
         Stream.concat(EJSSPExperimentStage.stream(),
             EJSSPExperimentStageACO.stream()),
-        out, processors);
+        out, processors, true, null, longestFirst);
   }
 }
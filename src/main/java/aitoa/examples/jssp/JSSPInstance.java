@@ -1,13 +1,6 @@
 package aitoa.examples.jssp;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.math.BigInteger;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 
 import aitoa.utils.math.BigMath;
@@ -136,109 +129,18 @@ public class JSSPInstance {
   }
 
   /**
-   * Load the instance data from a resource
+   * Load the instance data from the
+   * {@linkplain JSSPInstanceCatalog instance catalog}
    *
    * @param instance
    *          the instance id
    * @return the data
    */
-  @SuppressWarnings("null")
   private static final int[][]
       loadDataFromResource(final String instance) {
-    int njobs = -1;
-    int nmachines = -1;
-    int[][] data = null;
-    int dataIndex = 0;
-
-// load the complete orlib.txt file until we find the target
-// instance this is inefficient, but well
-    try (final InputStream is =
-        JSSPInstance.class.getResourceAsStream(//
-            (instance.equalsIgnoreCase("demo") ? //$NON-NLS-1$
-                "demo.txt" : //$NON-NLS-1$
-                "instance_data.txt")); //$NON-NLS-1$
-        final InputStreamReader isr = new InputStreamReader(is);
-        final BufferedReader br = new BufferedReader(isr)) {
-
-// this string indicates that we have the instance
-      final String seek = "instance " + instance;//$NON-NLS-1$
-      int found = 0;
-      String line = null;
-
-      loop: while ((line = br.readLine()) != null) {
-        line = line.trim();
-        if (line.length() <= 0) {
-          continue; // empty line: ignore
-        }
-        switch (found) {
-          case 0: {
-            if (seek.equalsIgnoreCase(line)) {
-              found = 1; // found instance begin
-            }
-            break;
-          }
-
-          case 3: {
-// found line with the instance size, split at white space
-            final String[] s = line.split("\\s+"); //$NON-NLS-1$
-            njobs = Integer.parseInt(s[0]);
-            nmachines = Integer.parseInt(s[1]);
-            if ((njobs <= 0) || (nmachines <= 0)) {
-              throw new IllegalArgumentException(//
-                  "Invalid instance size: " + //$NON-NLS-1$
-                      njobs + ", " + nmachines);//$NON-NLS-1$
-            }
-            data = new int[njobs][2 * nmachines];
-          }
-
-          //$FALL-THROUGH$
-          case 1: // ++++
-          case 2: { // instance description
-            found++; // can ignore instance description
-            break; // and ++++ even more so
-          }
-
-          case 4: { // instance data: split at white space
-            final String[] s = line.split("\\s+"); //$NON-NLS-1$
-            if (s.length != data[dataIndex].length) {
-              throw new IllegalArgumentException(
-                  "Wrong length of job line " + //$NON-NLS-1$
-                      (dataIndex + 1));
-            }
-            for (int i = s.length; (--i) >= 0;) {
-              if ((data[dataIndex][i] =
-                  Integer.parseInt(s[i])) < 0) {
-                throw new IllegalArgumentException(
-                    "Illegal machine index/machine time in job line "//$NON-NLS-1$
-                        + (dataIndex + 1));
-              }
-            }
-            if ((++dataIndex) >= njobs) {
-              break loop;
-            }
-            break;
-          }
-
-          default: {
-            throw new IllegalStateException(//
-                "Premature end of file.");//$NON-NLS-1$
-          }
-        }
-      }
-
-    } catch (final IOException error) {
-      throw new IllegalStateException(error);
-    }
-
-// did we find the instance?
-    if ((njobs <= 0) || (nmachines <= 0) || (data == null)
-        || (dataIndex != data.length)) {
-      throw new IllegalArgumentException(//
-          "Instance '" + instance + //$NON-NLS-1$
-              "' not found."); //$NON-NLS-1$
-    }
-
-    return data;
+    return (instance.equalsIgnoreCase("demo") ? //$NON-NLS-1$
+        JSSPInstanceCatalog.getDemo()
+        : JSSPInstanceCatalog.getDefault()).getData(instance);
   }
 
   /** {@inheritDoc} */
@@ -276,55 +178,7 @@ public class JSSPInstance {
    *         instances
    */
   public static final List<String> getAllInstances() {
-    return Holder.NAMES;
-  }
-
-  /** the internal holder class */
-  private static final class Holder {
-    /** the names of all instances */
-    static final List<String> NAMES = Holder.loadNames();
-
-    /**
-     * the internal names loader
-     *
-     * @return the array of strings
-     */
-    private static final List<String> loadNames() {
-      final HashSet<String> names = new HashSet<>();
-      try (
-          final InputStream is = JSSPInstance.class
-              .getResourceAsStream("instance_data.txt"); //$NON-NLS-1$
-          final InputStreamReader isr =
-              new InputStreamReader(is);
-          final BufferedReader br = new BufferedReader(isr)) {
-        String line = null;
-
-        loop: while ((line = br.readLine()) != null) {
-          line = line.trim();
-          if (line.isEmpty()) {
-            continue loop;
-          }
-          if (line.startsWith("instance ")) { //$NON-NLS-1$
-            line = line.substring(9).trim();
-            if (line.isEmpty()) {
-              continue loop;
-            }
-            if (line.indexOf(' ') >= 0) {
-              continue loop;
-            }
-            names.add(line);
-          }
-        }
-      } catch (final Throwable error) {
-        throw new IllegalStateException(
-            "Could not load instances text.", //$NON-NLS-1$
-            error);
-      }
-      final String[] all =
-          names.toArray(new String[names.size()]);
-      Arrays.sort(all);
-      return Collections.unmodifiableList(Arrays.asList(all));
-    }
+    return JSSPInstanceCatalog.getDefault().getInstances();
   }
 // start relevant
 }
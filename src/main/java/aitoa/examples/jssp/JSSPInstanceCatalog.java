@@ -0,0 +1,887 @@
+package aitoa.examples.jssp;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+
+import aitoa.utils.IOUtils;
+
+/**
+ * An indexed catalog of JSSP instances. The text of an instance
+ * file is read only once and scanned in a single pass to build
+ * an index from the instance names to the positions of their
+ * data. The data of an instance is then parsed only when it is
+ * requested for the first time and cached afterwards. The lower
+ * bounds and best-known solutions (BKS) of the makespans of the
+ * instances are loaded alongside the index.
+ * <p>
+ * The {@linkplain #getDefault() default catalog} contains all
+ * the instances provided with this package, i.e., it is what
+ * {@link JSSPInstance#JSSPInstance(String)},
+ * {@link JSSPMakespanLowerBound}, and {@link JSSPMakespanBKS}
+ * are based on. Catalogs for instance files provided by the user
+ * can be {@linkplain #load(Path) loaded} in the same way. Three
+ * formats are supported:
+ * </p>
+ * <ol>
+ * <li>the OR-Library format, where each instance begins with a
+ * line {@code instance name}, followed by a separator line, a
+ * description line, a line with the number {@code n} of jobs
+ * and the number {@code m} of machines, and {@code n} lines with
+ * the {@code m} pairs of (zero-based) machine index and time of
+ * each job,</li>
+ * <li>the format used by Taillard, where each instance begins
+ * with a header line followed by a line with {@code n},
+ * {@code m}, the two random seeds, the upper bound, and the
+ * lower bound of the makespan, a {@code Times} section with
+ * {@code n} lines of {@code m} times, and a {@code Machines}
+ * section with {@code n} lines of {@code m} (one-based) machine
+ * indices, and</li>
+ * <li>a single instance without any header, i.e., just the line
+ * with {@code n} and {@code m} followed by the {@code n} job
+ * lines of the OR-Library format.</li>
+ * </ol>
+ * <p>
+ * The instances in files of the latter two formats are named
+ * after the file (without extension) and, if a file contains
+ * multiple instances, their one-based index in the file.
+ * </p>
+ */
+public final class JSSPInstanceCatalog {
+
+  /** the text of the instance file */
+  private final byte[] mText;
+  /** the index entries, by lower case instance name */
+  private final HashMap<String, Entry> mEntries;
+  /** the sorted list of instance names */
+  private final List<String> mNames;
+  /** the lower bounds and BKS, by instance name */
+  private final HashMap<String, int[]> mBounds;
+
+  /**
+   * create the catalog
+   *
+   * @param pText
+   *          the text of the instance file
+   * @param pEntries
+   *          the index entries
+   * @param pBounds
+   *          the lower bounds and BKS
+   */
+  private JSSPInstanceCatalog(final byte[] pText,
+      final ArrayList<Entry> pEntries,
+      final HashMap<String, int[]> pBounds) {
+    super();
+    this.mText = pText;
+    this.mEntries = new HashMap<>();
+    final ArrayList<String> names = new ArrayList<>();
+    for (final Entry entry : pEntries) {
+// The first instance of a given name wins, just like when
+// searching the file from the start.
+      if (this.mEntries.putIfAbsent(JSSPInstanceCatalog
+          .key(entry.mName), entry) == null) {
+        if (JSSPInstanceCatalog.isName(entry.mName)) {
+          names.add(entry.mName);
+        }
+      }
+    }
+    final String[] all = names.toArray(new String[names.size()]);
+    Arrays.sort(all);
+    this.mNames =
+        Collections.unmodifiableList(Arrays.asList(all));
+    this.mBounds = pBounds;
+  }
+
+  /**
+   * Get the catalog of all instances provided with this package.
+   * This catalog does not contain the {@code demo} instance.
+   *
+   * @return the default catalog
+   */
+  public static JSSPInstanceCatalog getDefault() {
+    return Holder.DEFAULT;
+  }
+
+  /**
+   * Get the catalog containing only the {@code demo} instance
+   *
+   * @return the demo catalog
+   */
+  static JSSPInstanceCatalog getDemo() {
+    return DemoHolder.DEMO;
+  }
+
+  /**
+   * Load the catalog of the instances in a file provided by the
+   * user
+   *
+   * @param file
+   *          the instance file
+   * @return the catalog
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static JSSPInstanceCatalog load(final Path file)
+      throws IOException {
+    final Path path = IOUtils.requireFile(file);
+    final byte[] text = Files.readAllBytes(path);
+
+    String base = path.getFileName().toString().trim();
+    final int dot = base.lastIndexOf('.');
+    if (dot > 0) {
+      base = base.substring(0, dot);
+    }
+    final HashMap<String, int[]> bounds = new HashMap<>();
+    final ArrayList<Entry> entries =
+        JSSPInstanceCatalog.index(text, base, bounds);
+    if (entries.isEmpty()) {
+      throw new IllegalArgumentException(
+          "No instance found in file '" + path //$NON-NLS-1$
+              + "'."); //$NON-NLS-1$
+    }
+    return new JSSPInstanceCatalog(text, entries, bounds);
+  }
+
+  /**
+   * Get the key of an instance name in the index
+   *
+   * @param name
+   *          the instance name
+   * @return the key
+   */
+  private static String key(final String name) {
+    return name.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Check whether an instance name should be listed
+   *
+   * @param name
+   *          the instance name
+   * @return {@code true} if the name is not empty and does not
+   *         contain white space
+   */
+  private static boolean isName(final String name) {
+    if (name.isEmpty()) {
+      return false;
+    }
+    for (int i = name.length(); (--i) >= 0;) {
+      if (Character.isWhitespace(name.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Build the index of an instance file in a single pass
+   *
+   * @param text
+   *          the text of the file
+   * @param base
+   *          the base name for instances without a name line
+   * @param bounds
+   *          the map receiving the bounds found in the file
+   * @return the index entries
+   */
+  private static ArrayList<Entry> index(final byte[] text,
+      final String base, final HashMap<String, int[]> bounds) {
+    final ArrayList<Entry> orlib = new ArrayList<>();
+    final ArrayList<Integer> taillard = new ArrayList<>();
+    int first = -1;
+
+    final Cursor cursor = new Cursor(text, 0);
+    while (cursor.next()) {
+      if (first < 0) {
+        first = cursor.mLine;
+      }
+      if (cursor.startsWith("instance ")) { //$NON-NLS-1$
+        final String name = cursor.string(9);
+// skip the separator and description lines
+        if (cursor.next() && cursor.next() && cursor.next()) {
+          orlib.add(new Entry(name, cursor.mLine, false));
+        }
+      } else {
+        if (cursor.startsWith("Nb of jobs")) { //$NON-NLS-1$
+          if (cursor.next()) {
+            taillard.add(Integer.valueOf(cursor.mLine));
+          }
+        }
+      }
+    }
+
+    if (!orlib.isEmpty()) {
+      return orlib;
+    }
+
+    final ArrayList<Entry> result = new ArrayList<>();
+    if (!taillard.isEmpty()) {
+      final int[] head = new int[6];
+      final int size = taillard.size();
+      for (int i = 0; i < size; i++) {
+        final int offset = taillard.get(i).intValue();
+        final String name = (size > 1) ? //
+            (base + '_' + (i + 1)) : base;
+        result.add(new Entry(name, offset, true));
+        final Cursor header = new Cursor(text, offset);
+        if (header.next() && (header.ints(head) >= 6)
+            && (head[5] > 0) && (head[4] >= head[5])) {
+          bounds.put(name, new int[] { head[5], head[4] });
+        }
+      }
+    } else {
+      if (first >= 0) {
+        result.add(new Entry(base, first, false));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Get the sorted, unmodifiable list of the names of the
+   * instances in this catalog
+   *
+   * @return the list of instance names
+   */
+  public List<String> getInstances() {
+    return this.mNames;
+  }
+
+  /**
+   * Check whether this catalog contains an instance
+   *
+   * @param name
+   *          the instance name (case-insensitive)
+   * @return {@code true} if the instance is contained,
+   *         {@code false} otherwise
+   */
+  public boolean contains(final String name) {
+    return this.mEntries
+        .containsKey(JSSPInstanceCatalog.key(name));
+  }
+
+  /**
+   * Get the raw data of an instance, i.e., for each job, the
+   * sequence of machines and times. The data is parsed when it
+   * is requested for the first time. Each call returns a new
+   * copy.
+   *
+   * @param name
+   *          the instance name (case-insensitive)
+   * @return the data
+   */
+  public int[][] getData(final String name) {
+    final Entry entry =
+        this.mEntries.get(JSSPInstanceCatalog.key(name));
+    if (entry == null) {
+      throw JSSPInstanceCatalog.notFound(name);
+    }
+    final int[][] data;
+    synchronized (entry) {
+      if (entry.mData == null) {
+        entry.mData = entry.mTaillard//
+            ? JSSPInstanceCatalog.parseTaillard(
+                new Cursor(this.mText, entry.mOffset), name)
+            : JSSPInstanceCatalog.parseORLibrary(
+                new Cursor(this.mText, entry.mOffset), name);
+      }
+      data = entry.mData;
+    }
+    final int[][] copy = new int[data.length][];
+    for (int i = data.length; (--i) >= 0;) {
+      copy[i] = data[i].clone();
+    }
+    return copy;
+  }
+
+  /**
+   * Create an instance from this catalog
+   *
+   * @param name
+   *          the instance name (case-insensitive)
+   * @return the instance
+   */
+  public JSSPInstance getInstance(final String name) {
+    return new JSSPInstance(this.getData(name), name);
+  }
+
+  /**
+   * Get the bounds of an instance
+   *
+   * @param name
+   *          the instance name
+   * @return the bounds
+   */
+  private int[] bounds(final String name) {
+    final int[] bounds = this.mBounds.get(name);
+    if (bounds != null) {
+      return bounds;
+    }
+    throw new IllegalArgumentException(
+        "Unknown instance '" + name + //$NON-NLS-1$
+            "'."); //$NON-NLS-1$
+  }
+
+  /**
+   * Get the lower bound of the makespan of an instance
+   *
+   * @param name
+   *          the instance name
+   * @return the lower bound
+   */
+  public int getLowerBound(final String name) {
+    return this.bounds(name)[0];
+  }
+
+  /**
+   * Get the best-known makespan of an instance
+   *
+   * @param name
+   *          the instance name
+   * @return the best-known makespan
+   */
+  public int getBKS(final String name) {
+    return this.bounds(name)[1];
+  }
+
+  /**
+   * Create the exception for an instance whose data is
+   * incomplete
+   *
+   * @param name
+   *          the instance name
+   * @return the exception
+   */
+  private static IllegalArgumentException
+      notFound(final String name) {
+    return new IllegalArgumentException(//
+        "Instance '" + name + //$NON-NLS-1$
+            "' not found."); //$NON-NLS-1$
+  }
+
+  /**
+   * Read the line with the instance size
+   *
+   * @param cursor
+   *          the cursor before the size line
+   * @param name
+   *          the instance name
+   * @return the number of jobs and machines
+   */
+  private static int[] parseSize(final Cursor cursor,
+      final String name) {
+    final int[] size = new int[2];
+    if ((!cursor.next()) || (cursor.ints(size) < 2)) {
+      throw JSSPInstanceCatalog.notFound(name);
+    }
+    if ((size[0] <= 0) || (size[1] <= 0)) {
+      throw new IllegalArgumentException(//
+          "Invalid instance size: " + //$NON-NLS-1$
+              size[0] + ", " + size[1]);//$NON-NLS-1$
+    }
+    return size;
+  }
+
+  /**
+   * Read the next job line
+   *
+   * @param cursor
+   *          the cursor before the job line
+   * @param dest
+   *          the destination array
+   * @param job
+   *          the zero-based job index
+   * @param name
+   *          the instance name
+   */
+  private static void parseJob(final Cursor cursor,
+      final int[] dest, final int job, final String name) {
+    if (!cursor.next()) {
+      throw JSSPInstanceCatalog.notFound(name);
+    }
+    if (cursor.ints(dest) != dest.length) {
+      throw new IllegalArgumentException(
+          "Wrong length of job line " + //$NON-NLS-1$
+              (job + 1));
+    }
+    for (final int value : dest) {
+      if (value < 0) {
+        throw new IllegalArgumentException(
+            "Illegal machine index/machine time in job line "//$NON-NLS-1$
+                + (job + 1));
+      }
+    }
+  }
+
+  /**
+   * Parse an instance in the OR-Library format
+   *
+   * @param cursor
+   *          the cursor before the size line
+   * @param name
+   *          the instance name
+   * @return the data
+   */
+  private static int[][] parseORLibrary(final Cursor cursor,
+      final String name) {
+    final int[] size =
+        JSSPInstanceCatalog.parseSize(cursor, name);
+    final int[][] data = new int[size[0]][size[1] << 1];
+    for (int job = 0; job < data.length; job++) {
+      JSSPInstanceCatalog.parseJob(cursor, data[job], job, name);
+    }
+    return data;
+  }
+
+  /**
+   * Find the next section of a Taillard instance
+   *
+   * @param cursor
+   *          the cursor
+   * @param section
+   *          the section name
+   */
+  private static void section(final Cursor cursor,
+      final String section) {
+    if (!(cursor.next() && cursor.startsWith(section))) {
+      throw new IllegalArgumentException(
+          "Section '" + section //$NON-NLS-1$
+              + "' not found."); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Parse an instance in Taillard's format
+   *
+   * @param cursor
+   *          the cursor before the size line
+   * @param name
+   *          the instance name
+   * @return the data
+   */
+  private static int[][] parseTaillard(final Cursor cursor,
+      final String name) {
+    final int[] size =
+        JSSPInstanceCatalog.parseSize(cursor, name);
+    final int[][] times = new int[size[0]][size[1]];
+    JSSPInstanceCatalog.section(cursor, "Times"); //$NON-NLS-1$
+    for (int job = 0; job < times.length; job++) {
+      JSSPInstanceCatalog.parseJob(cursor, times[job], job,
+          name);
+    }
+
+    JSSPInstanceCatalog.section(cursor, "Machines"); //$NON-NLS-1$
+    final int[][] data = new int[size[0]][size[1] << 1];
+    final int[] machines = new int[size[1]];
+    for (int job = 0; job < data.length; job++) {
+      JSSPInstanceCatalog.parseJob(cursor, machines, job, name);
+      final int[] dest = data[job];
+      final int[] time = times[job];
+      int k = 0;
+      for (int i = 0; i < machines.length; i++) {
+// machines are one-based in this format
+        dest[k++] = machines[i] - 1;
+        dest[k++] = time[i];
+      }
+    }
+    return data;
+  }
+
+  /**
+   * Read a text resource of this package into a byte array
+   *
+   * @param resource
+   *          the resource name
+   * @return the bytes
+   */
+  private static byte[] readResource(final String resource) {
+    try (final InputStream is = JSSPInstanceCatalog.class
+        .getResourceAsStream(resource)) {
+      if (is == null) {
+        throw new IllegalStateException(//
+            "Resource '" + resource + //$NON-NLS-1$
+                "' not found."); //$NON-NLS-1$
+      }
+      final ByteArrayOutputStream bos =
+          new ByteArrayOutputStream(1 << 20);
+      final byte[] buffer = new byte[1 << 16];
+      int read;
+      while ((read = is.read(buffer)) > 0) {
+        bos.write(buffer, 0, read);
+      }
+      return bos.toByteArray();
+    } catch (final IOException error) {
+      throw new IllegalStateException(
+          "Could not load instances text.", //$NON-NLS-1$
+          error);
+    }
+  }
+
+  /**
+   * Load a catalog from a text resource of this package
+   *
+   * @param resource
+   *          the resource name
+   * @param bounds
+   *          the bounds of the instances
+   * @return the catalog
+   */
+  static JSSPInstanceCatalog fromResource(final String resource,
+      final HashMap<String, int[]> bounds) {
+    final byte[] text =
+        JSSPInstanceCatalog.readResource(resource);
+    return new JSSPInstanceCatalog(text, JSSPInstanceCatalog
+        .index(text, resource, new HashMap<>()), bounds);
+  }
+
+  /**
+   * Get the index of the {@code col}-th comma in a string
+   *
+   * @param s
+   *          the string
+   * @param col
+   *          the number of the comma
+   * @return the index, or {@code -1} if there are not enough
+   *         commas
+   */
+  private static int comma(final String s, final int col) {
+    int i = -1;
+    for (int c = col; c > 0; c--) {
+      i = s.indexOf(',', i + 1);
+      if (i < 0) {
+        return -1;
+      }
+    }
+    return i;
+  }
+
+  /**
+   * Load the lower bounds and BKS of the makespans from the
+   * table of instances
+   *
+   * @return the bounds
+   */
+  private static HashMap<String, int[]> loadBounds() {
+    final String resource = "instances_with_bks.txt";//$NON-NLS-1$
+
+    try {
+      final HashMap<String, int[]> result = new HashMap<>();
+
+      try (
+          final InputStream is = JSSPInstanceCatalog.class
+              .getResourceAsStream(resource);
+          final InputStreamReader isr =
+              new InputStreamReader(is);
+          final BufferedReader br = new BufferedReader(isr)) {
+        if (br.readLine() == null) {
+          throw new IllegalStateException("Header missing.");//$NON-NLS-1$
+        }
+
+        int line = 1;
+        String s = null;
+        while ((s = br.readLine()) != null) {
+          s = s.trim();
+          if (s.isEmpty()) {
+            throw new IllegalStateException(
+                "Blank line: " + line);//$NON-NLS-1$
+          }
+          ++line;
+
+// the columns are id, ref, jobs, machines, lb, lb ref, bks, ...
+          final int id = s.indexOf(',');
+          final int lbStart = JSSPInstanceCatalog.comma(s, 4);
+          final int lbEnd = JSSPInstanceCatalog.comma(s, 5);
+          final int bksStart = JSSPInstanceCatalog.comma(s, 6);
+          final int bksEnd = JSSPInstanceCatalog.comma(s, 7);
+          if ((id <= 0) || (lbEnd <= (lbStart + 1))
+              || (bksEnd <= (bksStart + 1))) {
+            throw new IllegalStateException(
+                "Not enough columns in string '"//$NON-NLS-1$
+                    + s + "' in line " + line);//$NON-NLS-1$
+          }
+          final String instance = s.substring(0, id).trim();
+          if (instance.isEmpty()) {
+            throw new IllegalArgumentException(
+                ("Empty instance id in line '" + //$NON-NLS-1$
+                    s + "' (") + line + ')'); //$NON-NLS-1$
+          }
+
+          final int lb;
+          try {
+            lb = Integer.parseInt(
+                s.substring(lbStart + 1, lbEnd).trim());
+            if (lb <= 0) {
+              throw new IllegalArgumentException(
+                  "lower bound must be > 0, but is "//$NON-NLS-1$
+                      + lb);
+            }
+          } catch (final Throwable error) {
+            throw new IllegalStateException(
+                "Invalid lb in string '"//$NON-NLS-1$
+                    + s + "' in line " + line, //$NON-NLS-1$
+                error);
+          }
+          final int bks;
+          try {
+            bks = Integer.parseInt(
+                s.substring(bksStart + 1, bksEnd).trim());
+            if (bks < lb) {
+              throw new IllegalArgumentException("BKS " + bks //$NON-NLS-1$
+                  + " must be >= lower bound " //$NON-NLS-1$
+                  + lb);
+            }
+          } catch (final Throwable error) {
+            throw new IllegalStateException(
+                "Invalid bks in string '"//$NON-NLS-1$
+                    + s + "' in line " + line, //$NON-NLS-1$
+                error);
+          }
+
+          if (result.put(instance,
+              new int[] { lb, bks }) != null) {
+            throw new IllegalStateException(
+                ("Instance id '" + instance//$NON-NLS-1$
+                    + "' occurs twice (2nd time in line "//$NON-NLS-1$
+                    + line) + ')');
+          }
+        }
+      }
+
+      if (result.isEmpty()) {
+        throw new IllegalStateException("No bounds found!"); //$NON-NLS-1$
+      }
+      return result;
+    } catch (final Throwable error) {
+      throw new IllegalStateException(
+          "Could not correctly load JSSP makespan bounds from resource '" //$NON-NLS-1$
+              + resource + "'.", //$NON-NLS-1$
+          error);
+    }
+  }
+
+  /** an entry of the index */
+  private static final class Entry {
+    /** the instance name */
+    final String mName;
+    /** the offset of the size line */
+    final int mOffset;
+    /** is the instance in Taillard's format? */
+    final boolean mTaillard;
+    /** the parsed data, or {@code null} if not yet parsed */
+    int[][] mData;
+
+    /**
+     * create the entry
+     *
+     * @param pName
+     *          the instance name
+     * @param pOffset
+     *          the offset of the size line
+     * @param pTaillard
+     *          is the instance in Taillard's format?
+     */
+    Entry(final String pName, final int pOffset,
+        final boolean pTaillard) {
+      super();
+      this.mName = pName;
+      this.mOffset = pOffset;
+      this.mTaillard = pTaillard;
+    }
+  }
+
+  /** a cursor iterating over the non-empty lines of a text */
+  private static final class Cursor {
+    /** the text */
+    private final byte[] mText;
+    /** the start of the next line */
+    private int mNext;
+    /** the start of the current line */
+    int mLine;
+    /** the start of the trimmed current line */
+    private int mStart;
+    /** the end of the trimmed current line */
+    private int mEnd;
+
+    /**
+     * create the cursor
+     *
+     * @param pText
+     *          the text
+     * @param pOffset
+     *          the start of the first line to visit
+     */
+    Cursor(final byte[] pText, final int pOffset) {
+      super();
+      this.mText = pText;
+      this.mNext = pOffset;
+    }
+
+    /**
+     * Is a byte white space? Bytes of multi-byte characters are
+     * negative and thus never white space.
+     *
+     * @param b
+     *          the byte
+     * @return {@code true} if it is white space
+     */
+    private static boolean isSpace(final byte b) {
+      return (b >= 0) && (b <= ' ');
+    }
+
+    /**
+     * Advance to the next non-empty line
+     *
+     * @return {@code true} if there is such a line,
+     *         {@code false} if the end of the text was reached
+     */
+    boolean next() {
+      final byte[] text = this.mText;
+      while (this.mNext < text.length) {
+        final int line = this.mNext;
+        int end = line;
+        while ((end < text.length) && (text[end] != '\n')
+            && (text[end] != '\r')) {
+          end++;
+        }
+        this.mNext = end + 1;
+        int start = line;
+        while ((start < end) && Cursor.isSpace(text[start])) {
+          start++;
+        }
+        while ((end > start) && Cursor.isSpace(text[end - 1])) {
+          end--;
+        }
+        if (start < end) {
+          this.mLine = line;
+          this.mStart = start;
+          this.mEnd = end;
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Check whether the current line starts with a given ASCII
+     * prefix, ignoring the case
+     *
+     * @param prefix
+     *          the prefix
+     * @return {@code true} if it does, {@code false} otherwise
+     */
+    boolean startsWith(final String prefix) {
+      final int length = prefix.length();
+      if ((this.mEnd - this.mStart) < length) {
+        return false;
+      }
+      for (int i = length; (--i) >= 0;) {
+        if (Character.toLowerCase(
+            (char) this.mText[this.mStart + i]) != Character
+                .toLowerCase(prefix.charAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Get the trimmed rest of the current line
+     *
+     * @param from
+     *          the number of characters to skip
+     * @return the string
+     */
+    String string(final int from) {
+      final int start = this.mStart + from;
+      return new String(this.mText, start, this.mEnd - start,
+          StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * Parse an integer
+     *
+     * @param start
+     *          the start of the number
+     * @param end
+     *          the end of the number
+     * @return the integer
+     */
+    private int parseInt(final int start, final int end) {
+      final byte[] text = this.mText;
+      final boolean negative = (text[start] == '-');
+      int i = negative ? (start + 1) : start;
+      if ((i < end) && ((end - i) <= 9)) {
+        int result = 0;
+        for (; i < end; i++) {
+          final int digit = text[i] - '0';
+          if ((digit < 0) || (digit > 9)) {
+            break;
+          }
+          result = (result * 10) + digit;
+        }
+        if (i >= end) {
+          return negative ? (-result) : result;
+        }
+      }
+// long numbers and errors are handled by the JDK
+      return Integer.parseInt(new String(text, start,
+          end - start, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Parse the white-space separated integers of the current
+     * line. Integers which do not fit into the destination array
+     * are counted but not parsed.
+     *
+     * @param dest
+     *          the destination array
+     * @return the number of integers in the line
+     */
+    int ints(final int[] dest) {
+      final byte[] text = this.mText;
+      int count = 0;
+      int i = this.mStart;
+      while (i < this.mEnd) {
+        if (Cursor.isSpace(text[i])) {
+          i++;
+          continue;
+        }
+        final int start = i;
+        while ((i < this.mEnd) && (!Cursor.isSpace(text[i]))) {
+          i++;
+        }
+        if (count < dest.length) {
+          dest[count] = this.parseInt(start, i);
+        }
+        count++;
+      }
+      return count;
+    }
+  }
+
+  /** the holder of the default catalog */
+  private static final class Holder {
+    /** the default catalog */
+    static final JSSPInstanceCatalog DEFAULT =
+        JSSPInstanceCatalog.fromResource("instance_data.txt", //$NON-NLS-1$
+            JSSPInstanceCatalog.loadBounds());
+  }
+
+  /** the holder of the demo catalog */
+  private static final class DemoHolder {
+    /** the demo catalog */
+    static final JSSPInstanceCatalog DEMO = JSSPInstanceCatalog
+        .fromResource("demo.txt", new HashMap<>()); //$NON-NLS-1$
+  }
+}
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.Objects;
 
 import aitoa.structure.IObjectiveFunction;
+import aitoa.structure.IRepresentationMapping;
 
 /**
  * The makespan as objective function for a candidate solution to
@@ -39,12 +40,48 @@ public final class JSSPMakespanObjectiveFunction
     this(new JSSPInstance(pInstance));
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public JSSPMakespanObjectiveFunction concurrentCopy() {
+    return this;
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
     return this.instance.toString();
   }
 
+  /**
+   * Fuse the makespan with the {@link JSSPRepresentationMapping}
+   * of the same instance: The makespan of the Gantt chart that
+   * an operation sequence is mapped to is computed directly from
+   * the sequence by a {@link JSSPMakespanObjectiveFunction2},
+   * without filling the Gantt chart.
+   *
+   * @param <X>
+   *          the search space
+   * @param mapping
+   *          the representation mapping
+   * @return the fused objective function, or {@code null} if
+   *         {@code mapping} is not a
+   *         {@link JSSPRepresentationMapping} for the instance
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public <X> IObjectiveFunction<X>
+      fuse(final IRepresentationMapping<X,
+          JSSPCandidateSolution> mapping) {
+    if ((mapping instanceof JSSPRepresentationMapping)
+        && ((JSSPRepresentationMapping) mapping)
+            .isFor(this.instance)) {
+      final IObjectiveFunction<?> fused =
+          new JSSPMakespanObjectiveFunction2(this.instance);
+      return ((IObjectiveFunction<X>) fused);
+    }
+    return null;
+  }
+
 // start relevant
   /**
    * Compute the makespan of a Gantt chart
@@ -55,12 +92,15 @@ public final class JSSPMakespanObjectiveFunction
   @Override
   public double evaluate(final JSSPCandidateSolution y) {
     int makespan = 0;
-// look at the schedule for each machine
-    for (final int[] machine : y.schedule) {
-// the end time of the last job on the machine is the last number
-// in the array, as array machine consists of "flattened" tuples
-// of the form ((job, start, end), (job, start, end), ...)
-      final int end = machine[machine.length - 1];
+    final int[] schedule = y.schedule;
+    final int length = 3 * y.n;
+// look at the schedule for each machine: the end time of the
+// last job on the machine is the last number of its sequence, as
+// it consists of "flattened" tuples of the form ((job, start,
+// end), (job, start, end), ...)
+    for (int k = y.m, i = schedule.length - 1; (--k) >= 0;
+        i -= length) {
+      final int end = schedule[i];
       if (end > makespan) {
         makespan = end; // remember biggest end time
       }
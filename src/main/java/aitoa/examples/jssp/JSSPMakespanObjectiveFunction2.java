@@ -21,6 +21,15 @@ public final class JSSPMakespanObjectiveFunction2
   private final int[] mJobState;
   /** the time of the current job */
   private final int[] mJobTime;
+  /** the remaining work of each machine */
+  private final int[] mMachineRest;
+  /** the total work of each machine */
+  private final int[] mMachineWork;
+  /**
+   * the work of job {@code j} after its step {@code s} at index
+   * {@code j*m+s}
+   */
+  private final int[] mJobRest;
 
   /**
    * the instance data: for each job, the sequence of machines
@@ -42,6 +51,19 @@ public final class JSSPMakespanObjectiveFunction2
     this.mJobState = new int[pinstance.n];
     this.mJobTime = new int[pinstance.n];
     this.mMachineTime = new int[pinstance.m];
+    this.mMachineRest = new int[pinstance.m];
+    this.mMachineWork = new int[pinstance.m];
+    this.mJobRest = new int[pinstance.n * pinstance.m];
+    for (int j = pinstance.n; (--j) >= 0;) {
+      final int[] job = this.mJobs[j];
+      int rest = 0;
+      for (int s = pinstance.m; (--s) >= 0;) {
+        this.mJobRest[(j * pinstance.m) + s] = rest;
+        final int time = job[(s << 1) + 1];
+        this.mMachineWork[job[s << 1]] += time;
+        rest += time;
+      }
+    }
   }
 
   /**
@@ -103,6 +125,66 @@ public final class JSSPMakespanObjectiveFunction2
     return end;
   }
 
+  /**
+   * Evaluate the sequence, but stop as soon as the makespan is
+   * known to be at least {@code cutoff}. After scheduling an
+   * operation, its end time plus the remaining work of its job
+   * and its end time plus the remaining work of its machine are
+   * both lower bounds of the makespan.
+   *
+   * @param y
+   *          the operation sequence
+   * @param cutoff
+   *          the cutoff
+   * @return the makespan if it is less than {@code cutoff},
+   *         otherwise a lower bound of it which is at least
+   *         {@code cutoff}
+   */
+  @Override
+  public double evaluate(final int[] y, final double cutoff) {
+    final int[] machineTime = this.mMachineTime;
+    final int[] machineRest = this.mMachineRest;
+    final int[] jobState = this.mJobState;
+    final int[] jobTime = this.mJobTime;
+    final int[] jobRest = this.mJobRest;
+    final int m = machineTime.length;
+    Arrays.fill(jobState, 0);
+    Arrays.fill(machineTime, 0);
+    Arrays.fill(jobTime, 0);
+    System.arraycopy(this.mMachineWork, 0, machineRest, 0, m);
+
+    for (final int nextJob : y) {
+      final int step = jobState[nextJob]++;
+      final int[] jobSteps = this.mJobs[nextJob];
+      final int machine = jobSteps[step << 1];
+      final int time = jobSteps[(step << 1) + 1];
+      final int end = Math.max(machineTime[machine],
+          jobTime[nextJob]) + time;
+      jobTime[nextJob] = machineTime[machine] = end;
+      machineRest[machine] -= time;
+// the job and the machine still need their remaining work
+      final int bound = end + Math.max(
+          jobRest[(nextJob * m) + step], machineRest[machine]);
+      if (bound >= cutoff) {
+        return bound;
+      }
+    }
+
+    int end = -1;
+    for (final int v : machineTime) {
+      if (v > end) {
+        end = v;
+      }
+    }
+    return end;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canEvaluateBounded() {
+    return true;
+  }
+
   /**
    * Compute the lower bound of the objective value. See E. D.
    * Taillard. Benchmarks for basic scheduling problems. European
@@ -4,6 +4,7 @@ import java.util.Random;
 
 import aitoa.structure.INullarySearchOperator;
 import aitoa.utils.RandomUtils;
+import aitoa.utils.ZobristHash;
 
 /**
  * An implementation of the nullary search operator for the JSSP
@@ -49,5 +50,21 @@ public final class JSSPNullaryOperator
 // now randomly shuffle the array: create a random sequence
     RandomUtils.shuffle(random, dest, 0, dest.length);
   }
+// end relevant
+
+  /** {@inheritDoc} */
+  @Override
+  public long applyHashed(final int[] dest,
+      final Random random) {
+    this.apply(dest, random);
+    return ZobristHash.hash(dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canHash() {
+    return true;
+  }
+// start relevant
 }
 // end relevant
@@ -0,0 +1,191 @@
+package aitoa.examples.jssp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * The parallel enumeration of a neighborhood of an {@code int[]}
+ * point, as needed by
+ * {@link aitoa.structure.IUnarySearchOperator#enumerateParallel(java.util.Random, Object, Object, List, long)}.
+ * <p>
+ * The neighborhood is divided into rows that are enumerated in
+ * order. The rows are processed in waves of one row per thread,
+ * each thread using its own copy of the point. Each neighbor is
+ * identified by its row and its index inside the row. Whenever
+ * a thread accepts a neighbor, it publishes this key to all
+ * others, which then stop as soon as they reach a neighbor with
+ * a larger key. Since every row before the row of the smallest
+ * accepted key is enumerated completely, the result is the same
+ * as the one of a sequential enumeration. After each wave, the
+ * number of enumerated neighbors is known exactly, so the
+ * enumeration stops as soon as it has reached its limit.
+ * <p>
+ * The threads of the waves are taken from a dedicated
+ * {@link ForkJoinPool} of the calling thread, so the
+ * enumeration neither competes with other users of the common
+ * pool nor with the enumerations of other calling threads.
+ */
+final class JSSPParallelEnumeration {
+
+  /** the shift turning a row index into a key */
+  private static final int ROW_SHIFT = 32;
+
+  /** the pool of the calling thread */
+  private static final ThreadLocal<ForkJoinPool> POOL =
+      new ThreadLocal<>();
+
+  /** forbidden */
+  private JSSPParallelEnumeration() {
+    throw new UnsupportedOperationException();
+  }
+
+  /** The enumerator for one row of the neighborhood. */
+  @FunctionalInterface
+  interface IRowEnumerator {
+
+    /**
+     * Enumerate the neighbors in a row. If the visitor accepts a
+     * neighbor, {@code dest} must be left holding this neighbor.
+     * Otherwise, it must be restored.
+     *
+     * @param row
+     *          the row index
+     * @param dest
+     *          the point whose neighbors to enumerate, modified
+     *          in place
+     * @param visitor
+     *          the visitor
+     * @return the index of the accepted neighbor inside the row,
+     *         or {@code -(count + 1)} if no neighbor was
+     *         accepted and {@code count} neighbors were
+     *         enumerated
+     */
+    long enumerateRow(int row, int[] dest,
+        Predicate<int[]> visitor);
+  }
+
+  /**
+   * Get the pool with the given number of threads of the calling
+   * thread
+   *
+   * @param threads
+   *          the number of threads
+   * @return the pool
+   */
+  private static ForkJoinPool pool(final int threads) {
+    ForkJoinPool pool = JSSPParallelEnumeration.POOL.get();
+    if ((pool == null) || (pool.getParallelism() != threads)) {
+      if (pool != null) {
+        pool.shutdown();
+      }
+      pool = new ForkJoinPool(threads);
+      JSSPParallelEnumeration.POOL.set(pool);
+    }
+    return pool;
+  }
+
+  /**
+   * Enumerate a neighborhood in parallel
+   *
+   * @param rows
+   *          the number of rows
+   * @param x
+   *          the point whose neighborhood should be enumerated
+   * @param dest
+   *          the destination for the accepted neighbor
+   * @param visitors
+   *          the visitors, one per thread
+   * @param limit
+   *          the maximum number of neighbors to consider
+   * @param prepare
+   *          invoked in the calling thread with the exclusive
+   *          end of the rows of a wave before the wave is
+   *          enumerated, or {@code null} if the rows need no
+   *          preparation
+   * @param enumerator
+   *          the row enumerator
+   * @return the index of the accepted neighbor in the
+   *         enumeration order, or {@code -(count + 1)} if no
+   *         neighbor was accepted and {@code count} neighbors
+   *         were enumerated
+   */
+  static long enumerate(final int rows, final int[] x,
+      final int[] dest,
+      final List<? extends Predicate<int[]>> visitors,
+      final long limit, final IntConsumer prepare,
+      final IRowEnumerator enumerator) {
+    final int threads = visitors.size();
+    final AtomicLong best = new AtomicLong(Long.MAX_VALUE);
+    final long[] counts = new long[threads];
+    final int[][] scratch = new int[threads][];
+    for (int t = threads; (--t) >= 0;) {
+      scratch[t] = x.clone();
+    }
+    final ForkJoinPool pool =
+        JSSPParallelEnumeration.pool(threads);
+    final ArrayList<ForkJoinTask<?>> tasks =
+        new ArrayList<>(threads);
+
+    long index = 0L; // the neighbors enumerated before the wave
+    for (int first = 0; (first < rows) && (index < limit);
+        first += threads) {
+      final int end = Math.min(rows, first + threads);
+      if (prepare != null) {
+        prepare.accept(end);
+      }
+
+      tasks.clear();
+      for (int t = end - first; (--t) >= 0;) {
+        final int thread = t;
+        final int row = first + t;
+        final Predicate<int[]> visitor = visitors.get(t);
+        final long rowKey =
+            ((long) t) << JSSPParallelEnumeration.ROW_SHIFT;
+        tasks.add(ForkJoinTask.adapt(() -> {
+          final long result = enumerator.enumerateRow(row,
+              scratch[thread],
+              p -> ((best.get() < rowKey) || visitor.test(p)));
+          if (best.get() < rowKey) {
+            return; // cancelled or beaten by an earlier neighbor
+          }
+          if (result >= 0L) {
+            best.accumulateAndGet(rowKey | result, Math::min);
+            return;
+          }
+          counts[thread] = -(result + 1L);
+        }));
+      }
+      pool.invoke(ForkJoinTask.adapt(() -> {
+        ForkJoinTask.invokeAll(tasks);
+      }));
+
+      final long key = best.get();
+      if (key < Long.MAX_VALUE) {
+// the rows before the one with the accepted neighbor are
+// complete
+        final int thread =
+            (int) (key >>> JSSPParallelEnumeration.ROW_SHIFT);
+        for (int t = thread; (--t) >= 0;) {
+          index += counts[t];
+        }
+        index += (key & 0xffffffffL);
+        if (index >= limit) {
+          break;
+        }
+        System.arraycopy(scratch[thread], 0, dest, 0,
+            dest.length);
+        return index;
+      }
+      for (int t = end - first; (--t) >= 0;) {
+        index += counts[t];
+      }
+    }
+
+    return -(Math.min(index, limit) + 1L);
+  }
+}
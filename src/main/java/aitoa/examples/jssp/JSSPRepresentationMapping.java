@@ -16,7 +16,10 @@ public final class JSSPRepresentationMapping implements
 
   /** the current time at a given machine */
   final int[] mMachineTime;
-  /** the current step index at a given machine */
+  /**
+   * the index of the next entry of a given machine in the
+   * schedule
+   */
   final int[] mMachineState;
   /** the step index of the current job */
   final int[] mJobState;
@@ -45,6 +48,43 @@ public final class JSSPRepresentationMapping implements
     this.mMachineState = new int[pInstance.m];
   }
 
+  /**
+   * create a copy of a representation with its own internal
+   * arrays
+   *
+   * @param pCopy
+   *          the representation to copy
+   */
+  private JSSPRepresentationMapping(
+      final JSSPRepresentationMapping pCopy) {
+    super();
+    this.mJobs = pCopy.mJobs;
+    this.mJobState = new int[pCopy.mJobState.length];
+    this.mJobTime = new int[pCopy.mJobTime.length];
+    this.mMachineTime = new int[pCopy.mMachineTime.length];
+    this.mMachineState = new int[pCopy.mMachineState.length];
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public JSSPRepresentationMapping concurrentCopy() {
+    return new JSSPRepresentationMapping(this);
+  }
+
+  /**
+   * Check whether this mapping creates Gantt charts for the
+   * given instance
+   *
+   * @param instance
+   *          the instance
+   * @return {@code true} if the mapping belongs to the instance,
+   *         {@code false} otherwise
+   */
+  boolean isFor(final JSSPInstance instance) {
+    return (this.mJobs == instance.jobs)
+        || Arrays.deepEquals(this.mJobs, instance.jobs);
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
@@ -75,7 +115,12 @@ public final class JSSPRepresentationMapping implements
     final int[] machineTime = this.mMachineTime;
     final int[] jobState = this.mJobState;
     final int[] jobTime = this.mJobTime;
-    Arrays.fill(machineState, 0);
+// the sequence of each machine begins at its own offset in the
+// flat schedule array
+    final int length = 3 * jobState.length;
+    for (int k = machineState.length; (--k) >= 0;) {
+      machineState[k] = k * length;
+    }
     Arrays.fill(jobState, 0);
     Arrays.fill(machineTime, 0);
     Arrays.fill(jobTime, 0);
@@ -105,7 +150,7 @@ public final class JSSPRepresentationMapping implements
       jobTime[nextJob] = machineTime[machine] = end;
 
 // update the schedule with the data we have just computed
-      final int[] schedule = y.schedule[machine];
+      final int[] schedule = y.schedule;
       schedule[machineState[machine]++] = nextJob;
       schedule[machineState[machine]++] = start;
       schedule[machineState[machine]++] = end;
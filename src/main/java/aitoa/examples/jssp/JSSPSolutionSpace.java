@@ -57,11 +57,8 @@ public final class JSSPSolutionSpace
   @Override
   public void copy(final JSSPCandidateSolution from,
       final JSSPCandidateSolution to) {
-    final int n = this.instance.n * 3;
-    int i = 0;
-    for (final int[] s : from.schedule) {
-      System.arraycopy(s, 0, to.schedule[i++], 0, n);
-    }
+    System.arraycopy(from.schedule, 0, to.schedule, 0,
+        to.schedule.length);
   }
 // end relevant
 
@@ -110,13 +107,16 @@ public final class JSSPSolutionSpace
     out.append("aitoaEvaluate::aitoa.plot.gantt(list("); //$NON-NLS-1$
     out.append(System.lineSeparator());
 
+    final int[] sched = z.schedule;
+    final int length = 3 * z.n;
     char next1 = ' ';
-    for (final int[] sched : z.schedule) {
+    for (int k = 0; k < z.m; k++) {
       out.append(next1);
       next1 = ',';
       out.append("list(");//$NON-NLS-1$
       char next2 = ' ';
-      for (int i = 0; i < sched.length;) {
+      final int end = z.offset(k) + length;
+      for (int i = z.offset(k); i < end;) {
         out.append(next2);
         next2 = ',';
         out.append("list(job=");//$NON-NLS-1$
@@ -151,16 +151,19 @@ public final class JSSPSolutionSpace
     out.append("new ");//$NON-NLS-1$
     out.append(JSSPCandidateSolution.class.getCanonicalName());
     out.append("(new int[][] ");//$NON-NLS-1$
+    final int[] schedule = z.schedule;
+    final int length = 3 * z.n;
     char ch1 = '{';
-    for (final int[] schedule : z.schedule) {
+    for (int k = 0; k < z.m; k++) {
       out.append(ch1);
       ch1 = ',';
       out.append(System.lineSeparator());
       char ch2 = '{';
-      for (final int i : schedule) {
+      final int end = z.offset(k) + length;
+      for (int i = z.offset(k); i < end; i++) {
         out.append(ch2);
         ch2 = ',';
-        out.append(Integer.toString(i));
+        out.append(Integer.toString(schedule[i]));
       }
       out.append('}');
     }
@@ -170,32 +173,33 @@ public final class JSSPSolutionSpace
   /** {@inheritDoc} */
   @Override
   public void check(final JSSPCandidateSolution z) {
-    if (z.schedule.length != this.instance.m) {
+    if ((z.m != this.instance.m) || (z.n != this.instance.n)) {
       throw new IllegalArgumentException(//
           "Schedule for " + //$NON-NLS-1$
-              z.schedule.length + //
-              " machines, but there are " + //$NON-NLS-1$
-              this.instance.m);
+              z.m + " machines and " + //$NON-NLS-1$
+              z.n + " jobs, but there are " + //$NON-NLS-1$
+              this.instance.m + " and " + //$NON-NLS-1$
+              this.instance.n);
     }
 
     final int goalLen = this.instance.n * 3;
+    if (z.schedule.length != (this.instance.m * goalLen)) {
+      throw new IllegalArgumentException(//
+          "Invalid array length " + //$NON-NLS-1$
+              z.schedule.length + //
+              ", should be " + //$NON-NLS-1$
+              (this.instance.m * goalLen));
+    }
     final int[] jobs = new int[this.instance.n];
     final boolean[] jobsOnMachine = new boolean[this.instance.n];
-    int machine = -1;
+    final int[] schedule = z.schedule;
 
     // check schedule
-    for (final int[] schedule : z.schedule) {
-      if (schedule.length != goalLen) {
-        throw new IllegalArgumentException(//
-            "Invalid array length " + //$NON-NLS-1$
-                schedule.length + //
-                ", should be " + //$NON-NLS-1$
-                goalLen);
-      }
-      ++machine;
+    for (int machine = 0; machine < this.instance.m; machine++) {
       Arrays.fill(jobsOnMachine, false);
       int prevEnd = 0;
-      for (int i = 0; i < goalLen;) {
+      final int last = z.offset(machine) + goalLen;
+      for (int i = z.offset(machine); i < last;) {
         final int job = schedule[i++];
         final int start = schedule[i++];
         final int end = schedule[i++];
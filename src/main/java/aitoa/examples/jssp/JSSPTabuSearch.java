@@ -0,0 +1,273 @@
+package aitoa.examples.jssp;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+import aitoa.structure.IBlackBoxProcess;
+import aitoa.structure.INullarySearchOperator;
+import aitoa.structure.LogFormat;
+import aitoa.structure.Metaheuristic0;
+import aitoa.utils.Experiment;
+
+/**
+ * A tabu search for the JSSP based on the
+ * {@linkplain JSSPCriticalBlockNeighborhood critical block
+ * neighborhood}. In each step, the current point is mapped to
+ * its Gantt chart, all moves at the boundaries of the critical
+ * blocks are evaluated, and the best move which is not tabu is
+ * performed, even if it makes the solution worse. A tabu move is
+ * only accepted if it leads to a better solution than the best
+ * one found since the last restart (aspiration). After a move of
+ * an operation over other operations on the same machine, the
+ * reversal of each of the changed pairwise orders is tabu for
+ * {@link #tenure} steps.
+ * <p>
+ * The search restarts from a random point if no admissible move
+ * exists or if the best solution since the last restart has not
+ * been improved for {@link #patience} steps.
+ */
+public final class JSSPTabuSearch
+    extends Metaheuristic0<int[], JSSPCandidateSolution> {
+
+  /** the problem instance */
+  public final JSSPInstance instance;
+  /** use the N7 instead of the N5 neighborhood */
+  public final boolean n7;
+  /** the number of steps for which a move remains tabu */
+  public final int tenure;
+  /** the number of steps without improvement before a restart */
+  public final int patience;
+
+  /**
+   * Create the tabu search
+   *
+   * @param pNullary
+   *          the nullary search operator
+   * @param pInstance
+   *          the problem instance
+   * @param pN7
+   *          {@code true} for the N7 neighborhood,
+   *          {@code false} for N5
+   * @param pTenure
+   *          the number of steps for which a move remains tabu
+   * @param pPatience
+   *          the number of steps without improvement before a
+   *          restart, {@link Integer#MAX_VALUE} for no restarts
+   */
+  public JSSPTabuSearch(
+      final INullarySearchOperator<int[]> pNullary,
+      final JSSPInstance pInstance, final boolean pN7,
+      final int pTenure, final int pPatience) {
+    super(pNullary);
+    this.instance = Objects.requireNonNull(pInstance);
+    this.n7 = pN7;
+    if (pTenure < 0) {
+      throw new IllegalArgumentException(
+          "Invalid tabu tenure: " + pTenure); //$NON-NLS-1$
+    }
+    this.tenure = pTenure;
+    if (pPatience <= 0) {
+      throw new IllegalArgumentException(
+          "Invalid patience: " + pPatience); //$NON-NLS-1$
+    }
+    this.patience = pPatience;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void solve(final IBlackBoxProcess<int[],
+      JSSPCandidateSolution> process) {
+    final Random random = process.getRandom();
+    final int m = this.instance.m;
+    final int n = this.instance.n;
+    final JSSPRepresentationMapping mapping =
+        new JSSPRepresentationMapping(this.instance);
+    final JSSPCriticalBlockNeighborhood neighborhood =
+        new JSSPCriticalBlockNeighborhood(this.instance,
+            this.n7);
+    final JSSPCandidateSolution y =
+        new JSSPCandidateSolution(m, n);
+    int[] xCur = process.getSearchSpace().create();
+    int[] xNeighbor = process.getSearchSpace().create();
+    int[] xSelected = process.getSearchSpace().create();
+// tabu[(k*n+a)*n+b]: step until which a may not be put before b
+// on machine k
+    final long[] tabu = new long[m * n * n];
+
+    while (!process.shouldTerminate()) { // restart loop
+      this.nullary.apply(xCur, random);
+      double fBest = process.evaluate(xCur);
+      Arrays.fill(tabu, 0L);
+      long step = 0L;
+      int noImprovement = 0;
+
+      while (!process.shouldTerminate()) { // main loop
+        mapping.map(random, xCur, y);
+        final int moves = neighborhood.computeMoves(y);
+        int selected = -1;
+        double fSelected = Double.POSITIVE_INFINITY;
+
+        for (int move = 0; move < moves; move++) {
+          if (!neighborhood.applyMove(move, y, xNeighbor)) {
+            continue; // move would create a cycle
+          }
+          final boolean isTabu = JSSPTabuSearch.isTabu(tabu,
+              step, n, y, neighborhood, move);
+          final double f = process.evaluate(xNeighbor);
+          if (process.shouldTerminate()) {
+            return;
+          }
+          if ((f < fSelected) && ((!isTabu) || (f < fBest))) {
+            fSelected = f;
+            selected = move;
+            final int[] t = xSelected;
+            xSelected = xNeighbor;
+            xNeighbor = t;
+          }
+        }
+
+        if (selected < 0) {
+          break; // no admissible move: restart
+        }
+        ++step;
+        JSSPTabuSearch.makeTabu(tabu, step + this.tenure, n, y,
+            neighborhood, selected);
+        final int[] t = xCur;
+        xCur = xSelected;
+        xSelected = t;
+
+        if (fSelected < fBest) {
+          fBest = fSelected;
+          noImprovement = 0;
+        } else {
+          if ((++noImprovement) >= this.patience) {
+            break; // stagnation: restart
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Check whether a move is tabu, i.e., whether it would put an
+   * operation before another one on a machine while this is
+   * forbidden
+   *
+   * @param tabu
+   *          the tabu list
+   * @param step
+   *          the current step
+   * @param n
+   *          the number of jobs
+   * @param y
+   *          the current schedule
+   * @param neighborhood
+   *          the neighborhood
+   * @param move
+   *          the move
+   * @return {@code true} if the move is tabu
+   */
+  private static boolean isTabu(final long[] tabu,
+      final long step, final int n,
+      final JSSPCandidateSolution y,
+      final JSSPCriticalBlockNeighborhood neighborhood,
+      final int move) {
+    final int machine = neighborhood.getMoveMachine(move);
+    final int from = neighborhood.getMoveFrom(move);
+    final int to = neighborhood.getMoveTo(move);
+    final int[] s = y.schedule;
+    final int offset = y.offset(machine);
+    final int job = s[offset + (3 * from)];
+    final int base = machine * n;
+
+    if (from < to) { // the jumped-over jobs come before job
+      for (int p = from; (++p) <= to;) {
+        final int other = s[offset + (3 * p)];
+        if (tabu[((base + other) * n) + job] > step) {
+          return true;
+        }
+      }
+      return false;
+    }
+    for (int p = to; p < from; p++) { // job comes before them
+      final int other = s[offset + (3 * p)];
+      if (tabu[((base + job) * n) + other] > step) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Make the reversal of a move tabu
+   *
+   * @param tabu
+   *          the tabu list
+   * @param until
+   *          the step until which the reversal is tabu
+   * @param n
+   *          the number of jobs
+   * @param y
+   *          the schedule before the move
+   * @param neighborhood
+   *          the neighborhood
+   * @param move
+   *          the move
+   */
+  private static void makeTabu(final long[] tabu,
+      final long until, final int n,
+      final JSSPCandidateSolution y,
+      final JSSPCriticalBlockNeighborhood neighborhood,
+      final int move) {
+    final int machine = neighborhood.getMoveMachine(move);
+    final int from = neighborhood.getMoveFrom(move);
+    final int to = neighborhood.getMoveTo(move);
+    final int[] s = y.schedule;
+    final int offset = y.offset(machine);
+    final int job = s[offset + (3 * from)];
+    final int base = machine * n;
+
+    if (from < to) { // job may not go before them again
+      for (int p = from; (++p) <= to;) {
+        final int other = s[offset + (3 * p)];
+        tabu[((base + job) * n) + other] = until;
+      }
+      return;
+    }
+    for (int p = to; p < from; p++) { // nor they before job
+      final int other = s[offset + (3 * p)];
+      tabu[((base + other) * n) + job] = until;
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printSetup(final Writer output)
+      throws IOException {
+    output.write(LogFormat.mapEntry("base_algorithm", //$NON-NLS-1$
+        "ts")); //$NON-NLS-1$
+    output.write(System.lineSeparator());
+    super.printSetup(output);
+    output.write(LogFormat.mapEntry("neighborhood", //$NON-NLS-1$
+        this.n7 ? "n7" : "n5")); //$NON-NLS-1$//$NON-NLS-2$
+    output.write(System.lineSeparator());
+    output.write(LogFormat.mapEntry("tenure", this.tenure)); //$NON-NLS-1$
+    output.write(System.lineSeparator());
+    output.write(LogFormat.mapEntry("patience", //$NON-NLS-1$
+        this.patience));
+    output.write(System.lineSeparator());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return Experiment.nameFromObjectsMerge(
+        "ts_" + this.tenure, //$NON-NLS-1$
+        (this.patience >= Integer.MAX_VALUE) ? null
+            : Integer.toString(this.patience),
+        this.n7 ? "n7" : "n5"); //$NON-NLS-1$//$NON-NLS-2$
+  }
+}
@@ -1,5 +1,6 @@
 package aitoa.examples.jssp;
 
+import java.util.List;
 import java.util.Random;
 import java.util.function.Predicate;
 
@@ -160,6 +161,89 @@ public final class JSSPUnaryOperator12Swap
   public boolean canEnumerate() {
     return true;
   }
+
+  /**
+   * Enumerate the neighborhood in parallel. Each row consists of
+   * the moves for one index {@code i}, so the result is the same
+   * as with {@link #enumerate(Random, int[], int[], Predicate)}.
+   *
+   * @param random
+   *          {@inheritDoc}
+   * @param x
+   *          {@inheritDoc}
+   * @param dest
+   *          {@inheritDoc}
+   * @param visitors
+   *          {@inheritDoc}
+   * @param limit
+   *          {@inheritDoc}
+   * @return {@inheritDoc}
+   */
+  @Override
+  public long enumerateParallel(final Random random,
+      final int[] x, final int[] dest,
+      final List<? extends Predicate<int[]>> visitors,
+      final long limit) {
+    return JSSPParallelEnumeration.enumerate(x.length - 1, x,
+        dest, visitors, limit, null,
+        JSSPUnaryOperator12Swap::enumerateRow);
+  }
+
+  /**
+   * Enumerate all moves whose largest index is
+   * {@code i=length-1-row}
+   *
+   * @param row
+   *          the row
+   * @param dest
+   *          the point, modified in place
+   * @param visitor
+   *          the visitor
+   * @return the index of the accepted neighbor in the row, or
+   *         {@code -(count + 1)}
+   */
+  private static long enumerateRow(final int row,
+      final int[] dest, final Predicate<int[]> visitor) {
+    final int i = dest.length - 1 - row;
+    final int jobI = dest[i];
+    long count = 0L;
+    for (int j = i; (--j) >= 0;) {
+      final int jobJ = dest[j];
+      if (jobI != jobJ) {
+        for (int k = j; (--k) >= 0;) {
+          final int jobK = dest[k];
+          if ((jobI != jobK) && (jobJ != jobK)) {
+            dest[i] = jobJ;
+            dest[j] = jobK;
+            dest[k] = jobI;
+            if (visitor.test(dest)) {
+              return count;
+            }
+            ++count;
+            dest[i] = jobK;
+            dest[j] = jobI;
+            dest[k] = jobJ;
+            if (visitor.test(dest)) {
+              return count;
+            }
+            ++count;
+            dest[i] = jobI;
+            dest[j] = jobJ;
+            dest[k] = jobK;
+          }
+        }
+        dest[i] = jobJ;
+        dest[j] = jobI;
+        if (visitor.test(dest)) {
+          return count;
+        }
+        dest[i] = jobI;
+        dest[j] = jobJ;
+        ++count;
+      }
+    }
+    return -(count + 1L);
+  }
 // start relevant
 }
 // end relevant
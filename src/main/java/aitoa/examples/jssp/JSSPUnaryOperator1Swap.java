@@ -1,9 +1,11 @@
 package aitoa.examples.jssp;
 
+import java.util.List;
 import java.util.Random;
 import java.util.function.Predicate;
 
 import aitoa.structure.IUnarySearchOperator;
+import aitoa.utils.ZobristHash;
 
 /**
  * An implementation of the unary search operator for the JSSP
@@ -124,6 +126,85 @@ public final class JSSPUnaryOperator1Swap
   public boolean canEnumerate() {
     return true;
   }
+
+  /**
+   * Enumerate the neighborhood in parallel. Each row consists of
+   * the swaps for one index {@code i}, so the result is the same
+   * as with {@link #enumerate(Random, int[], int[], Predicate)}.
+   *
+   * @param random
+   *          {@inheritDoc}
+   * @param x
+   *          {@inheritDoc}
+   * @param dest
+   *          {@inheritDoc}
+   * @param visitors
+   *          {@inheritDoc}
+   * @param limit
+   *          {@inheritDoc}
+   * @return {@inheritDoc}
+   */
+  @Override
+  public long enumerateParallel(final Random random,
+      final int[] x, final int[] dest,
+      final List<? extends Predicate<int[]>> visitors,
+      final long limit) {
+    return JSSPParallelEnumeration.enumerate(x.length - 1, x,
+        dest, visitors, limit, null,
+        JSSPUnaryOperator1Swap::enumerateRow);
+  }
+
+  /**
+   * Enumerate all swaps of the index {@code i=length-1-row} with
+   * the indices {@code j<i}
+   *
+   * @param row
+   *          the row
+   * @param dest
+   *          the point, modified in place
+   * @param visitor
+   *          the visitor
+   * @return the index of the accepted neighbor in the row, or
+   *         {@code -(count + 1)}
+   */
+  private static long enumerateRow(final int row,
+      final int[] dest, final Predicate<int[]> visitor) {
+    final int i = dest.length - 1 - row;
+    final int jobI = dest[i];
+    long count = 0L;
+    for (int j = i; (--j) >= 0;) {
+      final int jobJ = dest[j];
+      if (jobI != jobJ) {
+        dest[i] = jobJ;
+        dest[j] = jobI;
+        if (visitor.test(dest)) {
+          return count;
+        }
+        dest[i] = jobI;
+        dest[j] = jobJ;
+        ++count;
+      }
+    }
+    return -(count + 1L);
+  }
+
+  /**
+   * {@inheritDoc} The hash of {@code dest} is updated with the
+   * keys of the elements changed by
+   * {@link #apply(int[], int[], Random)}.
+   */
+  @Override
+  public long applyHashed(final int[] x, final long hash,
+      final int[] dest, final Random random) {
+    this.apply(x, dest, random);
+    return ZobristHash.update(hash, x, dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canHash() {
+    return true;
+  }
 // start relevant
 }
 // end relevant
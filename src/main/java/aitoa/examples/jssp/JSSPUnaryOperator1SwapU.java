@@ -1,9 +1,11 @@
 package aitoa.examples.jssp;
 
+import java.util.List;
 import java.util.Random;
 import java.util.function.Predicate;
 
 import aitoa.structure.IUnarySearchOperator;
+import aitoa.utils.ZobristHash;
 
 /**
  * An implementation of the unary search operator for the JSSP
@@ -26,6 +28,9 @@ import aitoa.structure.IUnarySearchOperator;
 public final class JSSPUnaryOperator1SwapU
     implements IUnarySearchOperator<int[]> {
 
+  /** the number of index pairs per parallel enumeration row */
+  private static final int ROW_LENGTH = 256;
+
   /** the indexes */
   final int[] mIndexes;
 
@@ -159,4 +164,99 @@ public final class JSSPUnaryOperator1SwapU
   public boolean canEnumerate() {
     return true;
   }
+
+  /**
+   * Enumerate the neighborhood in parallel. The list of index
+   * pairs is divided into rows of consecutive pairs, which are
+   * processed in parallel. Like in
+   * {@link #enumerate(Random, int[], int[], Predicate)}, the
+   * pairs are shuffled lazily, but row by row: Before the rows
+   * of a wave are processed in parallel, the calling thread
+   * shuffles their pairs. The neighbors are thus visited in a
+   * random order, but more random numbers are drawn than by the
+   * sequential enumeration, which only draws one per visited
+   * pair.
+   *
+   * @param random
+   *          {@inheritDoc}
+   * @param x
+   *          {@inheritDoc}
+   * @param dest
+   *          {@inheritDoc}
+   * @param visitors
+   *          {@inheritDoc}
+   * @param limit
+   *          {@inheritDoc}
+   * @return {@inheritDoc}
+   */
+  @Override
+  public long enumerateParallel(final Random random,
+      final int[] x, final int[] dest,
+      final List<? extends Predicate<int[]>> visitors,
+      final long limit) {
+    final int[] indexes = this.mIndexes;
+    final int pairCount = indexes.length >> 1;
+    final int rowLength = JSSPUnaryOperator1SwapU.ROW_LENGTH;
+    final int[] shuffled = new int[1];
+
+    return JSSPParallelEnumeration.enumerate(
+        (pairCount + rowLength - 1) / rowLength, x, dest,
+        visitors, limit, rowEnd -> {
+// continue the iterative Fisher-Yates shuffle up to the end of
+// the rows of the next wave
+          final int pairEnd =
+              Math.min(pairCount, rowEnd * rowLength);
+          for (int i = shuffled[0]; i < pairEnd; i++) {
+            final int start = i << 1;
+            final int swapWith =
+                (i + random.nextInt(pairCount - i)) << 1;
+            final int a = indexes[swapWith];
+            indexes[swapWith] = indexes[start];
+            indexes[start] = a;
+            final int b = indexes[swapWith + 1];
+            indexes[swapWith + 1] = indexes[start + 1];
+            indexes[start + 1] = b;
+          }
+          shuffled[0] = pairEnd;
+        }, (row, point, visitor) -> {
+          final int end =
+              Math.min(pairCount, (row + 1) * rowLength) << 1;
+          long count = 0L;
+          for (int p = (row * rowLength) << 1; p < end;) {
+            final int a = indexes[p++];
+            final int b = indexes[p++];
+            final int jobI = point[a];
+            final int jobJ = point[b];
+            if (jobI != jobJ) {
+              point[a] = jobJ;
+              point[b] = jobI;
+              if (visitor.test(point)) {
+                return count;
+              }
+              point[a] = jobI;
+              point[b] = jobJ;
+              ++count;
+            }
+          }
+          return -(count + 1L);
+        });
+  }
+
+  /**
+   * {@inheritDoc} The hash of {@code dest} is updated with the
+   * keys of the elements changed by
+   * {@link #apply(int[], int[], Random)}.
+   */
+  @Override
+  public long applyHashed(final int[] x, final long hash,
+      final int[] dest, final Random random) {
+    this.apply(x, dest, random);
+    return ZobristHash.update(hash, x, dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canHash() {
+    return true;
+  }
 }
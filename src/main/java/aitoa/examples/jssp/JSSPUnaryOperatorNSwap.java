@@ -3,6 +3,7 @@ package aitoa.examples.jssp;
 import java.util.Random;
 
 import aitoa.structure.IUnarySearchOperator;
+import aitoa.utils.ZobristHash;
 
 /**
  * An implementation of the unary search operator for the JSSP
@@ -55,5 +56,25 @@ public final class JSSPUnaryOperatorNSwap
 
     dest[i] = first; // write back first id to last copied index
   }
+// end relevant
+
+  /**
+   * {@inheritDoc} The hash of {@code dest} is updated with the
+   * keys of the elements changed by
+   * {@link #apply(int[], int[], Random)}.
+   */
+  @Override
+  public long applyHashed(final int[] x, final long hash,
+      final int[] dest, final Random random) {
+    this.apply(x, dest, random);
+    return ZobristHash.update(hash, x, dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canHash() {
+    return true;
+  }
+// start relevant
 }
 // end relevant
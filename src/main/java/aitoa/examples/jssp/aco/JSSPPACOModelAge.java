@@ -46,7 +46,10 @@ public final class JSSPPACOModelAge
 
   /** the current time at a given machine */
   private final int[] mMachineTime;
-  /** the current step index at a given machine */
+  /**
+   * the index of the next entry of a given machine in the
+   * schedule
+   */
   private final int[] mMachineState;
   /** the step index of the current job */
   private final int[] mJobState;
@@ -119,7 +122,10 @@ public final class JSSPPACOModelAge
   @Override
   public void apply(final JSSPACORecord dest,
       final Random random) {
-    Arrays.fill(this.mMachineState, 0);
+    final int length = 3 * this.mJobState.length;
+    for (int k = this.mMachineState.length; (--k) >= 0;) {
+      this.mMachineState[k] = k * length;
+    }
     Arrays.fill(this.mMachineTime, 0);
     Arrays.fill(this.mJobState, 0);
     Arrays.fill(this.mJobTime, 0);
@@ -221,7 +227,7 @@ public final class JSSPPACOModelAge
     machineTime[machine] = end;
 
 // update the schedule with the data we have just computed
-    final int[] schedule = dest.solution.schedule[machine];
+    final int[] schedule = dest.solution.schedule;
     schedule[machineState[machine]++] = nextJob;
     schedule[machineState[machine]++] = start;
     schedule[machineState[machine]++] = end;
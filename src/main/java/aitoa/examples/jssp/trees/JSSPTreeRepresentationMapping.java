@@ -277,10 +277,10 @@ public final class JSSPTreeRepresentationMapping implements
       this.mMachineFinishedWorkTime[machine] += time;
 
       // store everything in the schedule
-      machineNext *= 3;
-      y.schedule[machine][machineNext++] = bestJob;
-      y.schedule[machine][machineNext++] = beginTime;
-      y.schedule[machine][machineNext++] = endTime;
+      machineNext = y.offset(machine) + (machineNext * 3);
+      y.schedule[machineNext++] = bestJob;
+      y.schedule[machineNext++] = beginTime;
+      y.schedule[machineNext] = endTime;
     }
   }
 }
@@ -3,6 +3,7 @@ package aitoa.searchSpaces.bitstrings;
 import java.util.Random;
 
 import aitoa.structure.IBinarySearchOperator;
+import aitoa.utils.ZobristHash;
 
 /**
  * The uniform crossover operator for bit strings.
@@ -427,4 +428,22 @@ public final class BitStringBinaryOperatorUniform
       i -= 64;
     }
   }
+
+  /**
+   * {@inheritDoc} The offspring is built from scratch, so its
+   * hash is computed from the offspring itself.
+   */
+  @Override
+  public long applyHashed(final boolean[] x0, final long hash0,
+      final boolean[] x1, final long hash1, final boolean[] dest,
+      final Random random) {
+    this.apply(x0, x1, dest, random);
+    return ZobristHash.hash(dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canHash() {
+    return true;
+  }
 }
@@ -3,6 +3,7 @@ package aitoa.searchSpaces.bitstrings;
 import java.util.Random;
 
 import aitoa.structure.INullarySearchOperator;
+import aitoa.utils.ZobristHash;
 
 /**
  * A nullary search operator for bit strings.
@@ -295,4 +296,18 @@ public final class BitStringNullaryOperator
       i -= 64;
     }
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public long applyHashed(final boolean[] dest,
+      final Random random) {
+    this.apply(dest, random);
+    return ZobristHash.hash(dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canHash() {
+    return true;
+  }
 }
@@ -5,6 +5,7 @@ import java.util.function.Predicate;
 
 import aitoa.structure.IUnarySearchOperator;
 import aitoa.utils.RandomUtils;
+import aitoa.utils.ZobristHash;
 
 /**
  * A unary operator for flipping single bits.
@@ -94,4 +95,22 @@ public final class BitStringUnaryOperator1Flip
   public boolean canEnumerate() {
     return true;
   }
+
+  /**
+   * {@inheritDoc} The hash of {@code dest} is updated with the
+   * keys of the elements changed by
+   * {@link #apply(boolean[], boolean[], Random)}.
+   */
+  @Override
+  public long applyHashed(final boolean[] x, final long hash,
+      final boolean[] dest, final Random random) {
+    this.apply(x, dest, random);
+    return ZobristHash.update(hash, x, dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canHash() {
+    return true;
+  }
 }
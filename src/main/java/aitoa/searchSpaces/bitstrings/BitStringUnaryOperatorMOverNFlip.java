@@ -3,6 +3,7 @@ package aitoa.searchSpaces.bitstrings;
 import java.util.Random;
 
 import aitoa.structure.IUnarySearchOperator;
+import aitoa.utils.ZobristHash;
 
 /**
  * A unary operator for flipping each bit with a certain
@@ -77,4 +78,22 @@ public final class BitStringUnaryOperatorMOverNFlip
   public boolean canEnumerate() {
     return false;
   }
+
+  /**
+   * {@inheritDoc} The hash of {@code dest} is updated with the
+   * keys of the elements changed by
+   * {@link #apply(boolean[], boolean[], Random)}.
+   */
+  @Override
+  public long applyHashed(final boolean[] x, final long hash,
+      final boolean[] dest, final Random random) {
+    this.apply(x, dest, random);
+    return ZobristHash.update(hash, x, dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canHash() {
+    return true;
+  }
 }
@@ -0,0 +1,454 @@
+package aitoa.searchSpaces.trees;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A linear, prefix-order representation of a tree. Instead of
+ * only holding the root {@link Node}, this class stores all
+ * nodes of the tree in an array in prefix (depth-first, parent
+ * before children) order. For each position, we also store the
+ * (exclusive) index where the subtree rooted at that position
+ * ends as well as the level of the position, i.e., its distance
+ * to the root plus one.
+ * <p>
+ * This allows us to pick a node uniformly at random in
+ * {@code O(1)} via {@link #randomIndex(Random)}, whereas the
+ * random walks of the pointer-based {@link TreeUnaryOperator}
+ * and {@link TreeBinaryOperator} favor nodes close to the root.
+ * Replacing a subtree becomes a few array copies plus the
+ * re-creation of the nodes on the path from the root to the
+ * replacement position via
+ * {@link NodeType#replaceChild(Node, Node, int)}, exactly as
+ * done by the pointer-based operators. Since the node array always
+ * holds valid, immutable nodes, the root returned by
+ * {@link #toNode()} can be evaluated directly and the flat tree
+ * works with every existing {@link NodeTypeSet}.
+ */
+public final class FlatTree {
+
+  /** the nodes in prefix order */
+  Node[] mNodes;
+
+  /**
+   * the exclusive end indexes of the sub-trees rooted at each
+   * position
+   */
+  int[] mEnd;
+
+  /** the level of each position, the root has level 1 */
+  int[] mLevel;
+
+  /** the number of nodes in this tree */
+  int mSize;
+
+  /** create an empty flat tree */
+  public FlatTree() {
+    this(16);
+  }
+
+  /**
+   * create an empty flat tree with the given initial capacity
+   *
+   * @param pCapacity
+   *          the initial capacity
+   */
+  private FlatTree(final int pCapacity) {
+    super();
+    this.mNodes = new Node[pCapacity];
+    this.mEnd = new int[pCapacity];
+    this.mLevel = new int[pCapacity];
+  }
+
+  /**
+   * Create a flat tree representing the given node
+   *
+   * @param root
+   *          the root node
+   * @return the flat tree
+   */
+  public static FlatTree of(final Node root) {
+    final FlatTree res =
+        new FlatTree(Math.max(16, root.weight()));
+    res.assign(root);
+    return res;
+  }
+
+  /**
+   * Make sure that this tree can store at least the given
+   * number of nodes
+   *
+   * @param capacity
+   *          the capacity
+   */
+  private void ensureCapacity(final int capacity) {
+    if (capacity > this.mNodes.length) {
+      final int newCapacity =
+          Math.max(capacity, this.mNodes.length << 1);
+      this.mNodes = Arrays.copyOf(this.mNodes, newCapacity);
+      this.mEnd = Arrays.copyOf(this.mEnd, newCapacity);
+      this.mLevel = Arrays.copyOf(this.mLevel, newCapacity);
+    }
+  }
+
+  /**
+   * Store the given tree in this flat tree, overwriting its
+   * current contents
+   *
+   * @param root
+   *          the root node
+   */
+  public void assign(final Node root) {
+    this.ensureCapacity(root.weight());
+    this.mSize = this.flatten(root, 0, 1);
+  }
+
+  /**
+   * Write a node and its children in prefix order into the
+   * arrays. The capacity must be sufficient.
+   *
+   * @param node
+   *          the node
+   * @param index
+   *          the index to write to
+   * @param level
+   *          the level of the node
+   * @return the end index of the sub-tree
+   */
+  private int flatten(final Node node, final int index,
+      final int level) {
+    this.mNodes[index] = node;
+    this.mLevel[index] = level;
+    int next = index + 1;
+    final int size = node.getChildCount();
+    for (int i = 0; i < size; i++) {
+      next = this.flatten(node.getChild(i), next, level + 1);
+    }
+    this.mEnd[index] = next;
+    return next;
+  }
+
+  /**
+   * Get the root node of this tree. The node array is always
+   * kept consistent, so this is an {@code O(1)} operation.
+   *
+   * @return the root node, or {@code null} if the tree is empty
+   */
+  public Node toNode() {
+    return ((this.mSize > 0) ? this.mNodes[0] : null);
+  }
+
+  /**
+   * Get the number of nodes in this tree, which is equal to
+   * {@link Node#weight()} of the root
+   *
+   * @return the number of nodes in this tree
+   */
+  public int size() {
+    return this.mSize;
+  }
+
+  /**
+   * Get the node at the given prefix-order index
+   *
+   * @param index
+   *          the index
+   * @return the node at that index
+   */
+  public Node getNode(final int index) {
+    this.checkIndex(index);
+    return this.mNodes[index];
+  }
+
+  /**
+   * Get the exclusive end index of the sub-tree at the given
+   * index. The sub-tree rooted at {@code index} occupies the
+   * positions {@code index..(getEnd(index)-1)}.
+   *
+   * @param index
+   *          the index
+   * @return the end index of the sub-tree
+   */
+  public int getEnd(final int index) {
+    this.checkIndex(index);
+    return this.mEnd[index];
+  }
+
+  /**
+   * Get the level of the given index, where the root has level
+   * 1
+   *
+   * @param index
+   *          the index
+   * @return the level
+   */
+  public int getLevel(final int index) {
+    this.checkIndex(index);
+    return this.mLevel[index];
+  }
+
+  /**
+   * Get the depth of this tree
+   *
+   * @return the depth of this tree
+   */
+  public int depth() {
+    return ((this.mSize > 0) ? this.mNodes[0].depth() : 0);
+  }
+
+  /**
+   * Pick the index of a node uniformly at random
+   *
+   * @param random
+   *          the random number generator
+   * @return the index of the node
+   */
+  public int randomIndex(final Random random) {
+    return random.nextInt(this.mSize);
+  }
+
+  /**
+   * check an index
+   *
+   * @param index
+   *          the index
+   */
+  private void checkIndex(final int index) {
+    if ((index < 0) || (index >= this.mSize)) {
+      throw new IndexOutOfBoundsException("index "//$NON-NLS-1$
+          + index + " is invalid, tree only has "//$NON-NLS-1$
+          + this.mSize + " nodes.");//$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Copy the contents of another flat tree into this one
+   *
+   * @param from
+   *          the source tree
+   */
+  public void copyFrom(final FlatTree from) {
+    final int size = from.mSize;
+    this.ensureCapacity(size);
+    System.arraycopy(from.mNodes, 0, this.mNodes, 0, size);
+    System.arraycopy(from.mEnd, 0, this.mEnd, 0, size);
+    System.arraycopy(from.mLevel, 0, this.mLevel, 0, size);
+    if (size < this.mSize) {
+      Arrays.fill(this.mNodes, size, this.mSize, null);
+    }
+    this.mSize = size;
+  }
+
+  /**
+   * Make this tree a copy of {@code source} where the sub-tree
+   * at index {@code at} is replaced with the sub-tree at index
+   * {@code from} of {@code donor}. This tree must be different
+   * from both {@code source} and {@code donor}.
+   *
+   * @param source
+   *          the source tree
+   * @param at
+   *          the index of the sub-tree in {@code source} to be
+   *          replaced
+   * @param donor
+   *          the donor tree
+   * @param from
+   *          the index of the sub-tree in {@code donor} to
+   *          insert
+   */
+  public void replace(final FlatTree source, final int at,
+      final FlatTree donor, final int from) {
+    if ((source == this) || (donor == this)) {
+      throw new IllegalArgumentException(//
+          "destination tree must be different from source and donor."); //$NON-NLS-1$
+    }
+    source.checkIndex(at);
+    donor.checkIndex(from);
+
+    final int oldEnd = source.mEnd[at];
+    final int insertSize = donor.mEnd[from] - from;
+    final int tailSize = source.mSize - oldEnd;
+    final int newSize = at + insertSize + tailSize;
+    this.ensureCapacity(newSize);
+
+    final Node[] nodes = this.mNodes;
+    final int[] end = this.mEnd;
+    final int[] level = this.mLevel;
+
+// the prefix before the replaced sub-tree
+    System.arraycopy(source.mNodes, 0, nodes, 0, at);
+    System.arraycopy(source.mEnd, 0, end, 0, at);
+    System.arraycopy(source.mLevel, 0, level, 0, at);
+// the inserted sub-tree
+    System.arraycopy(donor.mNodes, from, nodes, at, insertSize);
+    final int endShift = at - from;
+    final int levelShift =
+        source.mLevel[at] - donor.mLevel[from];
+    for (int i = insertSize; (--i) >= 0;) {
+      end[at + i] = donor.mEnd[from + i] + endShift;
+      level[at + i] = donor.mLevel[from + i] + levelShift;
+    }
+// the suffix after the replaced sub-tree
+    final int newEnd = at + insertSize;
+    System.arraycopy(source.mNodes, oldEnd, nodes, newEnd,
+        tailSize);
+    System.arraycopy(source.mLevel, oldEnd, level, newEnd,
+        tailSize);
+    final int delta = newEnd - oldEnd;
+    for (int i = tailSize; (--i) >= 0;) {
+      end[newEnd + i] = source.mEnd[oldEnd + i] + delta;
+    }
+
+    if (newSize < this.mSize) {
+      Arrays.fill(nodes, newSize, this.mSize, null);
+    }
+    this.mSize = newSize;
+    this.repairPath(at, delta);
+  }
+
+  /**
+   * Make this tree a copy of {@code source} where the sub-tree
+   * at index {@code at} is replaced with the given node. This
+   * tree must be different from {@code source}.
+   *
+   * @param source
+   *          the source tree
+   * @param at
+   *          the index of the sub-tree in {@code source} to be
+   *          replaced
+   * @param subtree
+   *          the new sub-tree
+   */
+  public void replace(final FlatTree source, final int at,
+      final Node subtree) {
+    if (source == this) {
+      throw new IllegalArgumentException(//
+          "destination tree must be different from source."); //$NON-NLS-1$
+    }
+    source.checkIndex(at);
+
+    final int oldEnd = source.mEnd[at];
+    final int insertSize = subtree.weight();
+    final int tailSize = source.mSize - oldEnd;
+    final int newSize = at + insertSize + tailSize;
+    this.ensureCapacity(newSize);
+
+    System.arraycopy(source.mNodes, 0, this.mNodes, 0, at);
+    System.arraycopy(source.mEnd, 0, this.mEnd, 0, at);
+    System.arraycopy(source.mLevel, 0, this.mLevel, 0, at);
+
+    final int newEnd =
+        this.flatten(subtree, at, source.mLevel[at]);
+
+    System.arraycopy(source.mNodes, oldEnd, this.mNodes, newEnd,
+        tailSize);
+    System.arraycopy(source.mLevel, oldEnd, this.mLevel, newEnd,
+        tailSize);
+    final int delta = newEnd - oldEnd;
+    for (int i = tailSize; (--i) >= 0;) {
+      this.mEnd[newEnd + i] = source.mEnd[oldEnd + i] + delta;
+    }
+
+    if (newSize < this.mSize) {
+      Arrays.fill(this.mNodes, newSize, this.mSize, null);
+    }
+    this.mSize = newSize;
+    this.repairPath(at, delta);
+  }
+
+  /**
+   * Fix the end indexes of all ancestors of the node at index
+   * {@code at} and re-create these ancestors so that they point
+   * to the new child nodes.
+   *
+   * @param at
+   *          the index of the replaced sub-tree
+   * @param delta
+   *          the change in size caused by the replacement
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private void repairPath(final int at, final int delta) {
+    final Node[] nodes = this.mNodes;
+    final int[] end = this.mEnd;
+    final int depth = this.mLevel[at] - 1;
+    if (depth <= 0) {
+      return;
+    }
+
+// find the ancestors of at and the child indexes along the path
+    final int[] path = new int[depth];
+    final int[] childIndex = new int[depth];
+    int current = 0;
+    for (int d = 0; d < depth; d++) {
+      path[d] = current;
+      end[current] += delta;
+      int child = current + 1;
+      int index = 0;
+      while (end[child] <= at) {
+        child = end[child];
+        ++index;
+      }
+      childIndex[d] = index;
+      current = child;
+    }
+
+// re-create the ancestors bottom-up
+    Node x = nodes[at];
+    for (int d = depth; (--d) >= 0;) {
+      final int p = path[d];
+      final Node parent = nodes[p];
+      x = nodes[p] = ((NodeType) (parent.mType))
+          .replaceChild(parent, x, childIndex[d]);
+    }
+  }
+
+  /**
+   * Replace the node at the given index with a node which has
+   * the same children, such as the result of
+   * {@link NodeType#createModifiedCopy(Node, Random)}.
+   *
+   * @param source
+   *          the source tree
+   * @param at
+   *          the index of the node to replace
+   * @param node
+   *          the new node, which must have the same children as
+   *          the original node at that index
+   */
+  public void replaceNode(final FlatTree source, final int at,
+      final Node node) {
+    source.checkIndex(at);
+    if (source != this) {
+      this.copyFrom(source);
+    }
+    this.mNodes[at] = node;
+    this.repairPath(at, 0);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean equals(final Object o) {
+    if (o == this) {
+      return true;
+    }
+    if (o instanceof FlatTree) {
+      final FlatTree t = ((FlatTree) o);
+      return ((t.mSize == this.mSize)
+          && Objects.equals(this.toNode(), t.toNode()));
+    }
+    return false;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int hashCode() {
+    return this.mSize;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return String.valueOf(this.toNode());
+  }
+}
@@ -0,0 +1,119 @@
+package aitoa.searchSpaces.trees;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+
+import aitoa.structure.IBinarySearchOperator;
+
+/**
+ * A recombination operation for trees in the {@link FlatTree}
+ * representation. It works like {@link TreeBinaryOperator}, but
+ * picks the insertion point uniformly at random from all nodes
+ * of the receiving tree and collects the permitted cuts from the
+ * donor tree with a single linear scan over its node array.
+ */
+public final class FlatTreeBinaryOperator extends TreeOperator
+    implements IBinarySearchOperator<FlatTree> {
+
+  /** the indexes of the cuts collected */
+  private int[] mCuts;
+
+  /**
+   * Create a new flat tree recombination operation
+   *
+   * @param pMd
+   *          the maximum tree depth
+   */
+  public FlatTreeBinaryOperator(final int pMd) {
+    super(pMd);
+    this.mCuts = new int[16];
+  }
+
+  /**
+   * collect all cuts that are allowed
+   *
+   * @param tree
+   *          the tree to collect the cuts from
+   * @param allowed
+   *          the allowed nodes
+   * @param maxDepth
+   *          the maximum depth
+   * @return the number of cuts
+   */
+  private int collectCuts(final FlatTree tree,
+      final NodeTypeSet<?> allowed, final int maxDepth) {
+    final int size = tree.mSize;
+    if (this.mCuts.length < size) {
+      this.mCuts = Arrays.copyOf(this.mCuts,
+          Math.max(size, this.mCuts.length << 1));
+    }
+    final int[] cuts = this.mCuts;
+    final Node[] nodes = tree.mNodes;
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      final Node n = nodes[i];
+      if ((n.depth() <= maxDepth) && (allowed.containsNode(n))) {
+        cuts[count++] = i;
+      }
+    }
+    return count;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void apply(final FlatTree x0, final FlatTree x1,
+      final FlatTree dest, final Random random) {
+
+    FlatTree p0 = x0;
+    FlatTree p1 = x1;
+
+    final boolean p0IsTerminal = (p0.mSize <= 1);
+    final boolean p1IsTerminal = (p1.mSize <= 1);
+
+    if (!(p0IsTerminal && p1IsTerminal)) {
+
+      if (p0IsTerminal) {
+        final FlatTree t = p0;
+        p0 = p1;
+        p1 = t;
+      }
+      final boolean canSwap = !(p0IsTerminal || p1IsTerminal);
+
+      for (int trials = TreeOperator.MAX_TRIALS;
+          (--trials) >= 0;) {
+        if (canSwap) {
+          final FlatTree t = p0;
+          p0 = p1;
+          p1 = t;
+        }
+
+        final int index = p0.randomIndex(random);
+        final int count = this.collectCuts(p1,
+            p0.mNodes[index].mType.mTypeSet,
+            (this.mMaxDepth - p0.mLevel[index]) + 1);
+        if (count > 0) {
+          final int from = this.mCuts[random.nextInt(count)];
+          if (!Objects.equals(p0.mNodes[index],
+              p1.mNodes[from])) {
+            dest.replace(p0, index, p1, from);
+            final Node yy = dest.toNode();
+            if (!(Objects.equals(yy, p0.toNode())
+                || Objects.equals(yy, p1.toNode()))) {
+              return;
+            }
+          }
+        }
+      }
+    }
+
+    // give up: if we cannot combine the trees
+    dest.copyFrom(random.nextBoolean() ? p0 : p1);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "flatRec" + this.mMaxDepth;//$NON-NLS-1$
+  }
+}
@@ -0,0 +1,53 @@
+package aitoa.searchSpaces.trees;
+
+import java.util.Random;
+
+import aitoa.structure.INullarySearchOperator;
+
+/**
+ * An operation creating trees in the {@link FlatTree}
+ * representation.
+ */
+public final class FlatTreeNullaryOperator extends TreeOperator
+    implements INullarySearchOperator<FlatTree> {
+
+  /** the types to choose from */
+  private final NodeTypeSet<?> mTypes;
+
+  /**
+   * Create a new flat tree creation operator
+   *
+   * @param pMd
+   *          the maximum tree depth
+   * @param pTypes
+   *          the types
+   */
+  public FlatTreeNullaryOperator(final NodeTypeSet<?> pTypes,
+      final int pMd) {
+    super(pMd);
+    this.mTypes = pTypes;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void apply(final FlatTree dest, final Random random) {
+    for (int trials = TreeOperator.MAX_TRIALS;
+        (--trials) >= 0;) {
+      final Node n = TreeOperator.createTree(this.mTypes,
+          (1 + random.nextInt(this.mMaxDepth)), random);
+      if (n != null) {
+        dest.assign(n);
+        return;
+      }
+    }
+    throw new IllegalArgumentException(//
+        "failed to create tree " + //$NON-NLS-1$
+            TreeOperator.MAX_TRIALS + " times!"); //$NON-NLS-1$
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "create" + this.mMaxDepth;//$NON-NLS-1$
+  }
+}
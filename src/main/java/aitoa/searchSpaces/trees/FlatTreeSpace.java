@@ -0,0 +1,115 @@
+package aitoa.searchSpaces.trees;
+
+import java.io.IOException;
+
+import aitoa.structure.ISpace;
+
+/**
+ * The space for trees in the linear, prefix-order
+ * {@link FlatTree} representation.
+ */
+public final class FlatTreeSpace implements ISpace<FlatTree> {
+
+  /** the maximum permitted node depth */
+  private final int mMaxDepth;
+
+  /**
+   * create the flat tree space
+   *
+   * @param pMaxDepth
+   *          the maximum depth parameter
+   */
+  public FlatTreeSpace(final int pMaxDepth) {
+    super();
+    this.mMaxDepth = TreeSpace.checkMaxDepth(pMaxDepth);
+  }
+
+  /** create the flat tree space */
+  public FlatTreeSpace() {
+    this(Integer.MAX_VALUE);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public FlatTree create() {
+    return new FlatTree();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void copy(final FlatTree from, final FlatTree to) {
+    to.copyFrom(from);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void print(final FlatTree z, final Appendable out)
+      throws IOException {
+    final Node n = z.toNode();
+    if (n != null) {
+      n.asText(out);
+      out.append(System.lineSeparator());
+      out.append(System.lineSeparator());
+      n.asJavaPrintParameters(out);
+    } else {
+      out.append("null"); //$NON-NLS-1$
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void check(final FlatTree z) {
+    if (z == null) {
+      throw new IllegalArgumentException(
+          "Flat tree must not be null.");//$NON-NLS-1$
+    }
+    final Node n = z.toNode();
+    if (n == null) {
+      throw new IllegalArgumentException(
+          "Root node cannot be null.");//$NON-NLS-1$
+    }
+    final int d = n.depth();
+    if ((d <= 0) || (d > this.mMaxDepth)) {
+      throw new IllegalArgumentException(
+          "Invalid root node depth " //$NON-NLS-1$
+              + d + ", must be in 1.." + //$NON-NLS-1$
+              this.mMaxDepth);
+    }
+    TreeSpace.checkNode(n);
+
+    final int size = z.mSize;
+    if (size != n.weight()) {
+      throw new IllegalArgumentException(
+          "Size disagreement: flat tree says " + //$NON-NLS-1$
+              size + ", while root weight is " + //$NON-NLS-1$
+              n.weight());
+    }
+    final FlatTree expected = FlatTree.of(n);
+    for (int i = size; (--i) >= 0;) {
+      if (z.mNodes[i] != expected.mNodes[i]) {
+        throw new IllegalArgumentException(
+            "Node disagreement at index " + i);//$NON-NLS-1$
+      }
+      if (z.mEnd[i] != expected.mEnd[i]) {
+        throw new IllegalArgumentException(
+            "End index disagreement at index " + i);//$NON-NLS-1$
+      }
+      if (z.mLevel[i] != expected.mLevel[i]) {
+        throw new IllegalArgumentException(
+            "Level disagreement at index " + i);//$NON-NLS-1$
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getScale() {
+    return this.mMaxDepth;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "flatTrees:" + this.mMaxDepth;//$NON-NLS-1$
+  }
+}
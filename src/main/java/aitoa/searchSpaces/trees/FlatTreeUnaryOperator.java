@@ -0,0 +1,65 @@
+package aitoa.searchSpaces.trees;
+
+import java.util.Objects;
+import java.util.Random;
+
+import aitoa.structure.IUnarySearchOperator;
+
+/**
+ * A mutation operation for trees in the {@link FlatTree}
+ * representation. It works like {@link TreeUnaryOperator}, but
+ * picks the node to modify or replace uniformly at random from
+ * all nodes of the tree in {@code O(1)}.
+ */
+public final class FlatTreeUnaryOperator extends TreeOperator
+    implements IUnarySearchOperator<FlatTree> {
+  /**
+   * Create a new flat tree mutation operation
+   *
+   * @param md
+   *          the maximum tree depth
+   */
+  public FlatTreeUnaryOperator(final int md) {
+    super(md);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public void apply(final FlatTree x, final FlatTree dest,
+      final Random random) {
+    for (int trials = TreeOperator.MAX_TRIALS;
+        (--trials) >= 0;) {
+      final int index = x.randomIndex(random);
+      final Node end = x.mNodes[index];
+
+      if (random.nextBoolean()) {
+        final Node newEnd = ((NodeType) (end.mType))
+            .createModifiedCopy(end, random);
+        if ((newEnd != null) && (!Objects.equals(end, newEnd))) {
+          dest.replaceNode(x, index, newEnd);
+          return;
+        }
+      } else {
+        final Node newEnd =
+            TreeOperator.createTree(end.mType.mTypeSet,
+                (this.mMaxDepth - x.mLevel[index]) + 1, random);
+        if ((newEnd != null) && (!Objects.equals(end, newEnd))) {
+          dest.replace(x, index, newEnd);
+          return;
+        }
+      }
+    }
+
+    throw new IllegalArgumentException(//
+        "failed to modify tree " + //$NON-NLS-1$
+            x.toString() + " after trying "//$NON-NLS-1$
+            + TreeOperator.MAX_TRIALS + " times!"); //$NON-NLS-1$
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return "flatRep" + this.mMaxDepth;//$NON-NLS-1$
+  }
+}
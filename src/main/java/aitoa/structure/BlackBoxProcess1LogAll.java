@@ -75,6 +75,24 @@ final class BlackBoxProcess1LogAll<X>
     this.mSearchSpace.check(this.mBestX);
   }
 
+  /**
+   * Concurrent evaluation is not supported if every single FE is
+   * logged.
+   *
+   * @return {@code null}
+   */
+  @Override
+  public IObjectiveFunction<X> concurrentCopy() {
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void consumeFEs(final long fes) {
+    throw new UnsupportedOperationException(
+        "Cannot consume FEs if all FEs are logged."); //$NON-NLS-1$
+  }
+
   /** {@inheritDoc} */
   @Override
   public double evaluate(final X y) {
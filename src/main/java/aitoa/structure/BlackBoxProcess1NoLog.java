@@ -43,13 +43,27 @@ final class BlackBoxProcess1NoLog<X>
   /** {@inheritDoc} */
   @Override
   public double evaluate(final X y) {
+    return this.evaluate(y, Double.POSITIVE_INFINITY);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canEvaluateBounded() {
+    return this.mF.canEvaluateBounded();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double evaluate(final X y, final double cutoff) {
     if (this.mTerminated) {
       // if we have already terminated, straight quit
       return Double.POSITIVE_INFINITY;
     }
     final long fes = ++this.mConsumedFEs; // increase fes
     // evaluate
-    final double result = this.mF.evaluate(y);
+    // values better than the best so far must be exact
+    final double result = this.mF.evaluate(y,
+        Math.max(cutoff, this.mBestF));
 
     // did we improve
     if (result < this.mBestF) { // yes, we did
@@ -22,6 +22,11 @@ final class BlackBoxProcess2LogAll<X, Y>
   final Y mCurrent;
   /** the best-so-far candidate solution */
   final Y mBestY;
+  /**
+   * the objective function fused with the representation
+   * mapping, or {@code null} if every point must be mapped
+   */
+  final IObjectiveFunction<X> mFused;
   /** the log file */
   private final Writer mLogWriter;
   /** the log */
@@ -40,6 +45,7 @@ final class BlackBoxProcess2LogAll<X, Y>
     super(pBuilder);
     this.mBestY = this.mSolutionSpace.create();
     this.mCurrent = this.mSolutionSpace.create();
+    this.mFused = this.mF.fuse(this.mMapping);
 
     this.mLogWriter = pBuilder.createLogWriter();
     this.mLog = pBuilder.createLog();
@@ -89,6 +95,24 @@ final class BlackBoxProcess2LogAll<X, Y>
     this.mSolutionSpace.check(this.mBestY);
   }
 
+  /**
+   * Concurrent evaluation is not supported if every single FE is
+   * logged.
+   *
+   * @return {@code null}
+   */
+  @Override
+  public IObjectiveFunction<X> concurrentCopy() {
+    return null;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void consumeFEs(final long fes) {
+    throw new UnsupportedOperationException(
+        "Cannot consume FEs if all FEs are logged."); //$NON-NLS-1$
+  }
+
   /** {@inheritDoc} */
   @Override
   public double evaluate(final X y) {
@@ -97,9 +121,15 @@ final class BlackBoxProcess2LogAll<X, Y>
       return Double.POSITIVE_INFINITY;
     }
     final long fes = ++this.mConsumedFEs; // increase fes
-    // map and evaluate
-    this.mMapping.map(this.mRandom, y, this.mCurrent);
-    final double result = this.mF.evaluate(this.mCurrent);
+    final double result;
+    if (this.mFused != null) {
+      // only compute the objective value, map later if needed
+      result = this.mFused.evaluate(y);
+    } else {
+      // map and evaluate
+      this.mMapping.map(this.mRandom, y, this.mCurrent);
+      result = this.mF.evaluate(this.mCurrent);
+    }
 
     final long time = System.currentTimeMillis();
 
@@ -120,7 +150,12 @@ final class BlackBoxProcess2LogAll<X, Y>
       // so remember a copy of this best solution
       this.mBestF = result;
       this.mSearchSpace.copy(y, this.mBestX);
-      this.mSolutionSpace.copy(this.mCurrent, this.mBestY);
+      if (this.mFused != null) {
+        // only now construct the new best candidate solution
+        this.mMapping.map(this.mRandom, y, this.mBestY);
+      } else {
+        this.mSolutionSpace.copy(this.mCurrent, this.mBestY);
+      }
       this.mLastImprovementFE = fes; // and the current FE
       // and the time when the improvement was made
       this.mLastImprovementTime = time;
@@ -16,6 +16,11 @@ final class BlackBoxProcess2NoLog<X, Y>
   final Y mCurrent;
   /** the best-so-far candidate solution */
   final Y mBestY;
+  /**
+   * the objective function fused with the representation
+   * mapping, or {@code null} if every point must be mapped
+   */
+  final IObjectiveFunction<X> mFused;
 
   /**
    * Instantiate the black box problem of the black box problem
@@ -28,6 +33,7 @@ final class BlackBoxProcess2NoLog<X, Y>
     super(pBuilder);
     this.mBestY = this.mSolutionSpace.create();
     this.mCurrent = this.mSolutionSpace.create();
+    this.mFused = this.mF.fuse(this.mMapping);
     // enqueue into terminator thread if needed only after
     // initialization is complete
     if (this.mMaxTime < Long.MAX_VALUE) {
@@ -51,21 +57,48 @@ final class BlackBoxProcess2NoLog<X, Y>
   /** {@inheritDoc} */
   @Override
   public double evaluate(final X y) {
+    return this.evaluate(y, Double.POSITIVE_INFINITY);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canEvaluateBounded() {
+    return (this.mFused != null)
+        ? this.mFused.canEvaluateBounded()
+        : this.mF.canEvaluateBounded();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double evaluate(final X y, final double cutoff) {
     if (this.mTerminated) {
       // if we have already terminated, straight quit
       return Double.POSITIVE_INFINITY;
     }
     final long fes = ++this.mConsumedFEs; // increase fes
-    // map and evaluate
-    this.mMapping.map(this.mRandom, y, this.mCurrent);
-    final double result = this.mF.evaluate(this.mCurrent);
+    // values better than the best so far must be exact
+    final double limit = Math.max(cutoff, this.mBestF);
+    final double result;
+    if (this.mFused != null) {
+      // only compute the objective value, map later if needed
+      result = this.mFused.evaluate(y, limit);
+    } else {
+      // map and evaluate
+      this.mMapping.map(this.mRandom, y, this.mCurrent);
+      result = this.mF.evaluate(this.mCurrent, limit);
+    }
 
     // did we improve
     if (result < this.mBestF) { // yes, we did
       // so remember a copy of this best solution
       this.mBestF = result;
       this.mSearchSpace.copy(y, this.mBestX);
-      this.mSolutionSpace.copy(this.mCurrent, this.mBestY);
+      if (this.mFused != null) {
+        // only now construct the new best candidate solution
+        this.mMapping.map(this.mRandom, y, this.mBestY);
+      } else {
+        this.mSolutionSpace.copy(this.mCurrent, this.mBestY);
+      }
       this.mLastImprovementFE = fes; // and the current FE
       // and the time when the improvement was made
       this.mLastImprovementTime = System.currentTimeMillis();
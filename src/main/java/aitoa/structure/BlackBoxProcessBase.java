@@ -76,8 +76,7 @@ abstract class BlackBoxProcessBase<X, Y> extends
       }
     }
 
-    this.mRandom = new Random();
-    this.mRandom.setSeed(this.mRandSeed);
+    this.mRandom = this.createRandom();
   }
 
   /** terminate this problem */
@@ -142,6 +141,69 @@ abstract class BlackBoxProcessBase<X, Y> extends
     return this.mTerminated;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  @SuppressWarnings("unchecked")
+  public IObjectiveFunction<X> concurrentCopy() {
+    final IObjectiveFunction<Y> f = this.mF.concurrentCopy();
+    if (f == null) {
+      return null;
+    }
+    if (this.mMapping == null) {
+      return (IObjectiveFunction<X>) f;
+    }
+    final IRepresentationMapping<X, Y> mapping =
+        this.mMapping.concurrentCopy();
+    if (mapping == null) {
+      return null;
+    }
+    final Y y = this.mSolutionSpace.create();
+    final Random random = this.createRandom();
+    return new IObjectiveFunction<X>() {
+
+      /** {@inheritDoc} */
+      @Override
+      public double evaluate(final X x) {
+        mapping.map(random, x, y);
+        return f.evaluate(y);
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public double evaluate(final X x, final double cutoff) {
+        mapping.map(random, x, y);
+        return f.evaluate(y, cutoff);
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public boolean canEvaluateBounded() {
+        return f.canEvaluateBounded();
+      }
+    };
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void consumeFEs(final long fes) {
+    if (fes < 0L) {
+      throw new IllegalArgumentException(
+          "Cannot consume a negative number of FEs, but got " //$NON-NLS-1$
+              + fes);
+    }
+    if (this.mTerminated || (fes <= 0L)) {
+      return;
+    }
+// the same as fes evaluations without improvement
+    final long remaining = this.mMaxFEs - this.mConsumedFEs;
+    if (fes >= remaining) {
+      this.mConsumedFEs = this.mMaxFEs;
+      this.terminate();
+    } else {
+      this.mConsumedFEs += fes;
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public void close() throws IOException {
@@ -1,12 +1,19 @@
 package aitoa.structure;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
 import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * A builder for black-box process instances
@@ -20,6 +27,9 @@ public class BlackBoxProcessBuilder<X, Y>
     extends BlackBoxProcessData<X, Y>
     implements Supplier<IBlackBoxProcess<X, Y>> {
 
+  /** the size of the buffers for writing compressed logs */
+  private static final int COMPRESSED_BUFFER_SIZE = 1 << 16;
+
   /** the log path */
   private Path mLogPath;
 
@@ -29,11 +39,49 @@ public class BlackBoxProcessBuilder<X, Y>
   /** should we log all data? */
   private boolean mLogAll;
 
+  /** should the log of all FEs be thinned? */
+  private boolean mLogThinned;
+
+  /** the number of non-improving FEs sampled in a thinned log */
+  private int mLogSampleSize;
+
+  /** should the log be gzip-compressed? */
+  private boolean mCompressLog;
+
+  /** the listener, or {@code null} if none */
+  private IBlackBoxProcessListener<? super X> mListener;
+
+  /** the sample interval for the listener */
+  private long mSampleInterval;
+
   /** Create the base class of the black box problem */
   public BlackBoxProcessBuilder() {
     super();
+    SystemData.prefetch();
     this.setRandomRandSeed();
     this.mExpectedLogLength = 1024;
+    this.mLogSampleSize = 1024;
+  }
+
+  /**
+   * Create a builder for throwaway processes by copying another
+   * builder
+   *
+   * @param pCopy
+   *          the builder to copy
+   * @param pMaxTime
+   *          the maximum runtime in milliseconds
+   */
+  private BlackBoxProcessBuilder(
+      final BlackBoxProcessBuilder<X, Y> pCopy,
+      final long pMaxTime) {
+    super(pCopy);
+    this.mMaxTime = BlackBoxProcessData.checkMaxTime(pMaxTime);
+    this.mMaxFEs = Long.MAX_VALUE;
+    this.mGoalF = Double.NEGATIVE_INFINITY;
+    this.mExpectedLogLength = 1024;
+    this.mLogSampleSize = 1024;
+    this.setRandomRandSeed();
   }
 
   /**
@@ -108,6 +156,39 @@ public class BlackBoxProcessBuilder<X, Y>
         ThreadLocalRandom.current().nextLong());
   }
 
+  /**
+   * Set the factory creating the random number generator from
+   * the random seed. By default, {@link java.util.Random} is
+   * used. A faster, non-synchronized generator such as
+   * {@link aitoa.utils.XoshiroRandom} can be chosen via
+   * {@code setRandomFactory(XoshiroRandom::new)}. The factory
+   * must always return the same sequence of random numbers for
+   * the same seed. If a factory is set, the class of the
+   * generator is written to the log next to the random seed.
+   *
+   * @param factory
+   *          the factory, or {@code null} to use
+   *          {@link java.util.Random}
+   * @return this
+   */
+  public final BlackBoxProcessBuilder<X, Y> setRandomFactory(
+      final LongFunction<? extends Random> factory) {
+    this.mRandomFactory = factory;
+    return this;
+  }
+
+  /**
+   * Get the factory creating the random number generator from
+   * the random seed
+   *
+   * @return the factory, or {@code null} if
+   *         {@link java.util.Random} is used
+   */
+  public final LongFunction<? extends Random>
+      getRandomFactory() {
+    return this.mRandomFactory;
+  }
+
   /**
    * Set the search space
    *
@@ -243,7 +324,19 @@ public class BlackBoxProcessBuilder<X, Y>
     // make sure the file exists, so other threads may skip over
     // the problem
     try {
-      return Files.newBufferedWriter(this.mLogPath);
+      if (!this.mCompressLog) {
+        return Files.newBufferedWriter(this.mLogPath);
+      }
+// The gzip header is written as soon as the stream is created.
+// It must stay in the buffer until the log is written, because a
+// log file of size zero marks a run which has not completed.
+      return new BufferedWriter(new OutputStreamWriter(
+          new GZIPOutputStream(new BufferedOutputStream(
+              Files.newOutputStream(this.mLogPath),
+              BlackBoxProcessBuilder.COMPRESSED_BUFFER_SIZE),
+              BlackBoxProcessBuilder.COMPRESSED_BUFFER_SIZE),
+          StandardCharsets.UTF_8),
+          BlackBoxProcessBuilder.COMPRESSED_BUFFER_SIZE);
     } catch (final IOException ioe) {
       throw new IllegalArgumentException("File '" //$NON-NLS-1$
           + this.mLogPath + //
@@ -263,6 +356,17 @@ public class BlackBoxProcessBuilder<X, Y>
         Integer.highestOneBit(this.mExpectedLogLength * 3), 2)];
   }
 
+  /**
+   * Create the thinned log, which uses its own random numbers
+   * derived from the random seed
+   *
+   * @return the thinned log
+   */
+  final ThinnedLog createThinnedLog() {
+    return new ThinnedLog(this.createLog(), this.mLogSampleSize,
+        this.mRandSeed);
+  }
+
   /**
    * Will the generated black box process log every single FE?
    *
@@ -287,6 +391,172 @@ public class BlackBoxProcessBuilder<X, Y>
     return this;
   }
 
+  /**
+   * Will the log of every single FE be thinned?
+   *
+   * @return {@code true} if the log is thinned, {@code false}
+   *         otherwise
+   */
+  public final boolean isLoggingThinned() {
+    return this.mLogThinned;
+  }
+
+  /**
+   * Set whether the log should be thinned if
+   * {@linkplain #setLogAll(boolean) every single FE should be
+   * logged}. Logging every FE takes memory proportional to the
+   * number of FEs, which is impossible for long runs. A thinned
+   * log instead records every improvement, the best-so-far
+   * objective value at checkpoints that are spaced evenly on a
+   * logarithmic scale of FEs, and a uniform random sample of
+   * {@link #getLogSampleSize()} non-improving FEs together with
+   * their objective values. Its size is therefore bounded by the
+   * number of improvements plus a small constant. Different from
+   * the log of all FEs, a thinned log can be read by the
+   * {@linkplain aitoa.utils.logs.LogParser log parser}, since
+   * the sample is stored in a separate section. This setting
+   * has no effect if not all FEs are logged.
+   *
+   * @param thinned
+   *          {@code true} if the log should be thinned,
+   *          {@code false} otherwise
+   * @return this builder
+   */
+  public final BlackBoxProcessBuilder<X, Y>
+      setLogThinned(final boolean thinned) {
+    this.mLogThinned = thinned;
+    return this;
+  }
+
+  /**
+   * Get the number of non-improving FEs sampled in a thinned
+   * log
+   *
+   * @return the sample size
+   * @see #setLogThinned(boolean)
+   */
+  public final int getLogSampleSize() {
+    return this.mLogSampleSize;
+  }
+
+  /**
+   * Set the number of non-improving FEs sampled in a thinned log
+   *
+   * @param size
+   *          the sample size, {@code 0} for no sample, at most
+   *          {@code Integer.MAX_VALUE / 3}
+   * @return this builder
+   * @see #setLogThinned(boolean)
+   */
+  public final BlackBoxProcessBuilder<X, Y>
+      setLogSampleSize(final int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException(
+          "Sample size cannot be negative, but is " //$NON-NLS-1$
+              + size);
+    }
+    if (size > (Integer.MAX_VALUE / 3)) {
+// each sampled FE occupies three slots in one long array
+      throw new IllegalArgumentException(
+          "Sample size cannot be larger than " //$NON-NLS-1$
+              + (Integer.MAX_VALUE / 3) + ", but is " //$NON-NLS-1$
+              + size);
+    }
+    this.mLogSampleSize = size;
+    return this;
+  }
+
+  /**
+   * Will the generated black box process write a gzip-compressed
+   * log?
+   *
+   * @return {@code true} if the log is compressed, {@code false}
+   *         if it is plain text
+   */
+  public final boolean isCompressingLog() {
+    return this.mCompressLog;
+  }
+
+  /**
+   * Set whether the log should be written through a streaming
+   * gzip compressor. This makes sense especially together with
+   * {@link #setLogAll(boolean)}, as the logs then become very
+   * large and are very repetitive. The name of the
+   * {@linkplain #setLogPath(Path) log file} must then end with
+   * {@link LogFormat#COMPRESSED_FILE_SUFFIX}, and otherwise with
+   * {@link LogFormat#FILE_SUFFIX}. The
+   * {@linkplain aitoa.utils.logs.LogParser log parser}
+   * recognizes compressed logs by their name and reads them
+   * transparently.
+   *
+   * @param compress
+   *          {@code true} if the log should be compressed,
+   *          {@code false} if it should be plain text
+   * @return this builder
+   */
+  public final BlackBoxProcessBuilder<X, Y>
+      setCompressLog(final boolean compress) {
+    this.mCompressLog = compress;
+    return this;
+  }
+
+  /**
+   * Get the listener which observes the progress of the
+   * generated black box processes
+   *
+   * @return the listener, or {@code null} if none
+   */
+  public final IBlackBoxProcessListener<? super X>
+      getListener() {
+    return this.mListener;
+  }
+
+  /**
+   * Set a listener which observes the progress of the generated
+   * black box processes. The events are delivered in a separate
+   * thread, as described in {@link IBlackBoxProcessListener}.
+   *
+   * @param listener
+   *          the listener, or {@code null} to observe nothing
+   * @return this builder
+   */
+  public final BlackBoxProcessBuilder<X, Y> setListener(
+      final IBlackBoxProcessListener<? super X> listener) {
+    this.mListener = listener;
+    return this;
+  }
+
+  /**
+   * Get the number of FEs between two samples sent to the
+   * {@linkplain #getListener() listener}
+   *
+   * @return the sample interval, or {@code 0} if no samples are
+   *         sent
+   */
+  public final long getSampleInterval() {
+    return this.mSampleInterval;
+  }
+
+  /**
+   * Set the number of FEs between two samples sent to the
+   * {@linkplain #getListener() listener}
+   *
+   * @param fes
+   *          the sample interval, or {@code 0} if no samples
+   *          should be sent
+   * @return this builder
+   */
+  public final BlackBoxProcessBuilder<X, Y>
+      setSampleInterval(final long fes) {
+    if (fes < 0L) {
+      throw new IllegalArgumentException(
+          "Sample interval cannot be negative, but is " //$NON-NLS-1$
+              + fes);
+    }
+    this.mSampleInterval = fes;
+    return this;
+  }
+
   /**
    * The internal version used to create the instance of the
    * black box problem. This method is overridden by the test
@@ -302,6 +572,15 @@ public class BlackBoxProcessBuilder<X, Y>
     }
 
     if (this.mLogPath != null) {
+// the log parser recognizes compressed logs by their name
+      if (this.mCompressLog != LogFormat.isCompressedLogFileName(
+          this.mLogPath.getFileName().toString())) {
+        throw new IllegalArgumentException("Log file '" //$NON-NLS-1$
+            + this.mLogPath + "' must end with '" //$NON-NLS-1$
+            + LogFormat.COMPRESSED_FILE_SUFFIX
+            + "' if and only if the log is compressed.");//$NON-NLS-1$
+      }
+
 // Try to pre-load the system data to avoid any timing issues
 // later. If we load the system data while flushing the first log
 // file after the first run, this might have an impact on other
@@ -320,18 +599,24 @@ public class BlackBoxProcessBuilder<X, Y>
       if (this.mLogPath == null) {
         return new BlackBoxProcess1NoLog(this);
       }
-      return this.mLogAll //
-          ? new BlackBoxProcess1LogAll(this)//
-          : new BlackBoxProcess1Log(this);
+      if (this.mLogAll) {
+        return this.mLogThinned //
+            ? new BlackBoxProcess1LogThinned(this)//
+            : new BlackBoxProcess1LogAll(this);
+      }
+      return new BlackBoxProcess1Log(this);
     }
 
     // search and solution space are different
     if (this.mLogPath == null) {
       return new BlackBoxProcess2NoLog(this);
     }
-    return this.mLogAll //
-        ? new BlackBoxProcess2LogAll(this)//
-        : new BlackBoxProcess2Log(this);
+    if (this.mLogAll) {
+      return this.mLogThinned //
+          ? new BlackBoxProcess2LogThinned(this)//
+          : new BlackBoxProcess2LogAll(this);
+    }
+    return new BlackBoxProcess2Log(this);
   }
 
   /**
@@ -341,6 +626,30 @@ public class BlackBoxProcessBuilder<X, Y>
    */
   @Override
   public final IBlackBoxProcess<X, Y> get() {
-    return this.doGet();
+    final IBlackBoxProcess<X, Y> process = this.doGet();
+    if (this.mListener == null) {
+      return process;
+    }
+    return new BlackBoxProcessMonitor<>(process, this.mListener,
+        this.mSampleInterval);
+  }
+
+  /**
+   * Create a throwaway black box process which uses the same
+   * search and solution space, representation mapping, objective
+   * function, and random number generator factory as the
+   * processes returned by {@link #get()}, but which does not
+   * write any log, has no FE limit or goal objective value, and
+   * stops after the given runtime. Such processes can be used to
+   * warm up the just-in-time compiler before the actual runs of
+   * an experiment.
+   *
+   * @param maxTime
+   *          the maximum runtime in milliseconds
+   * @return the throwaway process
+   */
+  public final IBlackBoxProcess<X, Y>
+      getWarmUpProcess(final long maxTime) {
+    return new BlackBoxProcessBuilder<>(this, maxTime).doGet();
   }
 }
@@ -5,6 +5,8 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.Random;
+import java.util.function.LongFunction;
 
 import aitoa.utils.RandomUtils;
 
@@ -26,6 +28,11 @@ abstract class BlackBoxProcessData<X, Y> {
 
   /** the random number generator seed */
   long mRandSeed;
+  /**
+   * the factory for the random number generator, or {@code null}
+   * to use {@link java.util.Random}
+   */
+  LongFunction<? extends Random> mRandomFactory;
   /** the search space */
   ISpace<X> mSearchSpace;
   /** the solution space */
@@ -77,6 +84,7 @@ abstract class BlackBoxProcessData<X, Y> {
         BlackBoxProcessData.checkMaxTime(pCopy.mMaxTime);
     this.mGoalF = BlackBoxProcessData.checkGoalF(pCopy.mGoalF);
     this.mRandSeed = pCopy.mRandSeed;
+    this.mRandomFactory = pCopy.mRandomFactory;
   }
 
   /**
@@ -128,6 +136,20 @@ abstract class BlackBoxProcessData<X, Y> {
             + goalF);
   }
 
+  /**
+   * Create the random number generator seeded with the random
+   * seed
+   *
+   * @return the random number generator
+   */
+  final Random createRandom() {
+    if (this.mRandomFactory == null) {
+      return new Random(this.mRandSeed);
+    }
+    return Objects.requireNonNull(
+        this.mRandomFactory.apply(this.mRandSeed));
+  }
+
   /**
    * Print the information
    *
@@ -163,6 +185,11 @@ abstract class BlackBoxProcessData<X, Y> {
     out.write(LogFormat.mapEntry(LogFormat.RANDOM_SEED,
         RandomUtils.randSeedToString(this.mRandSeed)));
     out.write(System.lineSeparator());
+    if (this.mRandomFactory != null) {
+      out.write(LogFormat.mapEntry(LogFormat.RANDOM_GENERATOR,
+          this.createRandom().getClass().getName()));
+      out.write(System.lineSeparator());
+    }
     out.write(LogFormat.asComment(LogFormat.END_SETUP));
     out.write(System.lineSeparator());
 
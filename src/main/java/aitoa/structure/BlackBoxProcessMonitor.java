@@ -0,0 +1,420 @@
+package aitoa.structure;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import aitoa.utils.IOUtils.IOConsumer;
+
+/**
+ * A wrapper around a black-box process which reports its
+ * progress to an {@link IBlackBoxProcessListener}. The
+ * optimization thread is the only producer of events and puts
+ * them into a ring buffer made of pre-allocated arrays. The
+ * consumer thread is the only reader. The two threads only
+ * communicate via the two ordered counters {@link #mTail} and
+ * {@link #mHead}, so no locks are needed. The consumer thread
+ * parks for a short time if the buffer is empty, so the
+ * producer never has to wake it up.
+ *
+ * @param <X>
+ *          the search space
+ * @param <Y>
+ *          the solution space
+ */
+final class BlackBoxProcessMonitor<X, Y>
+    implements IBlackBoxProcess<X, Y>, Runnable {
+
+  /** the capacity of the ring buffer, a power of two */
+  static final int CAPACITY = 256;
+  /** the nanoseconds to park if the buffer is empty */
+  private static final long PARK_NANOS = 100_000L;
+
+  /** the wrapped process */
+  private final IBlackBoxProcess<X, Y> mProcess;
+  /** the listener */
+  private final IBlackBoxProcessListener<? super X> mListener;
+  /** the search space */
+  private final ISpace<X> mSearchSpace;
+  /** the sample interval, or {@code 0} for no samples */
+  private final long mSampleInterval;
+  /** the FE at which the next sample is due */
+  private long mNextSample;
+  /** the best objective value seen by the producer */
+  private double mBestF;
+  /** has the process been stopped from outside? */
+  private volatile boolean mStopped;
+  /** has the process been closed? */
+  private volatile boolean mClosed;
+
+  /** is the event in a slot an improvement or a sample? */
+  private final boolean[] mImprovement;
+  /** the objective values of the events */
+  private final double[] mF;
+  /** the FEs of the events */
+  private final long[] mFE;
+  /** the times of the events */
+  private final long[] mTime;
+  /** the points of the improvements, allocated lazily */
+  private final Object[] mX;
+  /** the index of the next event to read, set by consumer */
+  private final AtomicLong mHead;
+  /** the index of the next event to write, set by producer */
+  private final AtomicLong mTail;
+  /** the producer's copy of {@link #mTail} */
+  private long mTailLocal;
+  /** the producer's last view of {@link #mHead} */
+  private long mHeadCached;
+
+  /** the consumer thread */
+  private final Thread mConsumer;
+  /** the error thrown by the listener, if any */
+  private Throwable mError;
+  /** the best objective value when the process was closed */
+  private double mEndF;
+  /** the consumed FEs when the process was closed */
+  private long mEndFEs;
+  /** the consumed time when the process was closed */
+  private long mEndTime;
+
+  /**
+   * create the monitor and start the consumer thread
+   *
+   * @param pProcess
+   *          the process to wrap
+   * @param pListener
+   *          the listener
+   * @param pSampleInterval
+   *          the sample interval, or {@code 0} for no samples
+   */
+  BlackBoxProcessMonitor(final IBlackBoxProcess<X, Y> pProcess,
+      final IBlackBoxProcessListener<? super X> pListener,
+      final long pSampleInterval) {
+    super();
+    this.mProcess = Objects.requireNonNull(pProcess);
+    this.mListener = Objects.requireNonNull(pListener);
+    this.mSearchSpace = pProcess.getSearchSpace();
+    this.mSampleInterval = pSampleInterval;
+    this.mNextSample = (pSampleInterval > 0L) ? pSampleInterval
+        : Long.MAX_VALUE;
+    this.mBestF = Double.POSITIVE_INFINITY;
+
+    final int capacity = BlackBoxProcessMonitor.CAPACITY;
+    this.mImprovement = new boolean[capacity];
+    this.mF = new double[capacity];
+    this.mFE = new long[capacity];
+    this.mTime = new long[capacity];
+    this.mX = new Object[capacity];
+    this.mHead = new AtomicLong();
+    this.mTail = new AtomicLong();
+
+    this.mConsumer = new Thread(this, "BlackBoxProcessListener"); //$NON-NLS-1$
+    this.mConsumer.setDaemon(true);
+    this.mConsumer.start();
+  }
+
+  /** stop the process from outside */
+  private void stop() {
+    this.mStopped = true;
+  }
+
+  /**
+   * Put an event into the ring buffer. If the buffer is full,
+   * improvements wait for the consumer while samples are
+   * dropped.
+   *
+   * @param improvement
+   *          is this an improvement or a sample?
+   * @param f
+   *          the objective value
+   * @param fe
+   *          the FE
+   * @param time
+   *          the time
+   * @param x
+   *          the point to copy, or {@code null} for samples
+   */
+  @SuppressWarnings("unchecked")
+  private void publish(final boolean improvement, final double f,
+      final long fe, final long time, final X x) {
+    final long tail = this.mTailLocal;
+    final int capacity = BlackBoxProcessMonitor.CAPACITY;
+    if ((tail - this.mHeadCached) >= capacity) {
+      this.mHeadCached = this.mHead.get();
+      while ((tail - this.mHeadCached) >= capacity) {
+        if (!improvement) {
+          return; // drop the sample
+        }
+        Thread.yield();
+        this.mHeadCached = this.mHead.get();
+      }
+    }
+
+    final int slot = (int) (tail & (capacity - 1));
+    this.mImprovement[slot] = improvement;
+    this.mF[slot] = f;
+    this.mFE[slot] = fe;
+    this.mTime[slot] = time;
+    if (x != null) {
+      X dest = (X) (this.mX[slot]);
+      if (dest == null) {
+        this.mX[slot] = dest = this.mSearchSpace.create();
+      }
+      this.mSearchSpace.copy(x, dest);
+    }
+    this.mTailLocal = tail + 1L;
+    this.mTail.lazySet(tail + 1L);
+  }
+
+  /** publish a sample if it is due */
+  private void sample() {
+    final long fes = this.mProcess.getConsumedFEs();
+    if (fes >= this.mNextSample) {
+      final long interval = this.mSampleInterval;
+      this.mNextSample = ((fes / interval) + 1L) * interval;
+      this.publish(false, this.mBestF, fes,
+          this.mProcess.getConsumedTime(), null);
+    }
+  }
+
+  /**
+   * Deliver an event to the listener, unless it has already
+   * failed
+   *
+   * @param slot
+   *          the slot of the event
+   */
+  @SuppressWarnings("unchecked")
+  private void deliver(final int slot) {
+    if (this.mError != null) {
+      return;
+    }
+    try {
+      if (this.mImprovement[slot]) {
+        this.mListener.onImprovement(this.mF[slot],
+            this.mFE[slot], this.mTime[slot],
+            (X) (this.mX[slot]));
+      } else {
+        this.mListener.onSample(this.mF[slot], this.mFE[slot],
+            this.mTime[slot]);
+      }
+    } catch (final Throwable error) {
+      this.mError = error;
+    }
+  }
+
+  /** the consumer thread */
+  @Override
+  public void run() {
+    try {
+      this.mListener.onStart(this::stop);
+    } catch (final Throwable error) {
+      this.mError = error;
+    }
+
+    final int mask = BlackBoxProcessMonitor.CAPACITY - 1;
+    long head = 0L;
+    for (;;) {
+// read the flag before the tail, so that all events published
+// before closing are seen
+      final boolean closed = this.mClosed;
+      final long tail = this.mTail.get();
+      while (head < tail) {
+        this.deliver((int) (head & mask));
+        this.mHead.lazySet(++head);
+      }
+      if (closed) {
+        break;
+      }
+      LockSupport.parkNanos(this,
+          BlackBoxProcessMonitor.PARK_NANOS);
+    }
+
+    if (this.mError == null) {
+      try {
+        this.mListener.onEnd(this.mEndF, this.mEndFEs,
+            this.mEndTime);
+      } catch (final Throwable error) {
+        this.mError = error;
+      }
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double evaluate(final X x) {
+    return this.evaluate(x, Double.POSITIVE_INFINITY);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean canEvaluateBounded() {
+    return this.mProcess.canEvaluateBounded();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double evaluate(final X x, final double cutoff) {
+    if (this.mStopped) {
+      return Double.POSITIVE_INFINITY;
+    }
+    final double result = this.mProcess.evaluate(x, cutoff);
+    if (result < this.mBestF) {
+      this.mBestF = result;
+      this.publish(true, result,
+          this.mProcess.getLastImprovementFE(),
+          this.mProcess.getLastImprovementTime(), x);
+    }
+    this.sample();
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void consumeFEs(final long fes) {
+    if (this.mStopped) {
+      return;
+    }
+    this.mProcess.consumeFEs(fes);
+    this.sample();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean shouldTerminate() {
+    return this.mStopped || this.mProcess.shouldTerminate();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void close() throws IOException {
+    if (this.mClosed) {
+      this.mProcess.close();
+      return;
+    }
+    try {
+      this.mProcess.close();
+    } finally {
+      this.mEndF = this.mProcess.getBestF();
+      this.mEndFEs = this.mProcess.getConsumedFEs();
+      this.mEndTime = this.mProcess.getConsumedTime();
+      this.mClosed = true;
+      LockSupport.unpark(this.mConsumer);
+      try {
+        this.mConsumer.join();
+      } catch (@SuppressWarnings("unused") final InterruptedException ie) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (this.mError != null) {
+      throw new IOException("The process listener failed.", //$NON-NLS-1$
+          this.mError);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Random getRandom() {
+    return this.mProcess.getRandom();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ISpace<X> getSearchSpace() {
+    return this.mSearchSpace;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getBestF() {
+    return this.mProcess.getBestF();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double getGoalF() {
+    return this.mProcess.getGoalF();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void getBestX(final X dest) {
+    this.mProcess.getBestX(dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void getBestY(final Y dest) {
+    this.mProcess.getBestY(dest);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getConsumedFEs() {
+    return this.mProcess.getConsumedFEs();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getLastImprovementFE() {
+    return this.mProcess.getLastImprovementFE();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getMaxFEs() {
+    return this.mProcess.getMaxFEs();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getConsumedTime() {
+    return this.mProcess.getConsumedTime();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getLastImprovementTime() {
+    return this.mProcess.getLastImprovementTime();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long getMaxTime() {
+    return this.mProcess.getMaxTime();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void printLogSection(final String sectionName,
+      final IOConsumer<Writer> printer) throws IOException {
+    this.mProcess.printLogSection(sectionName, printer);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public IObjectiveFunction<X> concurrentCopy() {
+    return this.mProcess.concurrentCopy();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double lowerBound() {
+    return this.mProcess.lowerBound();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double upperBound() {
+    return this.mProcess.upperBound();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return this.mProcess.toString();
+  }
+}
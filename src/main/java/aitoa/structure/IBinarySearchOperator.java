@@ -30,5 +30,63 @@ public interface IBinarySearchOperator<X>
    *          a random number generator
    */
   void apply(X x0, X x1, X dest, Random random);
+// end relevant
+
+  /**
+   * Apply the search operator like
+   * {@link #apply(Object, Object, Object, Random)} and also
+   * compute the {@linkplain aitoa.utils.ZobristHash hash} of the
+   * newly sampled point from the hashes of the source points,
+   * where possible. The point written to {@code dest} must be
+   * exactly the one that
+   * {@link #apply(Object, Object, Object, Random)} would produce
+   * with the same random numbers.
+   * <p>
+   * This is an optional operation. If it is not supported, a
+   * {@link java.lang.UnsupportedOperationException} is thrown,
+   * as done by this default implementation, and
+   * {@link #canHash()} returns {@code false}.
+   *
+   * @param x0
+   *          the first source point
+   * @param hash0
+   *          the hash of {@code x0}
+   * @param x1
+   *          the second source point
+   * @param hash1
+   *          the hash of {@code x1}
+   * @param dest
+   *          the destination object to be overwritten with the
+   *          newly sampled point
+   * @param random
+   *          a random number generator
+   * @return the hash of {@code dest}
+   * @see #canHash()
+   * @throws java.lang.UnsupportedOperationException
+   *           if the operator cannot compute hashes
+   */
+  default long applyHashed(final X x0, final long hash0,
+      final X x1, final long hash1, final X dest,
+      final Random random) {
+    throw new UnsupportedOperationException("The operator " + //$NON-NLS-1$
+        this.getClass().getName() + //
+        " does not support hashing."); //$NON-NLS-1$
+  }
+
+  /**
+   * This method allows an algorithm to query whether
+   * {@link #applyHashed(Object, long, Object, long, Object, Random)}
+   * can be called.
+   *
+   * @return {@code true} if
+   *         {@link #applyHashed(Object, long, Object, long, Object, Random)}
+   *         can be used, {@code false} if and only if it will
+   *         throw a
+   *         {@link java.lang.UnsupportedOperationException}
+   */
+  default boolean canHash() {
+    return false;
+  }
+// start relevant
 }
 // end relevant
@@ -168,6 +168,87 @@ public interface IBlackBoxProcess<X, Y> extends
       final IOConsumer<Writer> printer) throws IOException {
     // does nothing
   }
+
+  /**
+   * Evaluate a point in the search space, but possibly stop
+   * early once it is clear that its objective value cannot be
+   * less than {@code cutoff}, as specified in
+   * {@link IObjectiveFunction#evaluate(Object, double)}. This
+   * consumes exactly one FE, just like
+   * {@link #evaluate(Object)}, regardless of whether the
+   * evaluation stopped early. The evaluation is always exact for
+   * objective values less than the best one found so far, so
+   * every improvement is recorded as usual. The default
+   * implementation, which is also used by the processes logging
+   * all FEs, just calls {@link #evaluate(Object)}.
+   *
+   * @param x
+   *          the point in the search space
+   * @param cutoff
+   *          the cutoff: only objective values less than this
+   *          must be computed exactly
+   * @return the objective value if it is less than
+   *         {@code cutoff}, otherwise a lower bound of it which
+   *         is not less than {@code cutoff}
+   */
+  @Override
+  default double evaluate(final X x, final double cutoff) {
+    return this.evaluate(x);
+  }
+
+  /**
+   * Check whether {@link #evaluate(Object, double)} can stop
+   * early. This is the case if the objective function supports
+   * it and the process does not log all FEs. The default
+   * implementation, which is also used by the processes logging
+   * all FEs, returns {@code false}.
+   *
+   * @return {@code true} if {@link #evaluate(Object, double)}
+   *         may stop early, {@code false} otherwise
+   */
+  @Override
+  default boolean canEvaluateBounded() {
+    return false;
+  }
+
+  /**
+   * Create an evaluator that computes the same objective values
+   * as {@link #evaluate(Object)}, but that can be used in
+   * another thread and does not change the state of this
+   * process: It neither consumes FEs nor records the best
+   * solution. Each such evaluation must therefore later be
+   * accounted for in the calling thread, either via
+   * {@link #consumeFEs(long)} if it did not lead to an
+   * improvement or by passing the point to
+   * {@link #evaluate(Object)} if it did. The default
+   * implementation returns {@code null}, meaning that concurrent
+   * evaluation is not supported.
+   *
+   * @return the evaluator, or {@code null} if concurrent
+   *         evaluation is not supported
+   */
+  @Override
+  default IObjectiveFunction<X> concurrentCopy() {
+    return null;
+  }
+
+  /**
+   * Consume a given number of FEs that were performed via an
+   * evaluator obtained from {@link #concurrentCopy()} and did
+   * not improve upon the best solution. This has the same effect
+   * as that many calls to {@link #evaluate(Object)} without
+   * improvement, i.e., the process terminates if its FE budget
+   * is exhausted.
+   *
+   * @param fes
+   *          the number of FEs to consume
+   * @throws UnsupportedOperationException
+   *           if {@link #concurrentCopy()} returns {@code null}
+   */
+  default void consumeFEs(final long fes) {
+    throw new UnsupportedOperationException(
+        "Concurrent evaluation is not supported."); //$NON-NLS-1$
+  }
 // start relevant
 }
 // end relevant
@@ -0,0 +1,90 @@
+package aitoa.structure;
+
+/**
+ * A listener which observes the progress of a black-box process
+ * while it is running. It can be registered via
+ * {@link BlackBoxProcessBuilder#setListener(IBlackBoxProcessListener)}.
+ * <p>
+ * The events are not delivered in the thread running the
+ * optimization algorithm. Instead, the process puts them into a
+ * lock-free ring buffer, from which a separate consumer thread
+ * takes them and invokes the methods of the listener, always in
+ * the order in which they occurred. The overhead in the
+ * optimization thread is therefore very small, but the listener
+ * may see an event some time after it happened. All methods of
+ * the listener are invoked in the same consumer thread, and all
+ * events have been delivered when
+ * {@link IBlackBoxProcess#close()} returns. If the buffer is
+ * full because the listener is too slow, improvements wait for
+ * space, whereas samples are dropped.
+ *
+ * @param <X>
+ *          the search space
+ */
+public interface IBlackBoxProcessListener<X> {
+
+  /**
+   * The process has started. The given handle can be used to
+   * stop the process from outside at any time and from any
+   * thread: Afterwards,
+   * {@link IBlackBoxProcess#shouldTerminate()} returns
+   * {@code true} and no further FEs are performed.
+   *
+   * @param stop
+   *          the handle for stopping the process
+   */
+  default void onStart(final Runnable stop) {
+    // does nothing
+  }
+
+  /**
+   * The best-so-far solution has been improved.
+   *
+   * @param f
+   *          the new best objective value
+   * @param fe
+   *          the FE at which it was found
+   * @param time
+   *          the consumed time in milliseconds at which it was
+   *          found
+   * @param x
+   *          a copy of the new best point in the search space,
+   *          which belongs to the process and must not be used
+   *          after this method returns
+   */
+  default void onImprovement(final double f, final long fe,
+      final long time, final X x) {
+    // does nothing
+  }
+
+  /**
+   * A sample of the state of the process, taken every
+   * {@link BlackBoxProcessBuilder#getSampleInterval()} FEs.
+   *
+   * @param bestF
+   *          the best-so-far objective value
+   * @param fes
+   *          the consumed FEs
+   * @param time
+   *          the consumed time in milliseconds
+   */
+  default void onSample(final double bestF, final long fes,
+      final long time) {
+    // does nothing
+  }
+
+  /**
+   * The process has been closed.
+   *
+   * @param bestF
+   *          the best objective value
+   * @param fes
+   *          the consumed FEs
+   * @param time
+   *          the consumed time in milliseconds
+   */
+  default void onEnd(final double bestF, final long fes,
+      final long time) {
+    // does nothing
+  }
+}
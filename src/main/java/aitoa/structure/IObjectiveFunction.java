@@ -22,6 +22,45 @@ public interface IObjectiveFunction<Y> {
   double evaluate(Y y);
 // end relevant
 
+  /**
+   * Evaluate the candidate solution {@code y}, but possibly stop
+   * early once it is clear that its objective value cannot be
+   * less than {@code cutoff}. If the objective value of
+   * {@code y} is less than {@code cutoff}, it is returned
+   * exactly. Otherwise, the result is some value which is at
+   * least {@code cutoff} and at most the objective value, i.e.,
+   * a lower bound that proves that {@code y} does not beat the
+   * cutoff. The default implementation simply returns
+   * {@link #evaluate(Object)}.
+   *
+   * @param y
+   *          the candidate solution
+   * @param cutoff
+   *          the cutoff: only objective values less than this
+   *          must be computed exactly
+   * @return the objective value if it is less than
+   *         {@code cutoff}, otherwise a lower bound of it which
+   *         is not less than {@code cutoff}
+   */
+  default double evaluate(final Y y, final double cutoff) {
+    return this.evaluate(y);
+  }
+
+  /**
+   * This method allows an algorithm to query whether
+   * {@link #evaluate(Object, double)} can actually stop early.
+   * If it returns {@code false}, which is what this default
+   * implementation does, {@link #evaluate(Object, double)} is
+   * the same as {@link #evaluate(Object)} and algorithms need
+   * not bother computing a cutoff.
+   *
+   * @return {@code true} if {@link #evaluate(Object, double)}
+   *         may stop early, {@code false} otherwise
+   */
+  default boolean canEvaluateBounded() {
+    return false;
+  }
+
   /**
    * Compute a lower bound, if possible. The default
    * implementation of this method returns
@@ -48,6 +87,50 @@ public interface IObjectiveFunction<Y> {
     return Double.POSITIVE_INFINITY;
   }
 
+  /**
+   * Create a copy of this objective function that can be used
+   * concurrently to this instance in another thread and that
+   * returns the same objective values. Stateless objective
+   * functions may return {@code this}. The default
+   * implementation returns {@code null}, meaning that no such
+   * copy is supported.
+   *
+   * @return the copy, or {@code null} if this objective function
+   *         cannot be used concurrently
+   */
+  default IObjectiveFunction<Y> concurrentCopy() {
+    return null;
+  }
+
+  /**
+   * Fuse this objective function with a representation mapping,
+   * i.e., create an objective function which directly computes
+   * the objective value of the candidate solution that a point
+   * in the search space would be mapped to, ideally without
+   * constructing that candidate solution. For every point
+   * {@code x}, the fused function must return exactly the same
+   * value as mapping {@code x} and evaluating the result with
+   * this function. If a cutoff is given, it must honor the
+   * contract of {@link #evaluate(Object, double)} with respect
+   * to this value. This requires that the mapping is
+   * deterministic, i.e., does not use its random number
+   * generator. A black-box process can then carry out the full
+   * mapping only if a new best solution has been found. The
+   * default implementation returns {@code null}, meaning that
+   * no such fusion is supported.
+   *
+   * @param <X>
+   *          the search space
+   * @param mapping
+   *          the representation mapping
+   * @return the fused objective function, or {@code null} if
+   *         this function cannot be fused with {@code mapping}
+   */
+  default <X> IObjectiveFunction<X>
+      fuse(final IRepresentationMapping<X, Y> mapping) {
+    return null;
+  }
+
 // start relevant
 }
 // end relevant
@@ -27,5 +27,23 @@ public interface IRepresentationMapping<X, Y> {
    *          solution space (will be overwritten)
    */
   void map(Random random, X x, final Y y);
+// end relevant
+
+  /**
+   * Create a copy of this mapping that can be used concurrently
+   * to this instance in another thread. Such a copy is only
+   * possible if the mapping is deterministic, i.e., ignores the
+   * random number generator passed to
+   * {@link #map(Random, Object, Object)}. The default
+   * implementation returns {@code null}, meaning that no such
+   * copy is supported.
+   *
+   * @return the copy, or {@code null} if this mapping cannot be
+   *         used concurrently
+   */
+  default IRepresentationMapping<X, Y> concurrentCopy() {
+    return null;
+  }
+// start relevant
 }
 // end relevant
@@ -1,5 +1,6 @@
 package aitoa.structure;
 
+import java.util.List;
 import java.util.Random;
 import java.util.function.Predicate;
 
@@ -136,6 +137,135 @@ public interface IUnarySearchOperator<X>
     return false;
   }
 
+  /**
+   * Enumerate the neighborhood of {@code x} like
+   * {@link #enumerate(java.util.Random, Object, Object, Predicate)},
+   * but partition it over several threads. There is one visitor
+   * for each thread and each visitor is only invoked from its
+   * own thread, with its own scratch copy of {@code x}. Once a
+   * visitor accepts a neighbor, i.e., returns {@code true}, the
+   * other threads cooperatively stop as soon as they reach
+   * neighbors that come later in the enumeration order.
+   * <p>
+   * If the visitors accept a neighbor solely based on the
+   * neighbor itself, then the accepted neighbor is the one that
+   * comes first in the enumeration order, regardless of the
+   * number of threads or their timing. This neighbor is copied
+   * to {@code dest} and its zero-based index in the enumeration
+   * order is returned. The caller hence knows that exactly this
+   * number of neighbors were rejected before. If no neighbor is
+   * accepted, {@code -(count + 1)} is returned, where
+   * {@code count} is the size of the neighborhood. Only the
+   * first {@code limit} neighbors in the enumeration order are
+   * considered: If none of them is accepted,
+   * {@code -(limit + 1)} is returned. Neighbors beyond the limit
+   * may still be passed to the visitors speculatively, but are
+   * then ignored.
+   * <p>
+   * If the enumeration order is randomized, it may use the
+   * random number generator differently than the sequential
+   * enumeration, so the two may visit the neighbors in different
+   * orders.
+   * <p>
+   * The default implementation simply enumerates the
+   * neighborhood sequentially in the calling thread using the
+   * first visitor.
+   *
+   * @param random
+   *          a random number generator, only used in the calling
+   *          thread
+   * @param x
+   *          the point from the search space whose neighborhood
+   *          we want to enumerate
+   * @param dest
+   *          the destination receiving the accepted neighbor
+   * @param visitors
+   *          the visitors, one per thread
+   * @param limit
+   *          the maximum number of neighbors to consider, e.g.,
+   *          the remaining objective function evaluations
+   * @return the index of the accepted neighbor in the
+   *         enumeration order, or {@code -(count + 1)} if no
+   *         neighbor was accepted and {@code count} neighbors
+   *         were enumerated
+   * @throws java.lang.UnsupportedOperationException
+   *           if the neighborhood defined by this operator
+   *           cannot be enumerated in a reasonable way
+   * @see #enumerate(java.util.Random, Object, Object, Predicate)
+   */
+  default long enumerateParallel(final Random random,
+      final X x, final X dest,
+      final List<? extends Predicate<X>> visitors,
+      final long limit) {
+    final Predicate<X> visitor = visitors.get(0);
+    final long[] count = new long[1];
+    if (this.enumerate(random, x, dest, point -> {
+      if (count[0] >= limit) {
+        return true;
+      }
+      if (visitor.test(point)) {
+        return true;
+      }
+      ++count[0];
+      return false;
+    }) && (count[0] < limit)) {
+      return count[0];
+    }
+    return -(count[0] + 1L);
+  }
+
+  /**
+   * Apply the search operator like
+   * {@link #apply(Object, Object, Random)} and also compute the
+   * {@linkplain aitoa.utils.ZobristHash hash} of the newly
+   * sampled point. Since a unary operator usually changes only
+   * few elements of {@code x}, the hash of {@code dest} can be
+   * updated incrementally from the hash of {@code x} in constant
+   * time. The point written to {@code dest} must be exactly the
+   * one that {@link #apply(Object, Object, Random)} would
+   * produce with the same random numbers.
+   * <p>
+   * This is an optional operation. If it is not supported, a
+   * {@link java.lang.UnsupportedOperationException} is thrown,
+   * as done by this default implementation, and
+   * {@link #canHash()} returns {@code false}.
+   *
+   * @param x
+   *          the source point
+   * @param hash
+   *          the hash of {@code x}
+   * @param dest
+   *          the destination object to be overwritten with the
+   *          newly sampled point
+   * @param random
+   *          a random number generator
+   * @return the hash of {@code dest}
+   * @see #canHash()
+   * @throws java.lang.UnsupportedOperationException
+   *           if the operator cannot compute hashes
+   */
+  default long applyHashed(final X x, final long hash,
+      final X dest, final Random random) {
+    throw new UnsupportedOperationException("The operator " + //$NON-NLS-1$
+        this.getClass().getName() + //
+        " does not support hashing."); //$NON-NLS-1$
+  }
+
+  /**
+   * This method allows an algorithm to query whether
+   * {@link #applyHashed(Object, long, Object, Random)} can be
+   * called.
+   *
+   * @return {@code true} if
+   *         {@link #applyHashed(Object, long, Object, Random)}
+   *         can be used, {@code false} if and only if it will
+   *         throw a
+   *         {@link java.lang.UnsupportedOperationException}
+   */
+  default boolean canHash() {
+    return false;
+  }
+
 // start relevant
 }
 // end relevant
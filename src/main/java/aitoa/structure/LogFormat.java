@@ -20,12 +20,25 @@ public final class LogFormat {
   /** the suffix to be used for all log and data files */
   public static final String FILE_SUFFIX = ".txt";//$NON-NLS-1$
 
+  /** the suffix of gzip-compressed log files */
+  public static final String COMPRESSED_FILE_SUFFIX =
+      LogFormat.FILE_SUFFIX + ".gz";//$NON-NLS-1$
+
   /** the log begin */
   public static final String BEGIN_LOG = "BEGIN_LOG"; //$NON-NLS-1$
 
   /** the log end */
   public static final String END_OF_LOG = "END_OF_LOG"; //$NON-NLS-1$
 
+  /**
+   * the begin of the random sample of non-improving FEs in a
+   * thinned log
+   */
+  public static final String BEGIN_SAMPLES = "BEGIN_SAMPLES"; //$NON-NLS-1$
+
+  /** the end of the random sample */
+  public static final String END_SAMPLES = "END_SAMPLES"; //$NON-NLS-1$
+
   /** the state begin */
   public static final String BEGIN_STATE = "BEGIN_STATE"; //$NON-NLS-1$
 
@@ -43,6 +56,12 @@ public final class LogFormat {
 
   /** the random seed */
   public static final String RANDOM_SEED = "RANDOM_SEED"; //$NON-NLS-1$
+  /**
+   * the class of the random number generator, only present if
+   * it is not {@link java.util.Random}
+   */
+  public static final String RANDOM_GENERATOR =
+      "RANDOM_GENERATOR"; //$NON-NLS-1$
   /** the random seed prefix */
   public static final String RANDOM_SEED_PREFIX = "0x"; //$NON-NLS-1$
 
@@ -382,6 +401,37 @@ public final class LogFormat {
     return LogFormat.mapEntry(key, Boolean.toString(value));
   }
 
+  /**
+   * Check whether a file name belongs to a log file, which may
+   * either be plain text or gzip-compressed
+   *
+   * @param name
+   *          the file name
+   * @return {@code true} if the name ends with
+   *         {@link #FILE_SUFFIX} or
+   *         {@link #COMPRESSED_FILE_SUFFIX}, {@code false}
+   *         otherwise
+   */
+  public static boolean isLogFileName(final String name) {
+    return name.endsWith(LogFormat.FILE_SUFFIX)
+        || name.endsWith(LogFormat.COMPRESSED_FILE_SUFFIX);
+  }
+
+  /**
+   * Check whether a file name belongs to a gzip-compressed log
+   * file
+   *
+   * @param name
+   *          the file name
+   * @return {@code true} if the name ends with
+   *         {@link #COMPRESSED_FILE_SUFFIX}, {@code false}
+   *         otherwise
+   */
+  public static boolean isCompressedLogFileName(
+      final String name) {
+    return name.endsWith(LogFormat.COMPRESSED_FILE_SUFFIX);
+  }
+
   /**
    * Convert a double to a string for the log
    *
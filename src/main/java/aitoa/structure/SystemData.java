@@ -1,14 +1,25 @@
 package aitoa.structure;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.net.InetAddress;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Properties;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
@@ -20,7 +31,6 @@ import oshi.hardware.ComputerSystem;
 import oshi.hardware.GlobalMemory;
 import oshi.hardware.HardwareAbstractionLayer;
 import oshi.software.os.NetworkParams;
-import oshi.software.os.OSProcess;
 import oshi.software.os.OperatingSystem;
 import oshi.software.os.OperatingSystem.OSVersionInfo;
 
@@ -28,16 +38,247 @@ import oshi.software.os.OperatingSystem.OSVersionInfo;
  * An internal class for creating and holding the system data.
  * The system data is queried only exactly once and then stored
  * for the rest of the session.
+ * <p>
+ * Probing the hardware, the operating system, and the GPU can
+ * take several seconds. The collection of the system data
+ * therefore begins in a background thread as soon as the first
+ * {@link BlackBoxProcessBuilder} is created, so it is usually
+ * complete before the first log file needs to be written. Only
+ * if it is not, {@link #getSystemData()} blocks. Furthermore,
+ * the probed data is stored in a cache file keyed by the host
+ * and the JVM and reused by later sessions for up to
+ * {@link #CACHE_MAX_AGE} milliseconds. Data which is specific to
+ * a session, such as the process id, is never cached and is
+ * obtained from the JVM itself, so a session using the cache
+ * does not need to initialize OSHI at all. The cache
+ * folder is {@code .aitoa} in the user's home directory and can
+ * be changed via the system property {@value #CACHE_PROPERTY}.
+ * Setting this property to an empty string disables the cache.
+ * </p>
  */
 final class SystemData {
 
+  /** the system property specifying the cache folder */
+  static final String CACHE_PROPERTY = "aitoa.systemDataCache"; //$NON-NLS-1$
+  /** the maximum age of a cache file in milliseconds */
+  static final long CACHE_MAX_AGE = 7L * 24L * 60L * 60L * 1000L;
+  /** the property holding the key in a cache file */
+  private static final String CACHE_KEY = "aitoa.cache.key"; //$NON-NLS-1$
+  /** the number of OSHI system information objects created */
+  static final AtomicInteger SYSTEM_INFOS = new AtomicInteger();
+
   /**
-   * get the system data
+   * get the system data, waiting for its collection to complete
+   * if necessary
    *
    * @return the system data
    */
   static char[] getSystemData() {
-    return Holder.SYSTEM_DATA;
+    final FutureTask<char[]> task = Holder.SYSTEM_DATA;
+// If the background thread has not yet begun, we collect the
+// data ourselves. Otherwise, this call does nothing and we wait.
+    task.run();
+    boolean interrupted = false;
+    try {
+      for (;;) {
+        try {
+          return task.get();
+        } catch (@SuppressWarnings("unused") final InterruptedException error) {
+          interrupted = true;
+        } catch (final ExecutionException error) {
+          throw new IllegalStateException(
+              "Could not collect system data.", //$NON-NLS-1$
+              error.getCause());
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Begin collecting the system data in a background thread, if
+   * that has not happened yet.
+   */
+  static void prefetch() {
+    Holder.start();
+  }
+
+  /**
+   * Collect the system data anew, using the cache if possible
+   *
+   * @return the system data
+   */
+  static char[] makeSystemData() {
+    return Holder.Maker.makeSystemData();
+  }
+
+  /**
+   * Create the OSHI system information object, which requires
+   * initializing OSHI and JNA and is therefore slow
+   *
+   * @return the system information object
+   */
+  static SystemInfo systemInfo() {
+    SystemData.SYSTEM_INFOS.incrementAndGet();
+    return new SystemInfo();
+  }
+
+  /**
+   * Get the key identifying the host and the JVM
+   *
+   * @return the cache key
+   */
+  static String cacheKey() {
+    final StringBuilder key = new StringBuilder();
+    key.append(SystemData.hostName());
+    for (final String property : new String[] { //
+        "java.home", //$NON-NLS-1$
+        "java.vendor", //$NON-NLS-1$
+        "java.vm.name", //$NON-NLS-1$
+        "java.vm.version", //$NON-NLS-1$
+        "os.name", //$NON-NLS-1$
+        "os.version", //$NON-NLS-1$
+        "os.arch" }) { //$NON-NLS-1$
+      key.append('|').append(System.getProperty(property));
+    }
+    return key.toString();
+  }
+
+  /**
+   * Get the host name without resolving network addresses, if
+   * possible
+   *
+   * @return the host name
+   */
+  private static String hostName() {
+    for (final String env : new String[] { //
+        "COMPUTERNAME", //$NON-NLS-1$
+        "HOSTNAME" }) { //$NON-NLS-1$
+      final String name = System.getenv(env);
+      if ((name != null) && (!name.trim().isEmpty())) {
+        return name.trim();
+      }
+    }
+    try {
+      final Path file = Paths.get("/etc/hostname"); //$NON-NLS-1$
+      if (Files.isRegularFile(file)) {
+        for (final String name : Files.readAllLines(file)) {
+          if (!name.trim().isEmpty()) {
+            return name.trim();
+          }
+        }
+      }
+    } catch (@SuppressWarnings("unused") final Throwable ignore) {
+      // ignore
+    }
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (@SuppressWarnings("unused") final Throwable ignore) {
+      return ""; //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * Get the cache file for the given key
+   *
+   * @param key
+   *          the cache key
+   * @return the cache file, or {@code null} if caching is
+   *         disabled
+   */
+  static Path cacheFile(final String key) {
+    try {
+      final String folder = System.getProperty(
+          SystemData.CACHE_PROPERTY, System.getProperty(//
+              "user.home") //$NON-NLS-1$
+              + File.separatorChar + ".aitoa"); //$NON-NLS-1$
+      if (folder.trim().isEmpty()) {
+        return null;
+      }
+      return Paths.get(folder.trim())
+          .resolve("systemData_" + //$NON-NLS-1$
+              Integer.toHexString(key.hashCode()) + ".txt"); //$NON-NLS-1$
+    } catch (@SuppressWarnings("unused") final Throwable ignore) {
+      return null;
+    }
+  }
+
+  /**
+   * Load the probed system data from a cache file
+   *
+   * @param file
+   *          the cache file
+   * @param key
+   *          the cache key
+   * @return the data, or {@code null} if the file does not
+   *         exist, is too old, or belongs to a different key
+   */
+  static TreeMap<String, String> loadCache(final Path file,
+      final String key) {
+    try {
+      if ((!Files.isRegularFile(file))
+          || ((System.currentTimeMillis() - Files
+              .getLastModifiedTime(file)
+              .toMillis()) > SystemData.CACHE_MAX_AGE)) {
+        return null;
+      }
+      final Properties properties = new Properties();
+      try (final BufferedReader br =
+          Files.newBufferedReader(file)) {
+        properties.load(br);
+      }
+      if (!key.equals(
+          properties.remove(SystemData.CACHE_KEY))) {
+        return null;
+      }
+      final TreeMap<String, String> data = new TreeMap<>();
+      for (final String name : properties
+          .stringPropertyNames()) {
+        data.put(name, properties.getProperty(name));
+      }
+      return data.isEmpty() ? null : data;
+    } catch (@SuppressWarnings("unused") final Throwable ignore) {
+      return null;
+    }
+  }
+
+  /**
+   * Store the probed system data in a cache file. Failing to do
+   * so is not an error, as the cache is only an optimization.
+   *
+   * @param file
+   *          the cache file
+   * @param key
+   *          the cache key
+   * @param data
+   *          the data
+   */
+  static void storeCache(final Path file, final String key,
+      final Map<String, String> data) {
+    try {
+      final Properties properties = new Properties();
+      properties.putAll(data);
+      properties.setProperty(SystemData.CACHE_KEY, key);
+      final Path folder = Files.createDirectories(
+          file.toAbsolutePath().getParent());
+      final Path temp = Files.createTempFile(folder,
+          "systemData", ".tmp"); //$NON-NLS-1$//$NON-NLS-2$
+      try {
+        try (final BufferedWriter bw =
+            Files.newBufferedWriter(temp)) {
+          properties.store(bw, null);
+        }
+        Files.move(temp, file,
+            StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (@SuppressWarnings("unused") final Throwable ignore) {
+      // ignore
+    }
   }
 
   /** forbidden */
@@ -48,8 +289,24 @@ final class SystemData {
   /** the internal holder class */
   private static final class Holder {
 
-    /** make the system data */
-    static final char[] SYSTEM_DATA = Maker.makeSystemData();
+    /** the task making the system data */
+    static final FutureTask<char[]> SYSTEM_DATA =
+        new FutureTask<>(Maker::makeSystemData);
+
+    static {
+      final Thread thread = new Thread(Holder.SYSTEM_DATA,
+          "SystemData"); //$NON-NLS-1$
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    /**
+     * Start the background thread. Loading this class does
+     * that, so there is nothing left to do here.
+     */
+    static void start() {
+      // nothing
+    }
 
     /** the internal maker class */
     private static final class Maker {
@@ -185,10 +442,85 @@ final class SystemData {
             LogFormat.SYSTEM_INFO_SESSION_START_DATE_TIME,
             BlackBoxProcessData.getSessionStart().toString());
 
+// The hardware, operating system, and GPU data are expensive to
+// probe, but do not change between sessions on the same host
+// and JVM, so we try to load them from the cache first.
+        final String key = SystemData.cacheKey();
+        final Path cache = SystemData.cacheFile(key);
+        TreeMap<String, String> probed = (cache == null) ? null
+            : SystemData.loadCache(cache, key);
+        if (probed == null) {
+          probed = new TreeMap<>();
+          Maker.probe(probed);
+          if (cache != null) {
+            SystemData.storeCache(cache, key, probed);
+          }
+        }
+        data.putAll(probed);
+        Maker.addProcess(data);
+
+        try (
+            final InputStream is = SystemData.class
+                .getResourceAsStream("versions.txt"); //$NON-NLS-1$
+            final InputStreamReader isr =
+                new InputStreamReader(is);
+            final BufferedReader br = new BufferedReader(isr)) {
+
+          String line = null;
+          while ((line = br.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) {
+              continue;
+            }
+            final int i = line.indexOf('=');
+            if ((i < 1) || (i >= (line.length() - 1))) {
+              continue;
+            }
+            final String a = line.substring(0, i).trim();
+            if (a.isEmpty()) {
+              continue;
+            }
+            final String b = line.substring(i + 1).trim();
+            if (b.isEmpty()) {
+              continue;
+            }
+            Maker.add(data, a, b);
+          }
+
+        } catch (@SuppressWarnings("unused") final Throwable ignore) {
+          // ignore
+        }
+
+        for (final Map.Entry<String, String> entry : data
+            .entrySet()) {
+          out.append(LogFormat.mapEntry(entry.getKey(),
+              entry.getValue()));
+          out.append(System.lineSeparator());
+        }
+
+        out.append(LogFormat.asComment(LogFormat.END_SYSTEM));
+        out.append(System.lineSeparator());
+
+        final int length = out.length();
+        final char[] res = new char[length];
+        out.getChars(0, length, res, 0);
+
+        return res;
+      }
+
+      /**
+       * Probe the hardware, the operating system, and the GPU.
+       * This is slow, but its results do not change between
+       * sessions, so they are cached.
+       *
+       * @param data
+       *          the destination map
+       */
+      static void probe(final TreeMap<String, String> data) {
         final String[] osInfo = new String[2];
 
         try {
-          final SystemInfo sys = new SystemInfo();
+          final SystemInfo sys = SystemData.systemInfo();
 
           try {
             final HardwareAbstractionLayer hal =
@@ -311,29 +643,6 @@ final class SystemData {
                     osInfo[1] = s;
                     return s;
                   });
-              Maker.addgt(data, LogFormat.SYSTEM_INFO_PROCESS_ID,
-                  () -> os.getProcessId(), Long.MIN_VALUE);
-
-              try {
-                final OSProcess po =
-                    os.getProcess(os.getProcessId());
-                if (po != null) {
-                  final String cmd = po.getCommandLine();
-                  if (cmd != null) {
-                    final String usecmd =
-                        cmd.replaceAll("\\p{Cntrl}", " ") //$NON-NLS-1$ //$NON-NLS-2$
-                            .replaceAll("[^\\p{Print}]", " ")//$NON-NLS-1$ //$NON-NLS-2$
-                            .replaceAll("\\p{C}", " ")//$NON-NLS-1$ //$NON-NLS-2$
-                            .replaceAll("[\\p{C}\\p{Z}]", " ") //$NON-NLS-1$ //$NON-NLS-2$
-                            .trim();
-                    Maker.add(data,
-                        LogFormat.SYSTEM_INFO_PROCESS_COMMAND_LINE,
-                        usecmd);
-                  }
-                }
-              } catch (@SuppressWarnings("unused") final Throwable ignore) {
-                // ignore
-              } // end os version
 
               try {
                 final OSVersionInfo ovi = os.getVersionInfo();
@@ -372,38 +681,6 @@ final class SystemData {
           // ignore
         } // end system
 
-        try (
-            final InputStream is = SystemData.class
-                .getResourceAsStream("versions.txt"); //$NON-NLS-1$
-            final InputStreamReader isr =
-                new InputStreamReader(is);
-            final BufferedReader br = new BufferedReader(isr)) {
-
-          String line = null;
-          while ((line = br.readLine()) != null) {
-            line = line.trim();
-            if (line.isEmpty()) {
-              continue;
-            }
-            final int i = line.indexOf('=');
-            if ((i < 1) || (i >= (line.length() - 1))) {
-              continue;
-            }
-            final String a = line.substring(0, i).trim();
-            if (a.isEmpty()) {
-              continue;
-            }
-            final String b = line.substring(i + 1).trim();
-            if (b.isEmpty()) {
-              continue;
-            }
-            Maker.add(data, a, b);
-          }
-
-        } catch (@SuppressWarnings("unused") final Throwable ignore) {
-          // ignore
-        }
-
         try { // detect GPU
           final String os =
               (((osInfo[0] != null) ? osInfo[0] : "") + //$NON-NLS-1$
@@ -423,22 +700,57 @@ final class SystemData {
         } catch (@SuppressWarnings("unused") final Throwable ignore) {
           // ignore
         } // end detect GPU
+      }
 
-        for (final Map.Entry<String, String> entry : data
-            .entrySet()) {
-          out.append(LogFormat.mapEntry(entry.getKey(),
-              entry.getValue()));
-          out.append(System.lineSeparator());
-        }
-
-        out.append(LogFormat.asComment(LogFormat.END_SYSTEM));
-        out.append(System.lineSeparator());
-
-        final int length = out.length();
-        final char[] res = new char[length];
-        out.getChars(0, length, res, 0);
+      /**
+       * Add the data of the current process. This data is
+       * obtained from the JVM instead of from OSHI, so that a
+       * session using the cached system data never initializes
+       * OSHI.
+       *
+       * @param data
+       *          the destination map
+       */
+      static void
+          addProcess(final TreeMap<String, String> data) {
+        try {
+          final RuntimeMXBean runtime =
+              ManagementFactory.getRuntimeMXBean();
+// The name of the running JVM is usually of the form pid@host.
+          final String name = runtime.getName();
+          final int at = (name != null) ? name.indexOf('@') : -1;
+          if (at > 0) {
+            Maker.addgt(data, LogFormat.SYSTEM_INFO_PROCESS_ID,
+                () -> Long.parseLong(name.substring(0, at)),
+                Long.MIN_VALUE);
+          }
 
-        return res;
+          try {
+            final StringBuilder cmd =
+                new StringBuilder("java"); //$NON-NLS-1$
+            for (final String arg : runtime.getInputArguments()) {
+              cmd.append(' ').append(arg);
+            }
+            final String command =
+                System.getProperty("sun.java.command"); //$NON-NLS-1$
+            if (command != null) {
+              cmd.append(' ').append(command);
+            }
+            final String usecmd = cmd.toString()
+                .replaceAll("\\p{Cntrl}", " ") //$NON-NLS-1$ //$NON-NLS-2$
+                .replaceAll("[^\\p{Print}]", " ")//$NON-NLS-1$ //$NON-NLS-2$
+                .replaceAll("\\p{C}", " ")//$NON-NLS-1$ //$NON-NLS-2$
+                .replaceAll("[\\p{C}\\p{Z}]", " ") //$NON-NLS-1$ //$NON-NLS-2$
+                .trim();
+            Maker.add(data,
+                LogFormat.SYSTEM_INFO_PROCESS_COMMAND_LINE,
+                usecmd);
+          } catch (@SuppressWarnings("unused") final Throwable ignore) {
+            // ignore
+          } // end command line
+        } catch (@SuppressWarnings("unused") final Throwable ignore) {
+          // ignore
+        } // end process
       }
 
       /**
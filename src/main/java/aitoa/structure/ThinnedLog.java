@@ -0,0 +1,317 @@
+package aitoa.structure;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+/**
+ * A log of bounded size for processes which should log all FEs.
+ * Instead of every single FE, the log only stores
+ * <ol>
+ * <li>every improvement of the best-so-far objective value,</li>
+ * <li>the best-so-far objective value at checkpoints which are
+ * spaced evenly on a logarithmic FE scale, i.e.,
+ * {@link #CHECKPOINTS_PER_DECADE} times per factor of ten,
+ * and</li>
+ * <li>a uniform random sample of fixed size of the FEs which did
+ * not improve the best-so-far solution, together with their
+ * actual objective values.</li>
+ * </ol>
+ * The improvements and checkpoints form the normal log section,
+ * which thus is monotonous and can be read by the log parser.
+ * The sample is maintained by Algorithm L (K.-H. Li. Reservoir
+ * Sampling Algorithms of Time Complexity O(n(1 + log(N/n))). ACM
+ * Transactions on Mathematical Software, 20(4):481-493, 1994.
+ * doi: 10.1145/198429.198435), which only needs random numbers
+ * when a sample is actually replaced, and it is printed in a
+ * separate section.
+ */
+final class ThinnedLog {
+
+  /** the number of checkpoints per factor of ten of FEs */
+  static final int CHECKPOINTS_PER_DECADE = 32;
+
+  /** the sample header */
+  private static final char[] SAMPLES_HEADER =
+      LogFormat.asComment(LogFormat.joinLogLine("f", //$NON-NLS-1$
+          "consumedFEs", //$NON-NLS-1$
+          "consumedTimeMS")).toCharArray();//$NON-NLS-1$
+
+  /** the begin samples string */
+  private static final char[] BEGIN_SAMPLES =
+      LogFormat.asComment(LogFormat.BEGIN_SAMPLES).toCharArray();
+
+  /** the end samples string */
+  private static final char[] END_SAMPLES =
+      LogFormat.asComment(LogFormat.END_SAMPLES).toCharArray();
+
+  /** the log of improvements and checkpoints */
+  long[] mLog;
+  /** the log size */
+  int mLogSize;
+
+  /** the index of the next checkpoint */
+  private int mCheckpoint;
+  /** the FE of the next checkpoint */
+  private long mNextCheckpoint;
+
+  /** the sample: f, FE, and time of each sampled FE */
+  private final long[] mSample;
+  /** the capacity of the sample, in FEs */
+  private final int mCapacity;
+  /** the number of non-improving FEs seen so far */
+  private long mSeen;
+  /** the index of the next non-improving FE to sample */
+  private long mNextSample;
+  /** the weight of Algorithm L */
+  private double mW;
+  /** the random number generator for sampling */
+  private final SplittableRandom mRandom;
+
+  /**
+   * create the thinned log
+   *
+   * @param pLog
+   *          the initial log array
+   * @param pCapacity
+   *          the number of non-improving FEs to sample
+   * @param pSeed
+   *          the seed for the random sampling, which is
+   *          independent from the random numbers of the process
+   */
+  ThinnedLog(final long[] pLog, final int pCapacity,
+      final long pSeed) {
+    super();
+    this.mLog = pLog;
+    this.mCapacity = pCapacity;
+    this.mSample = new long[Math.multiplyExact(pCapacity, 3)];
+    this.mRandom = new SplittableRandom(pSeed);
+    this.mNextCheckpoint = 1L;
+    this.mNextSample = Long.MAX_VALUE;
+  }
+
+  /**
+   * Compute the FE of a checkpoint
+   *
+   * @param index
+   *          the index of the checkpoint
+   * @return the FE
+   */
+  static long checkpoint(final int index) {
+    return (long) Math.ceil(Math.pow(10d,
+        index / ((double) ThinnedLog.CHECKPOINTS_PER_DECADE)));
+  }
+
+  /**
+   * Store a line in the log
+   *
+   * @param f
+   *          the objective value
+   * @param fe
+   *          the FE
+   * @param time
+   *          the time
+   */
+  private void add(final double f, final long fe,
+      final long time) {
+    final int size = this.mLogSize;
+    final int newSize = Math.addExact(size, 3);
+    if (newSize > this.mLog.length) { // grow log
+      this.mLog = BlackBoxProcessBase.growLog(this.mLog);
+    }
+    this.mLog[size] = Double.doubleToLongBits(f);
+    this.mLog[size + 1] = fe;
+    this.mLog[size + 2] = time;
+    this.mLogSize = newSize;
+  }
+
+  /**
+   * Advance the checkpoint beyond the given FE
+   *
+   * @param fe
+   *          the FE
+   */
+  private void passCheckpoint(final long fe) {
+    long next;
+    do {
+      next = ThinnedLog.checkpoint(++this.mCheckpoint);
+    } while (next <= fe);
+    this.mNextCheckpoint = next;
+  }
+
+  /**
+   * Record an FE which improved the best-so-far objective value
+   *
+   * @param f
+   *          the new best objective value
+   * @param fe
+   *          the FE
+   * @param time
+   *          the time
+   */
+  void improvement(final double f, final long fe,
+      final long time) {
+    this.add(f, fe, time);
+    if (fe >= this.mNextCheckpoint) {
+      this.passCheckpoint(fe);
+    }
+  }
+
+  /**
+   * Is it necessary to call
+   * {@link #other(double, double, long, long)} for an FE which
+   * did not improve the best-so-far objective value? If not, the
+   * FE is not logged and the current time does not need to be
+   * determined.
+   *
+   * @param fe
+   *          the FE
+   * @return {@code true} if the FE must be recorded,
+   *         {@code false} otherwise
+   */
+  boolean isRecorded(final long fe) {
+    if (fe >= this.mNextCheckpoint) {
+      return true;
+    }
+    if (this.mSeen < this.mCapacity) {
+      return true;
+    }
+    if (this.mSeen < this.mNextSample) {
+      ++this.mSeen;
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Record an FE which did not improve the best-so-far objective
+   * value and for which {@link #isRecorded(long)} returned
+   * {@code true}
+   *
+   * @param f
+   *          the objective value of the FE
+   * @param bestF
+   *          the best-so-far objective value
+   * @param fe
+   *          the FE
+   * @param time
+   *          the time
+   */
+  void other(final double f, final double bestF, final long fe,
+      final long time) {
+    if (fe >= this.mNextCheckpoint) {
+      this.add(bestF, fe, time);
+      this.passCheckpoint(fe);
+    }
+
+    final int capacity = this.mCapacity;
+    final long seen = this.mSeen;
+    final int slot;
+    if (seen < capacity) {
+// fill the reservoir
+      slot = (int) seen;
+      if ((seen + 1L) >= capacity) {
+        this.mW = Math.exp(Math.log(this.random()) / capacity);
+        this.skip();
+      }
+    } else {
+      if (seen < this.mNextSample) {
+        ++this.mSeen;
+        return; // only a checkpoint
+      }
+// replace a random sample and compute the next one to replace
+      slot = this.mRandom.nextInt(capacity);
+      this.mW *= Math.exp(Math.log(this.random()) / capacity);
+      this.skip();
+    }
+    this.mSeen = seen + 1L;
+
+    final int index = slot * 3;
+    this.mSample[index] = Double.doubleToLongBits(f);
+    this.mSample[index + 1] = fe;
+    this.mSample[index + 2] = time;
+  }
+
+  /**
+   * Get a random number which is greater than zero and less than
+   * one
+   *
+   * @return the random number
+   */
+  private double random() {
+    double r;
+    do {
+      r = this.mRandom.nextDouble();
+    } while (r <= 0d);
+    return r;
+  }
+
+  /** compute the next non-improving FE to be sampled */
+  private void skip() {
+    final double gap = Math.floor(
+        Math.log(this.random()) / Math.log1p(-this.mW));
+    final long limit = Long.MAX_VALUE - 1L - this.mSeen;
+    this.mNextSample = (gap < limit)
+        ? (this.mSeen + 1L + ((long) gap)) : Long.MAX_VALUE;
+  }
+
+  /**
+   * Record that a number of FEs has been consumed without
+   * evaluating them
+   *
+   * @param bestF
+   *          the best-so-far objective value
+   * @param fe
+   *          the consumed FEs
+   * @param time
+   *          the time
+   */
+  void consumed(final double bestF, final long fe,
+      final long time) {
+    if (fe >= this.mNextCheckpoint) {
+      this.add(bestF, fe, time);
+      this.passCheckpoint(fe);
+    }
+  }
+
+  /**
+   * Write the log section and the sample section
+   *
+   * @param startTime
+   *          the start time
+   * @param out
+   *          the writer
+   * @throws IOException
+   *           if i/o fails
+   */
+  void write(final long startTime, final Writer out)
+      throws IOException {
+    BlackBoxProcessBase.writeLog(this.mLog, this.mLogSize,
+        startTime, out);
+    this.mLog = null;
+
+    final int size = (int) Math.min(this.mSeen, this.mCapacity);
+    final long[][] sample = new long[size][];
+    for (int i = size; (--i) >= 0;) {
+      sample[i] = Arrays.copyOfRange(this.mSample, i * 3,
+          (i * 3) + 3);
+    }
+    Arrays.sort(sample, Comparator.comparingLong(s -> s[1]));
+
+    out.write(ThinnedLog.BEGIN_SAMPLES);
+    out.write(System.lineSeparator());
+    out.write(ThinnedLog.SAMPLES_HEADER);
+    out.write(System.lineSeparator());
+    for (final long[] s : sample) {
+      out.write(LogFormat.joinLogLine(
+          LogFormat.doubleToStringForLog(
+              Double.longBitsToDouble(s[0])),
+          Long.toString(s[1]), Long.toString(s[2] - startTime)));
+      out.write(System.lineSeparator());
+    }
+    out.write(ThinnedLog.END_SAMPLES);
+    out.write(System.lineSeparator());
+  }
+}
@@ -1,13 +1,12 @@
 package aitoa.utils;
 
 import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
 import java.util.Date;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
-import oshi.SystemInfo;
-
 /**
  * With this class, we can write stuff to the console in a
  * thread-safe way. Using the {@link #stderr(Consumer)} or
@@ -203,14 +202,19 @@ public final class ConsoleIO {
     static final int USE_ID = ID.getID();
 
     /**
-     * get the prefix to be used for log entries
+     * get the prefix to be used for log entries, i.e., the
+     * process ID, which is taken from the name of the running
+     * JVM, usually of the form pid@host, so that logging does
+     * not need to initialize OSHI
      *
      * @return the prefix
      */
     private static int getID() {
       try {
-        return new SystemInfo().getOperatingSystem()
-            .getProcessId();
+        final String name =
+            ManagementFactory.getRuntimeMXBean().getName();
+        return Integer.parseInt(
+            name.substring(0, name.indexOf('@')));
       } catch (@SuppressWarnings("unused") final Throwable error) {
         return ThreadLocalRandom.current().nextInt();
       }
@@ -6,6 +6,8 @@ import java.math.BigDecimal;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +22,7 @@ import aitoa.structure.IBlackBoxProcess;
 import aitoa.structure.IMetaheuristic;
 import aitoa.structure.IObjectiveFunction;
 import aitoa.structure.LogFormat;
+import aitoa.utils.logs.EndResultsAggregator;
 
 /** A class for processing and executing experiments */
 public final class Experiment {
@@ -326,7 +329,7 @@ public final class Experiment {
       final long randSeed, final boolean onlyComputePath)
       throws IOException {
     return Experiment.logFile(root, algorithm, instance,
-        randSeed, null, onlyComputePath);
+        randSeed, LogFormat.FILE_SUFFIX, null, onlyComputePath);
   }
 
   /**
@@ -358,6 +361,11 @@ public final class Experiment {
    * Overall, this mechanism allows us to do experiments in
    * parallel while not caring about threads or parallelism in
    * anyway. We just start the program as often as we have cores.
+   * <p>
+   * A run is also considered as done or ongoing if its log file
+   * exists with the other suffix, i.e., if it was started with
+   * the other {@linkplain BlackBoxProcessBuilder#isCompressingLog()
+   * compression setting}.
    *
    * @param root
    *          the root path
@@ -367,6 +375,10 @@ public final class Experiment {
    *          the algorithm setup
    * @param randSeed
    *          the random seed
+   * @param suffix
+   *          the file suffix, i.e.,
+   *          {@link LogFormat#FILE_SUFFIX} or
+   *          {@link LogFormat#COMPRESSED_FILE_SUFFIX}
    * @param done
    *          a hash set to receive and remember the attempted
    *          runs and existing directories
@@ -380,8 +392,9 @@ public final class Experiment {
    */
   private static Path logFile(final Path root,
       final String algorithm, final String instance,
-      final long randSeed, final FileSet done,
-      final boolean onlyComputePath) throws IOException {
+      final long randSeed, final String suffix,
+      final FileSet done, final boolean onlyComputePath)
+      throws IOException {
 
     synchronized (IOUtils.IO_SYNCH) {
 
@@ -398,7 +411,7 @@ public final class Experiment {
       final Path filePath = IOUtils.canonicalizePath(
           instPath.resolve(Experiment.nameStringsMerge(algo,
               inst, RandomUtils.randSeedToString(randSeed))
-              + LogFormat.FILE_SUFFIX));
+              + suffix));
 
       if (onlyComputePath) {
         // we got the path, and don't need to do anything else
@@ -425,6 +438,16 @@ public final class Experiment {
         }
       }
 
+// A log file with the other suffix stems from an execution of
+// the experiment with the other compression setting. Its run is
+// either ongoing or completed as well, so we do not repeat it.
+      if (Files.exists(instPath.resolve(
+          Experiment.nameStringsMerge(algo, inst,
+              RandomUtils.randSeedToString(randSeed))
+              + Experiment.otherSuffix(suffix)))) {
+        return null;
+      }
+
 // We try to create the log file. If that succeeds, then the no
 // such log file existed before, meaning that we have to do the
 // run and return the file. If it fails, there are two possible
@@ -459,6 +482,54 @@ public final class Experiment {
     }
   }
 
+  /**
+   * Get the suffix of the log files written with the other
+   * compression setting
+   *
+   * @param suffix
+   *          the file suffix, i.e.,
+   *          {@link LogFormat#FILE_SUFFIX} or
+   *          {@link LogFormat#COMPRESSED_FILE_SUFFIX}
+   * @return the other one of the two suffixes
+   */
+  private static String otherSuffix(final String suffix) {
+    return LogFormat.COMPRESSED_FILE_SUFFIX.equals(suffix)
+        ? LogFormat.FILE_SUFFIX
+        : LogFormat.COMPRESSED_FILE_SUFFIX;
+  }
+
+  /**
+   * Check whether a run has already been started, i.e., whether
+   * its log file exists with the given suffix or with the other
+   * one, in which case it is either ongoing or completed.
+   *
+   * @param root
+   *          the root path
+   * @param algorithm
+   *          the algorithm setup
+   * @param instance
+   *          the instance name
+   * @param randSeed
+   *          the random seed
+   * @param suffix
+   *          the file suffix, i.e.,
+   *          {@link LogFormat#FILE_SUFFIX} or
+   *          {@link LogFormat#COMPRESSED_FILE_SUFFIX}
+   * @return {@code true} if the run has been started
+   * @throws IOException
+   *           if I/O fails
+   */
+  static boolean isRunStarted(final Path root,
+      final String algorithm, final String instance,
+      final long randSeed, final String suffix)
+      throws IOException {
+    return Files.exists(Experiment.logFile(root, algorithm,
+        instance, randSeed, suffix, null, true))
+        || Files.exists(Experiment.logFile(root, algorithm,
+            instance, randSeed, Experiment.otherSuffix(suffix),
+            null, true));
+  }
+
   /**
    * This is a utility method for converting {@code double}
    * values to strings
@@ -780,30 +851,53 @@ public final class Experiment {
       final boolean waitAfterIOError) {
     Experiment.executeExperiment(stages, outputDir,
         writeLogInfos, waitAfterSkippedRuns,
-        waitAfterWorkWasDone, waitAfterIOError, new FileSet());
+        waitAfterWorkWasDone, waitAfterIOError,
+        new FileSet(null, null));
   }
 
-  /** perform garbage collection */
-  private static void doGc() {
-    final Runtime runtime = Runtime.getRuntime();
-
-    for (int i = 10; (--i) >= 0;) {
-      long nfm = runtime.freeMemory();
-      inner: for (int j = 256; (--j) >= 0;) {
-        final long fm = nfm;
-        System.gc();
-        nfm = runtime.freeMemory();
-        if (fm <= nfm) {
-          break inner;
-        }
-      }
-
-      try {
-        Thread.sleep(1L);
-      } catch (@SuppressWarnings("unused") final InterruptedException ie) {
-        //
-      }
-    }
+  /**
+   * Execute an experiment over, potentially, several
+   * {@linkplain IExperimentStage stages} and pass the log file
+   * of each completed run to an {@link EndResultsAggregator}.
+   *
+   * @param stages
+   *          the stages
+   * @param outputDir
+   *          the output directory
+   * @param writeLogInfos
+   *          should we print log information?
+   * @param waitAfterSkippedRuns
+   *          should we wait for a very short time after skipped
+   *          runs?
+   * @param waitAfterWorkWasDone
+   *          should we add some short wait time after
+   *          significant work was done?
+   * @param waitAfterIOError
+   *          should we wait for a longer time period if an I/O
+   *          error occurs?
+   * @param aggregator
+   *          the aggregator receiving the log files of the
+   *          completed runs, or {@code null} if the end results
+   *          should not be aggregated during the experiment
+   * @see #executeExperiment(Stream, Path, boolean, boolean,
+   *      boolean, boolean)
+   * @param <X>
+   *          the search space
+   * @param <Y>
+   *          the solution space
+   */
+  public static <X, Y> void executeExperiment(
+      final Stream<Supplier<IExperimentStage<? extends X,
+          ? extends Y, ?, ?>>> stages,
+      final Path outputDir, final boolean writeLogInfos,
+      final boolean waitAfterSkippedRuns,
+      final boolean waitAfterWorkWasDone,
+      final boolean waitAfterIOError,
+      final EndResultsAggregator aggregator) {
+    Experiment.executeExperiment(stages, outputDir,
+        writeLogInfos, waitAfterSkippedRuns,
+        waitAfterWorkWasDone, waitAfterIOError,
+        new FileSet(aggregator, null));
   }
 
   /**
@@ -834,7 +928,8 @@ public final class Experiment {
    *          it more likely that we can continue successfully
    *          after the wait
    * @param done
-   *          the hash set for the runs that are done
+   *          the hash set for the runs that are done, which also
+   *          holds the end results aggregator, if any
    * @param <X>
    *          the search space
    * @param <Y>
@@ -850,6 +945,7 @@ public final class Experiment {
       final boolean waitAfterWorkWasDone,
       final boolean waitAfterIOError, final FileSet done) {
 
+    WarmUp.enter();
     try {
       final Supplier<IExperimentStage>[] stageList =
           stages.toArray(i -> new Supplier[i]);
@@ -922,63 +1018,78 @@ public final class Experiment {
             RandomUtils.shuffle(random, problems, 0,
                 problems.length);
 
-            for (final Supplier<
-                IObjectiveFunction> problemSupplier : problems) {
-
-// instantiate the objective function
-              final IObjectiveFunction f =
-                  Objects.requireNonNull(problemSupplier.get());
-
-// how many runs should we do?
-              final int runs = stage.getRuns(f);
-              if (runs <= 0) {
-                continue;
+// We now collect the tasks of the stage, i.e., the combinations
+// of problems and algorithms, in the random order.
+            final ArrayList<Task> tasks = new ArrayList<>();
+            int nextProblem = 0;
+
+// In the longest-first mode, we instantiate all problems, then
+// estimate the cost of the runs of each task and dispatch the
+// tasks with the most expensive runs first. Since all workers
+// use the same cost model, they will claim the runs in roughly
+// the same order. This way, the long runs are done early and the
+// short runs fill the gaps at the end.
+            if (done.mCostModel != null) {
+              while (nextProblem < problems.length) {
+                Experiment.addTasks(stage,
+                    problems[nextProblem++], random, tasks);
               }
-
-// Now it is time to get the list of algorithms.
-              final Supplier<IMetaheuristic>[] algorithms =
-                  ((Stream<Supplier>) (stage.getAlgorithms(f)))
-                      .toArray(i -> new Supplier[i]);
-              if ((algorithms == null)
-                  || (algorithms.length <= 0)) {
-                continue;
+              Experiment.sortLongestFirst(tasks, stage, builder,
+                  done.mCostModel);
+              if (writeLogInfos
+                  && done.mCostModel.shouldProject(stageIndex)) {
+                Experiment.projectCompletion(tasks, useDir,
+                    builder.isCompressingLog()
+                        ? LogFormat.COMPRESSED_FILE_SUFFIX
+                        : LogFormat.FILE_SUFFIX,
+                    done.mCostModel, stageString);
               }
-// And we will process them again in a random order.
-              RandomUtils.shuffle(random, algorithms, 0,
-                  algorithms.length);
-
-// Get the problem instance name.
-              final String instName =
-                  Experiment.nameFromObjectPrepare(f);
+            }
 
-// We generate one random seed for each run. All algorithms use
-// the same random seeds.
-              final long[] seeds =
-                  RandomUtils.uniqueRandomSeeds(instName, runs);
-              if (seeds.length != runs) {
-                throw new IllegalStateException(
-                    "Invalid number of seeds: should never happen."); //$NON-NLS-1$
+// Now we iterate over the tasks, in their order. Otherwise, we
+// instantiate one problem at a time, only after all the tasks of
+// the previous problem have been processed.
+            IObjectiveFunction currentF = null;
+            int nextTask = 0;
+            for (;;) {
+              if (nextTask >= tasks.size()) {
+                if (nextProblem >= problems.length) {
+                  break;
+                }
+                tasks.clear();
+                nextTask = 0;
+                Experiment.addTasks(stage,
+                    problems[nextProblem++], random, tasks);
+                continue;
               }
+              final Task task = tasks.get(nextTask++);
+              final IObjectiveFunction f = task.mProblem;
+              final String instName = task.mInstance;
+              final long[] seeds = task.mSeeds;
+              final Supplier<IMetaheuristic<Object,
+                  Object>> algorithmSupplier = task.mAlgorithm;
 
 // If we get here, we definitely will do some runs with the
 // problem, so we adjust the builder to it.
-              stage.configureBuilderForProblem(builder, f);
-              builder.setObjectiveFunction(f);
-
-// Now we iterate over the algorithms, in their random order.
-              for (final Supplier<
-                  IMetaheuristic> algorithmSupplier : algorithms) {
+              if (f != currentF) {
+                if ((currentF != null) && waitAfterWorkWasDone) {
+                  Experiment.sleep(tryIndex - 1L, random);
+                }
+                currentF = f;
+                stage.configureBuilderForProblem(builder, f);
+                builder.setObjectiveFunction(f);
+              }
 
 // For each algorithm, we will process the random seeds again in
 // a random order.
-                RandomUtils.shuffle(random, seeds, 0,
-                    seeds.length);
+              RandomUtils.shuffle(random, seeds, 0,
+                  seeds.length);
 
-                String algoNameOld = null;
-                Class<?> algoClassOld = null;
-                IMetaheuristic algoOld = null;
+              String algoNameOld = null;
+              Class<?> algoClassOld = null;
+              IMetaheuristic algoOld = null;
 
-                for (final long seed : seeds) {
+              for (final long seed : seeds) {
 // Get the algorithm: We obtain a new instance of the algorithm
 // for each run. We are doing this because this class here is for
 // the execution of experiments. We want to make absolutely sure
@@ -986,44 +1097,52 @@ public final class Experiment {
 // resources. Yes, we could probably re-use pre-allocated
 // objects. But we want to be on the safe side an ensure that our
 // experiments can be replicated.
-                  final IMetaheuristic algorithm = Objects
+// The instance created for estimating the cost of the task in
+// the longest-first mode is used for the first run.
+                final IMetaheuristic algorithm;
+                if (task.mFirst != null) {
+                  algorithm = task.mFirst;
+                  task.mFirst = null;
+                } else {
+                  algorithm = Objects
                       .requireNonNull(algorithmSupplier.get());
+                }
 
 // Get the algorithm name and perform sanity checks.
-                  final String algoName = algorithm.toString();
-                  if (algoName.isEmpty()) {
+                final String algoName = algorithm.toString();
+                if (algoName.isEmpty()) {
+                  throw new IllegalArgumentException(
+                      "Name of algorithm cannot be null or empty, but is " //$NON-NLS-1$
+                          + algoName);
+                }
+                if (algoNameOld == null) {
+                  algoNameOld = algoName;
+                } else {
+                  if (!Objects.equals(algoName, algoNameOld)) {
                     throw new IllegalArgumentException(
-                        "Name of algorithm cannot be null or empty, but is " //$NON-NLS-1$
-                            + algoName);
-                  }
-                  if (algoNameOld == null) {
-                    algoNameOld = algoName;
-                  } else {
-                    if (!Objects.equals(algoName, algoNameOld)) {
-                      throw new IllegalArgumentException(
-                          "Algorithm name has changed from '"//$NON-NLS-1$
-                              + algoNameOld + "' to '"//$NON-NLS-1$
-                              + algoName + "'.");//$NON-NLS-1$
-                    }
-                  }
-                  final Class<?> algoClass =
-                      algorithm.getClass();
-                  if (algoClassOld == null) {
-                    algoClassOld = algoClass;
-                  } else {
-                    if (algoClassOld != algoClass) {
-                      throw new IllegalArgumentException(
-                          "Algorithm class has changed from '"//$NON-NLS-1$
-                              + algoClassOld + "' to '"//$NON-NLS-1$
-                              + algoClass + "'.");//$NON-NLS-1$
-                    }
+                        "Algorithm name has changed from '"//$NON-NLS-1$
+                            + algoNameOld + "' to '"//$NON-NLS-1$
+                            + algoName + "'.");//$NON-NLS-1$
                   }
-                  if (algorithm == algoOld) {
+                }
+                final Class<?> algoClass =
+                    algorithm.getClass();
+                if (algoClassOld == null) {
+                  algoClassOld = algoClass;
+                } else {
+                  if (algoClassOld != algoClass) {
                     throw new IllegalArgumentException(
-                        "You are not allowed to re-use algorithm instances (we want to ensure that all runs are independent), but you tried to re-use an instance of '"//$NON-NLS-1$
-                            + algoName + "'.");//$NON-NLS-1$
+                        "Algorithm class has changed from '"//$NON-NLS-1$
+                            + algoClassOld + "' to '"//$NON-NLS-1$
+                            + algoClass + "'.");//$NON-NLS-1$
                   }
-                  algoOld = algorithm;
+                }
+                if (algorithm == algoOld) {
+                  throw new IllegalArgumentException(
+                      "You are not allowed to re-use algorithm instances (we want to ensure that all runs are independent), but you tried to re-use an instance of '"//$NON-NLS-1$
+                          + algoName + "'.");//$NON-NLS-1$
+                }
+                algoOld = algorithm;
 
 // We create the log file for this run of the current algorithm
 // on the current problem with the current seed. We remember a
@@ -1031,127 +1150,188 @@ public final class Experiment {
 // experimental stages to raise the number of runs step-by-step
 // without us needed to access the file system for runs that we
 // already performed in the past.
-                  final Path logFile;
-                  final boolean runNotLocallyDone;
-                  synchronized (done) {
-                    final int currentSize = done.size();
-                    logFile = Experiment.logFile(useDir,
-                        algoName, instName, seed, done, false);
-                    runNotLocallyDone =
-                        (done.size() > currentSize);
-                  }
+                final String suffix = builder.isCompressingLog()
+                    ? LogFormat.COMPRESSED_FILE_SUFFIX
+                    : LogFormat.FILE_SUFFIX;
+                final Path logFile;
+                final boolean runNotLocallyDone;
+                synchronized (done) {
+                  final int currentSize = done.size();
+                  logFile = Experiment.logFile(useDir,
+                      algoName, instName, seed, suffix, done,
+                      false);
+                  runNotLocallyDone =
+                      (done.size() > currentSize);
+                }
 
 // If the logFile is null, then we do not need to do the run.
-                  if (logFile == null) {
-                    if (runNotLocallyDone
-                        && waitAfterSkippedRuns) {
+                if (logFile == null) {
+// If the log file already existed on disk, it may stem from an
+// earlier, resumed execution of the experiment or from another
+// process, possibly with the other compression setting. Its run
+// then is either complete or still ongoing, and the aggregator
+// only adds it in the former case.
+                  if (runNotLocallyDone
+                      && (done.mAggregator != null)) {
+                    Path existing = Experiment.logFile(useDir,
+                        algoName, instName, seed, suffix, null,
+                        true);
+                    if (!Files.exists(existing)) {
+                      existing = Experiment.logFile(useDir,
+                          algoName, instName, seed,
+                          Experiment.otherSuffix(suffix), null,
+                          true);
+                    }
+                    if (Files.exists(existing)) {
+                      done.mAggregator.addIfComplete(existing);
+                    }
+                  }
+                  if (runNotLocallyDone
+                      && waitAfterSkippedRuns) {
 // If runNotLocallyDone is true, then the predicate had suggested
 // to do the run, but the log file already existed. We found this
 // by querying the file system. If we do this very often a shared
 // drive, this may annoy the file server. In this case, we may
 // want to wait a bit to relief the file system.
-                      Experiment.sleep(tryIndex - 1L, random);
-                    }
-                    // nothing to do here
-                    continue;
+                    Experiment.sleep(tryIndex - 1L, random);
                   }
+                  // nothing to do here
+                  continue;
+                }
 
 // If we get here, we have created the log file which uniquely
 // identifies this run. So we can actually execute it.
 
-                  if (writeLogInfos) {
-                    ConsoleIO.stdout("Now performing run '"//$NON-NLS-1$
-                        + logFile + "'."); //$NON-NLS-1$
+                if (writeLogInfos) {
+                  ConsoleIO.stdout("Now performing run '"//$NON-NLS-1$
+                      + logFile + "'."); //$NON-NLS-1$
+                }
+
+// Before the first time-limited run of an algorithm setup on a
+// problem instance in this JVM, we warm up the just-in-time
+// compiler on throwaway processes, so that the measured runs are
+// not biased by interpreted or partially compiled code. The
+// garbage of the warm-up and of the previous runs is then
+// collected before the timing starts, unless other workers are
+// running, whose timed runs the collection would interrupt.
+                if (builder.getMaxTime() < Long.MAX_VALUE) {
+                  final long budget = WarmUp.getBudget();
+                  if ((budget > 0L)
+                      && WarmUp.claim(algoName, instName)) {
+                    final long warmUpTime = WarmUp.warmUp(
+                        builder, algorithmSupplier, budget);
+                    if (writeLogInfos) {
+                      ConsoleIO.stdout("Warmed up '" //$NON-NLS-1$
+                          + algoName + "' on '" + instName //$NON-NLS-1$
+                          + "' for " + warmUpTime + "ms."); //$NON-NLS-1$//$NON-NLS-2$
+                    }
                   }
+                  WarmUp.stabilizeIfAlone();
+                }
 
 // Set the seed and log path.
-                  builder.setRandSeed(seed);
-                  builder.setLogPath(logFile);
+                builder.setRandSeed(seed);
+                builder.setLogPath(logFile);
 
 // Create the process, apply the algorithm, and write the log
 // information.
-                  try (final IBlackBoxProcess process =
-                      builder.get()) {
-                    algorithm.solve(process);
-                    process.printLogSection(
-                        LogFormat.ALGORITHM_SETUP_LOG_SECTION,
-                        bw -> algorithm.printSetup((Writer) bw));
-                  } catch (final IOException
-                      | OutOfMemoryError error) {
-                    synchronized (done) {
-                      if (error instanceof OutOfMemoryError) {
+                final long startTime =
+                    System.currentTimeMillis();
+                long consumedFEs = 0L;
+                try (final IBlackBoxProcess process =
+                    builder.get()) {
+                  algorithm.solve(process);
+                  consumedFEs = process.getConsumedFEs();
+                  process.printLogSection(
+                      LogFormat.ALGORITHM_SETUP_LOG_SECTION,
+                      bw -> algorithm.printSetup((Writer) bw));
+                } catch (final IOException
+                    | OutOfMemoryError error) {
+                  synchronized (done) {
+                    if (error instanceof OutOfMemoryError) {
 // The reason for the out-of-memory situation might have been
 // that "done" grew too big. Maybe if we just clear it, we
 // can prevent the error from occurring again.
-                        done.clear();
-                      } else {
-                        done.remove(logFile);
-                      }
+                      done.clear();
+                    } else {
+                      done.remove(logFile);
                     }
-                    Experiment.doGc();
+                  }
+                  WarmUp.stabilize();
 
-                    if (writeLogInfos) {
-                      if (error instanceof OutOfMemoryError) {
-                        ConsoleIO.stderr(
-                            "We ran out of memory in the experimental run '" //$NON-NLS-1$
-                                + logFile
-                                + "'. We will try to delete the log file and then continue.", //$NON-NLS-1$
-                            error);
-                      } else {
-                        ConsoleIO.stderr(
-                            "We got an I/O error in the experimental run '" //$NON-NLS-1$
-                                + logFile
-                                + "'. We will try to delete the log file and then continue.", //$NON-NLS-1$
-                            error);
-                      }
-                    }
-                    if (waitAfterIOError) {
-                      Experiment.sleep(10_000L * tryIndex,
-                          random);
+                  if (writeLogInfos) {
+                    if (error instanceof OutOfMemoryError) {
+                      ConsoleIO.stderr(
+                          "We ran out of memory in the experimental run '" //$NON-NLS-1$
+                              + logFile
+                              + "'. We will try to delete the log file and then continue.", //$NON-NLS-1$
+                          error);
+                    } else {
+                      ConsoleIO.stderr(
+                          "We got an I/O error in the experimental run '" //$NON-NLS-1$
+                              + logFile
+                              + "'. We will try to delete the log file and then continue.", //$NON-NLS-1$
+                          error);
                     }
+                  }
+                  if (waitAfterIOError) {
+                    Experiment.sleep(10_000L * tryIndex,
+                        random);
+                  }
 
-                    Experiment.doGc();
+                  WarmUp.stabilize();
 
 // If we got here, there must have been an error when writing out
 // the result. This means the data of the run was lost. But the
 // log file had been created empty, so no other process would try
 // to repeat the run. We therefore try to delete that log file,
 // while will probably fail, but let's try.
-                    synchronized (done) {
-                      try {
-                        Files.delete(logFile);
-                      } catch (final Throwable error2) {
-                        if (writeLogInfos) {
-                          ConsoleIO.stderr(
-                              "We got an error when trying to delete file '" //$NON-NLS-1$
-                                  + logFile + "'.", //$NON-NLS-1$
-                              error2);
-                        }
-                      } finally {
-                        done.remove(logFile);
+                  synchronized (done) {
+                    try {
+                      Files.delete(logFile);
+                    } catch (final Throwable error2) {
+                      if (writeLogInfos) {
+                        ConsoleIO.stderr(
+                            "We got an error when trying to delete file '" //$NON-NLS-1$
+                                + logFile + "'.", //$NON-NLS-1$
+                            error2);
                       }
+                    } finally {
+                      done.remove(logFile);
                     }
-
-                    Experiment.doGc();
-
-                    throw error;
                   }
 
-                  Thread.yield();
-                } // run
-                algoOld = null;
-                algoNameOld = null;
-                algoClassOld = null;
+                  WarmUp.stabilize();
 
-                if (waitAfterWorkWasDone) {
-                  Experiment.sleep(tryIndex - 1L, random);
+                  throw error;
                 }
-              } // end of the algorithm
+
+// The log file is complete now, so we can pass it on to the
+// aggregator, which adds its end result to its statistics.
+                if (done.mAggregator != null) {
+                  done.mAggregator.add(logFile);
+                }
+// The observed duration improves the cost estimates.
+                if (done.mCostModel != null) {
+                  done.mCostModel.observe(algoName, instName,
+                      System.currentTimeMillis() - startTime,
+                      consumedFEs);
+                }
+
+                Thread.yield();
+              } // run
+              algoOld = null;
+              algoNameOld = null;
+              algoClassOld = null;
 
               if (waitAfterWorkWasDone) {
                 Experiment.sleep(tryIndex - 1L, random);
               }
-            } // end of the problem
+            } // end of the task
+
+            if (waitAfterWorkWasDone) {
+              Experiment.sleep(tryIndex - 1L, random);
+            }
 
             Thread.yield();
             if (writeLogInfos) {
@@ -1160,7 +1340,7 @@ public final class Experiment {
             }
             stageList[stageIndex] = null; // stage is clear
             Thread.yield();
-            System.gc();
+            WarmUp.stabilizeIfAlone();
             Thread.yield();
           } // end of the stage
 
@@ -1170,7 +1350,7 @@ public final class Experiment {
           }
           return; // successful end of the trial
         } catch (final IOException | OutOfMemoryError error) {
-          Experiment.doGc();
+          WarmUp.stabilize();
 
           if (writeLogInfos) {
             if (error instanceof OutOfMemoryError) {
@@ -1190,11 +1370,11 @@ public final class Experiment {
           if (waitAfterIOError) {
             Experiment.sleep(10_000L * tryIndex, random);
           }
-          Experiment.doGc();
+          WarmUp.stabilize();
         }
       } // end trial
     } catch (final Throwable error) {
-      Experiment.doGc();
+      WarmUp.stabilize();
 
       final String message =
           "An unrecoverable error has appeared during the experiment."; //$NON-NLS-1$
@@ -1209,6 +1389,7 @@ public final class Experiment {
       }
       throw new RuntimeException(message, error);
     } finally {
+      WarmUp.leave();
       if (writeLogInfos) {
         ConsoleIO.clearIDSuffix();
       }
@@ -1324,22 +1505,196 @@ public final class Experiment {
       final boolean waitAfterSkippedRuns,
       final boolean waitAfterWorkWasDone,
       final boolean waitAfterIOError) {
-
-    if (cores <= 0) {
-      throw new IllegalArgumentException(
-          "Number of cores must be >= 1, but is "//$NON-NLS-1$
-              + cores);
-    }
     Objects.requireNonNull(outputDir);
-    Objects.requireNonNull(stages);
-
     final List<Supplier<IExperimentStage<? extends X,
         ? extends Y, ?, ?>>> stageList =
-            stages.collect(Collectors.toList());
+            Experiment.stageList(stages);
+    final FileSet done = new FileSet(null, null);
+    Experiment.executeInParallel(cores, writeLogInfos,
+        () -> Experiment.executeExperiment(stageList.stream(),
+            outputDir, writeLogInfos, waitAfterSkippedRuns,
+            waitAfterWorkWasDone, waitAfterIOError, done));
+  }
+
+  /**
+   * Execute an experiment over, potentially, several
+   * {@linkplain IExperimentStage stages} and on several
+   * {@code cores} and pass the log file of each completed run to
+   * an {@link EndResultsAggregator}. The aggregator is shared by
+   * all worker threads.
+   *
+   * @param stages
+   *          the stages
+   * @param outputDir
+   *          the output directory
+   * @param cores
+   *          the number of cores to use
+   * @param writeLogInfos
+   *          should we print log information?
+   * @param aggregator
+   *          the aggregator receiving the log files of the
+   *          completed runs, or {@code null} if the end results
+   *          should not be aggregated during the experiment
+   * @see #executeExperimentInParallel(Stream, Path, int)
+   */
+  public static void executeExperimentInParallel(
+      final Stream<
+          Supplier<IExperimentStage<?, ?, ?, ?>>> stages,
+      final Path outputDir, final int cores,
+      final boolean writeLogInfos,
+      final EndResultsAggregator aggregator) {
+    Experiment.executeExperimentInParallel(stages, outputDir,
+        cores, writeLogInfos, aggregator, false);
+  }
+
+  /**
+   * Execute an experiment over, potentially, several
+   * {@linkplain IExperimentStage stages} and on several
+   * {@code cores}, optionally dispatching the runs of each stage
+   * in a longest-first order.
+   * <p>
+   * In the longest-first mode, the cost of each run is estimated
+   * from its budget (see
+   * {@link BlackBoxProcessBuilder#setMaxTime(long)} and
+   * {@link BlackBoxProcessBuilder#setMaxFEs(long)}) and from the
+   * durations of the runs of the same algorithm on the same
+   * instance observed so far. The runs with the highest
+   * estimated cost are dispatched first. If many runs are cheap
+   * and some are expensive, this avoids that few worker threads
+   * are still busy with expensive runs at the end of a stage
+   * while all others are idle. At the beginning of each stage,
+   * the projected completion time is printed if
+   * {@code writeLogInfos} is {@code true}.
+   *
+   * @param stages
+   *          the stages
+   * @param outputDir
+   *          the output directory
+   * @param cores
+   *          the number of cores to use
+   * @param writeLogInfos
+   *          should we print log information?
+   * @param aggregator
+   *          the aggregator receiving the log files of the
+   *          completed runs, or {@code null} if the end results
+   *          should not be aggregated during the experiment
+   * @param longestFirst
+   *          should the runs be dispatched in a longest-first
+   *          order ({@code true}) or in a random order
+   *          ({@code false})?
+   * @see #executeExperimentInParallel(Stream, Path, int,
+   *      boolean, boolean, boolean, boolean,
+   *      EndResultsAggregator, boolean)
+   */
+  public static void executeExperimentInParallel(
+      final Stream<
+          Supplier<IExperimentStage<?, ?, ?, ?>>> stages,
+      final Path outputDir, final int cores,
+      final boolean writeLogInfos,
+      final EndResultsAggregator aggregator,
+      final boolean longestFirst) {
+    Experiment.executeExperimentInParallel(stages, outputDir,
+        cores, writeLogInfos, true, true, true, aggregator,
+        longestFirst);
+  }
+
+  /**
+   * Execute an experiment over, potentially, several
+   * {@linkplain IExperimentStage stages} and on several
+   * {@code cores}, pass the log file of each completed run to
+   * an {@link EndResultsAggregator}, and optionally dispatch
+   * the runs of each stage in a longest-first order.
+   *
+   * @param stages
+   *          the stages
+   * @param outputDir
+   *          the output directory
+   * @param cores
+   *          the number of cores to use
+   * @param writeLogInfos
+   *          should we print log information?
+   * @param waitAfterSkippedRuns
+   *          should we wait for a very short time after skipped
+   *          runs?
+   * @param waitAfterWorkWasDone
+   *          should we add some short wait time after
+   *          significant work was done?
+   * @param waitAfterIOError
+   *          should we wait for a longer time period if an I/O
+   *          error occurs?
+   * @param aggregator
+   *          the aggregator receiving the log files of the
+   *          completed runs, or {@code null} if the end results
+   *          should not be aggregated during the experiment
+   * @param longestFirst
+   *          should the runs be dispatched in a longest-first
+   *          order ({@code true}) or in a random order
+   *          ({@code false})?
+   * @see #executeExperimentInParallel(Stream, Path, int,
+   *      boolean, boolean, boolean, boolean)
+   * @see #executeExperimentInParallel(Stream, Path, int,
+   *      boolean, EndResultsAggregator, boolean)
+   */
+  public static void executeExperimentInParallel(
+      final Stream<
+          Supplier<IExperimentStage<?, ?, ?, ?>>> stages,
+      final Path outputDir, final int cores,
+      final boolean writeLogInfos,
+      final boolean waitAfterSkippedRuns,
+      final boolean waitAfterWorkWasDone,
+      final boolean waitAfterIOError,
+      final EndResultsAggregator aggregator,
+      final boolean longestFirst) {
+    Objects.requireNonNull(outputDir);
+    final List<Supplier<IExperimentStage<?, ?, ?,
+        ?>>> stageList = Experiment.stageList(stages);
+    final FileSet done = new FileSet(aggregator,
+        longestFirst ? new RunCostModel(Math.max(1, cores))
+            : null);
+    Experiment.executeInParallel(cores, writeLogInfos,
+        () -> Experiment.executeExperiment(stageList.stream(),
+            outputDir, writeLogInfos, waitAfterSkippedRuns,
+            waitAfterWorkWasDone, waitAfterIOError, done));
+  }
+
+  /**
+   * Collect the stages of an experiment into a list
+   *
+   * @param stages
+   *          the stages
+   * @return the list of stages
+   * @param <T>
+   *          the stage supplier type
+   */
+  private static <T> List<T> stageList(final Stream<T> stages) {
+    final List<T> stageList = Objects.requireNonNull(stages)
+        .collect(Collectors.toList());
     if (stageList.size() <= 0) {
       throw new IllegalArgumentException(
           "There must be at least one stage.");//$NON-NLS-1$
     }
+    return stageList;
+  }
+
+  /**
+   * Execute the worker of an experiment in parallel on several
+   * {@code cores} and wait until all worker threads have
+   * finished.
+   *
+   * @param cores
+   *          the number of cores to use
+   * @param writeLogInfos
+   *          should we print log information?
+   * @param worker
+   *          the worker to be executed by each thread
+   */
+  private static void executeInParallel(final int cores,
+      final boolean writeLogInfos, final Runnable worker) {
+    if (cores <= 0) {
+      throw new IllegalArgumentException(
+          "Number of cores must be >= 1, but is "//$NON-NLS-1$
+              + cores);
+    }
 
     final Thread[] threads = new Thread[cores];
 
@@ -1348,13 +1703,8 @@ public final class Experiment {
           + cores + " worker threads.");//$NON-NLS-1$
     }
 
-    final FileSet done = new FileSet();
-
     for (int i = threads.length; (--i) >= 0;) {
-      final Thread t = threads[i] = new Thread(
-          () -> Experiment.executeExperiment(stageList.stream(),
-              outputDir, writeLogInfos, waitAfterSkippedRuns,
-              waitAfterWorkWasDone, waitAfterIOError, done),
+      final Thread t = threads[i] = new Thread(worker,
           "ExperimentWorker_" + (i + 1)); //$NON-NLS-1$
       t.setDaemon(true);
       t.setPriority(Thread.MIN_PRIORITY);
@@ -1389,11 +1739,199 @@ public final class Experiment {
     }
   }
 
+  /**
+   * Instantiate a problem of a stage and add the tasks, i.e.,
+   * the runs of each of the algorithms applied to it, in a
+   * random order.
+   *
+   * @param stage
+   *          the stage
+   * @param problemSupplier
+   *          the supplier of the problem
+   * @param random
+   *          the random number generator
+   * @param tasks
+   *          the list to which the tasks are added
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static void addTasks(final IExperimentStage stage,
+      final Supplier<IObjectiveFunction> problemSupplier,
+      final ThreadLocalRandom random, final List<Task> tasks) {
+
+// instantiate the objective function
+    final IObjectiveFunction f =
+        Objects.requireNonNull(problemSupplier.get());
+
+// how many runs should we do?
+    final int runs = stage.getRuns(f);
+    if (runs <= 0) {
+      return;
+    }
+
+// Now it is time to get the list of algorithms.
+    final Supplier<IMetaheuristic<Object, Object>>[] algorithms =
+        ((Stream<Supplier>) (stage.getAlgorithms(f)))
+            .toArray(i -> new Supplier[i]);
+    if ((algorithms == null) || (algorithms.length <= 0)) {
+      return;
+    }
+// And we will process them again in a random order.
+    RandomUtils.shuffle(random, algorithms, 0,
+        algorithms.length);
+
+// Get the problem instance name.
+    final String instName = Experiment.nameFromObjectPrepare(f);
+
+// We generate one random seed for each run. All algorithms use
+// the same random seeds.
+    final long[] seeds =
+        RandomUtils.uniqueRandomSeeds(instName, runs);
+    if (seeds.length != runs) {
+      throw new IllegalStateException(
+          "Invalid number of seeds: should never happen."); //$NON-NLS-1$
+    }
+
+// Every algorithm will be applied to the problem.
+    for (final Supplier<IMetaheuristic<Object,
+        Object>> algorithmSupplier : algorithms) {
+      tasks.add(new Task(f, instName, seeds, algorithmSupplier));
+    }
+  }
+
+  /**
+   * Sort the tasks of a stage by the estimated cost of their
+   * runs, the task with the most expensive runs first. Since
+   * the runs are dispatched one by one, the cost of a single run
+   * matters, not the total cost of a task. Tasks with the same
+   * cost keep their (random) order. The cost model is keyed by
+   * the algorithm name, so one algorithm instance is created per
+   * task. It is kept and used for the first run of the task.
+   *
+   * @param tasks
+   *          the tasks
+   * @param stage
+   *          the stage
+   * @param builder
+   *          the black-box process builder of the stage
+   * @param model
+   *          the run cost model
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static void sortLongestFirst(final List<Task> tasks,
+      final IExperimentStage stage,
+      final BlackBoxProcessBuilder builder,
+      final RunCostModel model) {
+    IObjectiveFunction currentF = null;
+    for (final Task task : tasks) {
+      if (task.mProblem != currentF) {
+        currentF = task.mProblem;
+        stage.configureBuilderForProblem(builder, currentF);
+        builder.setObjectiveFunction(currentF);
+      }
+      task.mFirst =
+          Objects.requireNonNull(task.mAlgorithm.get());
+      task.mAlgorithmName = task.mFirst.toString();
+      task.mRunCost = model.estimate(task.mAlgorithmName,
+          task.mInstance, builder.getMaxTime(),
+          builder.getMaxFEs());
+    }
+    tasks.sort((a, b) -> Double.compare(b.mRunCost, a.mRunCost));
+  }
+
+  /**
+   * Print the projected completion time of a stage, based on the
+   * estimated cost of the runs whose log files do not yet exist,
+   * neither with the given suffix nor with the other one.
+   *
+   * @param tasks
+   *          the tasks of the stage, with estimated costs
+   * @param root
+   *          the root directory of the experiment
+   * @param suffix
+   *          the suffix of the log files written by the stage
+   * @param model
+   *          the run cost model
+   * @param stageString
+   *          the name of the stage
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static void projectCompletion(final List<Task> tasks,
+      final Path root, final String suffix,
+      final RunCostModel model, final String stageString)
+      throws IOException {
+    double cost = 0d;
+    long runs = 0L;
+    for (final Task task : tasks) {
+      for (final long seed : task.mSeeds) {
+        if (!Experiment.isRunStarted(root, task.mAlgorithmName,
+            task.mInstance, seed, suffix)) {
+          cost += task.mRunCost;
+          ++runs;
+        }
+      }
+    }
+    final long time = (long) Math.ceil(cost / model.mWorkers);
+    ConsoleIO.stdout("Stage " + stageString + " has " + runs //$NON-NLS-1$ //$NON-NLS-2$
+        + " remaining runs with an estimated cost of " //$NON-NLS-1$
+        + ((long) Math.ceil(cost)) + "ms, projected completion on " //$NON-NLS-1$
+        + model.mWorkers + " worker(s) at " //$NON-NLS-1$
+        + new Date(System.currentTimeMillis() + time) + '.');
+  }
+
   /** forbidden */
   private Experiment() {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * A task of an experiment stage: the runs of one algorithm on
+   * one problem
+   */
+  @SuppressWarnings("rawtypes")
+  private static final class Task {
+    /** the problem */
+    final IObjectiveFunction mProblem;
+    /** the instance name */
+    final String mInstance;
+    /** the random seeds */
+    final long[] mSeeds;
+    /** the algorithm supplier */
+    final Supplier<IMetaheuristic<Object, Object>> mAlgorithm;
+    /**
+     * the algorithm instance created for estimating the cost, to
+     * be used for the first run, or {@code null}
+     */
+    IMetaheuristic mFirst;
+    /** the algorithm name, if the cost was estimated */
+    String mAlgorithmName;
+    /** the estimated cost of a single run */
+    double mRunCost;
+
+    /**
+     * create the task
+     *
+     * @param pProblem
+     *          the problem
+     * @param pInstance
+     *          the instance name
+     * @param pSeeds
+     *          the random seeds
+     * @param pAlgorithm
+     *          the algorithm supplier
+     */
+    Task(final IObjectiveFunction pProblem,
+        final String pInstance, final long[] pSeeds,
+        final Supplier<IMetaheuristic<Object,
+            Object>> pAlgorithm) {
+      super();
+      this.mProblem = pProblem;
+      this.mInstance = pInstance;
+      this.mSeeds = pSeeds;
+      this.mAlgorithm = pAlgorithm;
+    }
+  }
+
   /** the set of paths */
   private static final class FileSet
       extends LinkedHashMap<Path, Object> {
@@ -1403,10 +1941,29 @@ public final class Experiment {
     private static final Object KEY = new Object();
     /** the maximum map size */
     private static final int MAX_SIZE = 1024 * 1024;
+    /** the end results aggregator, or {@code null} if none */
+    final transient EndResultsAggregator mAggregator;
+    /**
+     * the run cost model, or {@code null} if the runs are not
+     * dispatched in a longest-first order
+     */
+    final transient RunCostModel mCostModel;
 
-    /** create */
-    FileSet() {
+    /**
+     * create
+     *
+     * @param pAggregator
+     *          the end results aggregator, or {@code null} if
+     *          none
+     * @param pCostModel
+     *          the run cost model, or {@code null} if the runs
+     *          are not dispatched in a longest-first order
+     */
+    FileSet(final EndResultsAggregator pAggregator,
+        final RunCostModel pCostModel) {
       super();
+      this.mAggregator = pAggregator;
+      this.mCostModel = pCostModel;
     }
 
     /** {@inheritDoc} */
@@ -0,0 +1,158 @@
+package aitoa.utils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * A simple model of the cost of the runs of an experiment,
+ * measured in milliseconds of wall-clock time. It is used by
+ * {@link Experiment} to dispatch the runs of a stage in a
+ * longest-first order, which reduces the time during which some
+ * worker threads are still busy with long runs while the others
+ * are already idle.
+ * <p>
+ * The cost of a run of an algorithm on an instance is
+ * estimated as the mean duration of the runs of the same
+ * algorithm on the same instance observed so far. If no such
+ * run has been observed yet, the budget of the run is used
+ * instead: a time-limited run is assumed to consume its whole
+ * time budget and an FE-limited run is assumed to consume its
+ * whole FE budget at the mean speed observed over all runs so
+ * far. The model is thread-safe and shared by all worker
+ * threads of an experiment.
+ */
+final class RunCostModel {
+
+  /**
+   * the assumed runtime per FE in milliseconds if nothing has
+   * been observed yet
+   */
+  static final double DEFAULT_TIME_PER_FE = 1e-3d;
+
+  /**
+   * the observed runs: for each algorithm/instance key, the
+   * number of runs, their total duration, and their total FEs
+   */
+  private final HashMap<String, double[]> mObserved;
+  /** the totals over all observed runs */
+  private final double[] mTotal;
+  /** the stages for which the completion was projected */
+  private final HashSet<Integer> mProjected;
+  /** the number of worker threads */
+  final int mWorkers;
+
+  /**
+   * create the run cost model
+   *
+   * @param pWorkers
+   *          the number of worker threads
+   */
+  RunCostModel(final int pWorkers) {
+    super();
+    if (pWorkers <= 0) {
+      throw new IllegalArgumentException(
+          "Number of workers must be positive, but is " //$NON-NLS-1$
+              + pWorkers);
+    }
+    this.mWorkers = pWorkers;
+    this.mObserved = new HashMap<>();
+    this.mTotal = new double[3];
+    this.mProjected = new HashSet<>();
+  }
+
+  /**
+   * Get the key for an algorithm and instance
+   *
+   * @param algorithm
+   *          the algorithm name
+   * @param instance
+   *          the instance name
+   * @return the key
+   */
+  private static String key(final String algorithm,
+      final String instance) {
+    return algorithm + '/' + instance;
+  }
+
+  /**
+   * Record the observed duration of a completed run
+   *
+   * @param algorithm
+   *          the algorithm name
+   * @param instance
+   *          the instance name
+   * @param time
+   *          the wall-clock duration of the run in milliseconds
+   * @param fes
+   *          the FEs consumed by the run
+   */
+  synchronized void observe(final String algorithm,
+      final String instance, final long time, final long fes) {
+    final double[] obs = this.mObserved.computeIfAbsent(
+        RunCostModel.key(algorithm, instance),
+        k -> new double[3]);
+    for (final double[] o : new double[][] { obs,
+        this.mTotal }) {
+      o[0]++;
+      o[1] += Math.max(0L, time);
+      o[2] += Math.max(0L, fes);
+    }
+  }
+
+  /**
+   * Estimate the cost of a single run
+   *
+   * @param algorithm
+   *          the algorithm name
+   * @param instance
+   *          the instance name
+   * @param maxTime
+   *          the time budget of the run in milliseconds,
+   *          {@link Long#MAX_VALUE} if unlimited
+   * @param maxFEs
+   *          the FE budget of the run, {@link Long#MAX_VALUE} if
+   *          unlimited
+   * @return the estimated cost in milliseconds
+   */
+  synchronized double estimate(final String algorithm,
+      final String instance, final long maxTime,
+      final long maxFEs) {
+    final double[] obs = this.mObserved
+        .get(RunCostModel.key(algorithm, instance));
+    if (obs != null) {
+      return obs[1] / obs[0];
+    }
+
+    double cost = Double.POSITIVE_INFINITY;
+    if (maxTime < Long.MAX_VALUE) {
+      cost = maxTime;
+    }
+    if (maxFEs < Long.MAX_VALUE) {
+      final double timePerFE = (this.mTotal[2] > 0d)
+          ? (this.mTotal[1] / this.mTotal[2])
+          : RunCostModel.DEFAULT_TIME_PER_FE;
+      cost = Math.min(cost, maxFEs * timePerFE);
+    }
+    if (cost < Double.POSITIVE_INFINITY) {
+      return cost;
+    }
+// Without any budget, the run can only stop when it reaches its
+// goal, so we assume it takes as long as an average run.
+    return (this.mTotal[0] > 0d)
+        ? (this.mTotal[1] / this.mTotal[0]) : 1d;
+  }
+
+  /**
+   * Check whether the completion of a stage should be projected.
+   * This returns {@code true} exactly once per stage, so that
+   * only one worker prints the projection.
+   *
+   * @param stage
+   *          the stage index
+   * @return {@code true} if the completion should be projected,
+   *         {@code false} if it already was
+   */
+  synchronized boolean shouldProject(final int stage) {
+    return this.mProjected.add(Integer.valueOf(stage));
+  }
+}
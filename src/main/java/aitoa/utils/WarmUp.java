@@ -0,0 +1,245 @@
+package aitoa.utils;
+
+import java.io.IOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import aitoa.structure.BlackBoxProcessBuilder;
+import aitoa.structure.IBlackBoxProcess;
+import aitoa.structure.IMetaheuristic;
+
+/**
+ * The warm-up phase and the timing stabilization used by
+ * {@link Experiment} before time-limited runs.
+ * <p>
+ * The measured runtime of a time-limited run begins as soon as
+ * its process is created. If the search operators and the
+ * objective function have not yet been compiled by the
+ * just-in-time compiler of the JVM, the first runs are partly
+ * interpreted and will perform fewer FEs than later runs. Before
+ * the first logged run of an algorithm setup on a problem
+ * instance, {@link Experiment} therefore applies fresh instances
+ * of the algorithm to {@linkplain
+ * BlackBoxProcessBuilder#getWarmUpProcess(long) throwaway
+ * processes} for short slices of time until the total
+ * compilation time reported by the {@link CompilationMXBean}
+ * stops growing significantly or the warm-up budget is
+ * exhausted. This is done only once per JVM for each
+ * combination of algorithm setup name and instance.
+ * <p>
+ * Before each time-limited run, the garbage of the previous runs
+ * is collected via {@link #stabilize()}. Since the garbage
+ * collections stop all threads of the JVM, this is only done if
+ * no other worker of an experiment is running, as it would
+ * otherwise distort the timed runs of the other workers.
+ * <p>
+ * The warm-up budget in milliseconds can be set via the system
+ * property {@value #BUDGET_PROPERTY}. It defaults to
+ * {@value #DEFAULT_BUDGET} and a value of {@code 0} disables the
+ * warm-up.
+ */
+public final class WarmUp {
+
+  /** the system property specifying the warm-up budget */
+  public static final String BUDGET_PROPERTY =
+      "aitoa.warmUpTime"; //$NON-NLS-1$
+  /** the default warm-up budget in milliseconds */
+  public static final long DEFAULT_BUDGET = 10_000L;
+
+  /** the minimum duration of a warm-up slice in milliseconds */
+  static final long MIN_SLICE = 10L;
+  /** the maximum duration of a warm-up slice in milliseconds */
+  static final long MAX_SLICE = 250L;
+  /**
+   * the number of consecutive slices during which the
+   * compilation time must have settled
+   */
+  static final int STABLE_SLICES = 3;
+  /**
+   * the fraction of a slice that the compilation time may grow
+   * during it while still being considered as settled
+   */
+  static final long STABLE_FRACTION = 20L;
+  /** the maximum number of garbage collections to trigger */
+  static final int GC_MAX_ROUNDS = 16;
+  /** the maximum time for the garbage collections */
+  static final long GC_MAX_TIME = 500L;
+
+  /** the algorithm/instance combinations already warmed up */
+  private static final HashSet<String> DONE = new HashSet<>();
+  /** the number of experiment workers currently running */
+  private static final AtomicInteger WORKERS =
+      new AtomicInteger();
+
+  /**
+   * Get the warm-up budget
+   *
+   * @return the warm-up budget in milliseconds, {@code 0} if no
+   *         warm-up should take place
+   */
+  public static long getBudget() {
+    final String value = System.getProperty(//
+        WarmUp.BUDGET_PROPERTY);
+    if ((value == null) || value.trim().isEmpty()) {
+      return WarmUp.DEFAULT_BUDGET;
+    }
+    try {
+      return Math.max(0L, Long.parseLong(value.trim()));
+    } catch (@SuppressWarnings("unused") final NumberFormatException nfe) {
+      return WarmUp.DEFAULT_BUDGET;
+    }
+  }
+
+  /**
+   * Claim the warm-up for an algorithm setup and instance. Only
+   * the first call for each combination in the JVM succeeds.
+   * Different setups of the same algorithm class may exercise
+   * different code, e.g., different search operators, so each
+   * of them is warmed up.
+   *
+   * @param algorithm
+   *          the algorithm setup name
+   * @param instance
+   *          the instance name
+   * @return {@code true} if the warm-up should be done,
+   *         {@code false} if it has already been claimed
+   */
+  static boolean claim(final String algorithm,
+      final String instance) {
+    final String key = Objects.requireNonNull(algorithm) + '|'
+        + Objects.requireNonNull(instance);
+    synchronized (WarmUp.DONE) {
+      return WarmUp.DONE.add(key);
+    }
+  }
+
+  /**
+   * Warm up the just-in-time compiler by applying fresh
+   * instances of an algorithm to throwaway processes for short
+   * slices of time, until the compilation time has settled or
+   * the budget is exhausted. If the JVM cannot measure the
+   * compilation time, the algorithm is applied until
+   * {@link #STABLE_SLICES} slices have been completed.
+   *
+   * @param builder
+   *          the builder, configured for the problem
+   * @param algorithm
+   *          the supplier of algorithm instances
+   * @param budget
+   *          the budget in milliseconds
+   * @return the time spent in milliseconds
+   * @throws IOException
+   *           if closing a throwaway process fails
+   * @param <X>
+   *          the search space
+   * @param <Y>
+   *          the solution space
+   */
+  public static <X, Y> long warmUp(
+      final BlackBoxProcessBuilder<X, Y> builder,
+      final Supplier<? extends IMetaheuristic<X, Y>> algorithm,
+      final long budget) throws IOException {
+    Objects.requireNonNull(builder);
+    Objects.requireNonNull(algorithm);
+    if (budget <= 0L) {
+      return 0L;
+    }
+    final long slice = Math.max(WarmUp.MIN_SLICE,
+        Math.min(WarmUp.MAX_SLICE, builder.getMaxTime()));
+    final CompilationMXBean compiler =
+        ManagementFactory.getCompilationMXBean();
+    final boolean measurable = (compiler != null)
+        && compiler.isCompilationTimeMonitoringSupported();
+
+    final long start = System.currentTimeMillis();
+    final long end = ((Long.MAX_VALUE - start) > budget)
+        ? (start + budget) : Long.MAX_VALUE;
+    long compilation =
+        measurable ? compiler.getTotalCompilationTime() : 0L;
+    long now = start;
+    int stable = 0;
+
+    do {
+      try (final IBlackBoxProcess<X, Y> process = builder
+          .getWarmUpProcess(Math.min(slice, end - now))) {
+        Objects.requireNonNull(algorithm.get()).solve(process);
+      }
+      now = System.currentTimeMillis();
+      if (measurable) {
+        final long next = compiler.getTotalCompilationTime();
+        if (((next - compilation)
+            * WarmUp.STABLE_FRACTION) <= slice) {
+          ++stable;
+        } else {
+          stable = 0;
+        }
+        compilation = next;
+      } else {
+        ++stable;
+      }
+    } while ((stable < WarmUp.STABLE_SLICES) && (now < end));
+
+    return now - start;
+  }
+
+  /**
+   * Stabilize the memory before a run by garbage collection. The
+   * garbage collector is invoked until a collection frees less
+   * than about 1.5% of the used memory, but at most
+   * {@link #GC_MAX_ROUNDS} times and for at most
+   * {@link #GC_MAX_TIME} milliseconds.
+   *
+   * @return the number of garbage collections triggered
+   */
+  public static int stabilize() {
+    final Runtime runtime = Runtime.getRuntime();
+    final long end = System.currentTimeMillis() //
+        + WarmUp.GC_MAX_TIME;
+    long used = runtime.totalMemory() - runtime.freeMemory();
+    int rounds = 0;
+    while (rounds < WarmUp.GC_MAX_ROUNDS) {
+      ++rounds;
+      System.gc();
+      final long next =
+          runtime.totalMemory() - runtime.freeMemory();
+      if ((next >= (used - (used >>> 6)))
+          || (System.currentTimeMillis() >= end)) {
+        break;
+      }
+      used = next;
+    }
+    return rounds;
+  }
+
+  /** register an experiment worker that begins running */
+  static void enter() {
+    WarmUp.WORKERS.incrementAndGet();
+  }
+
+  /** unregister an experiment worker that has finished */
+  static void leave() {
+    WarmUp.WORKERS.decrementAndGet();
+  }
+
+  /**
+   * {@linkplain #stabilize() Stabilize} the memory, but only if
+   * at most one experiment worker is running in this JVM. If
+   * several workers run in parallel, the garbage collections
+   * would stop their threads during their timed runs, so it is
+   * left to the garbage collector when to collect.
+   *
+   * @return the number of garbage collections triggered
+   */
+  static int stabilizeIfAlone() {
+    return (WarmUp.WORKERS.get() <= 1) ? WarmUp.stabilize() : 0;
+  }
+
+  /** forbidden */
+  private WarmUp() {
+    throw new UnsupportedOperationException();
+  }
+}
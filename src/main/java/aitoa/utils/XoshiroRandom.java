@@ -0,0 +1,119 @@
+package aitoa.utils;
+
+import java.util.Random;
+
+/**
+ * A fast, non-synchronized random number generator based on
+ * the xoshiro256** algorithm by David Blackman and Sebastiano
+ * Vigna, seeded via SplitMix64.
+ * <p>
+ * {@link java.util.Random} updates its state with an atomic
+ * compare-and-set loop in every call to {@code next}, which
+ * makes it comparably slow in the hot loops of our search
+ * operators, which may draw one random number per bit or per
+ * candidate. This class is a drop-in replacement that can be
+ * used wherever a {@link java.util.Random} is expected. It is
+ * not thread-safe, but each black-box process is used by only
+ * one thread anyway. For the same seed, it always produces the
+ * same sequence of numbers.
+ *
+ * @see aitoa.structure.BlackBoxProcessBuilder#setRandomFactory(java.util.function.LongFunction)
+ */
+public final class XoshiroRandom extends Random {
+  /** the serial version uid */
+  private static final long serialVersionUID = 1L;
+  /** the increment of the SplitMix64 state */
+  private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+  /** the first state variable */
+  private long mS0;
+  /** the second state variable */
+  private long mS1;
+  /** the third state variable */
+  private long mS2;
+  /** the fourth state variable */
+  private long mS3;
+
+  /**
+   * create the random number generator
+   *
+   * @param seed
+   *          the random seed
+   */
+  public XoshiroRandom(final long seed) {
+    super(seed);
+  }
+
+  /**
+   * Compute an output of the SplitMix64 generator
+   *
+   * @param seed
+   *          the seed, i.e., the initial state
+   * @param index
+   *          the index of the output, starting at 1
+   * @return the output
+   */
+  private static long splitMix64(final long seed,
+      final long index) {
+    long z = seed + (index * XoshiroRandom.GAMMA);
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void setSeed(final long seed) {
+// resets the cached Gaussian of the super class
+    super.setSeed(seed);
+    this.mS0 = XoshiroRandom.splitMix64(seed, 1L);
+    this.mS1 = XoshiroRandom.splitMix64(seed, 2L);
+    this.mS2 = XoshiroRandom.splitMix64(seed, 3L);
+    this.mS3 = XoshiroRandom.splitMix64(seed, 4L);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public long nextLong() {
+    final long s1 = this.mS1;
+    final long result = Long.rotateLeft(s1 * 5L, 7) * 9L;
+    final long t = s1 << 17;
+    this.mS2 ^= this.mS0;
+    this.mS3 ^= s1;
+    this.mS1 = s1 ^ this.mS2;
+    this.mS0 ^= this.mS3;
+    this.mS2 ^= t;
+    this.mS3 = Long.rotateLeft(this.mS3, 45);
+    return result;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected int next(final int bits) {
+    return (int) (this.nextLong() >>> (64 - bits));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int nextInt() {
+    return (int) (this.nextLong() >>> 32);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean nextBoolean() {
+    return (this.nextLong() < 0L);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public double nextDouble() {
+    return (this.nextLong() >>> 11) * 0x1.0p-53;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public float nextFloat() {
+    return (this.nextLong() >>> 40) * 0x1.0p-24f;
+  }
+}
@@ -0,0 +1,173 @@
+package aitoa.utils;
+
+/**
+ * Zobrist-style 64-bit hashes of {@code int[]} and
+ * {@code boolean[]} points in the search space.
+ * <p>
+ * Each combination of an index and a value at this index has a
+ * pseudo-random 64-bit {@linkplain #key(int, int) key}, and the
+ * hash of an array is the exclusive-or of the keys of all of
+ * its elements. Changing one element from one value to another
+ * therefore changes the hash by the exclusive-or of two keys,
+ * so a unary search operator can compute the hash of its result
+ * from the hash of its input by computing only the keys of the
+ * elements it changed, instead of hashing the whole array. For
+ * {@code boolean[]}, only the elements which are {@code true}
+ * contribute to the hash, so flipping a bit toggles exactly one
+ * key.
+ * <p>
+ * The keys are not stored in a table but computed on the fly by
+ * the bijective SplitMix64 finalizer, so the hash of a point
+ * does not depend on the length of the arrays or on the values
+ * that may occur. Two different points receive different hashes
+ * with very high probability, but hash collisions are not
+ * impossible. Algorithms which consider points with the same
+ * hash as equal may hence rarely treat two different points as
+ * equal, which is acceptable for duplicate detection.
+ */
+public final class ZobristHash {
+
+  /** the constant scrambling the input of the finalizer */
+  private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+  /**
+   * Get the key of a value at a given index
+   *
+   * @param index
+   *          the index
+   * @param value
+   *          the value
+   * @return the key
+   */
+  public static long key(final int index, final int value) {
+    long z = ((((long) index) << 32)
+        ^ (value & 0xFFFF_FFFFL)) + ZobristHash.GAMMA;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Compute the hash of an {@code int[]}
+   *
+   * @param x
+   *          the array
+   * @return the hash
+   */
+  public static long hash(final int[] x) {
+    long hash = 0L;
+    for (int i = x.length; (--i) >= 0;) {
+      hash ^= ZobristHash.key(i, x[i]);
+    }
+    return hash;
+  }
+
+  /**
+   * Compute the hash of a {@code boolean[]}
+   *
+   * @param x
+   *          the array
+   * @return the hash
+   */
+  public static long hash(final boolean[] x) {
+    long hash = 0L;
+    for (int i = x.length; (--i) >= 0;) {
+      if (x[i]) {
+        hash ^= ZobristHash.key(i, 1);
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * Update the hash of an {@code int[]} if the value at one
+   * index changes
+   *
+   * @param hash
+   *          the hash before the change
+   * @param index
+   *          the index
+   * @param oldValue
+   *          the value before the change
+   * @param newValue
+   *          the value after the change
+   * @return the hash after the change
+   */
+  public static long update(final long hash, final int index,
+      final int oldValue, final int newValue) {
+    return hash ^ ZobristHash.key(index, oldValue)
+        ^ ZobristHash.key(index, newValue);
+  }
+
+  /**
+   * Update the hash of a {@code boolean[]} if the bit at one
+   * index is flipped
+   *
+   * @param hash
+   *          the hash before the flip
+   * @param index
+   *          the index
+   * @return the hash after the flip
+   */
+  public static long flip(final long hash, final int index) {
+    return hash ^ ZobristHash.key(index, 1);
+  }
+
+  /**
+   * Update the hash of an {@code int[]} which was changed into
+   * another one of the same length. The keys are only computed
+   * for the elements which differ, so a unary search operator
+   * which changes few elements of a copy of its input can
+   * compute the hash of its result without hashing the whole
+   * array.
+   *
+   * @param hash
+   *          the hash of {@code before}
+   * @param before
+   *          the array before the change
+   * @param after
+   *          the array after the change
+   * @return the hash of {@code after}
+   */
+  public static long update(final long hash, final int[] before,
+      final int[] after) {
+    long result = hash;
+    for (int i = after.length; (--i) >= 0;) {
+      final int oldValue = before[i];
+      final int newValue = after[i];
+      if (oldValue != newValue) {
+        result =
+            ZobristHash.update(result, i, oldValue, newValue);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Update the hash of a {@code boolean[]} which was changed
+   * into another one of the same length by flipping some bits
+   *
+   * @param hash
+   *          the hash of {@code before}
+   * @param before
+   *          the array before the change
+   * @param after
+   *          the array after the change
+   * @return the hash of {@code after}
+   */
+  public static long update(final long hash,
+      final boolean[] before, final boolean[] after) {
+    long result = hash;
+    for (int i = after.length; (--i) >= 0;) {
+      if (before[i] != after[i]) {
+        result = ZobristHash.flip(result, i);
+      }
+    }
+    return result;
+  }
+
+  /** forbidden */
+  private ZobristHash() {
+    throw new UnsupportedOperationException();
+  }
+}
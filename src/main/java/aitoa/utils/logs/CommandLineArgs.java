@@ -67,6 +67,69 @@ final class CommandLineArgs {
         () -> Paths.get("evaluation"));//$NON-NLS-1$ ;
   }
 
+  /** the number of threads parameter */
+  private static final String PARAM_THREADS = "threads"; //$NON-NLS-1$
+
+  /**
+   * print the threads argument
+   *
+   * @param s
+   *          the print stream
+   */
+  static void printThreads(final PrintStream s) {
+    s.print(' ');
+    s.print(CommandLineArgs.PARAM_THREADS);
+    s.println(
+        "=n: the number of threads used for parsing log files; the default is the number of available processors.");//$NON-NLS-1$
+  }
+
+  /**
+   * get the number of threads to use for parsing log files
+   *
+   * @return the number of threads
+   */
+  static int getThreads() {
+    final Integer i =
+        Configuration.getInteger(CommandLineArgs.PARAM_THREADS);
+    if (i == null) {
+      return LogFileProcessor.defaultThreads();
+    }
+    final int threads = i.intValue();
+    if (threads <= 0) {
+      throw new IllegalArgumentException(//
+          "Number of threads must be positive, but is " //$NON-NLS-1$
+              + threads);
+    }
+    return threads;
+  }
+
+  /** the incremental update parameter */
+  private static final String PARAM_INCREMENTAL = "incremental"; //$NON-NLS-1$
+
+  /**
+   * print the incremental update argument
+   *
+   * @param s
+   *          the print stream
+   */
+  static void printIncremental(final PrintStream s) {
+    s.print(' ');
+    s.print(CommandLineArgs.PARAM_INCREMENTAL);
+    s.println(
+        ": update the end results table incrementally, only parsing new or changed log files.");//$NON-NLS-1$
+  }
+
+  /**
+   * should the end results table be updated incrementally?
+   *
+   * @return {@code true} if the end results table should be
+   *         updated incrementally, {@code false} otherwise
+   */
+  static boolean getIncremental() {
+    return Configuration
+        .getBoolean(CommandLineArgs.PARAM_INCREMENTAL);
+  }
+
   /** the goal function value */
   private static final String PARAM_GOAL = "goal"; //$NON-NLS-1$
   /** the goal function class */
@@ -46,7 +46,6 @@ final class Doubles extends Statistic {
       throw new IllegalStateException("empty data array?"); //$NON-NLS-1$
     }
     this.mData = Arrays.copyOf(this.mData, this.mSize);
-    Arrays.sort(this.mData);
 
     // try to convert the data to longs
     final long[] alt =
@@ -65,8 +64,8 @@ final class Doubles extends Statistic {
 
   /** {@inheritDoc} */
   @Override
-  Number quantile(final double p) {
-    return Statistics.quantile(p, this.mData);
+  Number[] quantiles(final double[] ps) {
+    return Statistics.quantiles(ps, this.mData);
   }
 
   /** {@inheritDoc} */
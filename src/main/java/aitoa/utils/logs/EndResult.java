@@ -70,76 +70,108 @@ public final class EndResult extends Setup {
       final long pNumberOfImprovements, final long pBudgetTime,
       final long pBudgetFEs, final double pGoalF) {
     super(pAlgorithm, pInstance, pSeed);
-
+    EndResult.validate(pBestF, pTotalTime, pTotalFEs,
+        pLastImprovementTime, pLastImprovementFE,
+        pNumberOfImprovements, pBudgetTime, pBudgetFEs, pGoalF);
     this.bestF = pBestF;
-    if (!Double.isFinite(this.bestF)) {
+    this.totalTime = pTotalTime;
+    this.totalFEs = pTotalFEs;
+    this.lastImprovementTime = pLastImprovementTime;
+    this.lastImprovementFE = pLastImprovementFE;
+    this.budgetTime = pBudgetTime;
+    this.budgetFEs = pBudgetFEs;
+    this.numberOfImprovements = pNumberOfImprovements;
+    this.goalF = pGoalF;
+  }
+
+  /**
+   * Check whether the numerical values of an end result are
+   * valid.
+   *
+   * @param bestF
+   *          the best objective value achieved by the run
+   * @param totalTime
+   *          the total time consumed by the run
+   * @param totalFEs
+   *          the total FEs consumed by the run
+   * @param lastImprovementTime
+   *          the last time at which an improvement was achieved
+   * @param lastImprovementFE
+   *          the last FE at which an improvement was achieved
+   * @param numberOfImprovements
+   *          the total number of times the run improved its
+   *          result
+   * @param budgetTime
+   *          the time budget
+   * @param budgetFEs
+   *          the FE budget
+   * @param goalF
+   *          the goal objective value
+   * @throws IllegalArgumentException
+   *           if the values are invalid
+   */
+  static void validate(final double bestF, final long totalTime,
+      final long totalFEs, final long lastImprovementTime,
+      final long lastImprovementFE,
+      final long numberOfImprovements, final long budgetTime,
+      final long budgetFEs, final double goalF) {
+    if (!Double.isFinite(bestF)) {
       throw new IllegalArgumentException(
-          "Invalid f.best: " + this.bestF);//$NON-NLS-1$
+          "Invalid f.best: " + bestF);//$NON-NLS-1$
     }
 
-    this.totalTime = pTotalTime;
-    if ((this.totalTime < 0L)
-        || (this.totalTime > 315360000000000L)) {
+    if ((totalTime < 0L) || (totalTime > 315360000000000L)) {
       throw new IllegalArgumentException(
-          "Invalid total time: " + this.totalTime);//$NON-NLS-1$
+          "Invalid total time: " + totalTime);//$NON-NLS-1$
     }
 
-    this.totalFEs = pTotalFEs;
-    if ((this.totalFEs < 1L)
-        || (this.totalFEs > 315360000000000L)) {
+    if ((totalFEs < 1L) || (totalFEs > 315360000000000L)) {
       throw new IllegalArgumentException(
-          "Invalid total FEs: " + this.totalFEs);//$NON-NLS-1$
+          "Invalid total FEs: " + totalFEs);//$NON-NLS-1$
     }
 
-    this.lastImprovementTime = pLastImprovementTime;
-    if ((this.lastImprovementTime < 0L)
-        || (this.lastImprovementTime > this.totalTime)) {
+    if ((lastImprovementTime < 0L)
+        || (lastImprovementTime > totalTime)) {
       throw new IllegalArgumentException(
           "Invalid last improvement time: " //$NON-NLS-1$
-              + this.lastImprovementTime + " for total time " //$NON-NLS-1$
-              + this.totalTime);
+              + lastImprovementTime + " for total time " //$NON-NLS-1$
+              + totalTime);
     }
 
-    this.lastImprovementFE = pLastImprovementFE;
-    if ((this.lastImprovementFE <= 0L)
-        || (this.lastImprovementFE > this.totalFEs)) {
+    if ((lastImprovementFE <= 0L)
+        || (lastImprovementFE > totalFEs)) {
       throw new IllegalArgumentException(
           "Invalid last improvement FE: " //$NON-NLS-1$
-              + this.lastImprovementFE + " for total FEs " //$NON-NLS-1$
-              + this.totalFEs);
+              + lastImprovementFE + " for total FEs " //$NON-NLS-1$
+              + totalFEs);
     }
 
-    this.budgetTime = pBudgetTime;
-    if (this.budgetTime < 0L) {
+    if (budgetTime < 0L) {
       throw new IllegalArgumentException(
-          "Invalid time budget: " + this.budgetTime);//$NON-NLS-1$
+          "Invalid time budget: " + budgetTime);//$NON-NLS-1$
     }
-    LogParser.checkTime(this.totalTime, this.budgetTime);
+    LogParser.checkTime(totalTime, budgetTime);
 
-    this.budgetFEs = pBudgetFEs;
-    if ((this.budgetFEs < 1L)
-        || (this.budgetFEs < this.totalFEs)) {
+    if ((budgetFEs < 1L) || (budgetFEs < totalFEs)) {
       throw new IllegalArgumentException(
-          "Invalid budget FEs: " + this.budgetFEs + //$NON-NLS-1$
-              " for total FEs: " + this.totalFEs);//$NON-NLS-1$
+          "Invalid budget FEs: " + budgetFEs + //$NON-NLS-1$
+              " for total FEs: " + totalFEs);//$NON-NLS-1$
     }
 
-    this.numberOfImprovements = pNumberOfImprovements;
-    if ((this.numberOfImprovements <= 0)
-        || (this.numberOfImprovements > this.lastImprovementFE)) {
+    if ((numberOfImprovements <= 0)
+        || (numberOfImprovements > lastImprovementFE)) {
       throw new IllegalArgumentException(
           "Invalid number of improvements " //$NON-NLS-1$
-              + this.numberOfImprovements
+              + numberOfImprovements
               + " for last improvement FE " + //$NON-NLS-1$
-              this.lastImprovementFE);
+              lastImprovementFE);
     }
 
-    this.goalF = pGoalF;
-    if ((!Double.isFinite(this.goalF))
-        && (!(this.goalF <= Double.NEGATIVE_INFINITY))) {
+    if ((!Double.isFinite(goalF))
+        && (!(goalF <= Double.NEGATIVE_INFINITY))) {
       throw new IllegalArgumentException(
           "Invalid goal objective value: "//$NON-NLS-1$
-              + pGoalF);
+              + goalF);
     }
   }
 
@@ -7,7 +7,6 @@ import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
-import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Objects;
@@ -242,8 +241,10 @@ public final class EndResultStatistics {
       final Setup min, //
       final Setup max, //
       final BufferedWriter bw) throws IOException {
-    for (final double d : quantiles) {
-      final Number quantile = data.quantile(d);
+    final Number[] values = data.quantiles(quantiles);
+    for (int i = 0; i < quantiles.length; i++) {
+      final double d = quantiles[i];
+      final Number quantile = values[i];
       bw.write(LogFormat.numberToStringForLog(quantile));
       bw.write(LogFormat.CSV_SEPARATOR_CHAR);
       if (unique != null) {
@@ -425,15 +426,12 @@ public final class EndResultStatistics {
     }
 
     // compute the data
-    Parser p = new Parser((success == null)
-        ? x -> Double.compare(x.bestF, x.goalF) <= 0 : success,
+    final Holder[] results = EndResultStatistics.collect(
+        EndResultsTable.load(in, logProgressToConsole), success,
         (instanceNameMapper != null) ? instanceNameMapper
             : Function.identity(),
         (algorithmNameMapper != null) ? algorithmNameMapper
             : Function.identity());
-    EndResults.parseEndResultsTable(in, p, logProgressToConsole);
-    final Holder[] results = p.doFinalize();
-    p = null;
 
     if (logProgressToConsole) {
       ConsoleIO.stdout(//
@@ -2590,95 +2588,87 @@ public final class EndResultStatistics {
     throw new UnsupportedOperationException();
   }
 
-  /** the internal parser class */
-  private static final class Parser
-      implements Consumer<EndResult> {
-    /** the holders */
-    private HashMap<String, HashMap<String, Holder>> mHolders;
-    /** the success predicate */
-    private Predicate<EndResult> mSuccess;
-    /** the instance name mapper */
-    private final Function<String, String> mInstanceNameMapper;
-    /** the algorithm name mapper */
-    private final Function<String, String> mAlgorithmNameMapper;
-
-    /**
-     * create
-     *
-     * @param pSuccess
-     *          the success predicate
-     * @param pInstanceNameMapper
-     *          the instance name mapper
-     * @param pAlgorithmNameMapper
-     *          he algorithm name mapper
-     */
-    Parser(final Predicate<EndResult> pSuccess,
-        final Function<String, String> pInstanceNameMapper,
-        final Function<String, String> pAlgorithmNameMapper) {
-      super();
-      this.mHolders = new HashMap<>();
-      this.mSuccess = Objects.requireNonNull(pSuccess);
-      this.mInstanceNameMapper =
-          Objects.requireNonNull(pInstanceNameMapper);
-      this.mAlgorithmNameMapper =
-          Objects.requireNonNull(pAlgorithmNameMapper);
+  /**
+   * Collect the rows of an end results table in holders, one
+   * per algorithm and instance after applying the name mappers.
+   * The rows are processed in the order of the table.
+   *
+   * @param table
+   *          the end results table
+   * @param success
+   *          the success predicate, or {@code null} if a run is
+   *          successful if its best-F value has reached the goal
+   * @param instanceNameMapper
+   *          the instance name mapper
+   * @param algorithmNameMapper
+   *          the algorithm name mapper
+   * @return the finalized holders, sorted by algorithm and
+   *         instance
+   */
+  private static Holder[] collect(final EndResultsTable table,
+      final Predicate<EndResult> success,
+      final Function<String, String> instanceNameMapper,
+      final Function<String, String> algorithmNameMapper) {
+    final int instances = table.instanceCount();
+    final String[] instanceNames = new String[instances];
+    for (int i = instances; (--i) >= 0;) {
+      instanceNames[i] =
+          instanceNameMapper.apply(table.instanceName(i));
+    }
+    final String[] algorithmNames =
+        new String[table.algorithmCount()];
+    for (int i = algorithmNames.length; (--i) >= 0;) {
+      algorithmNames[i] =
+          algorithmNameMapper.apply(table.algorithmName(i));
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public void accept(final EndResult t) {
-      final String useAlgo =
-          this.mAlgorithmNameMapper.apply(t.algorithm);
-      if (useAlgo == null) {
-        return;
-      }
-      final String useInst =
-          this.mInstanceNameMapper.apply(t.instance);
-      if (useInst == null) {
-        return;
-      }
-
-      HashMap<String, Holder> ifa = this.mHolders.get(useAlgo);
-      if (ifa == null) {
-        ifa = new HashMap<>();
-        if (this.mHolders.put(useAlgo, ifa) != null) {
-          throw new ConcurrentModificationException();
-        }
+// the holders by name, as several codes may be mapped together
+    final HashMap<String, HashMap<String, Holder>> holders =
+        new HashMap<>();
+    final Holder[] byCode = new Holder[Math
+        .multiplyExact(algorithmNames.length, instances)];
+
+    final int size = table.size();
+    for (int row = 0; row < size; row++) {
+      final int algorithm = table.algorithm(row);
+      final int instance = table.instance(row);
+      final String useAlgo = algorithmNames[algorithm];
+      final String useInst = instanceNames[instance];
+      if ((useAlgo == null) || (useInst == null)) {
+        continue;
       }
 
-      Holder h = ifa.get(useInst);
+      final int key = (algorithm * instances) + instance;
+      Holder h = byCode[key];
       if (h == null) {
-        h = new Holder(useAlgo, useInst, this.mSuccess);
-        if (ifa.put(useInst, h) != null) {
-          throw new ConcurrentModificationException();
-        }
+        h = holders
+            .computeIfAbsent(useAlgo, a -> new HashMap<>())
+            .computeIfAbsent(useInst,
+                i -> new Holder(useAlgo, useInst));
+        byCode[key] = h;
       }
 
-      h.accept(t);
+      h.accept(table, row, (success == null)//
+          ? (Double.compare(
+              table.getDouble(EndResultsTable.Column.BEST_F,
+                  row),
+              table.getDouble(EndResultsTable.Column.GOAL_F,
+                  row)) <= 0)//
+          : success.test(table.get(row)));
     }
 
-    /**
-     * finalize and get the result array
-     *
-     * @return the holder array
-     */
-    Holder[] doFinalize() {
-      final Holder[] holders = this.mHolders.values().stream()
-          .flatMap(v -> v.values().stream()).sorted()
-          .toArray(i -> new Holder[i]);
-      this.mHolders.clear();
-      this.mHolders = null;
-      this.mSuccess = null;
-      for (final Holder h : holders) {
-        h.doFinalize();
-      }
-      return holders;
+    final Holder[] result = holders.values().stream()
+        .flatMap(v -> v.values().stream()).sorted()
+        .toArray(i -> new Holder[i]);
+    for (final Holder h : result) {
+      h.doFinalize();
     }
+    return result;
   }
 
   /** the data holder */
   private static final class Holder
-      implements Comparable<Holder>, Consumer<EndResult> {
+      implements Comparable<Holder> {
     /** the algorithm */
     final String mAlgorithm;
 
@@ -2690,9 +2680,6 @@ public final class EndResultStatistics {
     /** the unique best f setups */
     InnerSetup[] mUniqueBestF;
 
-    /** the success predicate */
-    private Predicate<EndResult> mSuccess;
-
     /** the fastest successful run in terms of runtime */
     Setup mFastestSuccessTimeSetup;
     /** the fastest successful run in terms of runtime */
@@ -2747,11 +2734,8 @@ public final class EndResultStatistics {
      *          the algorithm
      * @param pInst
      *          the instance
-     * @param pSuccess
-     *          the success predicate
      */
-    Holder(final String pAlgo, final String pInst,
-        final Predicate<EndResult> pSuccess) {
+    Holder(final String pAlgo, final String pInst) {
       this.mAlgorithm = Objects.requireNonNull(pAlgo);
       this.mInstance = Objects.requireNonNull(pInst);
       this.mSetups = new HashSet<>();
@@ -2768,7 +2752,6 @@ public final class EndResultStatistics {
       this.mErtFEs = new Longs();
       this.mSuccessFEs = new Longs();
       this.mSuccessTime = new Longs();
-      this.mSuccess = Objects.requireNonNull(pSuccess);
       this.mFastestSuccessFEs = Long.MAX_VALUE;
       this.mSlowestSuccessFEs = Long.MIN_VALUE;
       this.mFastestSuccessTime = Long.MAX_VALUE;
@@ -2795,59 +2778,92 @@ public final class EndResultStatistics {
               + this.mInstance + "'."); //$NON-NLS-1$
     }
 
-    /** {@inheritDoc} */
-    @Override
-    public void accept(final EndResult t) {
-      if (!this.mSetups.add(new InnerSetup(t))) {
+    /**
+     * Add a row of the end results table
+     *
+     * @param table
+     *          the end results table
+     * @param row
+     *          the row index
+     * @param success
+     *          was the run successful?
+     */
+    void accept(final EndResultsTable table, final int row,
+        final boolean success) {
+      final String algorithm =
+          table.algorithmName(table.algorithm(row));
+      final String instance =
+          table.instanceName(table.instance(row));
+      final long seed = table.seed(row);
+      final double bestF =
+          table.getDouble(EndResultsTable.Column.BEST_F, row);
+      final long totalTime = table
+          .getLong(EndResultsTable.Column.TOTAL_TIME, row);
+      final long totalFEs =
+          table.getLong(EndResultsTable.Column.TOTAL_FES, row);
+      final long lastImprovementTime = table.getLong(
+          EndResultsTable.Column.LAST_IMPROVEMENT_TIME, row);
+      final long lastImprovementFE = table.getLong(
+          EndResultsTable.Column.LAST_IMPROVEMENT_FE, row);
+
+      if (!this.mSetups.add(
+          new InnerSetup(algorithm, instance, seed, bestF))) {
         throw new IllegalStateException("Seed '" + //$NON-NLS-1$
-            t.seed + "' appears twice for algorithm '"//$NON-NLS-1$
-            + t.algorithm + "' on instance '"//$NON-NLS-1$
-            + t.instance + "'.");//$NON-NLS-1$
+            seed + "' appears twice for algorithm '"//$NON-NLS-1$
+            + algorithm + "' on instance '"//$NON-NLS-1$
+            + instance + "'.");//$NON-NLS-1$
       }
 
-      this.mBestF.add(t.bestF);
-      this.mTotalTime.add(t.totalTime);
-      this.mTotalFEs.add(t.totalFEs);
-      this.mLastImprovementTime.add(t.lastImprovementTime);
-      this.mLastImprovementFE.add(t.lastImprovementFE);
-      this.mNumberOfImprovements.add(t.numberOfImprovements);
-      this.mBudgetTime.add(t.budgetTime);
-      this.mBudgetFEs.add(t.budgetFEs);
-
-      if (this.mSuccess.test(t)) {
+      this.mBestF.add(bestF);
+      this.mTotalTime.add(totalTime);
+      this.mTotalFEs.add(totalFEs);
+      this.mLastImprovementTime.add(lastImprovementTime);
+      this.mLastImprovementFE.add(lastImprovementFE);
+      this.mNumberOfImprovements.add(table.getLong(
+          EndResultsTable.Column.NUMBER_OF_IMPROVEMENTS, row));
+      this.mBudgetTime.add(table
+          .getLong(EndResultsTable.Column.BUDGET_TIME, row));
+      this.mBudgetFEs.add(
+          table.getLong(EndResultsTable.Column.BUDGET_FES, row));
+
+      if (success) {
         ++this.mSuccesses;
-        this.mErtTime.add(t.lastImprovementTime);
-        this.mErtFEs.add(t.lastImprovementFE);
-        this.mSuccessFEs.add(t.lastImprovementFE);
-        this.mSuccessTime.add(t.lastImprovementTime);
+        this.mErtTime.add(lastImprovementTime);
+        this.mErtFEs.add(lastImprovementFE);
+        this.mSuccessFEs.add(lastImprovementFE);
+        this.mSuccessTime.add(lastImprovementTime);
 
         Setup use = null;
-        if (t.lastImprovementFE < this.mFastestSuccessFEs) {
-          this.mFastestSuccessFEs = t.lastImprovementFE;
-          this.mFastestSuccessFEsSetup = use = new Setup(t);
+        if (lastImprovementFE < this.mFastestSuccessFEs) {
+          this.mFastestSuccessFEs = lastImprovementFE;
+          this.mFastestSuccessFEsSetup =
+              use = new Setup(algorithm, instance, seed);
         }
 
-        if (t.lastImprovementFE > this.mSlowestSuccessFEs) {
-          this.mSlowestSuccessFEs = t.lastImprovementFE;
-          this.mSlowestSuccessFEsSetup =
-              ((use == null) ? (use = new Setup(t)) : use);
+        if (lastImprovementFE > this.mSlowestSuccessFEs) {
+          this.mSlowestSuccessFEs = lastImprovementFE;
+          this.mSlowestSuccessFEsSetup = ((use == null)
+              ? (use = new Setup(algorithm, instance, seed))
+              : use);
         }
 
-        if (t.lastImprovementTime < this.mFastestSuccessTime) {
-          this.mFastestSuccessTime = t.lastImprovementTime;
-          this.mFastestSuccessTimeSetup =
-              ((use == null) ? (use = new Setup(t)) : use);
+        if (lastImprovementTime < this.mFastestSuccessTime) {
+          this.mFastestSuccessTime = lastImprovementTime;
+          this.mFastestSuccessTimeSetup = ((use == null)
+              ? (use = new Setup(algorithm, instance, seed))
+              : use);
         }
 
-        if (t.lastImprovementTime > this.mSlowestSuccessTime) {
-          this.mSlowestSuccessTime = t.lastImprovementTime;
-          this.mSlowestSuccessTimeSetup =
-              ((use == null) ? (use = new Setup(t)) : use);
+        if (lastImprovementTime > this.mSlowestSuccessTime) {
+          this.mSlowestSuccessTime = lastImprovementTime;
+          this.mSlowestSuccessTimeSetup = ((use == null)
+              ? (use = new Setup(algorithm, instance, seed))
+              : use);
         }
 
       } else {
-        this.mErtTime.add(t.totalTime);
-        this.mErtFEs.add(t.totalFEs);
+        this.mErtTime.add(totalTime);
+        this.mErtFEs.add(totalFEs);
       }
     }
 
@@ -2871,8 +2887,6 @@ public final class EndResultStatistics {
           this.mUniqueBestF = Arrays.copyOf(tmp, data.size()));
       data.clear();
 
-      this.mSuccess = null;
-
       this.mBestF = this.mBestF.doFinalize();
       this.mTotalTime = this.mTotalTime.doFinalize();
       this.mTotalFEs = this.mTotalFEs.doFinalize();
@@ -2904,12 +2918,19 @@ public final class EndResultStatistics {
       /**
        * create the inner setup
        *
-       * @param pE
-       *          the end result record
+       * @param pAlgorithm
+       *          the algorithm id
+       * @param pInstance
+       *          the instance id
+       * @param pSeed
+       *          the seed
+       * @param pBestF
+       *          the best objective value of the run
        */
-      InnerSetup(final EndResult pE) {
-        super(pE);
-        this.mBestF2 = pE.bestF;
+      InnerSetup(final String pAlgorithm, final String pInstance,
+          final long pSeed, final double pBestF) {
+        super(pAlgorithm, pInstance, pSeed);
+        this.mBestF2 = pBestF;
       }
 
       /** {@inheritDoc} */
@@ -2980,6 +3001,8 @@ public final class EndResultStatistics {
 
     final Path in = CommandLineArgs.getSourceDir();
     final Path out = CommandLineArgs.getDestDir();
+    final int threads = CommandLineArgs.getThreads();
+    final boolean incremental = CommandLineArgs.getIncremental();
     final String name = CommandLineArgs.getEndResultsStatFile();
     final Function<String, String> algoNameMap =
         CommandLineArgs.getAlgorithmNameMapper();
@@ -2991,7 +3014,11 @@ public final class EndResultStatistics {
 
     try {
       final Path endResults =
-          EndResults.makeEndResultsTable(in, out, true);
+          incremental
+              ? EndResults.updateEndResultsTable(in, out, true,
+                  threads)
+              : EndResults.makeEndResultsTable(in, out, true,
+                  true, threads);
 
       EndResultStatistics.makeEndResultStatisticsTable(
           endResults, out, success, instNameMap, algoNameMap,
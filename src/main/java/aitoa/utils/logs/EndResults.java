@@ -6,7 +6,8 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Objects;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
 import java.util.function.Consumer;
 
 import aitoa.structure.LogFormat;
@@ -24,6 +25,13 @@ public final class EndResults {
   /** the file name used for end results tables */
   public static final String FILE_NAME = "endResults" //$NON-NLS-1$
       + LogFormat.FILE_SUFFIX;
+  /**
+   * the file name used for the index of the log files that have
+   * been parsed into the end results table
+   */
+  public static final String INDEX_FILE_NAME =
+      "endResultsIndex" //$NON-NLS-1$
+          + LogFormat.FILE_SUFFIX;
   /** the column with the algorithm id */
   public static final String COL_ALGORITHM = "algorithm";//$NON-NLS-1$
   /** the column with the instance id */
@@ -53,7 +61,7 @@ public final class EndResults {
   public static final String COL_GOAL_F = "goal.f";//$NON-NLS-1$
 
   /** the internal header */
-  private static final String HEADER = LogFormat.joinLogLine(//
+  static final String HEADER = LogFormat.joinLogLine(//
       EndResults.COL_ALGORITHM, EndResults.COL_INSTANCE,
       EndResults.COL_SEED, EndResults.COL_BEST_F,
       EndResults.COL_TOTAL_TIME, EndResults.COL_TOTAL_FES,
@@ -63,6 +71,14 @@ public final class EndResults {
       EndResults.COL_BUDGET_TIME, EndResults.COL_BUDGET_FES,
       EndResults.COL_GOAL_F);
 
+  /** the number of columns of the end results table */
+  private static final int COLUMNS = 12;
+
+  /** the header of the index file */
+  private static final String INDEX_HEADER =
+      LogFormat.asComment(LogFormat.joinLogLine("size", //$NON-NLS-1$
+          "mtime", EndResults.HEADER, "path"));//$NON-NLS-1$//$NON-NLS-2$
+
   /**
    * Create the end results table.
    *
@@ -120,6 +136,35 @@ public final class EndResults {
   public static Path makeEndResultsTable(final Path inputFolder,
       final Path outputFolder, final boolean keepExisting,
       final boolean logProgressToConsole) throws IOException {
+    return EndResults.makeEndResultsTable(inputFolder,
+        outputFolder, keepExisting, logProgressToConsole, 1);
+  }
+
+  /**
+   * Create the end results table. The log files can be parsed
+   * in parallel, but the rows of the table are always written
+   * in the same, sorted order.
+   *
+   * @param inputFolder
+   *          the input folder
+   * @param outputFolder
+   *          the output folder
+   * @param keepExisting
+   *          if the end results table exists, should it be
+   *          preserved?
+   * @param logProgressToConsole
+   *          should logging information be printed?
+   * @param threads
+   *          the number of threads to use for parsing the log
+   *          files, {@code 1} for sequential processing
+   * @return the path to the end results table
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static Path makeEndResultsTable(final Path inputFolder,
+      final Path outputFolder, final boolean keepExisting,
+      final boolean logProgressToConsole, final int threads)
+      throws IOException {
 
     final Path in = IOUtils.requireDirectory(inputFolder);
 
@@ -152,7 +197,8 @@ public final class EndResults {
     if (logProgressToConsole) {
       ConsoleIO.stdout(//
           "Now beginning to create end result table '" + //$NON-NLS-1$
-              end + "'.");//$NON-NLS-1$
+              end + "' using " + threads + //$NON-NLS-1$
+              " thread(s).");//$NON-NLS-1$
     }
     try (
         final BufferedWriter bw = Files.newBufferedWriter(end)) {
@@ -168,65 +214,20 @@ public final class EndResults {
       }
 
       for (final Path algorithm : algorithms) {
-        final String algoName =
-            algorithm.getFileName().toString().trim();
+        final LogFileProcessor.LogFile[] files =
+            LogFileProcessor.listLogFiles(algorithm);
         if (logProgressToConsole) {
-          ConsoleIO.stdout("Now processing algorithm '" //$NON-NLS-1$
-              + algoName + //
+          ConsoleIO.stdout("Now processing " + files.length //$NON-NLS-1$
+              + " log files of algorithm '" //$NON-NLS-1$
+              + algorithm.getFileName().toString().trim() + //
               "'.");//$NON-NLS-1$
         }
 
-        final Path[] instances =
-            IOUtils.subDirectories(algorithm);
-        for (final Path instance : instances) {
-          final String instName =
-              instance.getFileName().toString().trim();
-          if (logProgressToConsole) {
-            ConsoleIO.stdout(//
-                "Now processing instance '" //$NON-NLS-1$
-                    + instName + //
-                    "' for algorithm '" + algoName //$NON-NLS-1$
-                    + "'.");//$NON-NLS-1$
-          }
-
-          for (final Path file : IOUtils
-              .pathArray(IOUtils.filesStream(instance) //
-                  .filter(ff -> ff.getFileName().toString()
-                      .endsWith(".txt"))//$NON-NLS-1$
-              )) {
-
-            final Line line = new Line();
-            LogParser.parseLogFile(file, line,
-                s -> line.acceptSetup(s));
-
-            bw.write(algoName);
-            bw.write(LogFormat.CSV_SEPARATOR_CHAR);
-            bw.write(instName);
-            bw.write(LogFormat.CSV_SEPARATOR_CHAR);
-            bw.write(line.mSeed);
-            bw.write(LogFormat.CSV_SEPARATOR_CHAR);
-            bw.write(EndResults.str(line.mLastLine.fMin));
-            bw.write(LogFormat.CSV_SEPARATOR_CHAR);
-            bw.write(Long.toString(line.mLastLine.timeMax));
-            bw.write(LogFormat.CSV_SEPARATOR_CHAR);
-            bw.write(Long.toString(line.mLastLine.feMax));
-            bw.write(LogFormat.CSV_SEPARATOR_CHAR);
-            bw.write(Long
-                .toString(line.mLastLine.timeLastImprovement));
-            bw.write(LogFormat.CSV_SEPARATOR_CHAR);
-            bw.write(Long.toString(//
-                line.mLastLine.feLastImprovement));
-            bw.write(LogFormat.CSV_SEPARATOR_CHAR);
-            bw.write(Long.toString(line.mLastLine.improvements));
-            bw.write(LogFormat.CSV_SEPARATOR_CHAR);
-            bw.write(Long.toString(line.mBudgetTime));
-            bw.write(LogFormat.CSV_SEPARATOR_CHAR);
-            bw.write(Long.toString(line.mBudgetFEs));
-            bw.write(LogFormat.CSV_SEPARATOR_CHAR);
-            bw.write(EndResults.str(line.mGoalF));
-            bw.newLine();
-          }
-        }
+        LogFileProcessor.process(files, EndResults::makeRow,
+            row -> {
+              bw.write(row);
+              bw.newLine();
+            }, threads);
       }
     }
 
@@ -237,6 +238,327 @@ public final class EndResults {
     return IOUtils.requireFile(end);
   }
 
+  /**
+   * Incrementally update the end results table. Next to the
+   * table, an index file is maintained which stores the relative
+   * path, size, and last modification time of each log file
+   * together with the row it produced. Only log files which are new or
+   * whose size or modification time have changed are parsed
+   * again, the rows of all other files are taken from the index.
+   * Rows of log files that no longer exist are dropped. The
+   * resulting table is the same as the one created by
+   * {@link #makeEndResultsTable(Path, Path, boolean, boolean, int)}.
+   * The table and index are written to temporary files first and
+   * then moved into place, so readers never see incomplete data.
+   *
+   * @param inputFolder
+   *          the input folder
+   * @param outputFolder
+   *          the output folder
+   * @param logProgressToConsole
+   *          should logging information be printed?
+   * @param threads
+   *          the number of threads to use for parsing the log
+   *          files, {@code 1} for sequential processing
+   * @return the path to the end results table
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static Path updateEndResultsTable(
+      final Path inputFolder, final Path outputFolder,
+      final boolean logProgressToConsole, final int threads)
+      throws IOException {
+
+    final Path in = IOUtils.requireDirectory(inputFolder);
+    final Path out =
+        IOUtils.requireDirectory(outputFolder, true);
+    final Path end = IOUtils.canonicalizePath(//
+        out.resolve(EndResults.FILE_NAME));
+    final Path index = IOUtils.canonicalizePath(//
+        out.resolve(EndResults.INDEX_FILE_NAME));
+
+    final HashMap<String, IndexEntry> cache =
+        EndResults.loadIndex(index, logProgressToConsole);
+    if (!Files.exists(end)) {
+      cache.clear();
+    }
+    if (logProgressToConsole) {
+      ConsoleIO.stdout(//
+          "Now beginning to update end result table '" + //$NON-NLS-1$
+              end + "' using " + threads + //$NON-NLS-1$
+              " thread(s) and " + cache.size() + //$NON-NLS-1$
+              " cached rows.");//$NON-NLS-1$
+    }
+
+    final Path endTemp = IOUtils.canonicalizePath(//
+        out.resolve(EndResults.FILE_NAME + ".tmp"));//$NON-NLS-1$
+    final Path indexTemp = IOUtils.canonicalizePath(//
+        out.resolve(EndResults.INDEX_FILE_NAME + ".tmp"));//$NON-NLS-1$
+    final long[] parsed = new long[2];
+
+    try (
+        final BufferedWriter bw = Files.newBufferedWriter(endTemp);
+        final BufferedWriter iw =
+            Files.newBufferedWriter(indexTemp)) {
+
+      bw.write(EndResults.HEADER);
+      bw.newLine();
+      iw.write(EndResults.INDEX_HEADER);
+      iw.newLine();
+
+      for (final Path algorithm : IOUtils.subDirectories(in)) {
+        final LogFileProcessor.LogFile[] files =
+            LogFileProcessor.listLogFiles(algorithm);
+
+        LogFileProcessor.process(files, file -> {
+          final String key =
+              in.relativize(file.mPath).toString();
+          final long size = Files.size(file.mPath);
+          final long time = Files.getLastModifiedTime(file.mPath)
+              .toMillis();
+          final IndexEntry cached = cache.get(key);
+          if ((cached != null) && (cached.mSize == size)
+              && (cached.mTime == time)) {
+            return cached;
+          }
+          return new IndexEntry(key, size, time,
+              EndResults.makeRow(file), true);
+        }, entry -> {
+          bw.write(entry.mRow);
+          bw.newLine();
+          iw.write(Long.toString(entry.mSize));
+          iw.write(LogFormat.CSV_SEPARATOR_CHAR);
+          iw.write(Long.toString(entry.mTime));
+          iw.write(LogFormat.CSV_SEPARATOR_CHAR);
+          iw.write(entry.mRow);
+          iw.write(LogFormat.CSV_SEPARATOR_CHAR);
+          iw.write(entry.mKey);
+          iw.newLine();
+          ++parsed[entry.mParsed ? 0 : 1];
+        }, threads);
+      }
+    }
+
+    Files.move(endTemp, end,
+        StandardCopyOption.REPLACE_EXISTING);
+    Files.move(indexTemp, index,
+        StandardCopyOption.REPLACE_EXISTING);
+
+    if (logProgressToConsole) {
+      ConsoleIO.stdout("Finished updating end result table '" + //$NON-NLS-1$
+          end + "', parsed " + parsed[0] + //$NON-NLS-1$
+          " log files and re-used " + parsed[1] + //$NON-NLS-1$
+          " cached rows.");//$NON-NLS-1$
+    }
+    return IOUtils.requireFile(end);
+  }
+
+  /**
+   * Load the index of already-parsed log files. If the index
+   * does not exist or cannot be read, an empty map is returned
+   * and all log files will be parsed.
+   *
+   * @param index
+   *          the path to the index file
+   * @param logProgressToConsole
+   *          should logging information be printed?
+   * @return the map from relative log file paths to index
+   *         entries
+   */
+  private static HashMap<String, IndexEntry> loadIndex(
+      final Path index, final boolean logProgressToConsole) {
+    final HashMap<String, IndexEntry> map = new HashMap<>();
+    if (!Files.isRegularFile(index)) {
+      return map;
+    }
+
+    try (final BufferedReader br =
+        Files.newBufferedReader(index)) {
+      String line;
+      while ((line = br.readLine()) != null) {
+        if (line.isEmpty()
+            || (line.charAt(0) == LogFormat.COMMENT_CHAR)) {
+          continue;
+        }
+// the path comes last, as it may contain any character
+        final int a = line.indexOf(LogFormat.CSV_SEPARATOR_CHAR);
+        final int b =
+            line.indexOf(LogFormat.CSV_SEPARATOR_CHAR, a + 1);
+        int c = b;
+        int i = EndResults.COLUMNS;
+        while ((c > 0) && ((--i) >= 0)) {
+          c = line.indexOf(LogFormat.CSV_SEPARATOR_CHAR, c + 1);
+        }
+        if ((a <= 0) || (b <= a) || (c <= b)
+            || (c >= (line.length() - 1))) {
+          throw new IllegalArgumentException(
+              "Invalid index line: '" + line + '\'');//$NON-NLS-1$
+        }
+        final String key = line.substring(c + 1);
+        map.put(key, new IndexEntry(key,
+            Long.parseLong(line.substring(0, a)),
+            Long.parseLong(line.substring(a + 1, b)),
+            line.substring(b + 1, c), false));
+      }
+    } catch (final Throwable error) {
+      if (logProgressToConsole) {
+        ConsoleIO.stderr("Could not load end results index '" //$NON-NLS-1$
+            + index + "', all log files will be parsed.", //$NON-NLS-1$
+            error);
+      }
+      map.clear();
+    }
+    return map;
+  }
+
+  /** an entry in the log file index */
+  private static final class IndexEntry {
+    /** the path of the log file relative to the input folder */
+    final String mKey;
+    /** the size of the log file */
+    final long mSize;
+    /** the last modification time of the log file */
+    final long mTime;
+    /** the row of the end results table */
+    final String mRow;
+    /** was the row parsed right now? */
+    final boolean mParsed;
+
+    /**
+     * create the index entry
+     *
+     * @param pKey
+     *          the path of the log file relative to the input
+     *          folder
+     * @param pSize
+     *          the size of the log file
+     * @param pTime
+     *          the last modification time of the log file
+     * @param pRow
+     *          the row of the end results table
+     * @param pParsed
+     *          was the row parsed right now?
+     */
+    IndexEntry(final String pKey, final long pSize,
+        final long pTime, final String pRow,
+        final boolean pParsed) {
+      super();
+      this.mKey = pKey;
+      this.mSize = pSize;
+      this.mTime = pTime;
+      this.mRow = pRow;
+      this.mParsed = pParsed;
+    }
+  }
+
+  /**
+   * Parse a log file and create the corresponding row of the end
+   * results table, without line separator.
+   *
+   * @param file
+   *          the log file
+   * @return the row
+   * @throws IOException
+   *           if i/o fails
+   */
+  static String makeRow(final LogFileProcessor.LogFile file)
+      throws IOException {
+    final Line line = EndResults.parseLine(file.mPath);
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append(file.mAlgorithm);
+    sb.append(LogFormat.CSV_SEPARATOR_CHAR);
+    sb.append(file.mInstance);
+    sb.append(LogFormat.CSV_SEPARATOR_CHAR);
+    sb.append(line.mSeed);
+    sb.append(LogFormat.CSV_SEPARATOR_CHAR);
+    sb.append(EndResults.str(line.mFMin));
+    sb.append(LogFormat.CSV_SEPARATOR_CHAR);
+    sb.append(line.mTimeMax);
+    sb.append(LogFormat.CSV_SEPARATOR_CHAR);
+    sb.append(line.mFeMax);
+    sb.append(LogFormat.CSV_SEPARATOR_CHAR);
+    sb.append(line.mTimeLastImprovement);
+    sb.append(LogFormat.CSV_SEPARATOR_CHAR);
+    sb.append(line.mFeLastImprovement);
+    sb.append(LogFormat.CSV_SEPARATOR_CHAR);
+    sb.append(line.mImprovements);
+    sb.append(LogFormat.CSV_SEPARATOR_CHAR);
+    sb.append(line.mBudgetTime);
+    sb.append(LogFormat.CSV_SEPARATOR_CHAR);
+    sb.append(line.mBudgetFEs);
+    sb.append(LogFormat.CSV_SEPARATOR_CHAR);
+    sb.append(EndResults.str(line.mGoalF));
+    return sb.toString();
+  }
+
+  /**
+   * Parse a log file and create the corresponding end result.
+   *
+   * @param file
+   *          the log file
+   * @return the end result
+   * @throws IOException
+   *           if i/o fails
+   */
+  static EndResult makeEndResult(
+      final LogFileProcessor.LogFile file) throws IOException {
+    final Line line = EndResults.parseLine(file.mPath);
+    return new EndResult(file.mAlgorithm, file.mInstance,
+        RandomUtils.stringToRandSeed(line.mSeed), line.mFMin,
+        line.mTimeMax, line.mFeMax, line.mTimeLastImprovement,
+        line.mFeLastImprovement, line.mImprovements,
+        line.mBudgetTime, line.mBudgetFEs, line.mGoalF);
+  }
+
+  /**
+   * Create the row of the end results table corresponding to an
+   * end result, without line separator. For an end result
+   * created by {@link #makeEndResult(LogFileProcessor.LogFile)},
+   * this row is the same as the one returned by
+   * {@link #makeRow(LogFileProcessor.LogFile)}.
+   *
+   * @param result
+   *          the end result
+   * @return the row
+   */
+  static String makeRow(final EndResult result) {
+    return LogFormat.joinLogLine(result.algorithm,
+        result.instance,
+        RandomUtils.randSeedToString(result.seed),
+        EndResults.str(result.bestF),
+        Long.toString(result.totalTime),
+        Long.toString(result.totalFEs),
+        Long.toString(result.lastImprovementTime),
+        Long.toString(result.lastImprovementFE),
+        Long.toString(result.numberOfImprovements),
+        Long.toString(result.budgetTime),
+        Long.toString(result.budgetFEs),
+        EndResults.str(result.goalF));
+  }
+
+  /**
+   * Parse the final state of a log file.
+   *
+   * @param path
+   *          the path to the log file
+   * @return the line holding the final state
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static Line parseLine(final Path path)
+      throws IOException {
+    final Line line = new Line();
+    LogParser.parseLogPoints(path, line,
+        s -> line.acceptSetup(s));
+    if (line.mImprovements <= 0L) {
+      throw new IllegalStateException(
+          "No log line in file '" + path + //$NON-NLS-1$
+              "'.");//$NON-NLS-1$
+    }
+    return line;
+  }
+
   /**
    * A NaN value was encountered.
    *
@@ -253,12 +575,22 @@ public final class EndResults {
   }
 
   /** the holder for a line */
-  private static final class Line implements Consumer<LogLine> {
+  private static final class Line implements ILogPointConsumer {
 
     /** the random seed */
     String mSeed;
-    /** the last log line */
-    LogLine mLastLine;
+    /** the best objective value of the last log line */
+    double mFMin;
+    /** the total time of the last log line */
+    long mTimeMax;
+    /** the total FEs of the last log line */
+    long mFeMax;
+    /** the last improvement time of the last log line */
+    long mTimeLastImprovement;
+    /** the last improvement FE of the last log line */
+    long mFeLastImprovement;
+    /** the number of improvements of the last log line */
+    long mImprovements;
     /** the FEs budget */
     long mBudgetFEs;
     /** the time budget */
@@ -287,8 +619,16 @@ public final class EndResults {
 
     /** {@inheritDoc} */
     @Override
-    public void accept(final LogLine t) {
-      this.mLastLine = Objects.requireNonNull(t);
+    public void accept(final long feLastImprovement,
+        final long feMax, final long timeLastImprovement,
+        final long timeMax, final long improvements,
+        final double fMin, final boolean isImprovement) {
+      this.mFeLastImprovement = feLastImprovement;
+      this.mFeMax = feMax;
+      this.mTimeLastImprovement = timeLastImprovement;
+      this.mTimeMax = timeMax;
+      this.mImprovements = improvements;
+      this.mFMin = fMin;
     }
   }
 
@@ -307,6 +647,39 @@ public final class EndResults {
   public static void parseEndResultsTable(final Path path,
       final Consumer<EndResult> consumer,
       final boolean logProgressToConsole) throws IOException {
+    if (consumer == null) {
+      throw new NullPointerException(//
+          "null end result consumer"); //$NON-NLS-1$
+    }
+    EndResults.parseEndResultRows(path,
+        (algorithm, instance, seed, bestF, totalTime, totalFEs,
+            lastImprovementTime, lastImprovementFE,
+            numberOfImprovements, budgetTime, budgetFEs,
+            goalF) -> consumer.accept(new EndResult(algorithm,
+                instance, seed, bestF, totalTime, totalFEs,
+                lastImprovementTime, lastImprovementFE,
+                numberOfImprovements, budgetTime, budgetFEs,
+                goalF)),
+        logProgressToConsole);
+  }
+
+  /**
+   * Read and verify the end results table and pass the values
+   * of each row to a consumer without creating an
+   * {@link EndResult} object.
+   *
+   * @param path
+   *          the path to end results table
+   * @param consumer
+   *          the consumer for the data.
+   * @param logProgressToConsole
+   *          should logging information be printed?
+   * @throws IOException
+   *           if i/o fails
+   */
+  static void parseEndResultRows(final Path path,
+      final IRowConsumer consumer,
+      final boolean logProgressToConsole) throws IOException {
 
     final Path p = IOUtils.requireFile(path);
 
@@ -505,11 +878,14 @@ public final class EndResults {
                 "Invalid goal-F value: " + goalF); //$NON-NLS-1$
           }
 
-          consumer.accept(
-              new EndResult(algorithm, instance, seed, bestF,
-                  totalTime, totalFEs, lastImprovementTime,
-                  lastImprovementFE, numberOfImprovements,
-                  budgetTime, budgetFEs, goalF));
+          EndResult.validate(bestF, totalTime, totalFEs,
+              lastImprovementTime, lastImprovementFE,
+              numberOfImprovements, budgetTime, budgetFEs,
+              goalF);
+          consumer.accept(algorithm, instance, seed, bestF,
+              totalTime, totalFEs, lastImprovementTime,
+              lastImprovementFE, numberOfImprovements,
+              budgetTime, budgetFEs, goalF);
 
         } catch (final Throwable error2) {
           throw new IOException(//
@@ -527,6 +903,53 @@ public final class EndResults {
     }
   }
 
+  /**
+   * A consumer for the rows of an end results table, which
+   * receives the values of a row as primitives.
+   */
+  @FunctionalInterface
+  interface IRowConsumer {
+
+    /**
+     * Accept a row. The parameters have the same meaning as the
+     * fields of {@link EndResult}.
+     *
+     * @param algorithm
+     *          the algorithm id
+     * @param instance
+     *          the instance id
+     * @param seed
+     *          the seed
+     * @param bestF
+     *          the best objective value achieved by the run
+     * @param totalTime
+     *          the total time consumed by the run
+     * @param totalFEs
+     *          the total FEs consumed by the run
+     * @param lastImprovementTime
+     *          the last time at which an improvement was
+     *          achieved
+     * @param lastImprovementFE
+     *          the last FE at which an improvement was achieved
+     * @param numberOfImprovements
+     *          the total number of times the run improved its
+     *          result
+     * @param budgetTime
+     *          the time budget
+     * @param budgetFEs
+     *          the FE budget
+     * @param goalF
+     *          the goal objective value
+     */
+    void accept(final String algorithm, final String instance,
+        final long seed, final double bestF,
+        final long totalTime, final long totalFEs,
+        final long lastImprovementTime,
+        final long lastImprovementFE,
+        final long numberOfImprovements, final long budgetTime,
+        final long budgetFEs, final double goalF);
+  }
+
   /**
    * print the arguments
    *
@@ -536,6 +959,8 @@ public final class EndResults {
   static void printArgs(final PrintStream s) {
     CommandLineArgs.printSourceDir(s);
     CommandLineArgs.printDestDir(s);
+    CommandLineArgs.printThreads(s);
+    CommandLineArgs.printIncremental(s);
   }
 
   /**
@@ -557,11 +982,18 @@ public final class EndResults {
 
     final Path in = CommandLineArgs.getSourceDir();
     final Path out = CommandLineArgs.getDestDir();
+    final int threads = CommandLineArgs.getThreads();
+    final boolean incremental = CommandLineArgs.getIncremental();
 
     Configuration.print();
 
     try {
-      EndResults.makeEndResultsTable(in, out, false);
+      if (incremental) {
+        EndResults.updateEndResultsTable(in, out, true, threads);
+      } else {
+        EndResults.makeEndResultsTable(in, out, false, true,
+            threads);
+      }
     } catch (final Throwable error) {
       ConsoleIO.stderr(
           "An error occured while creating the end result tables.", //$NON-NLS-1$
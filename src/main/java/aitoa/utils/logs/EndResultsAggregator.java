@@ -0,0 +1,569 @@
+package aitoa.utils.logs;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import aitoa.structure.LogFormat;
+import aitoa.utils.IOUtils;
+
+/**
+ * A thread-safe aggregator for the end results of runs that
+ * have just been completed. An experiment can pass the log file
+ * of each finished run to {@link #add(Path)}. The aggregator
+ * then keeps running statistics for each pair of algorithm and
+ * instance and periodically writes snapshots of the
+ * {@linkplain EndResults end results} and
+ * {@linkplain EndResultStatistics end result statistics} tables
+ * to its output folder. This way, the results of a long-running
+ * experiment can be inspected while it is still running and the
+ * log folder does not need to be parsed again once it is
+ * finished.
+ * <p>
+ * The end results snapshot is exactly the table that
+ * {@link EndResults#makeEndResultsTable(Path, Path, boolean, boolean, int)}
+ * would create from the log files added so far. Snapshots are
+ * written to temporary files first and then moved into place,
+ * so readers never see incomplete data. Periodic snapshots are
+ * written by a background thread of the aggregator, so that the
+ * threads adding log files, which usually are the threads
+ * performing timed runs, do not spend their time on i/o.
+ */
+public final class EndResultsAggregator implements Closeable {
+
+  /** the output folder */
+  private final Path mOutputFolder;
+  /** the minimum time between two snapshots in milliseconds */
+  private final long mSnapshotInterval;
+  /** the end results, in the order of the end results table */
+  private final ConcurrentSkipListMap<Key, EndResult> mResults;
+  /** the running statistics per algorithm and instance */
+  private final ConcurrentHashMap<String, Group> mGroups;
+  /** the time when the next snapshot is due */
+  private final AtomicLong mNextSnapshot;
+  /** the synchronizer for writing snapshots */
+  private final Object mSnapshotLock;
+  /** the executor writing the periodic snapshots */
+  private final ExecutorService mExecutor;
+  /** is a periodic snapshot pending? */
+  private final AtomicBoolean mSnapshotPending;
+  /** the first error of a periodic snapshot, if any */
+  private final AtomicReference<IOException> mSnapshotError;
+
+  /**
+   * create the end results aggregator
+   *
+   * @param outputFolder
+   *          the folder to which the snapshots are written
+   * @param snapshotInterval
+   *          the minimum time between two snapshots in
+   *          milliseconds, {@link Long#MAX_VALUE} to write a
+   *          snapshot only when the aggregator is
+   *          {@linkplain #close() closed}
+   * @throws IOException
+   *           if the output folder cannot be created
+   */
+  public EndResultsAggregator(final Path outputFolder,
+      final long snapshotInterval) throws IOException {
+    super();
+    if (snapshotInterval <= 0L) {
+      throw new IllegalArgumentException(
+          "Snapshot interval must be positive, but is " //$NON-NLS-1$
+              + snapshotInterval);
+    }
+    this.mOutputFolder =
+        IOUtils.requireDirectory(outputFolder, true);
+    this.mSnapshotInterval = snapshotInterval;
+    this.mResults = new ConcurrentSkipListMap<>();
+    this.mGroups = new ConcurrentHashMap<>();
+    this.mNextSnapshot = new AtomicLong(EndResultsAggregator
+        .after(System.currentTimeMillis(), snapshotInterval));
+    this.mSnapshotLock = new Object();
+    this.mSnapshotPending = new AtomicBoolean();
+    this.mSnapshotError = new AtomicReference<>();
+    this.mExecutor = Executors.newSingleThreadExecutor(r -> {
+      final Thread thread = new Thread(r,
+          "EndResultsAggregator-Snapshot"); //$NON-NLS-1$
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Compute a point in time without overflow
+   *
+   * @param time
+   *          the start time
+   * @param interval
+   *          the interval
+   * @return the time {@code interval} milliseconds after
+   *         {@code time}
+   */
+  private static long after(final long time,
+      final long interval) {
+    return (interval >= (Long.MAX_VALUE - time))
+        ? Long.MAX_VALUE : (time + interval);
+  }
+
+  /**
+   * Get the group key for a given algorithm and instance
+   *
+   * @param algorithm
+   *          the algorithm name
+   * @param instance
+   *          the instance name
+   * @return the key
+   */
+  private static String groupKey(final String algorithm,
+      final String instance) {
+    return LogFormat.joinLogLine(algorithm, instance);
+  }
+
+  /**
+   * Add the log file of a completed run. The file must be
+   * located in the standard folder structure, i.e., in a folder
+   * named after the instance which, in turn, is located in a
+   * folder named after the algorithm. If a snapshot is due, it
+   * will be written by the background thread of the aggregator.
+   *
+   * @param logFile
+   *          the log file of the run
+   * @return the end result of the run
+   * @throws IOException
+   *           if i/o fails
+   */
+  public EndResult add(final Path logFile) throws IOException {
+    final Path file = IOUtils.requireFile(logFile);
+    final EndResult result = this.add(file, EndResults
+        .makeEndResult(EndResultsAggregator.wrap(file)));
+    if (result == null) {
+      throw new IllegalArgumentException(
+          "Log file '" + file + //$NON-NLS-1$
+              "' has already been added.");//$NON-NLS-1$
+    }
+    return result;
+  }
+
+  /**
+   * Add the log file of a run if it is complete and has not yet
+   * been added. This method is intended for log files which
+   * already existed when an experiment was started or resumed,
+   * or which are created by other processes running the same
+   * experiment: Such a file may be empty or incomplete, because
+   * its run is still ongoing, in which case it is ignored.
+   *
+   * @param logFile
+   *          the log file of the run
+   * @return the end result of the run, or {@code null} if the
+   *         log file was already added or is not complete
+   * @throws IOException
+   *           if i/o fails
+   */
+  public EndResult addIfComplete(final Path logFile)
+      throws IOException {
+    final Path file = IOUtils.requireFile(logFile);
+    final LogFileProcessor.LogFile wrapped =
+        EndResultsAggregator.wrap(file);
+    if ((Files.size(file) <= 0L)
+        || this.mResults.containsKey(EndResultsAggregator
+            .key(wrapped.mAlgorithm, wrapped.mInstance, file))) {
+      return null;
+    }
+    final EndResult result;
+    try {
+      result = EndResults.makeEndResult(wrapped);
+    } catch (@SuppressWarnings("unused") final IOException
+        | IllegalArgumentException
+        | IllegalStateException error) {
+// the run is still ongoing and its log is not complete
+      return null;
+    }
+    return this.add(file, result);
+  }
+
+  /**
+   * Wrap a log file located in the standard folder structure
+   *
+   * @param file
+   *          the log file
+   * @return the wrapped log file
+   */
+  private static LogFileProcessor.LogFile wrap(final Path file) {
+    final Path instance = file.getParent();
+    final Path algorithm =
+        (instance == null) ? null : instance.getParent();
+    if ((algorithm == null)
+        || (algorithm.getFileName() == null)) {
+      throw new IllegalArgumentException(
+          "Log file '" + file + //$NON-NLS-1$
+              "' is not in an algorithm/instance folder.");//$NON-NLS-1$
+    }
+    return new LogFileProcessor.LogFile(
+        algorithm.getFileName().toString().trim(),
+        instance.getFileName().toString().trim(), file);
+  }
+
+  /**
+   * Get the key of a log file
+   *
+   * @param algorithm
+   *          the algorithm name
+   * @param instance
+   *          the instance name
+   * @param file
+   *          the log file
+   * @return the key
+   */
+  private static Key key(final String algorithm,
+      final String instance, final Path file) {
+    return new Key(algorithm, instance,
+        file.getFileName().toString());
+  }
+
+  /**
+   * Add the end result of a log file and schedule a snapshot if
+   * one is due
+   *
+   * @param file
+   *          the log file
+   * @param result
+   *          the end result parsed from the log file
+   * @return the end result, or {@code null} if the log file was
+   *         already added
+   */
+  private EndResult add(final Path file,
+      final EndResult result) {
+    if (this.mResults.putIfAbsent(
+        EndResultsAggregator.key(result.algorithm,
+            result.instance, file),
+        result) != null) {
+      return null;
+    }
+    this.mGroups.computeIfAbsent(EndResultsAggregator
+        .groupKey(result.algorithm, result.instance),
+        k -> new Group()).add(result);
+
+    final long now = System.currentTimeMillis();
+    final long next = this.mNextSnapshot.get();
+    if ((now >= next)
+        && this.mNextSnapshot.compareAndSet(next,
+            EndResultsAggregator.after(now,
+                this.mSnapshotInterval))
+        && this.mSnapshotPending.compareAndSet(false, true)) {
+      try {
+        this.mExecutor.execute(this::backgroundSnapshot);
+      } catch (@SuppressWarnings("unused") final RejectedExecutionException error) {
+// the aggregator has been closed and has written its final
+// snapshot
+        this.mSnapshotPending.set(false);
+      }
+    }
+    return result;
+  }
+
+  /** write a periodic snapshot in the background thread */
+  private void backgroundSnapshot() {
+    this.mSnapshotPending.set(false);
+    try {
+      this.snapshot();
+    } catch (final IOException error) {
+      this.mSnapshotError.compareAndSet(null, error);
+    }
+  }
+
+  /**
+   * Get the number of runs added so far
+   *
+   * @return the number of runs added so far
+   */
+  public int size() {
+    return this.mResults.size();
+  }
+
+  /**
+   * Get the group for an algorithm and instance
+   *
+   * @param algorithm
+   *          the algorithm name
+   * @param instance
+   *          the instance name
+   * @return the group, or {@code null} if no run was added
+   */
+  private Group group(final String algorithm,
+      final String instance) {
+    return this.mGroups.get(EndResultsAggregator.groupKey(
+        Objects.requireNonNull(algorithm),
+        Objects.requireNonNull(instance)));
+  }
+
+  /**
+   * Get the number of runs added so far for an algorithm on an
+   * instance
+   *
+   * @param algorithm
+   *          the algorithm name
+   * @param instance
+   *          the instance name
+   * @return the number of runs
+   */
+  public long getRuns(final String algorithm,
+      final String instance) {
+    final Group group = this.group(algorithm, instance);
+    if (group == null) {
+      return 0L;
+    }
+    synchronized (group) {
+      return group.mRuns;
+    }
+  }
+
+  /**
+   * Get the number of runs added so far for an algorithm on an
+   * instance which have reached the goal objective value
+   *
+   * @param algorithm
+   *          the algorithm name
+   * @param instance
+   *          the instance name
+   * @return the number of successful runs
+   */
+  public long getSuccesses(final String algorithm,
+      final String instance) {
+    final Group group = this.group(algorithm, instance);
+    if (group == null) {
+      return 0L;
+    }
+    synchronized (group) {
+      return group.mSuccesses;
+    }
+  }
+
+  /**
+   * Get the best objective value reached so far by an algorithm
+   * on an instance
+   *
+   * @param algorithm
+   *          the algorithm name
+   * @param instance
+   *          the instance name
+   * @return the best objective value, or
+   *         {@link Double#POSITIVE_INFINITY} if no run was added
+   */
+  public double getBestF(final String algorithm,
+      final String instance) {
+    final Group group = this.group(algorithm, instance);
+    if (group == null) {
+      return Double.POSITIVE_INFINITY;
+    }
+    synchronized (group) {
+      return group.mBestF;
+    }
+  }
+
+  /**
+   * Get the arithmetic mean of the best objective values reached
+   * by the runs of an algorithm on an instance added so far
+   *
+   * @param algorithm
+   *          the algorithm name
+   * @param instance
+   *          the instance name
+   * @return the mean best objective value, or
+   *         {@link Double#NaN} if no run was added
+   */
+  public double getMeanBestF(final String algorithm,
+      final String instance) {
+    final Group group = this.group(algorithm, instance);
+    if (group == null) {
+      return Double.NaN;
+    }
+    synchronized (group) {
+      return group.mMeanBestF;
+    }
+  }
+
+  /**
+   * Write a snapshot of the end results and end result
+   * statistics tables for all runs added so far. If no run was
+   * added yet, nothing is written.
+   *
+   * @return the path to the end results table snapshot, or
+   *         {@code null} if no run was added yet
+   * @throws IOException
+   *           if i/o fails
+   */
+  public Path snapshot() throws IOException {
+    synchronized (this.mSnapshotLock) {
+      if (this.mResults.isEmpty()) {
+        return null;
+      }
+
+      final Path end = IOUtils.canonicalizePath(//
+          this.mOutputFolder.resolve(EndResults.FILE_NAME));
+      final Path endTemp = IOUtils.canonicalizePath(//
+          this.mOutputFolder
+              .resolve(EndResults.FILE_NAME + ".tmp"));//$NON-NLS-1$
+      try (final BufferedWriter bw =
+          Files.newBufferedWriter(endTemp)) {
+        bw.write(EndResults.HEADER);
+        bw.newLine();
+        for (final EndResult result : this.mResults.values()) {
+          bw.write(EndResults.makeRow(result));
+          bw.newLine();
+        }
+      }
+      Files.move(endTemp, end,
+          StandardCopyOption.REPLACE_EXISTING);
+
+// The statistics are computed from the end results snapshot, so
+// they are exactly what the end result statistics tool would
+// produce for it.
+      final String statTemp =
+          EndResultStatistics.FILE_NAME + ".tmp";//$NON-NLS-1$
+      Files.move(
+          EndResultStatistics.makeEndResultStatisticsTable(end,
+              this.mOutputFolder, null, null, null, statTemp,
+              false, false),
+          this.mOutputFolder
+              .resolve(EndResultStatistics.FILE_NAME
+                  + LogFormat.FILE_SUFFIX),
+          StandardCopyOption.REPLACE_EXISTING);
+      return IOUtils.requireFile(end);
+    }
+  }
+
+  /**
+   * Wait for pending periodic snapshots and write the final
+   * snapshot. If a periodic snapshot has failed, its error is
+   * thrown after the final snapshot was written.
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @Override
+  public void close() throws IOException {
+    this.mExecutor.shutdown();
+    try {
+      while (!this.mExecutor.awaitTermination(1L,
+          TimeUnit.MINUTES)) {
+        Thread.yield();
+      }
+    } catch (final InterruptedException error) {
+      Thread.currentThread().interrupt();
+      throw new IOException(
+          "Interrupted while waiting for a snapshot.", //$NON-NLS-1$
+          error);
+    }
+    this.snapshot();
+    final IOException error = this.mSnapshotError.get();
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  /** the key of a run in the end results table order */
+  private static final class Key implements Comparable<Key> {
+    /** the algorithm name */
+    private final String mAlgorithm;
+    /** the instance name */
+    private final String mInstance;
+    /** the log file name */
+    private final String mFile;
+
+    /**
+     * create the key
+     *
+     * @param pAlgorithm
+     *          the algorithm name
+     * @param pInstance
+     *          the instance name
+     * @param pFile
+     *          the log file name
+     */
+    Key(final String pAlgorithm, final String pInstance,
+        final String pFile) {
+      super();
+      this.mAlgorithm = pAlgorithm;
+      this.mInstance = pInstance;
+      this.mFile = pFile;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int compareTo(final Key o) {
+      int r = this.mAlgorithm.compareTo(o.mAlgorithm);
+      if (r != 0) {
+        return r;
+      }
+      r = this.mInstance.compareTo(o.mInstance);
+      if (r != 0) {
+        return r;
+      }
+      return this.mFile.compareTo(o.mFile);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object o) {
+      return (o instanceof Key)
+          && (this.compareTo((Key) o) == 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.mAlgorithm, this.mInstance,
+          this.mFile);
+    }
+  }
+
+  /** the running statistics of an algorithm on an instance */
+  private static final class Group {
+    /** the number of runs */
+    long mRuns;
+    /** the number of runs which reached the goal */
+    long mSuccesses;
+    /** the best objective value */
+    double mBestF;
+    /** the mean best objective value */
+    double mMeanBestF;
+
+    /** create the group */
+    Group() {
+      super();
+      this.mBestF = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * add an end result
+     *
+     * @param result
+     *          the end result
+     */
+    synchronized void add(final EndResult result) {
+      ++this.mRuns;
+      if (result.bestF <= result.goalF) {
+        ++this.mSuccesses;
+      }
+      if (result.bestF < this.mBestF) {
+        this.mBestF = result.bestF;
+      }
+      this.mMeanBestF = (this.mRuns <= 1L) ? result.bestF
+          : (this.mMeanBestF
+              + ((result.bestF - this.mMeanBestF) / this.mRuns));
+    }
+  }
+}
@@ -0,0 +1,801 @@
+package aitoa.utils.logs;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+import aitoa.utils.math.Statistics;
+
+/**
+ * An in-memory, column-oriented store of an end results table.
+ * Each column is kept in a primitive array and the algorithm and
+ * instance names are dictionary-encoded as integer codes, where
+ * the codes follow the lexicographic order of the names. The
+ * table is loaded once via {@link #load(Path, boolean)} and then
+ * can be queried via filters, group-by operations, and
+ * aggregates over sets of row indexes. This way, several
+ * statistics can be computed from a single load without
+ * creating one object per run: the rows are parsed directly
+ * into the columns.
+ */
+public final class EndResultsTable {
+
+  /** the algorithm names, sorted */
+  private final String[] mAlgorithms;
+  /** the instance names, sorted */
+  private final String[] mInstances;
+  /** the number of rows */
+  private final int mSize;
+  /** the algorithm codes */
+  private final int[] mAlgorithm;
+  /** the instance codes */
+  private final int[] mInstance;
+  /** the seeds */
+  private final long[] mSeed;
+  /** the best objective values */
+  private final double[] mBestF;
+  /** the total times */
+  private final long[] mTotalTime;
+  /** the total FEs */
+  private final long[] mTotalFEs;
+  /** the last improvement times */
+  private final long[] mLastImprovementTime;
+  /** the last improvement FEs */
+  private final long[] mLastImprovementFE;
+  /** the numbers of improvements */
+  private final long[] mNumberOfImprovements;
+  /** the time budgets */
+  private final long[] mBudgetTime;
+  /** the FE budgets */
+  private final long[] mBudgetFEs;
+  /** the goal objective values */
+  private final double[] mGoalF;
+
+  /**
+   * create the table from a finished builder
+   *
+   * @param b
+   *          the builder
+   */
+  EndResultsTable(final Builder b) {
+    super();
+    final int size = b.mSize;
+    this.mSize = size;
+
+    this.mAlgorithms =
+        EndResultsTable.sortedNames(b.mAlgorithms);
+    this.mInstances = EndResultsTable.sortedNames(b.mInstances);
+    this.mAlgorithm = EndResultsTable.recode(b.mAlgorithm, size,
+        b.mAlgorithms, this.mAlgorithms);
+    this.mInstance = EndResultsTable.recode(b.mInstance, size,
+        b.mInstances, this.mInstances);
+
+    this.mSeed = Arrays.copyOf(b.mSeed, size);
+    this.mBestF = Arrays.copyOf(b.mBestF, size);
+    this.mTotalTime = Arrays.copyOf(b.mTotalTime, size);
+    this.mTotalFEs = Arrays.copyOf(b.mTotalFEs, size);
+    this.mLastImprovementTime =
+        Arrays.copyOf(b.mLastImprovementTime, size);
+    this.mLastImprovementFE =
+        Arrays.copyOf(b.mLastImprovementFE, size);
+    this.mNumberOfImprovements =
+        Arrays.copyOf(b.mNumberOfImprovements, size);
+    this.mBudgetTime = Arrays.copyOf(b.mBudgetTime, size);
+    this.mBudgetFEs = Arrays.copyOf(b.mBudgetFEs, size);
+    this.mGoalF = Arrays.copyOf(b.mGoalF, size);
+  }
+
+  /**
+   * get the sorted names of a dictionary
+   *
+   * @param dictionary
+   *          the dictionary
+   * @return the sorted names
+   */
+  private static String[]
+      sortedNames(final HashMap<String, Integer> dictionary) {
+    final String[] names = dictionary.keySet()
+        .toArray(new String[dictionary.size()]);
+    Arrays.sort(names);
+    return names;
+  }
+
+  /**
+   * translate the codes assigned during loading to the codes
+   * corresponding to the sorted names
+   *
+   * @param codes
+   *          the codes assigned during loading
+   * @param size
+   *          the number of rows
+   * @param dictionary
+   *          the dictionary used during loading
+   * @param names
+   *          the sorted names
+   * @return the new codes
+   */
+  private static int[] recode(final int[] codes, final int size,
+      final HashMap<String, Integer> dictionary,
+      final String[] names) {
+    final int[] map = new int[names.length];
+    for (int i = names.length; (--i) >= 0;) {
+      map[dictionary.get(names[i]).intValue()] = i;
+    }
+    final int[] result = new int[size];
+    for (int i = size; (--i) >= 0;) {
+      result[i] = map[codes[i]];
+    }
+    return result;
+  }
+
+  /**
+   * Load an end results table into memory.
+   *
+   * @param endResults
+   *          the path to the end results table
+   * @param logProgressToConsole
+   *          should logging information be printed?
+   * @return the loaded table
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static EndResultsTable load(final Path endResults,
+      final boolean logProgressToConsole) throws IOException {
+    final Builder builder = new Builder();
+    EndResults.parseEndResultRows(endResults, builder,
+        logProgressToConsole);
+    return builder.build();
+  }
+
+  /**
+   * Get the number of rows, i.e., runs, in the table
+   *
+   * @return the number of rows
+   */
+  public int size() {
+    return this.mSize;
+  }
+
+  /**
+   * Get the number of distinct algorithms
+   *
+   * @return the number of distinct algorithms
+   */
+  public int algorithmCount() {
+    return this.mAlgorithms.length;
+  }
+
+  /**
+   * Get the name of the algorithm with the given code
+   *
+   * @param code
+   *          the algorithm code
+   * @return the algorithm name
+   */
+  public String algorithmName(final int code) {
+    return this.mAlgorithms[code];
+  }
+
+  /**
+   * Get the code of the algorithm with the given name
+   *
+   * @param name
+   *          the algorithm name
+   * @return the code, or {@code -1} if there is no such
+   *         algorithm
+   */
+  public int algorithmCode(final String name) {
+    return Math.max(-1, Arrays.binarySearch(this.mAlgorithms,
+        Objects.requireNonNull(name)));
+  }
+
+  /**
+   * Get the number of distinct instances
+   *
+   * @return the number of distinct instances
+   */
+  public int instanceCount() {
+    return this.mInstances.length;
+  }
+
+  /**
+   * Get the name of the instance with the given code
+   *
+   * @param code
+   *          the instance code
+   * @return the instance name
+   */
+  public String instanceName(final int code) {
+    return this.mInstances[code];
+  }
+
+  /**
+   * Get the code of the instance with the given name
+   *
+   * @param name
+   *          the instance name
+   * @return the code, or {@code -1} if there is no such instance
+   */
+  public int instanceCode(final String name) {
+    return Math.max(-1, Arrays.binarySearch(this.mInstances,
+        Objects.requireNonNull(name)));
+  }
+
+  /**
+   * Get the algorithm code of a row
+   *
+   * @param row
+   *          the row index
+   * @return the algorithm code
+   */
+  public int algorithm(final int row) {
+    return this.mAlgorithm[row];
+  }
+
+  /**
+   * Get the instance code of a row
+   *
+   * @param row
+   *          the row index
+   * @return the instance code
+   */
+  public int instance(final int row) {
+    return this.mInstance[row];
+  }
+
+  /**
+   * Get the random seed of a row
+   *
+   * @param row
+   *          the row index
+   * @return the random seed
+   */
+  public long seed(final int row) {
+    return this.mSeed[row];
+  }
+
+  /**
+   * Get the value of a {@code long} column in a row
+   *
+   * @param column
+   *          the column
+   * @param row
+   *          the row index
+   * @return the value
+   */
+  public long getLong(final Column column, final int row) {
+    return this.longColumn(column)[row];
+  }
+
+  /**
+   * Get the value of a column in a row as {@code double}
+   *
+   * @param column
+   *          the column
+   * @param row
+   *          the row index
+   * @return the value
+   */
+  public double getDouble(final Column column, final int row) {
+    if (column.mIsDouble) {
+      return this.doubleColumn(column)[row];
+    }
+    return this.longColumn(column)[row];
+  }
+
+  /**
+   * Create the end result record of a row
+   *
+   * @param row
+   *          the row index
+   * @return the end result record
+   */
+  public EndResult get(final int row) {
+    return new EndResult(this.mAlgorithms[this.mAlgorithm[row]],
+        this.mInstances[this.mInstance[row]], this.mSeed[row],
+        this.mBestF[row], this.mTotalTime[row],
+        this.mTotalFEs[row], this.mLastImprovementTime[row],
+        this.mLastImprovementFE[row],
+        this.mNumberOfImprovements[row], this.mBudgetTime[row],
+        this.mBudgetFEs[row], this.mGoalF[row]);
+  }
+
+  /**
+   * get the array of a {@code long} column
+   *
+   * @param column
+   *          the column
+   * @return the array
+   */
+  private long[] longColumn(final Column column) {
+    switch (column) {
+      case TOTAL_TIME: {
+        return this.mTotalTime;
+      }
+      case TOTAL_FES: {
+        return this.mTotalFEs;
+      }
+      case LAST_IMPROVEMENT_TIME: {
+        return this.mLastImprovementTime;
+      }
+      case LAST_IMPROVEMENT_FE: {
+        return this.mLastImprovementFE;
+      }
+      case NUMBER_OF_IMPROVEMENTS: {
+        return this.mNumberOfImprovements;
+      }
+      case BUDGET_TIME: {
+        return this.mBudgetTime;
+      }
+      case BUDGET_FES: {
+        return this.mBudgetFEs;
+      }
+      default: {
+        throw new IllegalArgumentException(//
+            "Not a long column: " + column); //$NON-NLS-1$
+      }
+    }
+  }
+
+  /**
+   * get the array of a {@code double} column
+   *
+   * @param column
+   *          the column
+   * @return the array
+   */
+  private double[] doubleColumn(final Column column) {
+    switch (column) {
+      case BEST_F: {
+        return this.mBestF;
+      }
+      case GOAL_F: {
+        return this.mGoalF;
+      }
+      default: {
+        throw new IllegalArgumentException(//
+            "Not a double column: " + column); //$NON-NLS-1$
+      }
+    }
+  }
+
+  /**
+   * Get the indexes of all rows
+   *
+   * @return the indexes of all rows
+   */
+  public int[] rows() {
+    final int[] rows = new int[this.mSize];
+    for (int i = rows.length; (--i) >= 0;) {
+      rows[i] = i;
+    }
+    return rows;
+  }
+
+  /**
+   * Select the rows which fulfill a given condition
+   *
+   * @param rows
+   *          the indexes of the rows to check
+   * @param filter
+   *          the filter receiving a row index and returning
+   *          {@code true} if the row should be kept
+   * @return the indexes of the selected rows, in the same order
+   *         as in {@code rows}
+   */
+  public int[] filter(final int[] rows,
+      final IntPredicate filter) {
+    final int[] result = new int[rows.length];
+    int count = 0;
+    for (final int row : rows) {
+      if (filter.test(row)) {
+        result[count++] = row;
+      }
+    }
+    return (count >= result.length) ? result
+        : Arrays.copyOf(result, count);
+  }
+
+  /**
+   * Count the rows which fulfill a given condition
+   *
+   * @param rows
+   *          the indexes of the rows to check
+   * @param filter
+   *          the filter receiving a row index and returning
+   *          {@code true} if the row should be counted
+   * @return the number of rows fulfilling the condition
+   */
+  public static int count(final int[] rows,
+      final IntPredicate filter) {
+    int count = 0;
+    for (final int row : rows) {
+      if (filter.test(row)) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Group a set of rows by algorithm, instance, or both. The
+   * groups are sorted by the codes of the algorithm and then the
+   * instance, i.e., in the lexicographic order of their names.
+   * Inside a group, the rows appear in the same order as in
+   * {@code rows}.
+   *
+   * @param rows
+   *          the indexes of the rows to group
+   * @param byAlgorithm
+   *          should the rows be grouped by algorithm?
+   * @param byInstance
+   *          should the rows be grouped by instance?
+   * @return the groups, each of which is a non-empty array of
+   *         row indexes
+   */
+  public int[][] groupBy(final int[] rows,
+      final boolean byAlgorithm, final boolean byInstance) {
+    final int instances =
+        byInstance ? Math.max(1, this.mInstances.length) : 1;
+    final int keys = (byAlgorithm
+        ? Math.max(1, this.mAlgorithms.length) : 1) * instances;
+
+// counting sort by the group key
+    final int[] start = new int[keys + 1];
+    final int[] rowKeys = new int[rows.length];
+    for (int i = rows.length; (--i) >= 0;) {
+      final int row = rows[i];
+      final int key =
+          (byAlgorithm ? (this.mAlgorithm[row] * instances) : 0)
+              + (byInstance ? this.mInstance[row] : 0);
+      rowKeys[i] = key;
+      ++start[key + 1];
+    }
+
+    int groups = 0;
+    for (int key = 0; key < keys; key++) {
+      if (start[key + 1] > 0) {
+        ++groups;
+      }
+      start[key + 1] += start[key];
+    }
+
+    final int[][] result = new int[groups][];
+    final int[] next = new int[keys];
+    int group = 0;
+    for (int key = 0; key < keys; key++) {
+      final int length = start[key + 1] - start[key];
+      if (length > 0) {
+        result[group++] = new int[length];
+      }
+      next[key] = group - 1;
+    }
+
+    final int[] fill = new int[groups];
+    for (int i = 0; i < rows.length; i++) {
+      final int g = next[rowKeys[i]];
+      result[g][fill[g]++] = rows[i];
+    }
+    return result;
+  }
+
+  /**
+   * Collect the values of a {@code long} column for the given
+   * rows
+   *
+   * @param column
+   *          the column
+   * @param rows
+   *          the row indexes
+   * @return the values
+   */
+  public long[] collectLongs(final Column column,
+      final int[] rows) {
+    final long[] source = this.longColumn(column);
+    final long[] result = new long[rows.length];
+    for (int i = rows.length; (--i) >= 0;) {
+      result[i] = source[rows[i]];
+    }
+    return result;
+  }
+
+  /**
+   * Collect the values of a column for the given rows
+   *
+   * @param column
+   *          the column
+   * @param rows
+   *          the row indexes
+   * @return the values
+   */
+  public double[] collectDoubles(final Column column,
+      final int[] rows) {
+    final double[] result = new double[rows.length];
+    if (column.mIsDouble) {
+      final double[] source = this.doubleColumn(column);
+      for (int i = rows.length; (--i) >= 0;) {
+        result[i] = source[rows[i]];
+      }
+    } else {
+      final long[] source = this.longColumn(column);
+      for (int i = rows.length; (--i) >= 0;) {
+        result[i] = source[rows[i]];
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Create the statistic over a column for a set of rows. If
+   * all values of a {@code double} column are integers, they are
+   * treated as {@code long} values, exactly as done by
+   * {@link EndResultStatistics}.
+   *
+   * @param column
+   *          the column
+   * @param rows
+   *          the row indexes
+   * @return the statistic
+   */
+  private Statistic statistic(final Column column,
+      final int[] rows) {
+    if (rows.length <= 0) {
+      throw new IllegalArgumentException(
+          "Cannot compute statistics over empty set of rows."); //$NON-NLS-1$
+    }
+    if (column.mIsDouble) {
+      final Doubles result = new Doubles();
+      final double[] source = this.doubleColumn(column);
+      for (final int row : rows) {
+        result.add(source[row]);
+      }
+      return result.doFinalize();
+    }
+    return new Longs(this.collectLongs(column, rows));
+  }
+
+  /**
+   * Compute several quantiles of a column over a set of rows
+   *
+   * @param column
+   *          the column
+   * @param rows
+   *          the row indexes
+   * @param ps
+   *          the quantile values, each in {@code [0,1]}
+   * @return the quantiles, in the same order as {@code ps}
+   */
+  public Number[] quantiles(final Column column,
+      final int[] rows, final double... ps) {
+    return this.statistic(column, rows).quantiles(ps);
+  }
+
+  /**
+   * Compute the arithmetic mean and sample standard deviation
+   * of a column over a set of rows
+   *
+   * @param column
+   *          the column
+   * @param rows
+   *          the row indexes
+   * @return an array with the mean and the standard deviation
+   */
+  public Number[] meanAndStdDev(final Column column,
+      final int[] rows) {
+    return this.statistic(column, rows).meanAndStdDev();
+  }
+
+  /**
+   * Compute the sum of a column over a set of rows
+   *
+   * @param column
+   *          the column
+   * @param rows
+   *          the row indexes
+   * @return the sum
+   */
+  public Number sum(final Column column, final int[] rows) {
+    if (column.mIsDouble) {
+      return Statistics.sum(this.collectDoubles(column, rows));
+    }
+    return Statistics.sum(this.collectLongs(column, rows));
+  }
+
+  /** the numerical columns of the end results table */
+  public enum Column {
+    /** the best objective value */
+    BEST_F(EndResults.COL_BEST_F, true),
+    /** the total time */
+    TOTAL_TIME(EndResults.COL_TOTAL_TIME, false),
+    /** the total FEs */
+    TOTAL_FES(EndResults.COL_TOTAL_FES, false),
+    /** the last improvement time */
+    LAST_IMPROVEMENT_TIME(EndResults.COL_LAST_IMPROVEMENT_TIME,
+        false),
+    /** the last improvement FE */
+    LAST_IMPROVEMENT_FE(EndResults.COL_LAST_IMPROVEMENT_FES,
+        false),
+    /** the number of improvements */
+    NUMBER_OF_IMPROVEMENTS(
+        EndResults.COL_NUMBER_OF_IMPROVEMENTS, false),
+    /** the time budget */
+    BUDGET_TIME(EndResults.COL_BUDGET_TIME, false),
+    /** the FE budget */
+    BUDGET_FES(EndResults.COL_BUDGET_FES, false),
+    /** the goal objective value */
+    GOAL_F(EndResults.COL_GOAL_F, true);
+
+    /** the column name in the end results table */
+    public final String columnName;
+    /** is this a {@code double} column? */
+    final boolean mIsDouble;
+
+    /**
+     * create the column
+     *
+     * @param pColumnName
+     *          the column name
+     * @param pIsDouble
+     *          is this a {@code double} column?
+     */
+    Column(final String pColumnName, final boolean pIsDouble) {
+      this.columnName = pColumnName;
+      this.mIsDouble = pIsDouble;
+    }
+  }
+
+  /**
+   * A builder for end results tables, which can receive the end
+   * results one by one.
+   */
+  public static final class Builder
+      implements Consumer<EndResult>, EndResults.IRowConsumer {
+    /** the algorithm dictionary */
+    final HashMap<String, Integer> mAlgorithms;
+    /** the instance dictionary */
+    final HashMap<String, Integer> mInstances;
+    /** the number of rows */
+    int mSize;
+    /** the algorithm codes */
+    int[] mAlgorithm;
+    /** the instance codes */
+    int[] mInstance;
+    /** the seeds */
+    long[] mSeed;
+    /** the best objective values */
+    double[] mBestF;
+    /** the total times */
+    long[] mTotalTime;
+    /** the total FEs */
+    long[] mTotalFEs;
+    /** the last improvement times */
+    long[] mLastImprovementTime;
+    /** the last improvement FEs */
+    long[] mLastImprovementFE;
+    /** the numbers of improvements */
+    long[] mNumberOfImprovements;
+    /** the time budgets */
+    long[] mBudgetTime;
+    /** the FE budgets */
+    long[] mBudgetFEs;
+    /** the goal objective values */
+    double[] mGoalF;
+
+    /** create the builder */
+    public Builder() {
+      super();
+      this.mAlgorithms = new HashMap<>();
+      this.mInstances = new HashMap<>();
+      this.mAlgorithm = new int[64];
+      this.mInstance = new int[64];
+      this.mSeed = new long[64];
+      this.mBestF = new double[64];
+      this.mTotalTime = new long[64];
+      this.mTotalFEs = new long[64];
+      this.mLastImprovementTime = new long[64];
+      this.mLastImprovementFE = new long[64];
+      this.mNumberOfImprovements = new long[64];
+      this.mBudgetTime = new long[64];
+      this.mBudgetFEs = new long[64];
+      this.mGoalF = new double[64];
+    }
+
+    /**
+     * resize all column arrays
+     *
+     * @param capacity
+     *          the new capacity
+     */
+    private void allocate(final int capacity) {
+      this.mAlgorithm = Arrays.copyOf(this.mAlgorithm, capacity);
+      this.mInstance = Arrays.copyOf(this.mInstance, capacity);
+      this.mSeed = Arrays.copyOf(this.mSeed, capacity);
+      this.mBestF = Arrays.copyOf(this.mBestF, capacity);
+      this.mTotalTime = Arrays.copyOf(this.mTotalTime, capacity);
+      this.mTotalFEs = Arrays.copyOf(this.mTotalFEs, capacity);
+      this.mLastImprovementTime =
+          Arrays.copyOf(this.mLastImprovementTime, capacity);
+      this.mLastImprovementFE =
+          Arrays.copyOf(this.mLastImprovementFE, capacity);
+      this.mNumberOfImprovements =
+          Arrays.copyOf(this.mNumberOfImprovements, capacity);
+      this.mBudgetTime =
+          Arrays.copyOf(this.mBudgetTime, capacity);
+      this.mBudgetFEs = Arrays.copyOf(this.mBudgetFEs, capacity);
+      this.mGoalF = Arrays.copyOf(this.mGoalF, capacity);
+    }
+
+    /**
+     * get the code of a name
+     *
+     * @param dictionary
+     *          the dictionary
+     * @param name
+     *          the name
+     * @return the code
+     */
+    private static int code(
+        final HashMap<String, Integer> dictionary,
+        final String name) {
+      final Integer code = dictionary.get(name);
+      if (code != null) {
+        return code.intValue();
+      }
+      final int next = dictionary.size();
+      dictionary.put(name, Integer.valueOf(next));
+      return next;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void accept(final EndResult t) {
+      this.accept(t.algorithm, t.instance, t.seed, t.bestF,
+          t.totalTime, t.totalFEs, t.lastImprovementTime,
+          t.lastImprovementFE, t.numberOfImprovements,
+          t.budgetTime, t.budgetFEs, t.goalF);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void accept(final String algorithm,
+        final String instance, final long seed,
+        final double bestF, final long totalTime,
+        final long totalFEs, final long lastImprovementTime,
+        final long lastImprovementFE,
+        final long numberOfImprovements, final long budgetTime,
+        final long budgetFEs, final double goalF) {
+      final int size = this.mSize;
+      if (size >= this.mSeed.length) {
+        this.allocate(Statistic.incSize(size));
+      }
+      this.mAlgorithm[size] =
+          Builder.code(this.mAlgorithms, algorithm);
+      this.mInstance[size] =
+          Builder.code(this.mInstances, instance);
+      this.mSeed[size] = seed;
+      this.mBestF[size] = bestF;
+      this.mTotalTime[size] = totalTime;
+      this.mTotalFEs[size] = totalFEs;
+      this.mLastImprovementTime[size] = lastImprovementTime;
+      this.mLastImprovementFE[size] = lastImprovementFE;
+      this.mNumberOfImprovements[size] = numberOfImprovements;
+      this.mBudgetTime[size] = budgetTime;
+      this.mBudgetFEs[size] = budgetFEs;
+      this.mGoalF[size] = goalF;
+      this.mSize = size + 1;
+    }
+
+    /**
+     * Create the table with all the end results received so far
+     *
+     * @return the table
+     */
+    public EndResultsTable build() {
+      return new EndResultsTable(this);
+    }
+  }
+}
@@ -763,6 +763,8 @@ public final class ErtEcdf {
 
     final Path in = CommandLineArgs.getSourceDir();
     final Path out = CommandLineArgs.getDestDir();
+    final int threads = CommandLineArgs.getThreads();
+    final boolean incremental = CommandLineArgs.getIncremental();
     final String endname =
         CommandLineArgs.getEndResultsStatFile();
     final Function<String, String> algoNameMap =
@@ -778,7 +780,11 @@ public final class ErtEcdf {
 
     try {
       final Path endResults =
-          EndResults.makeEndResultsTable(in, out, true);
+          incremental
+              ? EndResults.updateEndResultsTable(in, out, true,
+                  threads)
+              : EndResults.makeEndResultsTable(in, out, true,
+                  true, threads);
 
       final Path endResultStatistics = EndResultStatistics
           .makeEndResultStatisticsTable(endResults, out, success,
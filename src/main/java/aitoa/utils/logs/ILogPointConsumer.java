@@ -0,0 +1,39 @@
+package aitoa.utils.logs;
+
+/**
+ * A consumer for the log points parsed from a log file. Unlike a
+ * {@link java.util.function.Consumer} of {@link LogLine}, this
+ * interface receives the values of a log point as primitives,
+ * so parsing a log file via
+ * {@link LogParser#parseLogPoints(java.nio.file.Path, ILogPointConsumer, java.util.function.Consumer)}
+ * does not need to create any object per log point.
+ */
+@FunctionalInterface
+public interface ILogPointConsumer {
+
+  /**
+   * Accept a log point. The parameters have the same meaning as
+   * the fields of {@link LogLine}.
+   *
+   * @param feLastImprovement
+   *          the FE where the last improvement took place
+   * @param feMax
+   *          the total consumed function evaluations
+   * @param timeLastImprovement
+   *          the time where the last improvement took place
+   * @param timeMax
+   *          the total consumed runtime
+   * @param improvements
+   *          the total number of improvements
+   * @param fMin
+   *          the best-so-far objective value
+   * @param isImprovement
+   *          {@code true} if this log point has a better
+   *          {@code fMin} value than the one before,
+   *          {@code false} otherwise
+   */
+  void accept(final long feLastImprovement, final long feMax,
+      final long timeLastImprovement, final long timeMax,
+      final long improvements, final double fMin,
+      final boolean isImprovement);
+}
@@ -330,6 +330,40 @@ public final class IOHProfiler {
       final BiFunction<String, SetupData,
           FunctionMetaData> getFunctionMetaData,
       final boolean logProgressToConsole) throws IOException {
+    return IOHProfiler.convertToIOHprofilerData(inputFolder,
+        outputFolder, getFunctionMetaData, logProgressToConsole,
+        1);
+  }
+
+  /**
+   * Convert our format to the IOHprofiler format. The log files
+   * can be parsed in parallel, but the output is always the
+   * same.
+   *
+   * @param inputFolder
+   *          the input folder
+   * @param outputFolder
+   *          the output folder preserved?
+   * @param getFunctionMetaData
+   *          the function transforming information to function
+   *          Ids, dimensions, and instance ids {@code null} for
+   *          default mapping
+   * @param logProgressToConsole
+   *          should logging information be printed?
+   * @param threads
+   *          the number of threads to use for parsing the log
+   *          files, {@code 1} for sequential processing
+   * @return a map containing the meta-data files as keys and the
+   *         corresponding raw data file list as value
+   * @throws IOException
+   *           if i/o fails
+   */
+  public static Path convertToIOHprofilerData(
+      final Path inputFolder, final Path outputFolder,
+      final BiFunction<String, SetupData,
+          FunctionMetaData> getFunctionMetaData,
+      final boolean logProgressToConsole, final int threads)
+      throws IOException {
 
     final Path in = IOUtils.requireDirectory(inputFolder);
 
@@ -348,9 +382,6 @@ public final class IOHProfiler {
           " potential algorithm directories.");//$NON-NLS-1$
     }
 
-    final ArrayList<Point> lines = new ArrayList<>();
-    final SetupData[] setup = new SetupData[1];
-    final long[] lastFE = { -1L };
     final HashMap<String, FunctionMetaData> functionMetaDatas =
         new HashMap<>();
 
@@ -367,79 +398,46 @@ public final class IOHProfiler {
     for (final Path algorithm : algorithms) {
       final String algoName =
           algorithm.getFileName().toString().trim();
+      final LogFileProcessor.LogFile[] files =
+          LogFileProcessor.listLogFiles(algorithm);
       if (logProgressToConsole) {
         ConsoleIO.stdout(//
-            "Now processing algorithm '" + algoName + //$NON-NLS-1$
+            "Now processing " + files.length + //$NON-NLS-1$
+                " log files of algorithm '" + algoName + //$NON-NLS-1$
                 "'.");//$NON-NLS-1$
       }
 
-      final Path[] instances = IOUtils.subDirectories(algorithm);
-      for (final Path instance : instances) {
-        final String instName =
-            instance.getFileName().toString().trim();
-        if (logProgressToConsole) {
-          ConsoleIO.stdout(//
-              "Now processing instance '" + instName + //$NON-NLS-1$
-                  "' for algorithm '" + algoName //$NON-NLS-1$
-                  + "'.");//$NON-NLS-1$
-        }
-
-        for (final Path file : IOUtils
-            .pathArray(IOUtils.filesStream(instance) //
-                .filter(ff -> ff.getFileName().toString()
-                    .endsWith(".txt"))//$NON-NLS-1$
-            )) {
-
-          lastFE[0] = -1L;
-          LogParser.parseLogFile(file, l -> {
-            final long curFE = l.feMax;
-            if (curFE > lastFE[0]) {
-              lines.add(new Point(curFE, l.fMin));
-              lastFE[0] = curFE;
-            }
-          }, s -> setup[0] = Objects.requireNonNull(s));
+      LogFileProcessor.process(files, IOHProfiler::parseTrace,
+          trace -> {
+            final FunctionMetaData functionMetaData =
+                functionMetaDatas.computeIfAbsent(
+                    trace.mInstance,
+                    n -> Objects.requireNonNull(
+                        _getFunctionMetaData.apply(n,
+                            trace.mSetup)));
+            final String functionId =
+                Objects.requireNonNull(functionMetaData.id);
+            final Long instanceId =
+                Long.valueOf(functionMetaData.instance);
+            final Long functionDim =
+                Long.valueOf(functionMetaData.dimension);
+
+            // OK, we got valid function and instance IDs as
+            // well as valid dimensions
+
+            final HashMap<Long,
+                HashMap<Long, ArrayList<Point[]>>> insts =
+                    traces.computeIfAbsent(functionId,
+                        i -> new HashMap<>());
 
-          if (setup[0] == null) {
-            throw new IllegalStateException(
-                "No setup for file '" + file + //$NON-NLS-1$
-                    "'.");//$NON-NLS-1$
-          }
-          if (lines.isEmpty()) {
-            throw new IllegalStateException(
-                "No log lines in file '" + file + //$NON-NLS-1$
-                    "'.");//$NON-NLS-1$
-          }
+            final HashMap<Long, ArrayList<Point[]>> dims =
+                insts.computeIfAbsent(instanceId,
+                    i -> new HashMap<>());
 
-          final FunctionMetaData functionMetaData =
-              functionMetaDatas.computeIfAbsent(instName,
-                  n -> Objects.requireNonNull(
-                      _getFunctionMetaData.apply(n, setup[0])));
-          final String functionId =
-              Objects.requireNonNull(functionMetaData.id);
-          final Long instanceId =
-              Long.valueOf(functionMetaData.instance);
-          final Long functionDim =
-              Long.valueOf(functionMetaData.dimension);
-
-          // OK, we got valid function and instance IDs as well
-          // as valid dimensions
-
-          final HashMap<Long,
-              HashMap<Long, ArrayList<Point[]>>> insts =
-                  traces.computeIfAbsent(functionId,
-                      i -> new HashMap<>());
-
-          final HashMap<Long, ArrayList<Point[]>> dims = insts
-              .computeIfAbsent(instanceId, i -> new HashMap<>());
-
-          final ArrayList<Point[]> dim = dims.computeIfAbsent(
-              functionDim, i -> new ArrayList<>());
-          dim.add(lines.toArray(new Point[lines.size()]));
-
-          lines.clear();
-          setup[0] = null;
-        } // end log file
-      } // end instance
+            final ArrayList<Point[]> dim = dims.computeIfAbsent(
+                functionDim, i -> new ArrayList<>());
+            dim.add(trace.mPoints);
+          }, threads);
 
       // all the data has been loaded, now we can write the
       // output
@@ -627,6 +625,72 @@ public final class IOHProfiler {
     return out;
   }
 
+  /**
+   * Parse the trace of a single log file
+   *
+   * @param file
+   *          the log file
+   * @return the trace
+   * @throws IOException
+   *           if i/o fails
+   */
+  static Trace parseTrace(final LogFileProcessor.LogFile file)
+      throws IOException {
+    final ArrayList<Point> lines = new ArrayList<>();
+    final SetupData[] setup = new SetupData[1];
+    final long[] lastFE = { -1L };
+
+    LogParser.parseLogPoints(file.mPath,
+        (feLastImprovement, feMax, timeLastImprovement, timeMax,
+            improvements, fMin, isImprovement) -> {
+          if (feMax > lastFE[0]) {
+            lines.add(new Point(feMax, fMin));
+            lastFE[0] = feMax;
+          }
+        }, s -> setup[0] = Objects.requireNonNull(s));
+
+    if (setup[0] == null) {
+      throw new IllegalStateException(
+          "No setup for file '" + file.mPath + //$NON-NLS-1$
+              "'.");//$NON-NLS-1$
+    }
+    if (lines.isEmpty()) {
+      throw new IllegalStateException(
+          "No log lines in file '" + file.mPath + //$NON-NLS-1$
+              "'.");//$NON-NLS-1$
+    }
+    return new Trace(file.mInstance, setup[0],
+        lines.toArray(new Point[lines.size()]));
+  }
+
+  /** the trace of a single run */
+  private static final class Trace {
+    /** the instance name */
+    final String mInstance;
+    /** the setup */
+    final SetupData mSetup;
+    /** the points */
+    final Point[] mPoints;
+
+    /**
+     * create the trace
+     *
+     * @param pInstance
+     *          the instance name
+     * @param pSetup
+     *          the setup
+     * @param pPoints
+     *          the points
+     */
+    Trace(final String pInstance, final SetupData pSetup,
+        final Point[] pPoints) {
+      super();
+      this.mInstance = pInstance;
+      this.mSetup = pSetup;
+      this.mPoints = pPoints;
+    }
+  }
+
   /** the log point */
   private static final class Point {
     /** the FEs */
@@ -849,6 +913,7 @@ public final class IOHProfiler {
   static void printArgs(final PrintStream s) {
     CommandLineArgs.printSourceDir(s);
     CommandLineArgs.printDestDir(s);
+    CommandLineArgs.printThreads(s);
   }
 
   /**
@@ -861,7 +926,7 @@ public final class IOHProfiler {
     ConsoleIO.stdout(s -> {
       s.println("Welcome to the IOHprofiler Data Converter"); //$NON-NLS-1$
       s.println("The command line arguments are as follows: ");//$NON-NLS-1$
-      EndResults.printArgs(s);
+      IOHProfiler.printArgs(s);
       s.println(
           "If you do not set the arguments, defaults will be used.");//$NON-NLS-1$
     });
@@ -870,11 +935,13 @@ public final class IOHProfiler {
 
     final Path in = CommandLineArgs.getSourceDir();
     final Path out = CommandLineArgs.getDestDir();
+    final int threads = CommandLineArgs.getThreads();
 
     Configuration.print();
 
     try {
-      IOHProfiler.convertToIOHprofilerData(in, out, null, true);
+      IOHProfiler.convertToIOHprofilerData(in, out, null, true,
+          threads);
     } catch (final Throwable error) {
       ConsoleIO.stderr(
           "An error occured while converting the data.", //$NON-NLS-1$
@@ -0,0 +1,269 @@
+package aitoa.utils.logs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import aitoa.structure.LogFormat;
+import aitoa.utils.IOUtils;
+
+/**
+ * The engine for processing the log files in an experiment
+ * folder, possibly in parallel. The log files of an algorithm
+ * are listed in a deterministic order (instance directories,
+ * then file names, both sorted). The files
+ * can then be parsed on a fork-join pool while the results are
+ * handed to a consumer in exactly this order on the calling
+ * thread. The output of all tools using this engine is therefore
+ * the same regardless of the number of threads.
+ */
+final class LogFileProcessor {
+
+  /**
+   * the number of log files that are parsed in one block before
+   * the results are passed on to the consumer: this bounds the
+   * number of parsed results held in memory at any given time
+   */
+  private static final int BLOCK_SIZE = 1024;
+
+  /**
+   * Get the default number of threads for processing log files
+   *
+   * @return the default number of threads
+   */
+  static int defaultThreads() {
+    return Math.max(1,
+        Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * List all the log files belonging to a given algorithm, both
+   * plain text and gzip-compressed ones
+   *
+   * @param algorithm
+   *          the algorithm directory
+   * @return the array of log files, in a deterministic order
+   * @throws IOException
+   *           if i/o fails
+   */
+  static LogFile[] listLogFiles(final Path algorithm)
+      throws IOException {
+    final ArrayList<LogFile> list = new ArrayList<>();
+    final String algoName =
+        algorithm.getFileName().toString().trim();
+    for (final Path instance : IOUtils
+        .subDirectories(algorithm)) {
+      final String instName =
+          instance.getFileName().toString().trim();
+      for (final Path file : IOUtils
+          .pathArray(IOUtils.filesStream(instance) //
+              .filter(ff -> LogFormat.isLogFileName(
+                  ff.getFileName().toString())))) {
+        list.add(new LogFile(algoName, instName, file));
+      }
+    }
+    return list.toArray(new LogFile[list.size()]);
+  }
+
+  /**
+   * Parse a set of log files and pass the results to a
+   * consumer. The parsing may happen in parallel, but the
+   * consumer is invoked on the calling thread and receives the
+   * results in the same order as the files are provided.
+   *
+   * @param files
+   *          the log files
+   * @param parser
+   *          the parser turning a log file into a result
+   * @param consumer
+   *          the consumer receiving the results in order
+   * @param threads
+   *          the number of threads to use, {@code 1} for
+   *          sequential processing
+   * @throws IOException
+   *           if i/o fails
+   * @param <T>
+   *          the result type
+   */
+  @SuppressWarnings("unchecked")
+  static <T> void process(final LogFile[] files,
+      final ILogFileParser<T> parser,
+      final IOUtils.IOConsumer<T> consumer, final int threads)
+      throws IOException {
+    Objects.requireNonNull(parser);
+    Objects.requireNonNull(consumer);
+    if (threads <= 0) {
+      throw new IllegalArgumentException(
+          "Number of threads must be positive, but is " //$NON-NLS-1$
+              + threads);
+    }
+
+    final int length = files.length;
+    if ((threads <= 1) || (length <= 1)) {
+      for (final LogFile file : files) {
+        consumer.accept(parser.parse(file));
+      }
+      return;
+    }
+
+    final Object[] results =
+        new Object[Math.min(length,
+            LogFileProcessor.BLOCK_SIZE)];
+    final ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      for (int start = 0; start < length;
+          start += results.length) {
+        final int end = Math.min(length, start + results.length);
+        try {
+          pool.invoke(new ParseTask<>(files, parser, results,
+              start, start, end));
+        } catch (final UncheckedIOException error) {
+          throw error.getCause();
+        }
+        for (int i = start; i < end; i++) {
+          final int j = i - start;
+          final T t = ((T) (results[j]));
+          results[j] = null;
+          consumer.accept(t);
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * A log file together with the algorithm and instance it
+   * belongs to
+   */
+  static final class LogFile {
+    /** the algorithm name */
+    final String mAlgorithm;
+    /** the instance name */
+    final String mInstance;
+    /** the path to the log file */
+    final Path mPath;
+
+    /**
+     * create the log file record
+     *
+     * @param pAlgorithm
+     *          the algorithm name
+     * @param pInstance
+     *          the instance name
+     * @param pPath
+     *          the path to the log file
+     */
+    LogFile(final String pAlgorithm, final String pInstance,
+        final Path pPath) {
+      super();
+      this.mAlgorithm = Objects.requireNonNull(pAlgorithm);
+      this.mInstance = Objects.requireNonNull(pInstance);
+      this.mPath = Objects.requireNonNull(pPath);
+    }
+  }
+
+  /**
+   * The interface for parsing a log file. Implementations must
+   * be thread-safe.
+   *
+   * @param <T>
+   *          the result type
+   */
+  @FunctionalInterface
+  interface ILogFileParser<T> {
+    /**
+     * Parse a log file
+     *
+     * @param file
+     *          the log file
+     * @return the result
+     * @throws IOException
+     *           if i/o fails
+     */
+    T parse(final LogFile file) throws IOException;
+  }
+
+  /**
+   * the fork-join task for parsing a range of log files
+   *
+   * @param <T>
+   *          the result type
+   */
+  private static final class ParseTask<T>
+      extends RecursiveAction {
+    /** the serial version uid */
+    private static final long serialVersionUID = 1L;
+    /** the log files */
+    private final LogFile[] mFiles;
+    /** the parser */
+    private final ILogFileParser<T> mParser;
+    /** the destination array */
+    private final Object[] mResults;
+    /** the index of the first file in the current block */
+    private final int mOffset;
+    /** the inclusive start index */
+    private final int mStart;
+    /** the exclusive end index */
+    private final int mEnd;
+
+    /**
+     * create the task
+     *
+     * @param pFiles
+     *          the log files
+     * @param pParser
+     *          the parser
+     * @param pResults
+     *          the destination array
+     * @param pOffset
+     *          the index of the first file in the current block
+     * @param pStart
+     *          the inclusive start index
+     * @param pEnd
+     *          the exclusive end index
+     */
+    ParseTask(final LogFile[] pFiles,
+        final ILogFileParser<T> pParser, final Object[] pResults,
+        final int pOffset, final int pStart, final int pEnd) {
+      super();
+      this.mFiles = pFiles;
+      this.mParser = pParser;
+      this.mResults = pResults;
+      this.mOffset = pOffset;
+      this.mStart = pStart;
+      this.mEnd = pEnd;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void compute() {
+      final int size = this.mEnd - this.mStart;
+      if (size > 1) {
+        final int mid = this.mStart + (size >>> 1);
+        ForkJoinTask.invokeAll(
+            new ParseTask<>(this.mFiles, this.mParser,
+                this.mResults, this.mOffset, this.mStart, mid),
+            new ParseTask<>(this.mFiles, this.mParser,
+                this.mResults, this.mOffset, mid, this.mEnd));
+        return;
+      }
+      try {
+        this.mResults[this.mStart - this.mOffset] =
+            this.mParser.parse(this.mFiles[this.mStart]);
+      } catch (final IOException ioe) {
+        throw new UncheckedIOException(ioe);
+      }
+    }
+  }
+
+  /** forbidden */
+  private LogFileProcessor() {
+    throw new UnsupportedOperationException();
+  }
+}
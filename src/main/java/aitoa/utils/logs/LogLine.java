@@ -87,72 +87,102 @@ public final class LogLine implements Comparable<LogLine> {
       final boolean pIsImprovement,
       final boolean pEnforceFirstMustBeImprovement) {
     super();
-
+    LogLine.validate(pFeLastImprovement, pFeMax,
+        pTimeLastImprovement, pTimeMax, pImprovements, pFMin,
+        pIsImprovement, pEnforceFirstMustBeImprovement);
+    this.feLastImprovement = pFeLastImprovement;
+    this.feMax = pFeMax;
+    this.timeLastImprovement = pTimeLastImprovement;
+    this.timeMax = pTimeMax;
+    this.improvements = pImprovements;
     this.fMin = pFMin;
-    if (!Double.isFinite(this.fMin)) {
+    this.isImprovement = pIsImprovement;
+  }
+
+  /**
+   * Check whether the values of a log point are valid.
+   *
+   * @param feLastImprovement
+   *          the FE where the last improvement took place
+   * @param feMax
+   *          the total consumed function evaluations
+   * @param timeLastImprovement
+   *          the time where the last improvement took place
+   * @param timeMax
+   *          the total consumed runtime
+   * @param improvements
+   *          the total number of improvements
+   * @param fMin
+   *          the best-so-far objective value
+   * @param isImprovement
+   *          {@code true} if this log point has a better
+   *          {@code f_min} value than the one before,
+   *          {@code false} otherwise
+   * @param enforceFirstMustBeImprovement
+   *          must we enforce that the first FE must be an
+   *          improvement?
+   * @throws IllegalArgumentException
+   *           if the values are invalid
+   */
+  static void validate(final long feLastImprovement,
+      final long feMax, final long timeLastImprovement,
+      final long timeMax, final long improvements,
+      final double fMin, final boolean isImprovement,
+      final boolean enforceFirstMustBeImprovement) {
+    if (!Double.isFinite(fMin)) {
       throw new IllegalArgumentException("Invalid best.f value: " //$NON-NLS-1$
-          + this.fMin);
+          + fMin);
     }
 
-    this.feMax = pFeMax;
-    if ((this.feMax <= 0L)
-        || (this.feMax >= 1_000_000_000_000_000L)) {
+    if ((feMax <= 0L) || (feMax >= 1_000_000_000_000_000L)) {
       throw new IllegalArgumentException(
-          "Invalid total FEs: " + this.feMax); //$NON-NLS-1$
+          "Invalid total FEs: " + feMax); //$NON-NLS-1$
     }
-    this.feLastImprovement = pFeLastImprovement;
-    if ((this.feLastImprovement <= 0)
-        || (this.feLastImprovement > this.feMax)) {
+    if ((feLastImprovement <= 0)
+        || (feLastImprovement > feMax)) {
       throw new IllegalArgumentException(
           "Invalid last improvement FE: "//$NON-NLS-1$
-              + this.feLastImprovement + " for total FEs:  "//$NON-NLS-1$
-              + this.feMax);
+              + feLastImprovement + " for total FEs:  "//$NON-NLS-1$
+              + feMax);
     }
 
-    this.timeMax = pTimeMax;
-    if ((this.timeMax < 0L)
-        || (this.timeMax >= 0x19C6F8000000000L)) {
+    if ((timeMax < 0L) || (timeMax >= 0x19C6F8000000000L)) {
       throw new IllegalArgumentException(
-          "Invalid total time: " + this.timeMax); //$NON-NLS-1$
+          "Invalid total time: " + timeMax); //$NON-NLS-1$
     }
-    this.timeLastImprovement = pTimeLastImprovement;
-    if ((this.timeLastImprovement < 0)
-        || (this.timeLastImprovement > this.timeMax)) {
+    if ((timeLastImprovement < 0)
+        || (timeLastImprovement > timeMax)) {
       throw new IllegalArgumentException(
           "Invalid last improvement time: "//$NON-NLS-1$
-              + this.timeLastImprovement + " for total time:  "//$NON-NLS-1$
-              + this.timeMax);
+              + timeLastImprovement + " for total time:  "//$NON-NLS-1$
+              + timeMax);
     }
 
-    this.improvements = pImprovements;
-    if (this.improvements <= 0L) {
+    if (improvements <= 0L) {
       throw new IllegalArgumentException(
           "Invalid number of improvements: "//$NON-NLS-1$
-              + this.improvements);
+              + improvements);
     }
 
-    this.isImprovement = pIsImprovement;
-    if (pEnforceFirstMustBeImprovement && (this.feMax == 1L)
-        && (!this.isImprovement)) {
+    if (enforceFirstMustBeImprovement && (feMax == 1L)
+        && (!isImprovement)) {
       throw new IllegalArgumentException(
           "First FE must be an improvement.");//$NON-NLS-1$
     }
-    if (this.isImprovement
-        && (this.feLastImprovement != this.feMax)) {
+    if (isImprovement && (feLastImprovement != feMax)) {
       throw new IllegalArgumentException(
           "If FE led to an improvmenet, then last improvement FE ("//$NON-NLS-1$
-              + this.feLastImprovement
+              + feLastImprovement
               + ") must equal total FEs ("//$NON-NLS-1$
-              + this.feMax + ") but does not.");//$NON-NLS-1$
+              + feMax + ") but does not.");//$NON-NLS-1$
     }
 
-    if (this.isImprovement
-        && (this.timeLastImprovement != this.timeMax)) {
+    if (isImprovement && (timeLastImprovement != timeMax)) {
       throw new IllegalArgumentException(
           "If FE led to an improvmenet, then last improvement time ("//$NON-NLS-1$
-              + this.timeLastImprovement
+              + timeLastImprovement
               + ") must equal total time ("//$NON-NLS-1$
-              + this.timeMax + ") but does not.");//$NON-NLS-1$
+              + timeMax + ") but does not.");//$NON-NLS-1$
     }
   }
 
@@ -1,14 +1,19 @@
 package aitoa.utils.logs;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 import aitoa.structure.LogFormat;
 import aitoa.utils.IOUtils;
@@ -16,10 +21,23 @@ import aitoa.utils.RandomUtils;
 
 /**
  * This class allows for efficient parsing of the log files
- * produced by our experimenter.
+ * produced by our experimenter. The log files are memory-mapped
+ * and scanned byte by byte. Log files which are gzip-compressed,
+ * i.e., whose names end with
+ * {@link LogFormat#COMPRESSED_FILE_SUFFIX}, are decompressed on
+ * the fly into a buffer instead. The numbers in the log points
+ * are parsed in place, so no objects need to be created per log
+ * point if the log points are consumed via an
+ * {@link ILogPointConsumer}.
  */
 public final class LogParser {
 
+  /**
+   * the default size of the segments in which a log file is
+   * mapped into memory
+   */
+  static final long SEGMENT_SIZE = 1L << 30;
+
   /** the set of standard setup keys */
   private static final List<String> STANDARD_SETUP_KEYS =
       Arrays.asList(LogFormat.MAX_FES, LogFormat.MAX_TIME,
@@ -82,25 +100,129 @@ public final class LogParser {
    * @throws IOException
    *           if i/o fails or if any data in the file violates
    *           the sanity checks
+   * @see #parseLogPoints(Path, ILogPointConsumer, Consumer)
    */
-  @SuppressWarnings("null")
   public static void parseLogFile(final Path file,
       final Consumer<LogLine> logConsumer,
       final Consumer<SetupData> setupConsumer)
       throws IOException {
+// the parser has already validated the points, including whether
+// a non-improving point at the first FE is permitted
+    LogParser.parseLogPoints(file, (logConsumer == null) ? null
+        : (feLastImprovement, feMax, timeLastImprovement,
+            timeMax, improvements, fMin,
+            isImprovement) -> logConsumer.accept(new LogLine(
+                feLastImprovement, feMax, timeLastImprovement,
+                timeMax, improvements, fMin, isImprovement,
+                false)),
+        setupConsumer);
+  }
+
+  /**
+   * This function parses a given log file and ensures that the
+   * data therein meets all reasonable criteria for monotonicity
+   * and presence. It passes all information to the provided
+   * consumers. Different from
+   * {@link #parseLogFile(Path, Consumer, Consumer)}, the log
+   * points are passed on as primitive values, so that no object
+   * is allocated per log point.
+   *
+   * @param file
+   *          the file
+   * @param logConsumer
+   *          the log point consumer, can be {@code null}
+   * @param setupConsumer
+   *          the setup consumer, can be {@code null}
+   * @throws IOException
+   *           if i/o fails or if any data in the file violates
+   *           the sanity checks
+   */
+  public static void parseLogPoints(final Path file,
+      final ILogPointConsumer logConsumer,
+      final Consumer<SetupData> setupConsumer)
+      throws IOException {
+    LogParser.parseLogPoints(file, logConsumer, setupConsumer,
+        LogParser.SEGMENT_SIZE);
+  }
+
+  /**
+   * Parse a given log file which is mapped into memory in
+   * segments of the given size.
+   *
+   * @param file
+   *          the file
+   * @param logConsumer
+   *          the log point consumer, can be {@code null}
+   * @param setupConsumer
+   *          the setup consumer, can be {@code null}
+   * @param segmentSize
+   *          the maximum size of a memory-mapped segment, which
+   *          also is the maximum length of a line
+   * @throws IOException
+   *           if i/o fails or if any data in the file violates
+   *           the sanity checks
+   */
+  static void parseLogPoints(final Path file,
+      final ILogPointConsumer logConsumer,
+      final Consumer<SetupData> setupConsumer,
+      final long segmentSize) throws IOException {
+    LogParser.parseLogPoints(file, logConsumer, setupConsumer,
+        segmentSize, LineScanner.STREAM_BUFFER_SIZE);
+  }
+
+  /**
+   * Parse a given log file which is mapped into memory in
+   * segments of the given size. If the file is compressed, it is
+   * streamed into a buffer of the given initial size, which is
+   * enlarged up to the segment size whenever a line does not fit
+   * into it.
+   *
+   * @param file
+   *          the file
+   * @param logConsumer
+   *          the log point consumer, can be {@code null}
+   * @param setupConsumer
+   *          the setup consumer, can be {@code null}
+   * @param segmentSize
+   *          the maximum size of a memory-mapped segment, which
+   *          also is the maximum length of a line
+   * @param bufferSize
+   *          the initial size of the buffer for reading a
+   *          compressed file
+   * @throws IOException
+   *           if i/o fails or if any data in the file violates
+   *           the sanity checks
+   */
+  @SuppressWarnings("null")
+  static void parseLogPoints(final Path file,
+      final ILogPointConsumer logConsumer,
+      final Consumer<SetupData> setupConsumer,
+      final long segmentSize, final int bufferSize)
+      throws IOException {
 
     final Path pth = IOUtils.requireFile(file);
 
     final String name = pth.getFileName().toString();
-    if (!name.endsWith(LogFormat.FILE_SUFFIX)) {
+    if (!LogFormat.isLogFileName(name)) {
       throw new IllegalArgumentException(//
           "Invalid file name '" + file //$NON-NLS-1$
               + "', must end with '" + //$NON-NLS-1$
-              LogFormat.FILE_SUFFIX + "'.");//$NON-NLS-1$
+              LogFormat.FILE_SUFFIX + "' or '" + //$NON-NLS-1$
+              LogFormat.COMPRESSED_FILE_SUFFIX + "'.");//$NON-NLS-1$
     }
 
-    try (
-        final BufferedReader in = Files.newBufferedReader(pth)) {
+// compressed logs cannot be memory-mapped and are streamed
+    final boolean compressed =
+        LogFormat.isCompressedLogFileName(name);
+    try (final FileChannel channel = compressed ? null
+        : FileChannel.open(pth, StandardOpenOption.READ);
+        final InputStream input = compressed
+            ? new GZIPInputStream(Files.newInputStream(pth),
+                LineScanner.STREAM_BUFFER_SIZE)
+            : null) {
+      final LineScanner in = compressed
+          ? new LineScanner(input, segmentSize, bufferSize)
+          : new LineScanner(channel, segmentSize);
 
       // statistics
       long fe_max = -1L;
@@ -127,20 +249,17 @@ public final class LogParser {
 
       boolean invokeLogAfterState = false;
 
-      String line2 = null;
-      int lineIndex = 0;
-      while ((line2 = in.readLine()) != null) {
-        ++lineIndex;
-        String line = line2.trim();
-        if (line.length() <= 0) {
+      while (in.next()) {
+        if (in.mStart >= in.mEnd) {
           continue;
         }
 
         try {
 
           // we enter a comment?
-          if (line.charAt(0) == LogFormat.COMMENT_CHAR) {
-            line = line.substring(1).trim();
+          if (in.get(in.mStart) == LogFormat.COMMENT_CHAR) {
+            final String line =
+                in.string(in.mStart + 1, in.mEnd).trim();
             if (line.length() <= 0) {
               continue;
             }
@@ -311,10 +430,13 @@ public final class LogParser {
 
                   if (invokeLogAfterState && has_log_line
                       && (logConsumer != null)) {
-                    logConsumer.accept(new LogLine(//
-                        fe_last_improvement, fe_max,
-                        time_last_improvement, time_max,
-                        improvements, f_min, false, false));
+// the state may be reported after a single, logged FE
+                    LogLine.validate(fe_last_improvement,
+                        fe_max, time_last_improvement, time_max,
+                        improvements, f_min, false, false);
+                    logConsumer.accept(fe_last_improvement,
+                        fe_max, time_last_improvement, time_max,
+                        improvements, f_min, false);
                   }
 
                   continue;
@@ -547,21 +669,28 @@ public final class LogParser {
 
           // ok, no comment or tag
           if (state_log == 1) {
-            final int semi_1 =
-                line.indexOf(LogFormat.CSV_SEPARATOR_CHAR);
-            final int semi_2 =
-                line.lastIndexOf(LogFormat.CSV_SEPARATOR_CHAR);
-            if ((semi_1 <= 0) || (semi_2 <= semi_1)
-                || (semi_2 >= (line.length() - 1))) {
+            final int start = in.mStart;
+            final int end = in.mEnd;
+            int semi_1 = -1;
+            int semi_2 = -1;
+            for (int i = start; i < end; i++) {
+              if (in.get(i) == LogFormat.CSV_SEPARATOR_CHAR) {
+                if (semi_1 < 0) {
+                  semi_1 = i;
+                }
+                semi_2 = i;
+              }
+            }
+            if ((semi_1 <= start) || (semi_2 <= semi_1)
+                || (semi_2 >= (end - 1))) {
               throw new IllegalArgumentException(//
                   "Invalid log point '" + //$NON-NLS-1$
-                      line + "', must contain '" + //$NON-NLS-1$
+                      in.string(start, end) + "', must contain '" + //$NON-NLS-1$
                       LogFormat.CSV_SEPARATOR_CHAR + "' twice."); //$NON-NLS-1$
             }
 
             try {
-              final double f = Double.parseDouble(//
-                  line.substring(0, semi_1).trim());
+              final double f = in.parseDouble(start, semi_1);
               if (!(Double.isFinite(f))) {
                 throw new IllegalArgumentException(
                     "Objective values must be finite, but encountered: " //$NON-NLS-1$
@@ -573,8 +702,7 @@ public final class LogParser {
                         + f + " after " + f_min); //$NON-NLS-1$
               }
 
-              final long fes = Long.parseLong(
-                  line.substring(semi_1 + 1, semi_2).trim());
+              final long fes = in.parseLong(semi_1 + 1, semi_2);
               if (fes < 1L) {
                 throw new IllegalArgumentException(
                     "FEs must be positive, but encountered: " //$NON-NLS-1$
@@ -598,8 +726,7 @@ public final class LogParser {
                         " exceed budget of " + budgetFEs); //$NON-NLS-1$
               }
 
-              final long time = Long.parseLong(//
-                  line.substring(semi_2 + 1).trim());
+              final long time = in.parseLong(semi_2 + 1, end);
               if (time < 0L) {
                 throw new IllegalArgumentException(
                     "Times must be 0 or positive, but encountered: " //$NON-NLS-1$
@@ -630,14 +757,17 @@ public final class LogParser {
               fe_max = fes;
 
               if (invokeLog) {
-                logConsumer.accept(new LogLine(//
-                    fe_last_improvement, fe_max,
+                LogLine.validate(fe_last_improvement, fe_max,
+                    time_last_improvement, time_max,
+                    improvements, f_min, is_improvement, true);
+                logConsumer.accept(fe_last_improvement, fe_max,
                     time_last_improvement, time_max,
-                    improvements, f_min, is_improvement));
+                    improvements, f_min, is_improvement);
               }
             } catch (final Throwable error2) {
               throw new IllegalArgumentException(//
-                  "Invalid log point '" + line//$NON-NLS-1$
+                  "Invalid log point '" //$NON-NLS-1$
+                      + in.string(in.mStart, in.mEnd)
                       + "', parse- or validation error.", //$NON-NLS-1$
                   error2);
             }
@@ -648,9 +778,10 @@ public final class LogParser {
 
         } catch (final Throwable error2) {
           throw new IOException(//
-              "Line " + lineIndex //$NON-NLS-1$
+              "Line " + in.mLineIndex //$NON-NLS-1$
                   + " is invalid: '" //$NON-NLS-1$
-                  + line2 + "'.", //$NON-NLS-1$
+                  + in.string(in.mLineStart, in.mLineEnd)
+                  + "'.", //$NON-NLS-1$
               error2);
         }
       }
@@ -761,6 +892,407 @@ public final class LogParser {
     }
   }
 
+  /**
+   * A scanner for the lines of a memory-mapped file. The file is
+   * mapped in segments and each line is represented by indexes
+   * into the current segment, so that no objects need to be
+   * created unless a line is explicitly converted to a string.
+   * Alternatively, the lines can be read from a stream, in which
+   * case the segments are chunks of the stream read into a
+   * buffer.
+   */
+  private static final class LineScanner {
+    /** the initial size of the buffer for reading streams */
+    static final int STREAM_BUFFER_SIZE = 1 << 16;
+    /** the powers of ten which can be represented exactly */
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1,
+        1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+        1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21,
+        1e22 };
+    /**
+     * the maximum number of digits for which the mantissa of a
+     * decimal number can be represented exactly as
+     * {@code double}
+     */
+    private static final int MAX_DOUBLE_DIGITS = 15;
+    /**
+     * the maximum number of digits of a {@code long} which can
+     * be parsed without checking for overflows
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /** the channel, or {@code null} if a stream is read */
+    private final FileChannel mChannel;
+    /** the stream, or {@code null} if a channel is mapped */
+    private final InputStream mInput;
+    /** the buffer for reading the stream */
+    private byte[] mData;
+    /** the size of the file */
+    private final long mSize;
+    /** the maximum size of a segment */
+    private final long mSegmentSize;
+    /** the current segment, {@code null} if none was mapped */
+    private ByteBuffer mBuffer;
+    /** the position of the current segment in the file */
+    private long mPosition;
+    /** the number of bytes in the current segment */
+    private int mLimit;
+    /** is the current segment the last one? */
+    private boolean mIsLast;
+    /** the start of the next line in the current segment */
+    private int mNext;
+    /** the index of the current line, starting at 1 */
+    int mLineIndex;
+    /** the inclusive start of the current line */
+    int mLineStart;
+    /** the exclusive end of the current line */
+    int mLineEnd;
+    /** the inclusive start of the trimmed current line */
+    int mStart;
+    /** the exclusive end of the trimmed current line */
+    int mEnd;
+
+    /**
+     * create the line scanner
+     *
+     * @param pChannel
+     *          the channel
+     * @param pSegmentSize
+     *          the maximum size of a segment
+     * @throws IOException
+     *           if i/o fails
+     */
+    LineScanner(final FileChannel pChannel,
+        final long pSegmentSize) throws IOException {
+      super();
+      if (pSegmentSize <= 0L) {
+        throw new IllegalArgumentException(
+            "Segment size must be positive, but is " //$NON-NLS-1$
+                + pSegmentSize);
+      }
+      this.mChannel = pChannel;
+      this.mInput = null;
+      this.mSize = pChannel.size();
+      this.mSegmentSize =
+          Math.min(pSegmentSize, Integer.MAX_VALUE);
+      this.mIsLast = true;
+      if (this.mSize > 0L) {
+        this.map(0L);
+      }
+    }
+
+    /**
+     * create the line scanner for a stream
+     *
+     * @param pInput
+     *          the stream
+     * @param pSegmentSize
+     *          the maximum size of a segment
+     * @param pBufferSize
+     *          the initial size of the buffer
+     * @throws IOException
+     *           if i/o fails
+     */
+    LineScanner(final InputStream pInput,
+        final long pSegmentSize, final int pBufferSize)
+        throws IOException {
+      super();
+      if (pSegmentSize <= 0L) {
+        throw new IllegalArgumentException(
+            "Segment size must be positive, but is " //$NON-NLS-1$
+                + pSegmentSize);
+      }
+      if (pBufferSize <= 0) {
+        throw new IllegalArgumentException(
+            "Buffer size must be positive, but is " //$NON-NLS-1$
+                + pBufferSize);
+      }
+      this.mChannel = null;
+      this.mInput = pInput;
+      this.mSize = Long.MAX_VALUE;
+      this.mSegmentSize =
+          Math.min(pSegmentSize, Integer.MAX_VALUE);
+      this.mData = new byte[(int) Math.min(this.mSegmentSize,
+          pBufferSize)];
+      this.mBuffer = ByteBuffer.wrap(this.mData);
+      this.read();
+    }
+
+    /**
+     * map the segment starting at the given position
+     *
+     * @param position
+     *          the position in the file
+     * @throws IOException
+     *           if i/o fails
+     */
+    private void map(final long position) throws IOException {
+      final long length =
+          Math.min(this.mSize - position, this.mSegmentSize);
+      this.mBuffer = this.mChannel
+          .map(FileChannel.MapMode.READ_ONLY, position, length);
+      this.mPosition = position;
+      this.mLimit = ((int) length);
+      this.mIsLast = ((position + length) >= this.mSize);
+      this.mNext = 0;
+    }
+
+    /**
+     * Keep the bytes of the current segment from {@link #mNext}
+     * on and fill the rest of the buffer from the stream
+     *
+     * @throws IOException
+     *           if i/o fails
+     */
+    private void read() throws IOException {
+      final byte[] data = this.mData;
+      final int keep = this.mLimit - this.mNext;
+      System.arraycopy(data, this.mNext, data, 0, keep);
+      int limit = keep;
+      this.mIsLast = false;
+      while (limit < data.length) {
+        final int read =
+            this.mInput.read(data, limit, data.length - limit);
+        if (read < 0) {
+          this.mIsLast = true;
+          break;
+        }
+        limit += read;
+      }
+      this.mPosition += this.mNext;
+      this.mLimit = limit;
+      this.mNext = 0;
+    }
+
+    /**
+     * Enlarge the buffer for reading a stream if a line does not
+     * fit into it
+     *
+     * @return {@code true} if the buffer was enlarged,
+     *         {@code false} if it already has the maximum size
+     */
+    private boolean grow() {
+      if ((this.mInput == null)
+          || (this.mData.length >= this.mSegmentSize)) {
+        return false;
+      }
+      this.mData = Arrays.copyOf(this.mData, (int) Math.min(
+          this.mSegmentSize, 2L * this.mData.length));
+      this.mBuffer = ByteBuffer.wrap(this.mData);
+      return true;
+    }
+
+    /**
+     * advance to the next line
+     *
+     * @return {@code true} if there is a next line,
+     *         {@code false} if the end of the file was reached
+     * @throws IOException
+     *           if i/o fails
+     */
+    boolean next() throws IOException {
+      for (;;) {
+        final ByteBuffer buffer = this.mBuffer;
+        final int limit = this.mLimit;
+        int end = this.mNext;
+        byte b = 0;
+        while (end < limit) {
+          b = buffer.get(end);
+          if ((b == '\n') || (b == '\r')) {
+            break;
+          }
+          ++end;
+        }
+
+        if ((end >= limit)
+            || ((b == '\r') && (end >= (limit - 1)))) {
+// the line may continue in the next segment
+          if (!this.mIsLast) {
+            if ((this.mNext <= 0) && (!this.grow())) {
+              throw new IOException("Line " //$NON-NLS-1$
+                  + (this.mLineIndex + 1)
+                  + " is longer than " + //$NON-NLS-1$
+                  this.mSegmentSize + " bytes."); //$NON-NLS-1$
+            }
+            if (this.mInput != null) {
+              this.read();
+            } else {
+              this.map(this.mPosition + this.mNext);
+            }
+            continue;
+          }
+          if (this.mNext >= limit) {
+            return false;
+          }
+        }
+
+        int next = end + 1;
+        if ((b == '\r') && (next < limit)
+            && (buffer.get(next) == '\n')) {
+          ++next;
+        }
+        this.mLineStart = this.mNext;
+        this.mLineEnd = end;
+        this.mNext = Math.min(next, limit);
+        ++this.mLineIndex;
+
+        int start = this.mLineStart;
+        while ((start < end)
+            && ((buffer.get(start) & 0xff) <= ' ')) {
+          ++start;
+        }
+        while ((end > start)
+            && ((buffer.get(end - 1) & 0xff) <= ' ')) {
+          --end;
+        }
+        this.mStart = start;
+        this.mEnd = end;
+        return true;
+      }
+    }
+
+    /**
+     * get the byte at the given index of the current segment
+     *
+     * @param index
+     *          the index
+     * @return the byte
+     */
+    byte get(final int index) {
+      return this.mBuffer.get(index);
+    }
+
+    /**
+     * Decode a range of the current segment to a string
+     *
+     * @param start
+     *          the inclusive start index
+     * @param end
+     *          the exclusive end index
+     * @return the string
+     */
+    String string(final int start, final int end) {
+      final byte[] data = new byte[Math.max(0, end - start)];
+      for (int i = data.length; (--i) >= 0;) {
+        data[i] = this.mBuffer.get(start + i);
+      }
+      return new String(data, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parse a {@code long} in place. Only plain decimal numbers
+     * are processed directly, everything else is delegated to
+     * {@link Long#parseLong(String)}.
+     *
+     * @param start
+     *          the inclusive start index
+     * @param end
+     *          the exclusive end index
+     * @return the {@code long}
+     */
+    long parseLong(final int start, final int end) {
+      final ByteBuffer buffer = this.mBuffer;
+      int s = start;
+      int e = end;
+      while ((s < e) && ((buffer.get(s) & 0xff) <= ' ')) {
+        ++s;
+      }
+      while ((e > s) && ((buffer.get(e - 1) & 0xff) <= ' ')) {
+        --e;
+      }
+
+      final int first = s;
+      byte b = (s < e) ? buffer.get(s) : 0;
+      final boolean negative = (b == '-');
+      if (negative || (b == '+')) {
+        ++s;
+      }
+      if ((s < e) && ((e - s) <= LineScanner.MAX_LONG_DIGITS)) {
+        long value = 0L;
+        for (; s < e; s++) {
+          b = buffer.get(s);
+          if ((b < '0') || (b > '9')) {
+            break;
+          }
+          value = (10L * value) + (b - '0');
+        }
+        if (s >= e) {
+          return negative ? (-value) : value;
+        }
+      }
+      return Long.parseLong(this.string(first, e));
+    }
+
+    /**
+     * Parse a {@code double} in place. Plain decimal numbers
+     * with at most 15 significant digits and at most 22
+     * fractional digits are computed directly, which yields the
+     * correctly rounded result since both the mantissa and the
+     * power of ten can be represented exactly. Everything else
+     * is delegated to {@link Double#parseDouble(String)}.
+     *
+     * @param start
+     *          the inclusive start index
+     * @param end
+     *          the exclusive end index
+     * @return the {@code double}
+     */
+    double parseDouble(final int start, final int end) {
+      final ByteBuffer buffer = this.mBuffer;
+      int s = start;
+      int e = end;
+      while ((s < e) && ((buffer.get(s) & 0xff) <= ' ')) {
+        ++s;
+      }
+      while ((e > s) && ((buffer.get(e - 1) & 0xff) <= ' ')) {
+        --e;
+      }
+
+      final int first = s;
+      byte b = (s < e) ? buffer.get(s) : 0;
+      final boolean negative = (b == '-');
+      if (negative || (b == '+')) {
+        ++s;
+      }
+
+      long mantissa = 0L;
+      int count = 0;
+      int digits = 0;
+      int fraction = -1;
+      for (; s < e; s++) {
+        b = buffer.get(s);
+        if ((b >= '0') && (b <= '9')) {
+          ++count;
+          if ((mantissa > 0L) || (b != '0')) {
+            if ((++digits) > LineScanner.MAX_DOUBLE_DIGITS) {
+              break;
+            }
+          }
+          mantissa = (10L * mantissa) + (b - '0');
+          if (fraction >= 0) {
+            ++fraction;
+          }
+          continue;
+        }
+        if ((b == '.') && (fraction < 0)) {
+          fraction = 0;
+          continue;
+        }
+        break;
+      }
+
+      if ((s >= e) && (count > 0)
+          && (fraction < LineScanner.POWERS_OF_TEN.length)) {
+        double value = mantissa;
+        if (fraction > 0) {
+          value /= LineScanner.POWERS_OF_TEN[fraction];
+        }
+        return negative ? (-value) : value;
+      }
+      return Double.parseDouble(this.string(first, e));
+    }
+  }
+
   /** forbidden */
   private LogParser() {
     throw new UnsupportedOperationException();
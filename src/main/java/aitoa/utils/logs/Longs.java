@@ -57,7 +57,6 @@ final class Longs extends Statistic {
       throw new IllegalStateException("empty data array?"); //$NON-NLS-1$
     }
     this.mData = Arrays.copyOf(this.mData, this.mSize);
-    Arrays.sort(this.mData);
     return this;
   }
 
@@ -69,8 +68,8 @@ final class Longs extends Statistic {
 
   /** {@inheritDoc} */
   @Override
-  Number quantile(final double p) {
-    return Statistics.quantile(p, this.mData);
+  Number[] quantiles(final double[] ps) {
+    return Statistics.quantiles(ps, this.mData);
   }
 
   /** {@inheritDoc} */
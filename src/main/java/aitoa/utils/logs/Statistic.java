@@ -31,13 +31,13 @@ abstract class Statistic {
   abstract int size();
 
   /**
-   * compute a quantile
+   * compute several quantiles at once
    *
-   * @param p
-   *          the quantile value
-   * @return the quantile number
+   * @param ps
+   *          the quantile values
+   * @return the quantile numbers
    */
-  abstract Number quantile(final double p);
+  abstract Number[] quantiles(final double[] ps);
 
   /**
    * compute the mean and standard deviation of the data
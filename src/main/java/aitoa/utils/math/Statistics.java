@@ -1,6 +1,7 @@
 package aitoa.utils.math;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 import java.util.function.LongUnaryOperator;
@@ -31,6 +32,18 @@ public final class Statistics {
   public static final double GAUSSIAN_QUANTILE_841 =
       0.8413447460685429485852325456320379224779129667266d;
 
+  /**
+   * the size of the ranges below which the selection algorithm
+   * resorts to insertion sort
+   */
+  private static final int SELECT_INSERTION_SORT = 16;
+
+  /**
+   * the largest absolute value whose square can be represented
+   * as {@code long}
+   */
+  private static final long MAX_SQUARABLE = 3037000499L;
+
   /**
    * Tries to convert an array of double to an array of long.
    * This will only succeed if all the doubles are integers in
@@ -175,6 +188,34 @@ public final class Statistics {
     final int length = data.length;
     Statistics.quantileCheck(p, length);
 
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (final long d : data) {
+      min = Math.min(d, min);
+      max = Math.max(d, max);
+    }
+    return Statistics.quantile(p, data, min, max);
+  }
+
+  /**
+   * Compute the {@code p} quantile of a data array where at
+   * least the first and last element as well as the two
+   * elements around the quantile index are at their sorted
+   * positions.
+   *
+   * @param p
+   *          the quantile value, must be in {@code [0,1]}
+   * @param data
+   *          the data array
+   * @param min
+   *          the minimum of the data
+   * @param max
+   *          the maximum of the data
+   * @return a number trying to be precise about the quantile
+   */
+  private static Number quantile(final double p,
+      final long[] data, final long min, final long max) {
+    final int length = data.length;
     if (length == 1) {
       return Long.valueOf(data[0]);
     }
@@ -188,12 +229,6 @@ public final class Statistics {
       return Long.valueOf(data[length - 1]);
     }
 
-    long min = Long.MAX_VALUE;
-    long max = Long.MIN_VALUE;
-    for (final long d : data) {
-      min = Math.min(d, min);
-      max = Math.max(d, max);
-    }
     if (min >= max) {
       return Long.valueOf(min);
     }
@@ -270,6 +305,34 @@ public final class Statistics {
     final int length = data.length;
     Statistics.quantileCheck(p, length);
 
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    for (final double d : data) {
+      min = Math.min(d, min);
+      max = Math.max(d, max);
+    }
+    return Statistics.quantile(p, data, min, max);
+  }
+
+  /**
+   * Compute the {@code p} quantile of a data array where at
+   * least the first and last element as well as the two
+   * elements around the quantile index are at their sorted
+   * positions.
+   *
+   * @param p
+   *          the quantile value, must be in {@code [0,1]}
+   * @param data
+   *          the data array, containing only finite values
+   * @param min
+   *          the minimum of the data
+   * @param max
+   *          the maximum of the data
+   * @return a number trying to be precise about the quantile
+   */
+  private static Number quantile(final double p,
+      final double[] data, final double min, final double max) {
+    final int length = data.length;
     if (length == 1) {
       return Statistics.doubleToNumber(data[0]);
     }
@@ -283,12 +346,6 @@ public final class Statistics {
       return Statistics.doubleToNumber(data[length - 1]);
     }
 
-    double min = Double.POSITIVE_INFINITY;
-    double max = Double.NEGATIVE_INFINITY;
-    for (final double d : data) {
-      min = Math.min(d, min);
-      max = Math.max(d, max);
-    }
     if (Double.isFinite(min) && Double.isFinite(max)) {
       if (min >= max) {
         return Statistics.doubleToNumber(min);
@@ -324,6 +381,337 @@ public final class Statistics {
             lower + (dif * (upper - lower)))));
   }
 
+  /**
+   * Compute the indexes of the order statistics needed for
+   * computing the given quantiles, i.e., the indexes of the
+   * elements which must be at their sorted positions.
+   *
+   * @param ps
+   *          the quantile values, each must be in {@code [0,1]}
+   * @param length
+   *          the length of the data array
+   * @return the sorted array of unique indexes
+   */
+  private static int[] quantileIndexes(final double[] ps,
+      final int length) {
+    final int[] indexes = new int[(ps.length << 1) + 2];
+    int count = 0;
+    indexes[count++] = 0;
+    indexes[count++] = length - 1;
+    for (final double p : ps) {
+      Statistics.quantileCheck(p, length);
+      final int pos = (int) (Math
+          .floor(Statistics.quantileIndex(p, length)));
+      if ((pos >= 1) && (pos < length)) {
+        indexes[count++] = pos - 1;
+        indexes[count++] = pos;
+      }
+    }
+    Arrays.sort(indexes, 0, count);
+
+    int unique = 1;
+    for (int i = 1; i < count; i++) {
+      if (indexes[i] != indexes[unique - 1]) {
+        indexes[unique++] = indexes[i];
+      }
+    }
+    return Arrays.copyOf(indexes, unique);
+  }
+
+  /**
+   * Get the maximum recursion depth of the selection before it
+   * resorts to sorting, which guarantees an
+   * {@code O(n log n)} worst case.
+   *
+   * @param length
+   *          the length of the data
+   * @return the depth
+   */
+  private static int selectDepth(final int length) {
+    return 2 * (Integer.SIZE
+        - Integer.numberOfLeadingZeros(length));
+  }
+
+  /**
+   * Compute the {@code p} quantiles (with {@code 0<=p<=1}) of
+   * the given data array at once. The data array does not need
+   * to be sorted. Instead, it is partially ordered via
+   * introselect such that all elements needed for computing the
+   * quantiles are at their sorted positions. This is done in a
+   * single partitioning pass shared by all quantiles and takes
+   * linear time on average. The results are the same as if
+   * {@link #quantile(double, long[])} was applied to the sorted
+   * array for each quantile.
+   *
+   * @param ps
+   *          the quantile values, each must be in {@code [0,1]}
+   * @param data
+   *          the data array, will be permuted
+   * @return the numbers trying to be precise about the
+   *         quantiles, in the same order as {@code ps}
+   */
+  public static Number[] quantiles(final double[] ps,
+      final long[] data) {
+    final int length = data.length;
+    if (length <= 0) {
+      throw new IllegalArgumentException(
+          "length must be greater than 0."); //$NON-NLS-1$
+    }
+    final int[] indexes = Statistics.quantileIndexes(ps, length);
+    Statistics.select(data, indexes, 0, indexes.length, 0,
+        length - 1, Statistics.selectDepth(length));
+
+    final long min = data[0];
+    final long max = data[length - 1];
+    final Number[] result = new Number[ps.length];
+    for (int i = ps.length; (--i) >= 0;) {
+      result[i] = Statistics.quantile(ps[i], data, min, max);
+    }
+    return result;
+  }
+
+  /**
+   * Compute the {@code p} quantiles (with {@code 0<=p<=1}) of
+   * the given data array at once. The data array does not need
+   * to be sorted. Instead, it is partially ordered via
+   * introselect such that all elements needed for computing the
+   * quantiles are at their sorted positions. This is done in a
+   * single partitioning pass shared by all quantiles and takes
+   * linear time on average. The results are the same as if
+   * {@link #quantile(double, double[])} was applied to the
+   * sorted array for each quantile.
+   *
+   * @param ps
+   *          the quantile values, each must be in {@code [0,1]}
+   * @param data
+   *          the data array, containing only finite values, will
+   *          be permuted
+   * @return the numbers trying to be precise about the
+   *         quantiles, in the same order as {@code ps}
+   */
+  public static Number[] quantiles(final double[] ps,
+      final double[] data) {
+    final int length = data.length;
+    if (length <= 0) {
+      throw new IllegalArgumentException(
+          "length must be greater than 0."); //$NON-NLS-1$
+    }
+    for (final double d : data) {
+      if (!Double.isFinite(d)) {
+        throw new IllegalArgumentException(
+            "All values must be finite, but encountered " //$NON-NLS-1$
+                + d);
+      }
+    }
+    final int[] indexes = Statistics.quantileIndexes(ps, length);
+    Statistics.select(data, indexes, 0, indexes.length, 0,
+        length - 1, Statistics.selectDepth(length));
+
+    final double min = data[0];
+    final double max = data[length - 1];
+    final Number[] result = new Number[ps.length];
+    for (int i = ps.length; (--i) >= 0;) {
+      result[i] = Statistics.quantile(ps[i], data, min, max);
+    }
+    return result;
+  }
+
+  /**
+   * Partially order a range of a data array such that the
+   * elements at the given indexes are at their sorted positions.
+   * This is a multi-element introselect: The range is
+   * partitioned around a median-of-three pivot into elements
+   * less than, equal to, and greater than the pivot and only the
+   * parts containing requested indexes are processed further. If
+   * the recursion becomes too deep, the remaining range is
+   * sorted.
+   *
+   * @param data
+   *          the data
+   * @param indexes
+   *          the sorted array of requested indexes
+   * @param indexStart
+   *          the inclusive start of the requested indexes in
+   *          {@code indexes} belonging to the range
+   * @param indexEnd
+   *          the exclusive end of the requested indexes in
+   *          {@code indexes} belonging to the range
+   * @param start
+   *          the inclusive start of the range
+   * @param end
+   *          the inclusive end of the range
+   * @param depth
+   *          the remaining recursion depth
+   */
+  private static void select(final long[] data,
+      final int[] indexes, final int indexStart,
+      final int indexEnd, final int start, final int end,
+      final int depth) {
+    int iStart = indexStart;
+    int lo = start;
+    int hi = end;
+    int d = depth;
+
+    while (iStart < indexEnd) {
+      if ((hi - lo) < Statistics.SELECT_INSERTION_SORT) {
+        for (int i = lo + 1; i <= hi; i++) {
+          final long v = data[i];
+          int j = i - 1;
+          for (; (j >= lo) && (data[j] > v); j--) {
+            data[j + 1] = data[j];
+          }
+          data[j + 1] = v;
+        }
+        return;
+      }
+      if ((--d) < 0) {
+        Arrays.sort(data, lo, hi + 1);
+        return;
+      }
+
+// choose the median of three as pivot
+      final long a = data[lo];
+      final long b = data[(lo + hi) >>> 1];
+      final long c = data[hi];
+      final long pivot =
+          (a < b) ? ((b < c) ? b : ((a < c) ? c : a))
+              : ((a < c) ? a : ((b < c) ? c : b));
+
+// three-way partitioning: [lo,lt) < pivot, [lt,gt] == pivot,
+// (gt,hi] > pivot
+      int lt = lo;
+      int gt = hi;
+      int i = lo;
+      while (i <= gt) {
+        final long v = data[i];
+        if (v < pivot) {
+          data[i++] = data[lt];
+          data[lt++] = v;
+        } else {
+          if (v > pivot) {
+            data[i] = data[gt];
+            data[gt--] = v;
+          } else {
+            ++i;
+          }
+        }
+      }
+
+      int iLess = iStart;
+      while ((iLess < indexEnd) && (indexes[iLess] < lt)) {
+        ++iLess;
+      }
+      int iGreater = iLess;
+      while ((iGreater < indexEnd)
+          && (indexes[iGreater] <= gt)) {
+        ++iGreater;
+      }
+
+      Statistics.select(data, indexes, iStart, iLess, lo, lt - 1,
+          d);
+      iStart = iGreater;
+      lo = gt + 1;
+    }
+  }
+
+  /**
+   * Partially order a range of a data array such that the
+   * elements at the given indexes are at their sorted positions.
+   * This is a multi-element introselect: The range is
+   * partitioned around a median-of-three pivot into elements
+   * less than, equal to, and greater than the pivot and only the
+   * parts containing requested indexes are processed further. If
+   * the recursion becomes too deep, the remaining range is
+   * sorted.
+   *
+   * @param data
+   *          the data, must not contain {@code NaN}s
+   * @param indexes
+   *          the sorted array of requested indexes
+   * @param indexStart
+   *          the inclusive start of the requested indexes in
+   *          {@code indexes} belonging to the range
+   * @param indexEnd
+   *          the exclusive end of the requested indexes in
+   *          {@code indexes} belonging to the range
+   * @param start
+   *          the inclusive start of the range
+   * @param end
+   *          the inclusive end of the range
+   * @param depth
+   *          the remaining recursion depth
+   */
+  private static void select(final double[] data,
+      final int[] indexes, final int indexStart,
+      final int indexEnd, final int start, final int end,
+      final int depth) {
+    int iStart = indexStart;
+    int lo = start;
+    int hi = end;
+    int d = depth;
+
+    while (iStart < indexEnd) {
+      if ((hi - lo) < Statistics.SELECT_INSERTION_SORT) {
+        for (int i = lo + 1; i <= hi; i++) {
+          final double v = data[i];
+          int j = i - 1;
+          for (; (j >= lo) && (data[j] > v); j--) {
+            data[j + 1] = data[j];
+          }
+          data[j + 1] = v;
+        }
+        return;
+      }
+      if ((--d) < 0) {
+        Arrays.sort(data, lo, hi + 1);
+        return;
+      }
+
+// choose the median of three as pivot
+      final double a = data[lo];
+      final double b = data[(lo + hi) >>> 1];
+      final double c = data[hi];
+      final double pivot =
+          (a < b) ? ((b < c) ? b : ((a < c) ? c : a))
+              : ((a < c) ? a : ((b < c) ? c : b));
+
+// three-way partitioning: [lo,lt) < pivot, [lt,gt] == pivot,
+// (gt,hi] > pivot
+      int lt = lo;
+      int gt = hi;
+      int i = lo;
+      while (i <= gt) {
+        final double v = data[i];
+        if (v < pivot) {
+          data[i++] = data[lt];
+          data[lt++] = v;
+        } else {
+          if (v > pivot) {
+            data[i] = data[gt];
+            data[gt--] = v;
+          } else {
+            ++i;
+          }
+        }
+      }
+
+      int iLess = iStart;
+      while ((iLess < indexEnd) && (indexes[iLess] < lt)) {
+        ++iLess;
+      }
+      int iGreater = iLess;
+      while ((iGreater < indexEnd)
+          && (indexes[iGreater] <= gt)) {
+        ++iGreater;
+      }
+
+      Statistics.select(data, indexes, iStart, iLess, lo, lt - 1,
+          d);
+      iStart = iGreater;
+      lo = gt + 1;
+    }
+  }
+
   /**
    * Try to divide as exactly as possible. This code does not
    * make much sense, I guess, but I think it should get as close
@@ -435,31 +823,38 @@ public final class Statistics {
    * @return the sum
    */
   public static Number sum(final long[] data) {
-    // compute exact sums
-    asLong: {
-      long lsum = 0L;
-      try {
-        for (final long l : data) {
-          lsum = Math.addExact(lsum, l);
-        }
-      } catch (@SuppressWarnings("unused") //
-      final ArithmeticException ignore) {
-        break asLong;
+// we add up the values in a long and count the overflows in a
+// second long, i.e., we compute the exact sum as a 128 bit
+// integer
+    long low = 0L;
+    long high = 0L;
+    for (final long l : data) {
+      final long r = low + l;
+      if (((low ^ r) & (l ^ r)) < 0L) {
+        high += (l < 0L) ? -1L : 1L;
       }
-      return Long.valueOf(lsum);
+      low = r;
     }
+    return Statistics.toNumber(high, low);
+  }
 
-    BigInteger last = BigInteger.valueOf(0L);
-    BigInteger bsum = last;
-    long lastL = 0L;
-    for (final long l : data) {
-      if (l != lastL) {
-        lastL = l;
-        last = BigInteger.valueOf(l);
-      }
-      bsum = bsum.add(last);
+  /**
+   * Convert a 128 bit integer given as two {@code long} values
+   * to a number
+   *
+   * @param high
+   *          the high 64 bits
+   * @param low
+   *          the low 64 bits
+   * @return the number
+   */
+  private static Number toNumber(final long high,
+      final long low) {
+    if (high == 0L) {
+      return Long.valueOf(low);
     }
-    return Statistics.simplifyInteger(bsum);
+    return Statistics.simplifyInteger(BigInteger.valueOf(high)
+        .shiftLeft(Long.SIZE).add(BigInteger.valueOf(low)));
   }
 
   /**
@@ -480,16 +875,22 @@ public final class Statistics {
       final Function<BigInteger, BigInteger> transBigInt) {
     // compute exact sums
     asLong: {
-      long lsum = 0L;
+      long low = 0L;
+      long high = 0L;
       try {
         for (final long l : data) {
-          lsum = Math.addExact(lsum, transLong.applyAsLong(l));
+          final long t = transLong.applyAsLong(l);
+          final long r = low + t;
+          if (((low ^ r) & (t ^ r)) < 0L) {
+            high += (t < 0L) ? -1L : 1L;
+          }
+          low = r;
         }
       } catch (@SuppressWarnings("unused") //
       final ArithmeticException ignore) {
         break asLong;
       }
-      return Long.valueOf(lsum);
+      return Statistics.toNumber(high, low);
     }
 
     BigInteger last = BigInteger.valueOf(0L);
@@ -543,11 +944,19 @@ public final class Statistics {
         l -> Math.multiplyExact(l, l), l -> l.multiply(l));
 
     // ok, we got some exact sums and exact sums of squares
-    final BigInteger sumBI =
-        ((sum instanceof BigInteger) ? ((BigInteger) sum)
-            : BigInteger.valueOf(sum.longValue()));
-    final Number sumSquared =
-        Statistics.simplifyInteger(sumBI.multiply(sumBI));
+    final Number sumSquared;
+    final long lsum = sum.longValue();
+    if ((sum instanceof Long)
+        && (lsum >= (-Statistics.MAX_SQUARABLE))
+        && (lsum <= Statistics.MAX_SQUARABLE)) {
+      sumSquared = Long.valueOf(lsum * lsum);
+    } else {
+      final BigInteger sumBI =
+          ((sum instanceof BigInteger) ? ((BigInteger) sum)
+              : BigInteger.valueOf(lsum));
+      sumSquared =
+          Statistics.simplifyInteger(sumBI.multiply(sumBI));
+    }
     final Number sumSquaredOverN =
         Statistics.divideExact(sumSquared, values.length);
 
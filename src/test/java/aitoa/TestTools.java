@@ -5,6 +5,8 @@ import java.util.concurrent.ThreadLocalRandom;
 
 import org.junit.Assert;
 
+import aitoa.utils.ZobristHash;
+
 /** Some tools for testing */
 public final class TestTools {
 
@@ -596,6 +598,21 @@ public final class TestTools {
         Arrays.toString(a) + " are not " + v);//$NON-NLS-1$ s
   }
 
+  /**
+   * Compute the {@linkplain ZobristHash hash} of an
+   * {@code int[]} or {@code boolean[]}
+   *
+   * @param x
+   *          the array
+   * @return the hash
+   */
+  public static long hash(final Object x) {
+    if (x instanceof int[]) {
+      return ZobristHash.hash((int[]) x);
+    }
+    return ZobristHash.hash((boolean[]) x);
+  }
+
   /**
    * check whether a value is finite
    *
@@ -0,0 +1,86 @@
+package aitoa.algorithms;
+
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/** Test the integer frequency fitness assignment. */
+public class TestIntFFA {
+
+  /**
+   * Create a population with random qualities
+   *
+   * @param random
+   *          the random number generator
+   * @param max
+   *          the maximum quality
+   * @return the population
+   */
+  @SuppressWarnings("unchecked")
+  private static FitnessRecord<Object>[]
+      create(final ThreadLocalRandom random, final int max) {
+    final FitnessRecord<Object>[] pop =
+        new FitnessRecord[random.nextInt(1, 200)];
+    for (int i = pop.length; (--i) >= 0;) {
+      pop[i] = new FitnessRecord<>(pop,
+          (random.nextInt(20) <= 0) ? Double.POSITIVE_INFINITY
+              : random.nextInt(max + 1));
+    }
+    return pop;
+  }
+
+  /**
+   * Check the fitness values against a reference map
+   *
+   * @param ffa
+   *          the fitness assignment process
+   * @param pop
+   *          the population
+   * @param reference
+   *          the reference frequencies
+   */
+  private static void check(final IntFFA ffa,
+      final FitnessRecord<Object>[] pop,
+      final HashMap<Double, Long> reference) {
+    for (final FitnessRecord<Object> ind : pop) {
+      if (Double.isFinite(ind.quality)) {
+        reference.merge(Double.valueOf(ind.quality),
+            Long.valueOf(1L), Long::sum);
+      }
+    }
+    ffa.assignFitness(pop);
+    for (final FitnessRecord<Object> ind : pop) {
+      Assert.assertEquals(
+          Double.isFinite(ind.quality)
+              ? reference.get(Double.valueOf(ind.quality))
+                  .doubleValue()
+              : Double.POSITIVE_INFINITY,
+          ind.fitness, 0d);
+    }
+  }
+
+  /** test that both the table and the hash map are correct */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public final void testDenseAndSparse() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (final int max : new int[] { 10, 1000,
+        IntFFA.DENSE_LIMIT, IntFFA.DENSE_LIMIT + 1,
+        100_000_000 }) {
+      final IntFFA ffa = new IntFFA(max);
+      Assert.assertEquals(max > IntFFA.DENSE_LIMIT,
+          ffa.isSparse());
+      for (int run = 3; (--run) >= 0;) {
+        ffa.initialize();
+        final HashMap<Double, Long> reference = new HashMap<>();
+        final int range = (run <= 0) ? Math.min(max, 100) : max;
+        for (int gen = 100; (--gen) >= 0;) {
+          TestIntFFA.check(ffa, TestIntFFA.create(random, range),
+              reference);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,239 @@
+package aitoa.algorithms;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aitoa.structure.Record;
+import aitoa.utils.RandomUtils;
+
+/** Test the structure-of-arrays population. */
+public class TestIntPopulation {
+
+  /**
+   * Create a population and the equivalent records
+   *
+   * @param random
+   *          the random number generator
+   * @param records
+   *          the records to fill
+   * @param length
+   *          the genotype length
+   * @return the population
+   */
+  private static IntPopulation create(final Random random,
+      final Record<int[]>[] records, final int length) {
+    final IntPopulation pop =
+        new IntPopulation(records.length, length);
+    for (int i = records.length; (--i) >= 0;) {
+      final int[] x = new int[length];
+      for (int j = length; (--j) >= 0;) {
+        x[j] = random.nextInt();
+      }
+      records[i] = new Record<>(x, random.nextInt(20));
+      pop.set(i, x, records[i].quality);
+    }
+    return pop;
+  }
+
+  /**
+   * Check that a population equals the records
+   *
+   * @param records
+   *          the records
+   * @param pop
+   *          the population
+   */
+  private static void assertSame(final Record<int[]>[] records,
+      final IntPopulation pop) {
+    Assert.assertEquals(records.length, pop.size());
+    final int[] x = new int[pop.length()];
+    for (int i = records.length; (--i) >= 0;) {
+      Assert.assertEquals(records[i].quality, pop.getQuality(i),
+          0d);
+      pop.get(i, x);
+      Assert.assertArrayEquals(records[i].x, x);
+    }
+  }
+
+  /** test sorting and shuffling */
+  @SuppressWarnings({ "static-method", "unchecked" })
+  @Test(timeout = 3600000)
+  public final void testSortAndShuffle() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int test = 300; (--test) >= 0;) {
+      final Record<int[]>[] records =
+          new Record[random.nextInt(1, 1000)];
+      final IntPopulation pop = TestIntPopulation.create(random,
+          records, random.nextInt(0, 10));
+      TestIntPopulation.assertSame(records, pop);
+
+      final long seed = random.nextLong();
+      final int count = random.nextInt(records.length + 1);
+      RandomUtils.shuffle(new Random(seed), records, 0, count);
+      pop.shuffle(new Random(seed), 0, count);
+      TestIntPopulation.assertSame(records, pop);
+
+      Arrays.sort(records, Record.BY_QUALITY);
+      pop.sort();
+      TestIntPopulation.assertSame(records, pop);
+    }
+  }
+
+  /** test the quality based clearing */
+  @SuppressWarnings({ "static-method", "unchecked" })
+  @Test(timeout = 3600000)
+  public final void testQualityBasedClearing() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int test = 300; (--test) >= 0;) {
+      final Record<int[]>[] records =
+          new Record[random.nextInt(1, 1000)];
+      final IntPopulation pop =
+          TestIntPopulation.create(random, records, 3);
+      final int mu = (records.length > 1)
+          ? random.nextInt(1, records.length) : 1;
+      Assert.assertEquals(
+          Utils.qualityBasedClearing(records, mu),
+          pop.qualityBasedClearing(mu));
+      TestIntPopulation.assertSame(records, pop);
+    }
+  }
+
+  /** test the hash based clearing */
+  @SuppressWarnings({ "static-method", "unchecked" })
+  @Test(timeout = 3600000)
+  public final void testHashBasedClearing() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int test = 300; (--test) >= 0;) {
+      final HashRecord<int[]>[] records =
+          new HashRecord[random.nextInt(1, 1000)];
+      final IntPopulation pop =
+          new IntPopulation(records.length, 3);
+      for (int i = records.length; (--i) >= 0;) {
+        final int[] x = { random.nextInt(), random.nextInt(),
+            random.nextInt() };
+        records[i] = new HashRecord<>(x, random.nextInt(20),
+            random.nextInt(4));
+        pop.set(i, x, records[i].quality);
+        pop.setHash(i, records[i].hash);
+      }
+      final int mu = (records.length > 1)
+          ? random.nextInt(1, records.length) : 1;
+      Assert.assertEquals(Utils.hashBasedClearing(records, mu),
+          pop.hashBasedClearing(mu));
+      TestIntPopulation.assertSame(records, pop);
+      for (int i = records.length; (--i) >= 0;) {
+        Assert.assertEquals(records[i].hash, pop.getHash(i));
+      }
+    }
+  }
+
+  /** test storing the genes off-heap in several slabs */
+  @SuppressWarnings({ "static-method", "unchecked" })
+  @Test(timeout = 3600000)
+  public final void testOffHeap() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int test = 300; (--test) >= 0;) {
+      final Record<int[]>[] records =
+          new Record[random.nextInt(1, 1000)];
+      final int length = random.nextInt(0, 10);
+      final IntPopulation heap =
+          TestIntPopulation.create(random, records, length);
+      Assert.assertFalse(heap.isOffHeap());
+      final IntPopulation pop = new IntPopulation(records.length,
+          length, true, random.nextInt(1, 100));
+      Assert.assertTrue(pop.isOffHeap());
+      for (int i = records.length; (--i) >= 0;) {
+        pop.set(i, records[i].x, records[i].quality);
+      }
+      TestIntPopulation.assertSame(records, pop);
+
+      final long seed = random.nextLong();
+      RandomUtils.shuffle(new Random(seed), records, 0,
+          records.length);
+      pop.shuffle(new Random(seed), 0, records.length);
+      pop.sort();
+      Arrays.sort(records, Record.BY_QUALITY);
+      TestIntPopulation.assertSame(records, pop);
+
+// write through the views and read back via the copies
+      final int[] x = new int[length];
+      for (int i = records.length; (--i) >= 0;) {
+        final IntBuffer view = pop.view(i);
+        Assert.assertEquals(length, view.remaining());
+        for (int j = length; (--j) >= 0;) {
+          Assert.assertEquals(records[i].x[j], view.get(j));
+          records[i].x[j] = random.nextInt();
+          view.put(j, records[i].x[j]);
+        }
+        pop.get(i, x);
+        Assert.assertArrayEquals(records[i].x, x);
+      }
+      TestIntPopulation.assertSame(records, pop);
+    }
+  }
+
+  /** test selecting and sorting the best genotypes */
+  @SuppressWarnings({ "static-method", "unchecked" })
+  @Test(timeout = 3600000)
+  public final void testSelectAndSortBest() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int test = 300; (--test) >= 0;) {
+      final Record<int[]>[] records =
+          new Record[random.nextInt(1, 1000)];
+      final IntPopulation pop =
+          TestIntPopulation.create(random, records, 2);
+      final int k = random.nextInt(1, records.length + 1);
+      Utils.selectBest(records, k);
+      pop.selectBest(k);
+      TestIntPopulation.assertSame(records, pop);
+      Utils.sortBest(records, k);
+      pop.sortBest(k);
+      TestIntPopulation.assertSame(records, pop);
+    }
+  }
+
+  /**
+   * test that a population reusing the slabs of a closed one
+   * starts with cleared genes
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public final void testOffHeapReuse() {
+    final int[] x = { 1, 2, 3 };
+    final int[] y = new int[x.length];
+    for (int test = 10; (--test) >= 0;) {
+      try (final IntPopulation pop =
+          new IntPopulation(10, x.length, true, 7)) {
+        Assert.assertTrue(pop.isOffHeap());
+        for (int i = pop.size(); (--i) >= 0;) {
+          pop.get(i, y);
+          Assert.assertArrayEquals(new int[x.length], y);
+          pop.set(i, x, i);
+        }
+        pop.get(5, y);
+        Assert.assertArrayEquals(x, y);
+        pop.close(); // closing twice must not harm
+      }
+    }
+  }
+
+  /** test the local optimum flags */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public final void testOptimum() {
+    final IntPopulation pop = new IntPopulation(3, 1);
+    pop.set(0, new int[] { 0 }, 3d);
+    pop.set(1, new int[] { 1 }, 1d);
+    pop.set(2, new int[] { 2 }, 2d);
+    pop.setOptimum(1, true);
+    pop.sort();
+    Assert.assertTrue(pop.isOptimum(0));
+    Assert.assertFalse(pop.isOptimum(1));
+    Assert.assertFalse(pop.isOptimum(2));
+  }
+}
@@ -1,5 +1,6 @@
 package aitoa.algorithms;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -60,4 +61,93 @@ public class TestUtils {
       }
     }
   }
+
+  /** test the hash based clearing */
+  @SuppressWarnings({ "static-method", "rawtypes", "unchecked" })
+  @Test(timeout = 3600000)
+  public final void testHashBasedClearing() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int test = 10000; (--test) >= 0;) {
+
+      final HashRecord[] source =
+          new HashRecord[random.nextInt(1, 1000)];
+      final HashSet<String> all = new HashSet<>();
+      for (int i = source.length; (--i) >= 0;) {
+        source[i] = new HashRecord(random, random.nextInt(0, 20),
+            random.nextInt(0, 4));
+        all.add(source[i].quality + "/" + source[i].hash); //$NON-NLS-1$
+      }
+      final HashRecord[] compare = source.clone();
+      final int mu = (source.length > 1)
+          ? random.nextInt(1, source.length) : 1;
+      final int u = Utils.hashBasedClearing(source, mu);
+      Assert.assertEquals(Math.min(mu, all.size()), u);
+
+      final HashSet<String> front = new HashSet<>(u);
+      double lastQuality = Double.NEGATIVE_INFINITY;
+      for (int i = 0; i < u; i++) {
+        TestTools.assertGreaterOrEqual(source[i].quality,
+            lastQuality);
+        lastQuality = source[i].quality;
+        Assert.assertTrue(front.add(
+            source[i].quality + "/" + source[i].hash)); //$NON-NLS-1$
+      }
+      for (int i = compare.length; (--i) >= u;) {
+        if (!front.contains(
+            source[i].quality + "/" + source[i].hash)) { //$NON-NLS-1$
+          TestTools.assertGreaterOrEqual(source[i].quality,
+              lastQuality);
+        }
+      }
+
+      for (int i = compare.length; (--i) >= 0;) {
+        int count = 0;
+        for (int j = source.length; (--j) >= 0;) {
+          if (compare[i] == source[j]) {
+            ++count;
+          }
+        }
+        Assert.assertEquals(1, count);
+      }
+    }
+  }
+
+  /** test selecting and sorting the best records */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public final void testSelectAndSortBest() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int test = 3000; (--test) >= 0;) {
+      final Record<?>[] source =
+          new Record<?>[random.nextInt(1, 2000)];
+      final int range = random.nextInt(1, 3000);
+      for (int i = source.length; (--i) >= 0;) {
+        source[i] = new Record<>(random, random.nextInt(range));
+      }
+      final Record<?>[] sorted = source.clone();
+      Arrays.sort(sorted, Record.BY_QUALITY);
+      final int k = random.nextInt(1, source.length + 1);
+
+      final Record<?>[] selected = source.clone();
+      Utils.selectBest(selected, k);
+      final Record<?>[] front = Arrays.copyOf(selected, k);
+      Arrays.sort(front, Record.BY_QUALITY);
+      for (int i = k; (--i) >= 0;) {
+        Assert.assertEquals(sorted[i].quality, front[i].quality,
+            0d);
+      }
+      for (int i = selected.length; (--i) >= k;) {
+        TestTools.assertGreaterOrEqual(selected[i].quality,
+            sorted[k - 1].quality);
+      }
+      Assert.assertEquals(new HashSet<>(Arrays.asList(source)),
+          new HashSet<>(Arrays.asList(selected)));
+
+      Utils.sortBest(source, k);
+      for (int i = k; (--i) >= 0;) {
+        Assert.assertEquals(sorted[i].quality, source[i].quality,
+            0d);
+      }
+    }
+  }
 }
@@ -0,0 +1,25 @@
+package aitoa.algorithms.bitstrings;
+
+import aitoa.algorithms.EAWithClearing;
+import aitoa.searchSpaces.bitstrings.BitStringBinaryOperatorUniform;
+import aitoa.searchSpaces.bitstrings.BitStringNullaryOperator;
+import aitoa.searchSpaces.bitstrings.BitStringUnaryOperator1Flip;
+import aitoa.structure.IMetaheuristic;
+
+/**
+ * Test the evolutionary algorithm with clearing based on
+ * genotype hashes
+ */
+public class TestEAWithClearingHashing
+    extends TestBitStringMetaheuristic {
+
+  /** {@inheritDoc} */
+  @Override
+  protected IMetaheuristic<boolean[], boolean[]>
+      createMetaheuristic(final int pN, final int pUB) {
+    return new EAWithClearing<>(new BitStringNullaryOperator(),
+        new BitStringUnaryOperator1Flip(pN),
+        new BitStringBinaryOperatorUniform(), 0.3d, 16, 16,
+        true);
+  }
+}
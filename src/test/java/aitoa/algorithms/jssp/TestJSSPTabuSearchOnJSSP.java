@@ -0,0 +1,23 @@
+package aitoa.algorithms.jssp;
+
+import aitoa.examples.jssp.JSSPCandidateSolution;
+import aitoa.examples.jssp.JSSPInstance;
+import aitoa.examples.jssp.JSSPNullaryOperator;
+import aitoa.examples.jssp.JSSPTabuSearch;
+import aitoa.structure.IMetaheuristic;
+
+/**
+ * Test the {@linkplain aitoa.examples.jssp.JSSPTabuSearch tabu
+ * search} with the N7 neighborhood on the JSSP
+ */
+public class TestJSSPTabuSearchOnJSSP
+    extends TestMetaheuristicOnJSSP {
+
+  /** {@inheritDoc} */
+  @Override
+  protected IMetaheuristic<int[], JSSPCandidateSolution>
+      getAlgorithm(final JSSPInstance instance) {
+    return new JSSPTabuSearch(new JSSPNullaryOperator(instance),
+        instance, true, 8, 1000);
+  }
+}
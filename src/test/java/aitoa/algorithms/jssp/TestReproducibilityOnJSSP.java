@@ -0,0 +1,223 @@
+package aitoa.algorithms.jssp;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aitoa.algorithms.EA;
+import aitoa.algorithms.HillClimber2;
+import aitoa.algorithms.HillClimber2WithRestarts;
+import aitoa.algorithms.MA;
+import aitoa.examples.jssp.JSSPBinaryOperatorSequence;
+import aitoa.examples.jssp.JSSPCandidateSolution;
+import aitoa.examples.jssp.JSSPInstance;
+import aitoa.examples.jssp.JSSPMakespanObjectiveFunction;
+import aitoa.examples.jssp.JSSPNullaryOperator;
+import aitoa.examples.jssp.JSSPRepresentationMapping;
+import aitoa.examples.jssp.JSSPSearchSpace;
+import aitoa.examples.jssp.JSSPSolutionSpace;
+import aitoa.examples.jssp.JSSPUnaryOperator12Swap;
+import aitoa.examples.jssp.JSSPUnaryOperator1Swap;
+import aitoa.structure.BlackBoxProcessBuilder;
+import aitoa.structure.IBlackBoxProcess;
+import aitoa.structure.IMetaheuristic;
+import aitoa.structure.LogFormat;
+import aitoa.utils.XoshiroRandom;
+
+/**
+ * Test that runs of an algorithm are reproducible for a given
+ * random seed and random number generator
+ */
+public class TestReproducibilityOnJSSP {
+
+  /**
+   * Create a builder
+   *
+   * @param instance
+   *          the instance
+   * @param seed
+   *          the random seed
+   * @param factory
+   *          the random number generator factory
+   * @return the builder
+   */
+  private static BlackBoxProcessBuilder<int[],
+      JSSPCandidateSolution> builder(final JSSPInstance instance,
+          final long seed,
+          final LongFunction<? extends Random> factory) {
+    return new BlackBoxProcessBuilder<int[],
+        JSSPCandidateSolution>()//
+            .setSearchSpace(new JSSPSearchSpace(instance))//
+            .setSolutionSpace(new JSSPSolutionSpace(instance))//
+            .setObjectiveFunction(
+                new JSSPMakespanObjectiveFunction(instance))//
+            .setRepresentationMapping(
+                new JSSPRepresentationMapping(instance))
+            .setMaxFEs(3000L)//
+            .setRandSeed(seed)//
+            .setRandomFactory(factory);
+  }
+
+  /**
+   * Run an algorithm
+   *
+   * @param instance
+   *          the instance
+   * @param seed
+   *          the random seed
+   * @param factory
+   *          the random number generator factory
+   * @param algorithm
+   *          the algorithm
+   * @param fes
+   *          receives the consumed FEs at index 0
+   * @return the best point in the search space
+   */
+  private static int[] run(final JSSPInstance instance,
+      final long seed,
+      final LongFunction<? extends Random> factory,
+      final IMetaheuristic<int[],
+          JSSPCandidateSolution> algorithm,
+      final long[] fes) {
+    try (final IBlackBoxProcess<int[], JSSPCandidateSolution> p =
+        TestReproducibilityOnJSSP
+            .builder(instance, seed, factory).get()) {
+      algorithm.solve(p);
+      final int[] x = p.getSearchSpace().create();
+      p.getBestX(x);
+      fes[0] = p.getConsumedFEs();
+      return x;
+    } catch (final IOException ioe) {
+      throw new AssertionError(ioe);
+    }
+  }
+
+  /**
+   * Run the EA
+   *
+   * @param instance
+   *          the instance
+   * @param seed
+   *          the random seed
+   * @param factory
+   *          the random number generator factory
+   * @return the best point in the search space
+   */
+  private static int[] run(final JSSPInstance instance,
+      final long seed,
+      final LongFunction<? extends Random> factory) {
+    return TestReproducibilityOnJSSP.run(instance, seed, factory,
+        new EA<>(new JSSPNullaryOperator(instance), //
+            new JSSPUnaryOperator1Swap(), //
+            new JSSPBinaryOperatorSequence(instance), //
+            0.3d, 8, 8),
+        new long[1]);
+  }
+
+  /**
+   * Check that an algorithm with parallel neighborhood
+   * enumeration follows the same trajectory as the sequential
+   * one
+   *
+   * @param sequential
+   *          the sequential algorithm
+   * @param parallel
+   *          the parallel algorithm
+   */
+  private static void checkParallel(
+      final IMetaheuristic<int[],
+          JSSPCandidateSolution> sequential,
+      final IMetaheuristic<int[],
+          JSSPCandidateSolution> parallel) {
+    final JSSPInstance instance = new JSSPInstance("abz7"); //$NON-NLS-1$
+    final long seed = ThreadLocalRandom.current().nextLong();
+    final long[] fes1 = new long[1];
+    final long[] fes2 = new long[1];
+    Assert.assertArrayEquals(
+        TestReproducibilityOnJSSP.run(instance, seed, null,
+            sequential, fes1),
+        TestReproducibilityOnJSSP.run(instance, seed, null,
+            parallel, fes2));
+    Assert.assertEquals(fes1[0], fes2[0]);
+  }
+
+  /** test that parallel neighborhood enumeration is exact */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testParallelNeighborhood() {
+    final JSSPInstance instance = new JSSPInstance("abz7"); //$NON-NLS-1$
+    TestReproducibilityOnJSSP.checkParallel(
+        new HillClimber2<>(new JSSPNullaryOperator(instance),
+            new JSSPUnaryOperator12Swap()),
+        new HillClimber2<>(new JSSPNullaryOperator(instance),
+            new JSSPUnaryOperator12Swap(), 4));
+    TestReproducibilityOnJSSP.checkParallel(
+        new HillClimber2WithRestarts<>(
+            new JSSPNullaryOperator(instance),
+            new JSSPUnaryOperator1Swap()),
+        new HillClimber2WithRestarts<>(
+            new JSSPNullaryOperator(instance),
+            new JSSPUnaryOperator1Swap(), 3));
+    TestReproducibilityOnJSSP.checkParallel(
+        new MA<>(new JSSPNullaryOperator(instance),
+            new JSSPUnaryOperator1Swap(),
+            new JSSPBinaryOperatorSequence(instance), 4, 4,
+            Integer.MAX_VALUE),
+        new MA<>(new JSSPNullaryOperator(instance),
+            new JSSPUnaryOperator1Swap(),
+            new JSSPBinaryOperatorSequence(instance), 4, 4,
+            Integer.MAX_VALUE, 2));
+  }
+
+  /**
+   * Check that two runs with the same seed are identical
+   *
+   * @param factory
+   *          the random number generator factory
+   */
+  private static void
+      check(final LongFunction<? extends Random> factory) {
+    final JSSPInstance instance = new JSSPInstance("abz7"); //$NON-NLS-1$
+    for (int test = 5; (--test) >= 0;) {
+      final long seed = ThreadLocalRandom.current().nextLong();
+      Assert.assertArrayEquals(
+          TestReproducibilityOnJSSP.run(instance, seed, factory),
+          TestReproducibilityOnJSSP.run(instance, seed,
+              factory));
+    }
+  }
+
+  /** test reproducibility with the default generator */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testDefaultRandom() {
+    TestReproducibilityOnJSSP.check(null);
+  }
+
+  /** test reproducibility with the xoshiro256** generator */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testXoshiroRandom() {
+    TestReproducibilityOnJSSP.check(XoshiroRandom::new);
+  }
+
+  /** test that the generator is recorded in the setup */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testGeneratorIsLogged() {
+    final JSSPInstance instance = new JSSPInstance("demo"); //$NON-NLS-1$
+    Assert.assertFalse(TestReproducibilityOnJSSP
+        .builder(instance, 1L, null).toString()
+        .contains(LogFormat.RANDOM_GENERATOR));
+    final String setup = TestReproducibilityOnJSSP
+        .builder(instance, 1L, XoshiroRandom::new).toString();
+    Assert.assertTrue(setup.contains(LogFormat.mapEntry(
+        LogFormat.RANDOM_GENERATOR,
+        XoshiroRandom.class.getName())));
+    Assert.assertTrue(setup.contains(LogFormat.RANDOM_SEED));
+  }
+}
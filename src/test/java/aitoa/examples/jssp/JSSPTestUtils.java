@@ -53,19 +53,21 @@ public final class JSSPTestUtils {
       final JSSPInstance inst) {
     Assert.assertNotNull(y);
 
-    final int[][] schedule = y.schedule;
+    final int[] sched = y.schedule;
 
-    Assert.assertEquals(inst.m, schedule.length);
+    Assert.assertEquals(inst.m, y.m);
+    Assert.assertEquals(inst.n, y.n);
+    Assert.assertEquals(3 * inst.n * inst.m, sched.length);
     final boolean[] done = new boolean[inst.n];
 
     final int[][] jobPerspective = new int[inst.n][2 * inst.m];
 
     for (int mach = 0; mach < inst.m; mach++) {
-      final int[] sched = schedule[mach];
-      Assert.assertEquals(3 * inst.n, sched.length);
+      Assert.assertEquals(3 * inst.n * mach, y.offset(mach));
       Arrays.fill(done, false);
       int time = 0;
-      for (int i = 0; i < sched.length;) {
+      final int last = y.offset(mach) + (3 * inst.n);
+      for (int i = y.offset(mach); i < last;) {
         final int jobid = sched[i++];
         final int start = sched[i++];
         final int end = sched[i++];
@@ -18,11 +18,36 @@ public class TestJSSPCandidateSolution {
     for (int m = 1; m < 10; m++) {
       for (int n = 1; n < 10; n++) {
         x = new JSSPCandidateSolution(m, n);
-        Assert.assertEquals(m, x.schedule.length);
-        for (final int[] mm : x.schedule) {
-          Assert.assertEquals(3 * n, mm.length);
+        Assert.assertEquals(m, x.m);
+        Assert.assertEquals(n, x.n);
+        Assert.assertEquals(3 * m * n, x.schedule.length);
+        for (int k = m; (--k) >= 0;) {
+          Assert.assertEquals(3 * n * k, x.offset(k));
         }
       }
     }
   }
+
+  /** test the accessors and the creation from arrays */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testAccess() {
+    final int[][] data = new int[4][6];
+    final JSSPCandidateSolution x =
+        new JSSPCandidateSolution(4, 2);
+    int value = 0;
+    for (int k = 0; k < 4; k++) {
+      for (int i = 0; i < 6; i++) {
+        data[k][i] = ++value;
+        x.set(k, i, value);
+        Assert.assertEquals(value, x.get(k, i));
+        Assert.assertEquals(value, x.schedule[(k * 6) + i]);
+      }
+    }
+    final JSSPCandidateSolution y =
+        new JSSPCandidateSolution(data);
+    Assert.assertEquals(4, y.m);
+    Assert.assertEquals(2, y.n);
+    Assert.assertArrayEquals(x.schedule, y.schedule);
+  }
 }
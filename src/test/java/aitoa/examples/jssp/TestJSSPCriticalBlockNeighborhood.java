@@ -0,0 +1,114 @@
+package aitoa.examples.jssp;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aitoa.TestTools;
+
+/** Test the critical block neighborhoods of the JSSP */
+public class TestJSSPCriticalBlockNeighborhood {
+
+  /**
+   * Check the moves of both neighborhoods for random points of
+   * an instance
+   *
+   * @param instance
+   *          the instance
+   */
+  private static void check(final JSSPInstance instance) {
+    final JSSPRepresentationMapping mapping =
+        new JSSPRepresentationMapping(instance);
+    final JSSPCriticalBlockNeighborhood n5 =
+        new JSSPCriticalBlockNeighborhood(instance, false);
+    final JSSPCriticalBlockNeighborhood n7 =
+        new JSSPCriticalBlockNeighborhood(instance, true);
+    final JSSPCandidateSolution y =
+        new JSSPCandidateSolution(instance.m, instance.n);
+    final JSSPCandidateSolution y2 =
+        new JSSPCandidateSolution(instance.m, instance.n);
+    final int[] x = new int[instance.m * instance.n];
+    final int[] dest = new int[x.length];
+    final int[] expected = new int[instance.n];
+
+    for (int i = 100; (--i) >= 0;) {
+      JSSPTestUtils.randomX(x, instance);
+      mapping.map(null, x, y);
+
+      final HashSet<List<Integer>> movesN5 = new HashSet<>();
+      final int countN5 = n5.computeMoves(y);
+      for (int move = countN5; (--move) >= 0;) {
+        Assert.assertTrue(movesN5.add(Arrays.asList(
+            Integer.valueOf(n5.getMoveMachine(move)),
+            Integer.valueOf(n5.getMoveFrom(move)),
+            Integer.valueOf(n5.getMoveTo(move)))));
+        Assert.assertTrue(n5.applyMove(move, y, dest));
+      }
+
+      final HashSet<List<Integer>> movesN7 = new HashSet<>();
+      final int countN7 = n7.computeMoves(y);
+      TestTools.assertGreaterOrEqual(countN7, countN5);
+      for (int move = countN7; (--move) >= 0;) {
+        final int machine = n7.getMoveMachine(move);
+        final int from = n7.getMoveFrom(move);
+        final int to = n7.getMoveTo(move);
+        TestTools.assertValidIndex(machine, instance.m);
+        TestTools.assertValidIndex(from, instance.n);
+        TestTools.assertValidIndex(to, instance.n);
+        Assert.assertNotEquals(from, to);
+        Assert.assertTrue(movesN7.add(Arrays.asList(
+            Integer.valueOf(machine), Integer.valueOf(from),
+            Integer.valueOf(to))));
+
+        if (!n7.applyMove(move, y, dest)) {
+          continue;
+        }
+        JSSPTestUtils.assertX(dest, instance);
+        mapping.map(null, dest, y2);
+        JSSPTestUtils.assertY(y2, instance);
+
+// the machine sequences must be those of y with the move
+        for (int k = instance.m; (--k) >= 0;) {
+          for (int p = instance.n; (--p) >= 0;) {
+            expected[p] = y.get(k, 3 * p);
+          }
+          if (k == machine) {
+            final int job = expected[from];
+            if (from < to) {
+              System.arraycopy(expected, from + 1, expected,
+                  from, to - from);
+            } else {
+              System.arraycopy(expected, to, expected, to + 1,
+                  from - to);
+            }
+            expected[to] = job;
+          }
+          for (int p = instance.n; (--p) >= 0;) {
+            Assert.assertEquals(expected[p], y2.get(k, 3 * p));
+          }
+        }
+      }
+      Assert.assertTrue(movesN7.containsAll(movesN5));
+    }
+  }
+
+  /** test the neighborhoods on the demo instance */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testDemo() {
+    TestJSSPCriticalBlockNeighborhood
+        .check(new JSSPInstance("demo")); //$NON-NLS-1$
+  }
+
+  /** test the neighborhoods on the experiment instances */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testInstances() {
+    for (final JSSPInstance instance : JSSPTestUtils.INSTANCS) {
+      TestJSSPCriticalBlockNeighborhood.check(instance);
+    }
+  }
+}
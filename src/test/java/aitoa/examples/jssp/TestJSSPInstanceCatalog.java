@@ -0,0 +1,165 @@
+package aitoa.examples.jssp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aitoa.utils.TempDir;
+
+/** A Test for the JSSP instance catalog */
+public class TestJSSPInstanceCatalog {
+
+  /** test the default catalog */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testDefault() {
+    final JSSPInstanceCatalog catalog =
+        JSSPInstanceCatalog.getDefault();
+    final List<String> names = catalog.getInstances();
+    Assert.assertEquals(242, names.size());
+    Assert.assertSame(names, JSSPInstance.getAllInstances());
+    Assert.assertFalse(catalog.contains("demo")); //$NON-NLS-1$
+    Assert.assertTrue(catalog.contains("ABZ5")); //$NON-NLS-1$
+
+    for (final String name : names) {
+      final JSSPInstance inst = catalog.getInstance(name);
+      Assert.assertEquals(name, inst.id);
+      Assert.assertTrue(catalog.getLowerBound(name) <= catalog
+          .getBKS(name));
+      Assert.assertTrue(new JSSPMakespanObjectiveFunction(inst)
+          .lowerBound() <= catalog.getLowerBound(name));
+    }
+
+    Assert.assertEquals(1234, catalog.getLowerBound("abz5")); //$NON-NLS-1$
+    Assert.assertEquals(1234, catalog.getBKS("abz5")); //$NON-NLS-1$
+  }
+
+  /** test that the cached data cannot be modified */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testDataIsCopied() {
+    final JSSPInstanceCatalog catalog =
+        JSSPInstanceCatalog.getDefault();
+    final int[][] a = catalog.getData("la01"); //$NON-NLS-1$
+    final int[][] b = catalog.getData("la01"); //$NON-NLS-1$
+    Assert.assertNotSame(a, b);
+    Assert.assertTrue(Arrays.deepEquals(a, b));
+    a[0][1] = -1;
+    Assert.assertTrue(Arrays.deepEquals(b,
+        catalog.getData("la01"))); //$NON-NLS-1$
+  }
+
+  /** test loading an unknown instance */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000,
+      expected = IllegalArgumentException.class)
+  public void testUnknown() {
+    JSSPInstanceCatalog.getDefault().getData("xyz"); //$NON-NLS-1$
+  }
+
+  /**
+   * test loading a file in the OR-Library format
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testLoadORLibrary() throws IOException {
+    try (final TempDir dir = new TempDir()) {
+      final Path file = dir.getPath().resolve("orlib.txt"); //$NON-NLS-1$
+      Files.write(file, Arrays.asList(//
+          " +++++++++++++++++++++++++++++", //$NON-NLS-1$
+          " instance a", //$NON-NLS-1$
+          " +++++++++++++++++++++++++++++", //$NON-NLS-1$
+          " the first instance", //$NON-NLS-1$
+          " 2 2", //$NON-NLS-1$
+          " 0 1 1 2", //$NON-NLS-1$
+          " 1 3 0 4", //$NON-NLS-1$
+          " +++++++++++++++++++++++++++++", //$NON-NLS-1$
+          " instance b", //$NON-NLS-1$
+          " +++++++++++++++++++++++++++++", //$NON-NLS-1$
+          " the second instance", //$NON-NLS-1$
+          " 1 2", //$NON-NLS-1$
+          " 1 5 0 6", //$NON-NLS-1$
+          " +++++++++++++++++++++++++++++")); //$NON-NLS-1$
+
+      final JSSPInstanceCatalog catalog =
+          JSSPInstanceCatalog.load(file);
+      Assert.assertEquals(Arrays.asList("a", "b"), //$NON-NLS-1$//$NON-NLS-2$
+          catalog.getInstances());
+      Assert.assertTrue(Arrays.deepEquals(
+          new int[][] { { 0, 1, 1, 2 }, { 1, 3, 0, 4 } },
+          catalog.getData("a"))); //$NON-NLS-1$
+      Assert.assertTrue(Arrays.deepEquals(
+          new int[][] { { 1, 5, 0, 6 } },
+          catalog.getData("B"))); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * test loading a file in Taillard's format
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testLoadTaillard() throws IOException {
+    try (final TempDir dir = new TempDir()) {
+      final Path file = dir.getPath().resolve("tai.txt"); //$NON-NLS-1$
+      Files.write(file, Arrays.asList(//
+          "Nb of jobs, Nb of Machines, Time seed, Machine seed, Upper bound, Lower bound :", //$NON-NLS-1$
+          "           2           3    840612802   398197754   21   17", //$NON-NLS-1$
+          "Times", //$NON-NLS-1$
+          " 1 2 3", //$NON-NLS-1$
+          " 4 5 6", //$NON-NLS-1$
+          "Machines", //$NON-NLS-1$
+          " 1 2 3", //$NON-NLS-1$
+          " 3 1 2")); //$NON-NLS-1$
+
+      final JSSPInstanceCatalog catalog =
+          JSSPInstanceCatalog.load(file);
+      Assert.assertEquals(Arrays.asList("tai"), //$NON-NLS-1$
+          catalog.getInstances());
+      Assert.assertTrue(Arrays.deepEquals(
+          new int[][] { { 0, 1, 1, 2, 2, 3 },
+              { 2, 4, 0, 5, 1, 6 } },
+          catalog.getData("tai"))); //$NON-NLS-1$
+      Assert.assertEquals(17, catalog.getLowerBound("tai")); //$NON-NLS-1$
+      Assert.assertEquals(21, catalog.getBKS("tai")); //$NON-NLS-1$
+      Assert.assertEquals(3, catalog.getInstance("tai").m); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * test loading a file with a single instance without header
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testLoadPlain() throws IOException {
+    try (final TempDir dir = new TempDir()) {
+      final Path file = dir.getPath().resolve("x.jsp"); //$NON-NLS-1$
+      Files.write(file, Arrays.asList(//
+          "2 1", //$NON-NLS-1$
+          "0 7", //$NON-NLS-1$
+          "0 8")); //$NON-NLS-1$
+
+      final JSSPInstanceCatalog catalog =
+          JSSPInstanceCatalog.load(file);
+      Assert.assertEquals(Arrays.asList("x"), //$NON-NLS-1$
+          catalog.getInstances());
+      Assert.assertTrue(Arrays.deepEquals(
+          new int[][] { { 0, 7 }, { 0, 8 } },
+          catalog.getData("x"))); //$NON-NLS-1$
+    }
+  }
+}
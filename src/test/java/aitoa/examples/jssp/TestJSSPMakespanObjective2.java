@@ -1,12 +1,17 @@
 package aitoa.examples.jssp;
 
+import java.io.IOException;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import aitoa.algorithms.EA1p1;
+import aitoa.structure.BlackBoxProcessBuilder;
+import aitoa.structure.IBlackBoxProcess;
 import aitoa.structure.IObjectiveFunction;
 import aitoa.structure.IObjectiveFunctionTest;
+import aitoa.utils.TempDir;
 
 /** A Test for the JSSP MakeSpan Objective Function */
 public class TestJSSPMakespanObjective2
@@ -61,4 +66,119 @@ public class TestJSSPMakespanObjective2
           TestJSSPMakespanObjective2.F.evaluate(x), 0d);
     }
   }
+
+  /** test the fusion with the representation mapping */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testFuse() {
+    final IObjectiveFunction<int[]> fused =
+        TestJSSPMakespanObjective2.F2
+            .fuse(TestJSSPMakespanObjective2.MAPPING);
+    Assert.assertTrue(
+        fused instanceof JSSPMakespanObjectiveFunction2);
+    Assert.assertNull(TestJSSPMakespanObjective2.F2
+        .fuse(new JSSPRepresentationMapping(
+            new JSSPInstance("abz5")))); //$NON-NLS-1$
+
+    final ThreadLocalRandom r = ThreadLocalRandom.current();
+    final JSSPCandidateSolution y = new JSSPCandidateSolution(
+        TestJSSPMakespanObjective2.PROBLEM.m,
+        TestJSSPMakespanObjective2.PROBLEM.n);
+    for (int i = 100; (--i) >= 0;) {
+      final int[] x = JSSPTestUtils
+          .createValidX(TestJSSPMakespanObjective2.PROBLEM);
+      TestJSSPMakespanObjective2.MAPPING.map(r, x, y);
+      final double f =
+          TestJSSPMakespanObjective2.F2.evaluate(y);
+      Assert.assertEquals(f, fused.evaluate(x), 0d);
+      Assert.assertEquals(f, fused.evaluate(x, f + 1d), 0d);
+      final double bound = fused.evaluate(x, f - 1d);
+      Assert.assertTrue(bound >= (f - 1d));
+      Assert.assertTrue(bound <= f);
+    }
+  }
+
+  /**
+   * Run an EA on a process using the fused objective function
+   * and check that the best candidate solution is exact
+   *
+   * @param builder
+   *          the builder
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static void runFused(
+      final BlackBoxProcessBuilder<int[],
+          JSSPCandidateSolution> builder)
+      throws IOException {
+    final JSSPInstance inst = TestJSSPMakespanObjective2.PROBLEM;
+    builder.setSearchSpace(new JSSPSearchSpace(inst));
+    builder.setSolutionSpace(new JSSPSolutionSpace(inst));
+    builder.setRepresentationMapping(
+        new JSSPRepresentationMapping(inst));
+    builder.setObjectiveFunction(
+        new JSSPMakespanObjectiveFunction(inst));
+    builder.setMaxFEs(2000L);
+
+    try (final IBlackBoxProcess<int[],
+        JSSPCandidateSolution> process = builder.get()) {
+      Assert.assertEquals(!builder.isLoggingAll(),
+          process.canEvaluateBounded());
+      new EA1p1<int[], JSSPCandidateSolution>(
+          new JSSPNullaryOperator(inst),
+          new JSSPUnaryOperator1Swap()).solve(process);
+
+      final int[] x = process.getSearchSpace().create();
+      process.getBestX(x);
+      final JSSPCandidateSolution y =
+          new JSSPCandidateSolution(inst.m, inst.n);
+      process.getBestY(y);
+      Assert.assertEquals(process.getBestF(),
+          TestJSSPMakespanObjective2.F2.evaluate(y), 0d);
+
+      final JSSPCandidateSolution z =
+          new JSSPCandidateSolution(inst.m, inst.n);
+      new JSSPRepresentationMapping(inst)
+          .map(ThreadLocalRandom.current(), x, z);
+      Assert.assertArrayEquals(z.schedule, y.schedule);
+    }
+  }
+
+  /**
+   * test that processes using the fused objective function
+   * provide the exact best candidate solution
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testFusedProcess() throws IOException {
+    TestJSSPMakespanObjective2
+        .runFused(new BlackBoxProcessBuilder<>());
+
+    try (final TempDir dir = new TempDir()) {
+      final BlackBoxProcessBuilder<int[],
+          JSSPCandidateSolution> builder =
+              new BlackBoxProcessBuilder<>();
+      builder.setLogPath(dir.getPath().resolve("log.txt")); //$NON-NLS-1$
+      TestJSSPMakespanObjective2.runFused(builder);
+
+      final BlackBoxProcessBuilder<int[],
+          JSSPCandidateSolution> builderAll =
+              new BlackBoxProcessBuilder<>();
+      builderAll.setLogPath(dir.getPath().resolve("all.txt")); //$NON-NLS-1$
+      builderAll.setLogAll(true);
+      TestJSSPMakespanObjective2.runFused(builderAll);
+
+      final BlackBoxProcessBuilder<int[],
+          JSSPCandidateSolution> builderThinned =
+              new BlackBoxProcessBuilder<>();
+      builderThinned.setLogPath(
+          dir.getPath().resolve("thinned.txt")); //$NON-NLS-1$
+      builderThinned.setLogAll(true);
+      builderThinned.setLogThinned(true);
+      TestJSSPMakespanObjective2.runFused(builderThinned);
+    }
+  }
 }
@@ -50,10 +50,9 @@ public class TestJSSPSolutionSpace
   protected void assertEquals(final JSSPCandidateSolution a,
       final JSSPCandidateSolution b) {
     if (a != b) {
-      Assert.assertEquals(a.schedule.length, b.schedule.length);
-      for (int i = a.schedule.length; (--i) >= 0;) {
-        Assert.assertArrayEquals(a.schedule[i], b.schedule[i]);
-      }
+      Assert.assertEquals(a.m, b.m);
+      Assert.assertEquals(a.n, b.n);
+      Assert.assertArrayEquals(a.schedule, b.schedule);
     }
   }
 
@@ -94,8 +93,8 @@ public class TestJSSPSolutionSpace
         int l;
         do {
           l = random.nextInt();
-        } while (l == a.schedule[z][y]);
-        a.schedule[z][y] = l;
+        } while (l == a.get(z, y));
+        a.set(z, y, l);
         need = false;
       }
     }
@@ -96,12 +96,8 @@ public class TestJSSPACOSpace extends ISpaceTest<JSSPACORecord> {
   protected void assertEquals(final JSSPACORecord a,
       final JSSPACORecord b) {
     if (a != b) {
-      final int[][] sa = a.solution.schedule;
-      final int[][] sb = b.solution.schedule;
-      Assert.assertEquals(sa.length, sb.length);
-      for (int i = sa.length; (--i) >= 0;) {
-        Assert.assertArrayEquals(sa[i], sb[i]);
-      }
+      Assert.assertArrayEquals(a.solution.schedule,
+          b.solution.schedule);
       Assert.assertArrayEquals(a.permutation, b.permutation);
       Assert.assertEquals(a.makespan, b.makespan);
     }
@@ -119,9 +115,10 @@ public class TestJSSPACOSpace extends ISpaceTest<JSSPACORecord> {
         break;
       }
       case 1: {
-        final int[] x = a.solution.schedule[random
-            .nextInt(a.solution.schedule.length)];
-        final int idx = 3 * random.nextInt(1, x.length / 3);
+        final int[] x = a.solution.schedule;
+        final int idx = a.solution.offset(
+            random.nextInt(a.solution.m))
+            + (3 * random.nextInt(1, a.solution.n));
         x[idx + 1] = x[idx - 1] - 1;
         break;
       }
@@ -91,7 +91,7 @@ public class TestJSSPPACOModelAge
       final JSSPACORecord b) {
     return (a.makespan == b.makespan)
         && Arrays.equals(a.permutation, b.permutation)
-        && Arrays.deepEquals(a.solution.schedule,
+        && Arrays.equals(a.solution.schedule,
             b.solution.schedule);
   }
 }
@@ -0,0 +1,90 @@
+package aitoa.searchSpaces.trees;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aitoa.searchSpaces.trees.math.TestFunctionNodeTypeSet;
+
+/** test the flat tree representation */
+public class TestFlatTree {
+
+  /** the maximum depth */
+  private static final int MAX_DEPTH = 6;
+
+  /** the space */
+  private final FlatTreeSpace mSpace;
+  /** the nullary operator */
+  private final TreeNullaryOperator mNullary;
+
+  /** create the test */
+  public TestFlatTree() {
+    super();
+    this.mSpace = new FlatTreeSpace(TestFlatTree.MAX_DEPTH);
+    this.mNullary = new TreeNullaryOperator(
+        TestFunctionNodeTypeSet.makeMathNodeTypeSet(),
+        TestFlatTree.MAX_DEPTH);
+  }
+
+  /**
+   * create a random node
+   *
+   * @param random
+   *          the random number generator
+   * @return the node
+   */
+  private Node createNode(final Random random) {
+    final Node[] dest = new Node[1];
+    this.mNullary.apply(dest, random);
+    return dest[0];
+  }
+
+  /** test the conversion from and to nodes */
+  @Test(timeout = 3600000)
+  public void testConversion() {
+    final Random random = ThreadLocalRandom.current();
+    for (int i = 1000; (--i) >= 0;) {
+      final Node n = this.createNode(random);
+      final FlatTree t = FlatTree.of(n);
+      this.mSpace.check(t);
+      Assert.assertSame(n, t.toNode());
+      Assert.assertEquals(n.weight(), t.size());
+      Assert.assertEquals(n.depth(), t.depth());
+      Assert.assertEquals(t.size(), t.getEnd(0));
+      Assert.assertEquals(1, t.getLevel(0));
+      for (int j = t.size(); (--j) >= 0;) {
+        Assert.assertEquals(t.getNode(j).weight(),
+            t.getEnd(j) - j);
+      }
+    }
+  }
+
+  /** test the replacement of sub-trees */
+  @Test(timeout = 3600000)
+  public void testReplace() {
+    final Random random = ThreadLocalRandom.current();
+    final FlatTree dest = new FlatTree();
+    for (int i = 1000; (--i) >= 0;) {
+      final FlatTree a = FlatTree.of(this.createNode(random));
+      final FlatTree b = FlatTree.of(this.createNode(random));
+      final int at = a.randomIndex(random);
+      final int from = b.randomIndex(random);
+
+      dest.replace(a, at, b, from);
+      Assert.assertSame(b.getNode(from), dest.getNode(at));
+      Assert.assertEquals(
+          (a.size() - (a.getEnd(at) - at))
+              + (b.getEnd(from) - from),
+          dest.size());
+      Assert.assertEquals(FlatTree.of(dest.toNode()), dest);
+      new FlatTreeSpace().check(dest);
+
+      final Node n = this.createNode(random);
+      dest.replace(b, from, n);
+      Assert.assertSame(n, dest.getNode(from));
+      new FlatTreeSpace().check(dest);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package aitoa.searchSpaces.trees;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import aitoa.TestTools;
+import aitoa.searchSpaces.trees.math.TestFunctionNodeTypeSet;
+import aitoa.structure.IBinarySearchOperatorTest;
+import aitoa.structure.ISpace;
+
+/** A test for the flat tree-based binary operator */
+@Ignore
+public class TestFlatTreeBinaryOperator
+    extends IBinarySearchOperatorTest<FlatTree> {
+
+  /** the space */
+  private final FlatTreeSpace mSpace;
+
+  /** the nullary operator */
+  private final FlatTreeNullaryOperator mNullary;
+  /** the binary operator */
+  private final FlatTreeBinaryOperator mBinary;
+
+  /**
+   * create the binary operator
+   *
+   * @param pMaxDepth
+   *          the maximum depth
+   */
+  public TestFlatTreeBinaryOperator(final int pMaxDepth) {
+    super();
+
+    this.mSpace = new FlatTreeSpace(pMaxDepth);
+    this.mNullary = new FlatTreeNullaryOperator(
+        TestFunctionNodeTypeSet.makeMathNodeTypeSet(),
+        pMaxDepth);
+    this.mBinary = new FlatTreeBinaryOperator(pMaxDepth);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected FlatTreeSpace getSpace() {
+    return this.mSpace;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected FlatTreeBinaryOperator
+      getOperator(final ISpace<FlatTree> space) {
+    return this.mBinary;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected FlatTree createValid() {
+    final FlatTree res = new FlatTree();
+    this.mNullary.apply(res, ThreadLocalRandom.current());
+    return res;
+  }
+
+  /**
+   * Ensure that sufficient different trees are created and that
+   * the depth of the trees is correct
+   */
+  @Test(timeout = 3600000)
+  public void testApplyValidAndDifferentAndDepthTest() {
+    final FlatTreeSpace space = this.getSpace();
+    final FlatTreeBinaryOperator op = this.getOperator(space);
+    final Random random = ThreadLocalRandom.current();
+    final int maxDepth = op.mMaxDepth;
+
+    final FlatTree copy1 = space.create();
+    final FlatTree copy2 = space.create();
+    final FlatTree dest = space.create();
+
+    final int max = Math.max(512, 100 * maxDepth);
+    int count = 0;
+    int different = 0;
+    for (int i = 0; (++i) <= max;) {
+      final FlatTree src1 = this.createValid();
+      space.check(src1);
+      space.copy(src1, copy1);
+      final FlatTree src2 = this.createValid();
+      space.check(src2);
+      space.copy(src2, copy2);
+
+      op.apply(src1, src2, dest, random);
+      Assert.assertTrue(this.equals(src1, copy1));
+      Assert.assertTrue(this.equals(src2, copy2));
+      space.check(dest);
+
+      if (!this.equals(src1, src2)) {
+        count++;
+        if ((!(this.equals(src1, dest)))
+            && (!(this.equals(src2, dest)))) {
+          different++;
+        }
+      }
+
+      TestTools.assertInRange(dest.depth(), 1,
+          Math.min(maxDepth, (src1.depth() + src2.depth()) - 1));
+    }
+
+    TestTools.assertGreater(count, max / 16);
+    TestTools.assertGreaterOrEqual(different, 1 + (count >>> 5));
+  }
+}
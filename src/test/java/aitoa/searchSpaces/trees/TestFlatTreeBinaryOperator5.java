@@ -0,0 +1,12 @@
+package aitoa.searchSpaces.trees;
+
+/** A test for the flat tree-based binary operator */
+public class TestFlatTreeBinaryOperator5
+    extends TestFlatTreeBinaryOperator {
+  /**
+   * create the binary operator test for max-depth 5
+   */
+  public TestFlatTreeBinaryOperator5() {
+    super(5);
+  }
+}
@@ -0,0 +1,80 @@
+package aitoa.searchSpaces.trees;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Assert;
+
+import aitoa.searchSpaces.trees.math.TestFunctionNodeTypeSet;
+import aitoa.structure.ISpaceTest;
+
+/** test the flat tree space */
+public class TestFlatTreeSpace extends ISpaceTest<FlatTree> {
+
+  /** the type set */
+  private final NodeTypeSet<?> mTypeSet;
+
+  /** the space */
+  private final FlatTreeSpace mSpace;
+
+  /** test a flat tree space */
+  public TestFlatTreeSpace() {
+    super();
+
+    this.mTypeSet =
+        TestFunctionNodeTypeSet.makeMathNodeTypeSet();
+    this.mSpace = new FlatTreeSpace();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public FlatTreeSpace getInstance() {
+    return this.mSpace;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected void fillWithRandomData(final FlatTree dest) {
+    final Random r = ThreadLocalRandom.current();
+    dest.assign(TestNodeType
+        .instantiate(this.mTypeSet.getRandomType(r), r, 0));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected int testCheckValidityTimes() {
+    return 2;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected FlatTree createValid() {
+    final FlatTree n = new FlatTree();
+    this.fillWithRandomData(n);
+    return n;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected FlatTree createInvalid() {
+    if (ThreadLocalRandom.current().nextBoolean()) {
+      return null;
+    }
+    return new FlatTree();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected void assertValid(final FlatTree a) {
+    Assert.assertNotNull(a);
+    Assert.assertNotNull(a.toNode());
+    TestNode.testNode(a.toNode());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected void assertEquals(final FlatTree a,
+      final FlatTree b) {
+    Assert.assertEquals(a, b);
+  }
+}
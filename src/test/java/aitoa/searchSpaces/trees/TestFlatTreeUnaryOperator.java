@@ -0,0 +1,109 @@
+package aitoa.searchSpaces.trees;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import aitoa.TestTools;
+import aitoa.searchSpaces.trees.math.TestFunctionNodeTypeSet;
+import aitoa.structure.ISpace;
+import aitoa.structure.IUnarySearchOperatorTest;
+
+/** A test for the flat tree-based unary operator */
+@Ignore
+public class TestFlatTreeUnaryOperator
+    extends IUnarySearchOperatorTest<FlatTree> {
+
+  /** the space */
+  private final FlatTreeSpace mSpace;
+
+  /** the nullary operator */
+  private final FlatTreeNullaryOperator mNullary;
+  /** the unary operator */
+  private final FlatTreeUnaryOperator mUnary;
+
+  /**
+   * create the unary operator
+   *
+   * @param pMaxDepth
+   *          the maximum depth
+   */
+  public TestFlatTreeUnaryOperator(final int pMaxDepth) {
+    super();
+
+    this.mSpace = new FlatTreeSpace(pMaxDepth);
+    this.mNullary = new FlatTreeNullaryOperator(
+        TestFunctionNodeTypeSet.makeMathNodeTypeSet(),
+        pMaxDepth);
+    this.mUnary = new FlatTreeUnaryOperator(pMaxDepth);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected FlatTreeSpace getSpace() {
+    return this.mSpace;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected FlatTreeUnaryOperator
+      getOperator(final ISpace<FlatTree> space) {
+    return this.mUnary;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  protected FlatTree createValid() {
+    final FlatTree res = new FlatTree();
+    this.mNullary.apply(res, ThreadLocalRandom.current());
+    return res;
+  }
+
+  /**
+   * Ensure that sufficient different trees are created and that
+   * the depth of the trees is correct
+   */
+  @Test(timeout = 3600000)
+  public void testApplyValidAndDifferentAndDepthTest() {
+    final FlatTreeSpace space = this.getSpace();
+    final FlatTreeUnaryOperator op = this.getOperator(space);
+    final Random random = ThreadLocalRandom.current();
+
+    final FlatTree copy = space.create();
+    final FlatTree dest = space.create();
+
+    final int maxDepth = op.mMaxDepth;
+    int count = 0;
+    int different = 0;
+    final int[] childDepths = new int[maxDepth];
+    final int max = Math.max(512, 100 * maxDepth);
+
+    for (; (++count) <= max;) {
+      final FlatTree src = this.createValid();
+      TestTools.assertInRange(src.depth(), 1, maxDepth);
+      space.check(src);
+      space.copy(src, copy);
+      op.apply(src, dest, random);
+      Assert.assertTrue(this.equals(src, copy));
+      space.check(dest);
+      if (!(this.equals(dest, src))) {
+        different++;
+      }
+
+      final int cd = dest.depth();
+      TestTools.assertInRange(cd, 1, maxDepth);
+      ++childDepths[cd - 1];
+    }
+
+    TestTools.assertGreaterOrEqual(different,
+        (count - (count >>> 3)));
+
+    final int min = Math.max(2, (max / maxDepth) >>> 4);
+    for (final int i : childDepths) {
+      TestTools.assertGreaterOrEqual(i, min);
+    }
+  }
+}
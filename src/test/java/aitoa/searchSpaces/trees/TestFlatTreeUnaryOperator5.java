@@ -0,0 +1,12 @@
+package aitoa.searchSpaces.trees;
+
+/** A test for the flat tree-based unary operator */
+public class TestFlatTreeUnaryOperator5
+    extends TestFlatTreeUnaryOperator {
+  /**
+   * create the unary operator test for max-depth 5
+   */
+  public TestFlatTreeUnaryOperator5() {
+    super(5);
+  }
+}
@@ -112,4 +112,35 @@ public abstract class IBinarySearchOperatorTest<X>
     TestTools.assertGreater(count, 32);
     TestTools.assertGreaterOrEqual(different, 1 + (count >>> 5));
   }
+
+  /**
+   * test that
+   * {@link IBinarySearchOperator#applyHashed(Object, long, Object, long, Object, Random)}
+   * produces the same point as
+   * {@link IBinarySearchOperator#apply(Object, Object, Object, Random)}
+   * and the correct hash of this point
+   */
+  @Test(timeout = 3600000)
+  public void testApplyHashed() {
+    final ISpace<X> space = this.getSpace();
+    final IBinarySearchOperator<X> op = this.getOperator(space);
+    if (!op.canHash()) {
+      return;
+    }
+    final X dest1 = space.create();
+    final X dest2 = space.create();
+
+    for (int i = 100; (--i) >= 0;) {
+      final X src1 = this.createValid();
+      final X src2 = this.createValid();
+      final long seed = ThreadLocalRandom.current().nextLong();
+      op.apply(src1, src2, dest1, new Random(seed));
+      final long hash = op.applyHashed(src1,
+          TestTools.hash(src1), src2, TestTools.hash(src2),
+          dest2, new Random(seed));
+      space.check(dest2);
+      Assert.assertTrue(this.equals(dest1, dest2));
+      Assert.assertEquals(TestTools.hash(dest2), hash);
+    }
+  }
 }
@@ -5,6 +5,7 @@ import java.util.Objects;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
+import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -87,4 +88,31 @@ public abstract class INullarySearchOperatorTest<X>
     TestTools.assertGreater(list.size(), 1);
     TestTools.assertLessOrEqual(list.size(), 100);
   }
+
+  /**
+   * test that
+   * {@link INullarySearchOperator#applyHashed(Object, Random)}
+   * produces the same point as
+   * {@link INullarySearchOperator#apply(Object, Random)} and the
+   * correct hash of this point
+   */
+  @Test(timeout = 3600000)
+  public void testApplyHashed() {
+    final ISpace<X> space = this.getSpace();
+    final INullarySearchOperator<X> op = this.getOperator(space);
+    if (!op.canHash()) {
+      return;
+    }
+    final X dest1 = space.create();
+    final X dest2 = space.create();
+
+    for (int i = 100; (--i) >= 0;) {
+      final long seed = ThreadLocalRandom.current().nextLong();
+      op.apply(dest1, new Random(seed));
+      final long hash = op.applyHashed(dest2, new Random(seed));
+      space.check(dest2);
+      Assert.assertTrue(this.equals(dest1, dest2));
+      Assert.assertEquals(TestTools.hash(dest2), hash);
+    }
+  }
 }
@@ -41,4 +41,33 @@ public abstract class IObjectiveFunctionTest<Y>
       TestTools.assertLessOrEqual(d, ub);
     }
   }
+
+  /**
+   * test that the
+   * {@link IObjectiveFunction#evaluate(Object, double)} method
+   * is exact below the cutoff and returns a lower bound reaching
+   * the cutoff otherwise, unless it cannot stop early and thus
+   * is always exact
+   */
+  @Test(timeout = 3600000)
+  public void testEvaluateWithCutoff() {
+    final IObjectiveFunction<Y> f = this.getInstance();
+    for (int i = 100; (--i) >= 0;) {
+      final Y y = this.createValid();
+      final double d = f.evaluate(y);
+      for (final double cutoff : new double[] { d, Math.nextUp(d),
+          Math.nextDown(d), d - 1d, d + 1d, 0.5d * d,
+          f.lowerBound(), f.upperBound(),
+          Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY }) {
+        final double r = f.evaluate(y, cutoff);
+        if ((d < cutoff) || !(f.canEvaluateBounded())) {
+          Assert.assertEquals(d, r, 0d);
+        } else {
+          TestTools.assertGreaterOrEqual(r, cutoff);
+          TestTools.assertLessOrEqual(r, d);
+        }
+      }
+      Assert.assertEquals(d, f.evaluate(y), 0d);
+    }
+  }
 }
@@ -1,9 +1,11 @@
 package aitoa.structure;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
 
 import org.junit.Assert;
 import org.junit.Ignore;
@@ -11,6 +13,7 @@ import org.junit.Test;
 
 import aitoa.ObjectTest;
 import aitoa.TestTools;
+import aitoa.utils.RandomUtils;
 
 /**
  * This is a base class for testing unary search operators.
@@ -199,4 +202,112 @@ public abstract class IUnarySearchOperatorTest<X>
       }
     }
   }
+
+  /**
+   * test that the
+   * {@link IUnarySearchOperator#enumerateParallel(Random, Object, Object, java.util.List, long)}
+   * method finds the same neighbor regardless of the number of
+   * threads, correctly counts the neighborhood, and respects its
+   * limit
+   */
+  @Test(timeout = 3600000)
+  public void testEnumerateParallel() {
+    final ISpace<X> space = this.getSpace();
+    final IUnarySearchOperator<X> op = this.getOperator(space);
+    if (!op.canEnumerate()) {
+      return;
+    }
+    final Random random = ThreadLocalRandom.current();
+    final X src = this.createValid();
+    final X copy = space.create();
+    space.copy(src, copy);
+    final X dest = space.create();
+
+    final long[] count = new long[1];
+    op.enumerate(random, src, dest, x -> {
+      ++count[0];
+      return false;
+    });
+
+// without acceptance, the whole neighborhood is counted
+    for (int threads = 1; threads <= 4; threads++) {
+      final ArrayList<Predicate<X>> visitors = new ArrayList<>();
+      for (int i = threads; (--i) >= 0;) {
+        visitors.add(x -> false);
+      }
+      Assert.assertEquals(-(count[0] + 1L), op.enumerateParallel(
+          random, src, dest, visitors, Long.MAX_VALUE));
+      Assert.assertTrue(this.equals(src, copy));
+      final long limit = count[0] >>> 1;
+      Assert.assertEquals(-(limit + 1L), op.enumerateParallel(
+          random, src, dest, visitors, limit));
+      Assert.assertTrue(this.equals(src, copy));
+    }
+
+// accept exactly one randomly chosen neighbor
+    final X target = space.create();
+    final long chosen = RandomUtils.uniformFrom0ToNminus1(random,
+        Math.min(count[0], 100_000L));
+    final long[] seen = new long[1];
+    op.enumerate(random, src, dest, x -> {
+      if ((seen[0]++) >= chosen) {
+        space.copy(x, target);
+        return true;
+      }
+      return false;
+    });
+
+    for (int threads = 1; threads <= 4; threads++) {
+      final ArrayList<Predicate<X>> visitors = new ArrayList<>();
+      for (int i = threads; (--i) >= 0;) {
+        visitors.add(x -> this.equals(x, target));
+      }
+      final long index = op.enumerateParallel(random, src, dest,
+          visitors, Long.MAX_VALUE);
+      TestTools.assertInRange(index, 0L, count[0] - 1L);
+      Assert.assertTrue(this.equals(dest, target));
+      Assert.assertTrue(this.equals(src, copy));
+
+// the target is either found before the limit or not at all
+      final long limit = count[0] >>> 1;
+      final long limited = op.enumerateParallel(random, src,
+          dest, visitors, limit);
+      if (limited >= 0L) {
+        TestTools.assertLess(limited, limit);
+        Assert.assertTrue(this.equals(dest, target));
+      } else {
+        Assert.assertEquals(-(limit + 1L), limited);
+      }
+      Assert.assertTrue(this.equals(src, copy));
+    }
+  }
+
+  /**
+   * test that
+   * {@link IUnarySearchOperator#applyHashed(Object, long, Object, Random)}
+   * produces the same point as
+   * {@link IUnarySearchOperator#apply(Object, Object, Random)}
+   * and the correct hash of this point
+   */
+  @Test(timeout = 3600000)
+  public void testApplyHashed() {
+    final ISpace<X> space = this.getSpace();
+    final IUnarySearchOperator<X> op = this.getOperator(space);
+    if (!op.canHash()) {
+      return;
+    }
+    final X dest1 = space.create();
+    final X dest2 = space.create();
+
+    for (int i = 100; (--i) >= 0;) {
+      final X src = this.createValid();
+      final long seed = ThreadLocalRandom.current().nextLong();
+      op.apply(src, dest1, new Random(seed));
+      final long hash = op.applyHashed(src, TestTools.hash(src),
+          dest2, new Random(seed));
+      space.check(dest2);
+      Assert.assertTrue(this.equals(dest1, dest2));
+      Assert.assertEquals(TestTools.hash(dest2), hash);
+    }
+  }
 }
@@ -346,6 +346,21 @@ public class TestBlackBoxProcessBuilder<X, Y>
       TestTools.assertGreaterOrEqual(result, this.mLb);
       TestTools.assertLessOrEqual(result, this.mUb);
 
+      // the fused objective function must agree with the mapping
+      if (this.mProcess.mFused != null) {
+        Assert.assertEquals(result,
+            this.mProcess.mFused.evaluate(y), 0d);
+        final double bound = this.mProcess.mFused.evaluate(y,
+            this.mProcess.mBestF);
+        if (result < this.mProcess.mBestF) {
+          Assert.assertEquals(result, bound, 0d);
+        } else {
+          TestTools.assertGreaterOrEqual(bound,
+              this.mProcess.mBestF);
+          TestTools.assertLessOrEqual(bound, result);
+        }
+      }
+
       // did we improve
       if (result < this.mProcess.mBestF) { // yes, we did
         // so remember a copy of this best solution
@@ -0,0 +1,255 @@
+package aitoa.structure;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aitoa.TestTools;
+import aitoa.algorithms.EA1p1;
+import aitoa.examples.bitstrings.OneMaxObjectiveFunction;
+import aitoa.searchSpaces.bitstrings.BitStringNullaryOperator;
+import aitoa.searchSpaces.bitstrings.BitStringUnaryOperator1Flip;
+import aitoa.utils.TempDir;
+
+/** Test the listeners observing black-box processes */
+public class TestBlackBoxProcessListener {
+
+  /** the recording listener */
+  private static final class Recorder
+      implements IBlackBoxProcessListener<boolean[]> {
+    /** the improvements: f, fe, time */
+    final ArrayList<double[]> mImprovements;
+    /** the points of the improvements */
+    final ArrayList<boolean[]> mX;
+    /** the samples: bestF, fes, time */
+    final ArrayList<double[]> mSamples;
+    /** the end event */
+    double[] mEnd;
+    /** the stop handle */
+    Runnable mStop;
+    /** the objective value at which to stop */
+    final double mStopF;
+    /** the consumer thread */
+    Thread mThread;
+
+    /**
+     * create
+     *
+     * @param pStopF
+     *          the objective value at which to stop
+     */
+    Recorder(final double pStopF) {
+      super();
+      this.mImprovements = new ArrayList<>();
+      this.mX = new ArrayList<>();
+      this.mSamples = new ArrayList<>();
+      this.mStopF = pStopF;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onStart(final Runnable stop) {
+      Assert.assertNull(this.mStop);
+      this.mStop = stop;
+      this.mThread = Thread.currentThread();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onImprovement(final double f, final long fe,
+        final long time, final boolean[] x) {
+      Assert.assertSame(this.mThread, Thread.currentThread());
+      Assert.assertNull(this.mEnd);
+      this.mImprovements.add(new double[] { f, fe, time });
+      this.mX.add(x.clone());
+      if (f <= this.mStopF) {
+        this.mStop.run();
+      }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onSample(final double bestF, final long fes,
+        final long time) {
+      Assert.assertSame(this.mThread, Thread.currentThread());
+      Assert.assertNull(this.mEnd);
+      this.mSamples.add(new double[] { bestF, fes, time });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void onEnd(final double bestF, final long fes,
+        final long time) {
+      Assert.assertSame(this.mThread, Thread.currentThread());
+      Assert.assertNull(this.mEnd);
+      this.mEnd = new double[] { bestF, fes, time };
+    }
+  }
+
+  /**
+   * Run an EA on OneMax with a listener
+   *
+   * @param builder
+   *          the builder
+   * @param recorder
+   *          the recorder
+   * @param problem
+   *          the problem
+   * @return the best objective value, the consumed FEs, and the
+   *         best point as 0/1 values
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static double[] run(
+      final BlackBoxProcessBuilder<boolean[], boolean[]> builder,
+      final Recorder recorder,
+      final OneMaxObjectiveFunction problem) throws IOException {
+    builder.setSearchSpace(problem.createSpace());
+    builder.setObjectiveFunction(problem);
+    builder.setListener(recorder);
+    Assert.assertSame(recorder, builder.getListener());
+
+    final double[] result = new double[2 + problem.n];
+    try (final IBlackBoxProcess<boolean[], boolean[]> process =
+        builder.get()) {
+      new EA1p1<boolean[], boolean[]>(
+          new BitStringNullaryOperator(),
+          new BitStringUnaryOperator1Flip(problem.n))
+              .solve(process);
+      result[0] = process.getBestF();
+      result[1] = process.getConsumedFEs();
+      final boolean[] x = process.getSearchSpace().create();
+      process.getBestX(x);
+      for (int i = x.length; (--i) >= 0;) {
+        result[2 + i] = x[i] ? 1d : 0d;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Check the recorded events
+   *
+   * @param recorder
+   *          the recorder
+   * @param result
+   *          the result of the run
+   * @param interval
+   *          the sample interval
+   */
+  private static void check(final Recorder recorder,
+      final double[] result, final long interval) {
+    Assert.assertNotNull(recorder.mStop);
+    Assert.assertNotNull(recorder.mEnd);
+    Assert.assertEquals(result[0], recorder.mEnd[0], 0d);
+    Assert.assertEquals(result[1], recorder.mEnd[1], 0d);
+
+    final ArrayList<double[]> improvements =
+        recorder.mImprovements;
+    Assert.assertFalse(improvements.isEmpty());
+    for (int i = 1; i < improvements.size(); i++) {
+      final double[] a = improvements.get(i - 1);
+      final double[] b = improvements.get(i);
+      TestTools.assertLess(b[0], a[0]);
+      TestTools.assertGreater(b[1], a[1]);
+      TestTools.assertGreaterOrEqual(b[2], a[2]);
+    }
+    final double[] last =
+        improvements.get(improvements.size() - 1);
+    Assert.assertEquals(result[0], last[0], 0d);
+    final boolean[] x = recorder.mX.get(recorder.mX.size() - 1);
+    for (int i = x.length; (--i) >= 0;) {
+      Assert.assertEquals(result[2 + i], x[i] ? 1d : 0d, 0d);
+    }
+
+    if (interval <= 0L) {
+      Assert.assertTrue(recorder.mSamples.isEmpty());
+      return;
+    }
+    Assert.assertEquals(((long) (result[1])) / interval,
+        recorder.mSamples.size());
+    for (int i = 0; i < recorder.mSamples.size(); i++) {
+      final double[] sample = recorder.mSamples.get(i);
+      Assert.assertEquals((i + 1L) * interval, (long) sample[1]);
+      TestTools.assertGreaterOrEqual(sample[0], result[0]);
+    }
+  }
+
+  /**
+   * test the events of a run without log
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testEvents() throws IOException {
+    final OneMaxObjectiveFunction problem =
+        new OneMaxObjectiveFunction(64);
+    final BlackBoxProcessBuilder<boolean[], boolean[]> builder =
+        new BlackBoxProcessBuilder<>();
+    builder.setMaxFEs(10_000L);
+    builder.setSampleInterval(100L);
+    Assert.assertEquals(100L, builder.getSampleInterval());
+    final Recorder recorder = new Recorder(-1d);
+    final double[] result = TestBlackBoxProcessListener
+        .run(builder, recorder, problem);
+    TestBlackBoxProcessListener.check(recorder, result, 100L);
+  }
+
+  /**
+   * test the events of a run with log
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testEventsWithLog() throws IOException {
+    final OneMaxObjectiveFunction problem =
+        new OneMaxObjectiveFunction(32);
+    try (final TempDir dir = new TempDir()) {
+      final BlackBoxProcessBuilder<boolean[],
+          boolean[]> builder = new BlackBoxProcessBuilder<>();
+      builder.setMaxFEs(5000L);
+      builder.setGoalF(0);
+      builder.setLogPath(dir.getPath().resolve("log.txt")); //$NON-NLS-1$
+      final Recorder recorder = new Recorder(-1d);
+      final double[] result = TestBlackBoxProcessListener
+          .run(builder, recorder, problem);
+      TestBlackBoxProcessListener.check(recorder, result, 0L);
+      TestTools.assertGreater(
+          Files.size(dir.getPath().resolve("log.txt")), 0L); //$NON-NLS-1$
+    }
+  }
+
+  /**
+   * test stopping a run from outside
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testStop() throws IOException {
+    final OneMaxObjectiveFunction problem =
+        new OneMaxObjectiveFunction(256);
+    final BlackBoxProcessBuilder<boolean[], boolean[]> builder =
+        new BlackBoxProcessBuilder<>();
+    builder.setMaxTime(100_000L);
+    builder.setSampleInterval(1L);
+    final Recorder recorder = new Recorder(64d);
+    final double[] result = TestBlackBoxProcessListener
+        .run(builder, recorder, problem);
+    TestTools.assertLessOrEqual(result[0], 64d);
+    TestTools.assertGreater(result[0], 0d);
+    Assert.assertTrue(Arrays.stream(recorder.mImprovements
+        .get(recorder.mImprovements.size() - 1))
+        .allMatch(Double::isFinite));
+    Assert.assertEquals(result[0], recorder.mEnd[0], 0d);
+  }
+}
@@ -0,0 +1,103 @@
+package aitoa.structure;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.TreeMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aitoa.utils.TempDir;
+
+/** A test for the system data and its cache */
+public class TestSystemData {
+
+  /** test that the system data can be obtained */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testGetSystemData() {
+    SystemData.prefetch();
+    final String data = new String(SystemData.getSystemData());
+    Assert.assertTrue(data.contains(LogFormat.BEGIN_SYSTEM));
+    Assert.assertTrue(data.contains(LogFormat.END_SYSTEM));
+    Assert.assertTrue(data.contains(//
+        LogFormat.SYSTEM_INFO_JAVA_VERSION));
+    Assert.assertSame(SystemData.getSystemData(),
+        SystemData.getSystemData());
+  }
+
+  /**
+   * test storing and loading the cache
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testCache() throws IOException {
+    try (final TempDir dir = new TempDir()) {
+      final Path file = dir.getPath().resolve("sub") //$NON-NLS-1$
+          .resolve("cache.txt"); //$NON-NLS-1$
+      final String key = SystemData.cacheKey();
+      Assert.assertNull(SystemData.loadCache(file, key));
+
+      final TreeMap<String, String> data = new TreeMap<>();
+      data.put(LogFormat.SYSTEM_INFO_CPU_NAME, "a: b=c"); //$NON-NLS-1$
+      data.put(LogFormat.SYSTEM_INFO_GPU_NAME, "ä x"); //$NON-NLS-1$
+      SystemData.storeCache(file, key, data);
+
+      Assert.assertEquals(data, SystemData.loadCache(file, key));
+      Assert.assertNull(
+          SystemData.loadCache(file, key + 'x'));
+
+      Files.setLastModifiedTime(file,
+          FileTime.fromMillis(System.currentTimeMillis()
+              - (2L * SystemData.CACHE_MAX_AGE)));
+      Assert.assertNull(SystemData.loadCache(file, key));
+    }
+  }
+
+  /**
+   * test that a session using the cached system data does not
+   * initialize OSHI, but still records the process data
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testCacheHitWithoutOSHI() throws IOException {
+// wait for the background collection, which may probe the system
+    SystemData.getSystemData();
+    final String old =
+        System.getProperty(SystemData.CACHE_PROPERTY);
+    try (final TempDir dir = new TempDir()) {
+      System.setProperty(SystemData.CACHE_PROPERTY,
+          dir.getPath().toString());
+      final String key = SystemData.cacheKey();
+      final TreeMap<String, String> cached = new TreeMap<>();
+      cached.put(LogFormat.SYSTEM_INFO_CPU_NAME, "cpu"); //$NON-NLS-1$
+      SystemData.storeCache(SystemData.cacheFile(key), key,
+          cached);
+
+      final int before = SystemData.SYSTEM_INFOS.get();
+      final String data =
+          new String(SystemData.makeSystemData());
+      Assert.assertEquals(before, SystemData.SYSTEM_INFOS.get());
+      Assert.assertTrue(data.contains(LogFormat.mapEntry(
+          LogFormat.SYSTEM_INFO_CPU_NAME, "cpu"))); //$NON-NLS-1$
+      Assert.assertTrue(data.contains(//
+          LogFormat.SYSTEM_INFO_PROCESS_ID));
+      Assert.assertTrue(data.contains(//
+          LogFormat.SYSTEM_INFO_PROCESS_COMMAND_LINE));
+    } finally {
+      if (old == null) {
+        System.clearProperty(SystemData.CACHE_PROPERTY);
+      } else {
+        System.setProperty(SystemData.CACHE_PROPERTY, old);
+      }
+    }
+  }
+}
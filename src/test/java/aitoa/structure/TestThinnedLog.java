@@ -0,0 +1,206 @@
+package aitoa.structure;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aitoa.TestTools;
+import aitoa.algorithms.EA1p1;
+import aitoa.examples.bitstrings.OneMaxObjectiveFunction;
+import aitoa.searchSpaces.bitstrings.BitStringNullaryOperator;
+import aitoa.searchSpaces.bitstrings.BitStringUnaryOperator1Flip;
+import aitoa.utils.TempDir;
+import aitoa.utils.logs.LogLine;
+import aitoa.utils.logs.LogParser;
+
+/** Test the thinned log */
+public class TestThinnedLog {
+
+  /**
+   * Get the lines of a section of a log
+   *
+   * @param lines
+   *          the lines of the log
+   * @param begin
+   *          the begin of the section
+   * @param end
+   *          the end of the section
+   * @return the non-comment lines of the section
+   */
+  private static List<String> section(final List<String> lines,
+      final String begin, final String end) {
+    final int start = lines.indexOf(LogFormat.asComment(begin));
+    final int stop = lines.indexOf(LogFormat.asComment(end));
+    TestTools.assertGreaterOrEqual(start, 0);
+    TestTools.assertGreater(stop, start);
+    final ArrayList<String> result = new ArrayList<>();
+    for (final String line : lines.subList(start + 1, stop)) {
+      if (line.charAt(0) != LogFormat.COMMENT_CHAR) {
+        result.add(line);
+      }
+    }
+    return result;
+  }
+
+  /** test the checkpoints */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testCheckpoints() {
+    Assert.assertEquals(1L, ThinnedLog.checkpoint(0));
+    Assert.assertEquals(10L, ThinnedLog
+        .checkpoint(ThinnedLog.CHECKPOINTS_PER_DECADE));
+    Assert.assertEquals(1_000_000_000L, ThinnedLog
+        .checkpoint(9 * ThinnedLog.CHECKPOINTS_PER_DECADE));
+    for (int i = 1; i < (18 * ThinnedLog.CHECKPOINTS_PER_DECADE);
+        i++) {
+      TestTools.assertGreaterOrEqual(ThinnedLog.checkpoint(i),
+          ThinnedLog.checkpoint(i - 1));
+    }
+  }
+
+  /** test that invalid sample sizes are rejected */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testSampleSizeBounds() {
+    final BlackBoxProcessBuilder<boolean[], boolean[]> builder =
+        new BlackBoxProcessBuilder<>();
+    final int max = Integer.MAX_VALUE / 3;
+    Assert.assertEquals(max,
+        builder.setLogSampleSize(max).getLogSampleSize());
+    Assert.assertEquals(0,
+        builder.setLogSampleSize(0).getLogSampleSize());
+    for (final int size : new int[] { -1, max + 1,
+        Integer.MAX_VALUE }) {
+      try {
+        builder.setLogSampleSize(size);
+        Assert.fail("Accepted sample size " + size); //$NON-NLS-1$
+      } catch (@SuppressWarnings("unused") final IllegalArgumentException expected) {
+        Assert.assertEquals(0, builder.getLogSampleSize());
+      }
+    }
+  }
+
+  /**
+   * test the log and the sample of a long sequence of FEs
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testSample() throws IOException {
+    final int capacity = 100;
+    final long fes = 1_000_000L;
+    final ThinnedLog log =
+        new ThinnedLog(new long[6], capacity, 12345L);
+    log.improvement(10d, 1L, 1L);
+    log.improvement(5d, 2L, 2L);
+    long recorded = 0L;
+    for (long fe = 3L; fe <= fes; fe++) {
+      if (log.isRecorded(fe)) {
+        ++recorded;
+        log.other(fe, 5d, fe, fe);
+      }
+    }
+// only a small fraction of the FEs needs the time
+    TestTools.assertLess(recorded, fes / 100L);
+    TestTools.assertLess(log.mLogSize,
+        3 * 7 * ThinnedLog.CHECKPOINTS_PER_DECADE);
+
+    final StringWriter out = new StringWriter();
+    log.write(0L, out);
+    final ArrayList<String> lines = new ArrayList<>();
+    for (final String line : out.toString()
+        .split(System.lineSeparator())) {
+      lines.add(line.trim());
+    }
+
+    long lastFE = 0L;
+    for (final String line : TestThinnedLog.section(lines,
+        LogFormat.BEGIN_LOG, LogFormat.END_OF_LOG)) {
+      final String[] parts = line.split(";"); //$NON-NLS-1$
+      final long fe = Long.parseLong(parts[1]);
+      TestTools.assertGreater(fe, lastFE);
+      lastFE = fe;
+      TestTools.assertLessOrEqual(Double.parseDouble(parts[0]),
+          10d);
+    }
+
+    final List<String> sample = TestThinnedLog.section(lines,
+        LogFormat.BEGIN_SAMPLES, LogFormat.END_SAMPLES);
+    Assert.assertEquals(capacity, sample.size());
+    final HashSet<Long> seen = new HashSet<>();
+    lastFE = 0L;
+    double sum = 0d;
+    for (final String line : sample) {
+      final String[] parts = line.split(";"); //$NON-NLS-1$
+      final long fe = Long.parseLong(parts[1]);
+      Assert.assertEquals(fe, Long.parseLong(parts[0]));
+      Assert.assertEquals(fe, Long.parseLong(parts[2]));
+      Assert.assertTrue(seen.add(Long.valueOf(fe)));
+      TestTools.assertGreater(fe, lastFE);
+      lastFE = fe;
+      sum += fe;
+    }
+// the sample is uniform, so its mean should be near the middle
+    final double mean = sum / capacity;
+    TestTools.assertGreater(mean, 0.3d * fes);
+    TestTools.assertLess(mean, 0.7d * fes);
+  }
+
+  /**
+   * test that a thinned log of a process can be parsed and is
+   * small
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testParseThinnedLog() throws IOException {
+    final OneMaxObjectiveFunction problem =
+        new OneMaxObjectiveFunction(32);
+    try (final TempDir dir = new TempDir()) {
+      final Path path = dir.getPath().resolve("log.txt"); //$NON-NLS-1$
+      final BlackBoxProcessBuilder<boolean[],
+          boolean[]> builder = new BlackBoxProcessBuilder<>();
+      builder.setSearchSpace(problem.createSpace());
+      builder.setObjectiveFunction(problem);
+      builder.setMaxFEs(200_000L);
+      builder.setLogPath(path);
+      builder.setLogAll(true);
+      builder.setLogThinned(true);
+      builder.setLogSampleSize(64);
+      Assert.assertTrue(builder.isLoggingThinned());
+      Assert.assertEquals(64, builder.getLogSampleSize());
+
+      try (final IBlackBoxProcess<boolean[],
+          boolean[]> process = builder.get()) {
+        new EA1p1<boolean[], boolean[]>(
+            new BitStringNullaryOperator(),
+            new BitStringUnaryOperator1Flip(problem.n))
+                .solve(process);
+        Assert.assertEquals(0d, process.getBestF(), 0d);
+        process.consumeFEs(1000L);
+      }
+
+      final ArrayList<LogLine> log = new ArrayList<>();
+      LogParser.parseLogFile(path, log::add, null);
+      final LogLine last = log.get(log.size() - 1);
+      Assert.assertEquals(200_000L, last.feMax);
+      Assert.assertEquals(0d, last.fMin, 0d);
+
+      final List<String> lines = Files.readAllLines(path);
+      TestTools.assertLess(lines.size(), 2000);
+      Assert.assertEquals(64, TestThinnedLog.section(lines,
+          LogFormat.BEGIN_SAMPLES, LogFormat.END_SAMPLES).size());
+    }
+  }
+}
@@ -5,6 +5,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -23,8 +24,11 @@ import aitoa.searchSpaces.bitstrings.BitStringUnaryOperator1Flip;
 import aitoa.searchSpaces.bitstrings.BitStringUnaryOperatorMOverNFlip;
 import aitoa.structure.BlackBoxProcessBuilder;
 import aitoa.structure.IMetaheuristic;
+import aitoa.structure.LogFormat;
 import aitoa.utils.Experiment.IExperimentStage;
+import aitoa.utils.logs.EndResultStatistics;
 import aitoa.utils.logs.EndResults;
+import aitoa.utils.logs.EndResultsAggregator;
 
 /** Test the utilities for the experimenting */
 public class TestExperiment {
@@ -453,4 +457,396 @@ public class TestExperiment {
       }
     }
   }
+
+  /**
+   * Create an experiment stage applying the (1+1) EA and random
+   * sampling to the OneMax problem
+   *
+   * @param runs
+   *          the number of runs
+   * @return the stage
+   */
+  private static IExperimentStage<boolean[], boolean[],
+      BitStringObjectiveFunction,
+      IMetaheuristic<boolean[], boolean[]>>
+      oneMaxStage(final int runs) {
+    return TestExperiment.oneMaxStage(runs, false);
+  }
+
+  /**
+   * Create an experiment stage applying the (1+1) EA and random
+   * sampling to the OneMax problem
+   *
+   * @param runs
+   *          the number of runs
+   * @param compress
+   *          should the log files be compressed?
+   * @return the stage
+   */
+  private static IExperimentStage<boolean[], boolean[],
+      BitStringObjectiveFunction,
+      IMetaheuristic<boolean[], boolean[]>>
+      oneMaxStage(final int runs, final boolean compress) {
+    return new IExperimentStage<boolean[], boolean[],
+        BitStringObjectiveFunction,
+        IMetaheuristic<boolean[], boolean[]>>() {
+      @Override
+      public Stream<Supplier<BitStringObjectiveFunction>>
+          getProblems() {
+        return Stream.of(() -> new OneMaxObjectiveFunction(8));
+      }
+
+      @Override
+      public int
+          getRuns(final BitStringObjectiveFunction problem) {
+        return runs;
+      }
+
+      @Override
+      public
+          Stream<Supplier<IMetaheuristic<boolean[], boolean[]>>>
+          getAlgorithms(
+              final BitStringObjectiveFunction problem) {
+        return Stream.of(
+            () -> new EA1p1<>(new BitStringNullaryOperator(),
+                new BitStringUnaryOperator1Flip(problem.n)),
+            () -> new RandomSampling<>(
+                new BitStringNullaryOperator()));
+      }
+
+      @Override
+      public void configureBuilder(
+          final BlackBoxProcessBuilder<boolean[],
+              boolean[]> builder) {
+        builder.setGoalF(0);
+        builder.setMaxFEs(100);
+        builder.setCompressLog(compress);
+      }
+
+      @Override
+      public void configureBuilderForProblem(
+          final BlackBoxProcessBuilder<boolean[],
+              boolean[]> builder,
+          final BitStringObjectiveFunction problem) {
+        builder.setSearchSpace(problem.createSpace());
+      }
+    };
+  }
+
+  /**
+   * test that the end results aggregator receives all runs of a
+   * resumed experiment, including those whose log files already
+   * existed
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 1000000)
+  public void testExecuteExperimentAggregated()
+      throws IOException {
+    try (final TempDir dir = new TempDir();
+        final TempDir dir2 = new TempDir();
+        final TempDir dir3 = new TempDir()) {
+      Experiment.executeExperiment(
+          Stream.of(() -> TestExperiment.oneMaxStage(3)),
+          dir.getPath(), false, false, false, false);
+
+      final Path snapshot;
+      try (final EndResultsAggregator aggregator =
+          new EndResultsAggregator(dir3.getPath(), 1L)) {
+        Experiment.executeExperimentInParallel(
+            Stream.of(() -> TestExperiment.oneMaxStage(3),
+                () -> TestExperiment.oneMaxStage(5)),
+            dir.getPath(), 2, false, false, false, false,
+            aggregator, false);
+        Assert.assertEquals(5L, aggregator.getRuns("rs", //$NON-NLS-1$
+            "OneMax_8")); //$NON-NLS-1$
+        Assert.assertEquals(2 * 5, aggregator.size());
+        snapshot = aggregator.snapshot();
+      }
+
+      final Path endResults = EndResults.makeEndResultsTable(
+          dir.getPath(), dir2.getPath(), false, false);
+      Assert.assertTrue(Arrays.equals(
+          Files.readAllBytes(endResults),
+          Files.readAllBytes(snapshot)));
+      Assert.assertTrue(Files.isRegularFile(dir3.getPath()
+          .resolve(EndResultStatistics.FILE_NAME
+              + LogFormat.FILE_SUFFIX)));
+    }
+  }
+
+  /**
+   * test that runs whose log files were written with the other
+   * compression setting are not repeated when the experiment is
+   * resumed, but still aggregated and not counted as remaining
+   * in the projected completion
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 1000000)
+  public void testResumeWithOtherCompression()
+      throws IOException {
+    for (final boolean compressFirst : new boolean[] { false,
+        true }) {
+      try (final TempDir dir = new TempDir();
+          final TempDir dir2 = new TempDir()) {
+        Experiment.executeExperiment(
+            Stream.of(() -> TestExperiment.oneMaxStage(3,
+                compressFirst)),
+            dir.getPath(), false, false, false, false);
+
+// the completion projection of the resumed experiment counts
+// only the one additional run per algorithm as remaining
+        final String suffix = compressFirst
+            ? LogFormat.FILE_SUFFIX
+            : LogFormat.COMPRESSED_FILE_SUFFIX;
+        final long[] seeds =
+            RandomUtils.uniqueRandomSeeds("OneMax_8", 4); //$NON-NLS-1$
+        int started = 0;
+        for (final long seed : seeds) {
+          if (Experiment.isRunStarted(dir.getPath(), "rs", //$NON-NLS-1$
+              "OneMax_8", seed, suffix)) { //$NON-NLS-1$
+            ++started;
+          }
+        }
+        Assert.assertEquals(3, started);
+
+        try (final EndResultsAggregator aggregator =
+            new EndResultsAggregator(dir2.getPath(), 1000L)) {
+          Experiment.executeExperimentInParallel(
+              Stream.of(() -> TestExperiment.oneMaxStage(4,
+                  !compressFirst)),
+              dir.getPath(), 1, false, false, false, false,
+              aggregator, true);
+          Assert.assertEquals(4L, aggregator.getRuns("rs", //$NON-NLS-1$
+              "OneMax_8")); //$NON-NLS-1$
+          Assert.assertEquals(2 * 4, aggregator.size());
+        }
+        for (final long seed : seeds) {
+          Assert.assertTrue(Experiment.isRunStarted(
+              dir.getPath(), "rs", "OneMax_8", //$NON-NLS-1$//$NON-NLS-2$
+              seed, suffix));
+        }
+
+        final long[] counts = new long[2];
+        try (final Stream<Path> files =
+            Files.walk(dir.getPath())) {
+          files.forEach(file -> {
+            final String name = file.getFileName().toString();
+            if (name
+                .endsWith(LogFormat.COMPRESSED_FILE_SUFFIX)) {
+              ++counts[1];
+            } else {
+              if (name.endsWith(LogFormat.FILE_SUFFIX)) {
+                ++counts[0];
+              }
+            }
+          });
+        }
+// only the one additional run per algorithm used the new setting
+        Assert.assertEquals(compressFirst ? 2L : 6L, counts[0]);
+        Assert.assertEquals(compressFirst ? 6L : 2L, counts[1]);
+      }
+    }
+  }
+
+  /**
+   * test that the problems of a stage are instantiated one at a
+   * time if the runs are not dispatched longest-first
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 1000000)
+  public void testProblemsInstantiatedLazily()
+      throws IOException {
+    final AtomicInteger created = new AtomicInteger();
+    final AtomicInteger configured = new AtomicInteger();
+    final AtomicInteger maxPending = new AtomicInteger();
+
+    final IExperimentStage<boolean[], boolean[],
+        BitStringObjectiveFunction,
+        IMetaheuristic<boolean[], boolean[]>> stage =
+            new IExperimentStage<boolean[], boolean[],
+                BitStringObjectiveFunction,
+                IMetaheuristic<boolean[], boolean[]>>() {
+              @Override
+              public Stream<Supplier<BitStringObjectiveFunction>>
+                  getProblems() {
+                return Stream.of(8, 9, 10).map(n -> () -> {
+                  created.incrementAndGet();
+                  return new OneMaxObjectiveFunction(
+                      n.intValue());
+                });
+              }
+
+              @Override
+              public int getRuns(
+                  final BitStringObjectiveFunction problem) {
+                return 2;
+              }
+
+              @Override
+              public
+                  Stream<Supplier<
+                      IMetaheuristic<boolean[], boolean[]>>>
+                  getAlgorithms(
+                      final BitStringObjectiveFunction problem) {
+                return Stream.of(() -> new RandomSampling<>(
+                    new BitStringNullaryOperator()));
+              }
+
+              @Override
+              public void configureBuilder(
+                  final BlackBoxProcessBuilder<boolean[],
+                      boolean[]> builder) {
+                builder.setMaxFEs(10);
+              }
+
+              @Override
+              public void configureBuilderForProblem(
+                  final BlackBoxProcessBuilder<boolean[],
+                      boolean[]> builder,
+                  final BitStringObjectiveFunction problem) {
+                maxPending.accumulateAndGet(
+                    created.get() - configured.incrementAndGet(),
+                    Math::max);
+                builder.setSearchSpace(problem.createSpace());
+              }
+            };
+
+    try (final TempDir dir = new TempDir()) {
+      Experiment.executeExperiment(Stream.of(() -> stage),
+          dir.getPath(), false, false, false, false);
+    }
+    Assert.assertEquals(3, created.get());
+    Assert.assertEquals(3, configured.get());
+    Assert.assertEquals(0, maxPending.get());
+  }
+
+  /**
+   * test the cost estimates of the run cost model
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 100000)
+  public void testRunCostModel() {
+    final RunCostModel model = new RunCostModel(2);
+    Assert.assertEquals(1000d,
+        model.estimate("a", "b", 1000L, Long.MAX_VALUE), 0d); //$NON-NLS-1$//$NON-NLS-2$
+    Assert.assertEquals(
+        1000L * RunCostModel.DEFAULT_TIME_PER_FE,
+        model.estimate("a", "b", Long.MAX_VALUE, 1000L), 0d); //$NON-NLS-1$//$NON-NLS-2$
+    Assert.assertEquals(1d,
+        model.estimate("a", "b", Long.MAX_VALUE, Long.MAX_VALUE), //$NON-NLS-1$//$NON-NLS-2$
+        0d);
+
+    model.observe("a", "b", 100L, 1000L); //$NON-NLS-1$//$NON-NLS-2$
+    model.observe("a", "b", 300L, 1000L); //$NON-NLS-1$//$NON-NLS-2$
+    Assert.assertEquals(200d,
+        model.estimate("a", "b", 1000L, 1000L), 0d); //$NON-NLS-1$//$NON-NLS-2$
+    Assert.assertEquals(50d,
+        model.estimate("a", "c", Long.MAX_VALUE, 250L), 0d); //$NON-NLS-1$//$NON-NLS-2$
+    Assert.assertEquals(10d, model.estimate("c", "b", 10L, 250L), //$NON-NLS-1$//$NON-NLS-2$
+        0d);
+    Assert.assertEquals(200d,
+        model.estimate("c", "c", Long.MAX_VALUE, Long.MAX_VALUE), //$NON-NLS-1$//$NON-NLS-2$
+        0d);
+
+    Assert.assertTrue(model.shouldProject(0));
+    Assert.assertFalse(model.shouldProject(0));
+    Assert.assertTrue(model.shouldProject(1));
+  }
+
+  /**
+   * test the experiment execution with longest-first dispatching
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 1000000)
+  public void testExecuteExperimentLongestFirst()
+      throws IOException {
+    try (final TempDir dir = new TempDir()) {
+
+      final IExperimentStage<boolean[], boolean[],
+          BitStringObjectiveFunction,
+          IMetaheuristic<boolean[], boolean[]>> stage =
+              new IExperimentStage<boolean[], boolean[],
+                  BitStringObjectiveFunction,
+                  IMetaheuristic<boolean[], boolean[]>>() {
+                @Override
+                public
+                    Stream<Supplier<BitStringObjectiveFunction>>
+                    getProblems() {
+                  return Stream.of(
+                      () -> new OneMaxObjectiveFunction(8),
+                      () -> new LeadingOnesObjectiveFunction(
+                          16));
+                }
+
+                @Override
+                public int getRuns(
+                    final BitStringObjectiveFunction problem) {
+                  return 5;
+                }
+
+                @Override
+                public
+                    Stream<Supplier<
+                        IMetaheuristic<boolean[], boolean[]>>>
+                    getAlgorithms(
+                        final BitStringObjectiveFunction problem) {
+                  return Stream.of(
+                      () -> new EA1p1<>(
+                          new BitStringNullaryOperator(),
+                          new BitStringUnaryOperator1Flip(
+                              problem.n)),
+                      () -> new RandomSampling<>(
+                          new BitStringNullaryOperator()));
+                }
+
+                @Override
+                public void configureBuilder(
+                    final BlackBoxProcessBuilder<boolean[],
+                        boolean[]> builder) {
+                  builder.setGoalF(0);
+                }
+
+                @Override
+                public void configureBuilderForProblem(
+                    final BlackBoxProcessBuilder<boolean[],
+                        boolean[]> builder,
+                    final BitStringObjectiveFunction problem) {
+                  builder.setSearchSpace(problem.createSpace());
+                  builder.setMaxFEs(50L * problem.n);
+                }
+              };
+
+      try (TempDir dir2 = new TempDir();
+          TempDir dir3 = new TempDir()) {
+        final Path snapshot;
+        try (final EndResultsAggregator aggregator =
+            new EndResultsAggregator(dir3.getPath(),
+                Long.MAX_VALUE)) {
+          Experiment.executeExperimentInParallel(
+              Stream.of(() -> stage), dir.getPath(), 3, false,
+              aggregator, true);
+          Assert.assertEquals(2 * 2 * 5, aggregator.size());
+          snapshot = aggregator.snapshot();
+        }
+
+        final Path endResults = EndResults.makeEndResultsTable(
+            dir.getPath(), dir2.getPath(), false, false);
+        Assert.assertTrue(Arrays.equals(
+            Files.readAllBytes(endResults),
+            Files.readAllBytes(snapshot)));
+      }
+    }
+  }
 }
@@ -0,0 +1,142 @@
+package aitoa.utils;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aitoa.TestTools;
+import aitoa.algorithms.EA1p1;
+import aitoa.examples.bitstrings.OneMaxObjectiveFunction;
+import aitoa.searchSpaces.bitstrings.BitStringNullaryOperator;
+import aitoa.searchSpaces.bitstrings.BitStringUnaryOperator1Flip;
+import aitoa.structure.BlackBoxProcessBuilder;
+import aitoa.structure.IBlackBoxProcess;
+
+/** Test the warm-up phase and the timing stabilization */
+public class TestWarmUp {
+
+  /**
+   * create a builder for a time-limited run
+   *
+   * @param problem
+   *          the problem
+   * @return the builder
+   */
+  private static BlackBoxProcessBuilder<boolean[], boolean[]>
+      builder(final OneMaxObjectiveFunction problem) {
+    final BlackBoxProcessBuilder<boolean[], boolean[]> builder =
+        new BlackBoxProcessBuilder<>();
+    builder.setSearchSpace(problem.createSpace());
+    builder.setObjectiveFunction(problem);
+    builder.setMaxTime(100L);
+    builder.setMaxFEs(1000L);
+    builder.setGoalF(0);
+    return builder;
+  }
+
+  /**
+   * test that the warm-up processes ignore the FE limit and the
+   * goal and stop after their time
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testWarmUpProcess() throws IOException {
+    final OneMaxObjectiveFunction problem =
+        new OneMaxObjectiveFunction(16);
+    final BlackBoxProcessBuilder<boolean[], boolean[]> builder =
+        TestWarmUp.builder(problem);
+    final long start = System.currentTimeMillis();
+    try (final IBlackBoxProcess<boolean[], boolean[]> process =
+        builder.getWarmUpProcess(20L)) {
+      Assert.assertEquals(20L, process.getMaxTime());
+      Assert.assertEquals(Long.MAX_VALUE, process.getMaxFEs());
+      final boolean[] x = process.getSearchSpace().create();
+      long fes = 0L;
+      while (!process.shouldTerminate()) {
+// a process terminated in the meantime does not consume the FE
+        if (process.evaluate(x) < Double.POSITIVE_INFINITY) {
+          ++fes;
+        }
+      }
+      Assert.assertEquals(fes, process.getConsumedFEs());
+      TestTools.assertGreater(fes, 1000L);
+    }
+    TestTools.assertGreaterOrEqual(
+        System.currentTimeMillis() - start, 20L);
+    Assert.assertEquals(1000L, builder.getMaxFEs());
+    Assert.assertEquals(100L, builder.getMaxTime());
+  }
+
+  /**
+   * test that the warm-up adheres to its budget
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testWarmUp() throws IOException {
+    final OneMaxObjectiveFunction problem =
+        new OneMaxObjectiveFunction(16);
+    final BlackBoxProcessBuilder<boolean[], boolean[]> builder =
+        TestWarmUp.builder(problem);
+    final long time = WarmUp.warmUp(builder,
+        () -> new EA1p1<>(new BitStringNullaryOperator(),
+            new BitStringUnaryOperator1Flip(problem.n)),
+        1000L);
+    TestTools.assertGreaterOrEqual(time,
+        WarmUp.STABLE_SLICES * 100L);
+    TestTools.assertLess(time, 1000L + 1000L);
+    Assert.assertEquals(0L, WarmUp.warmUp(builder,
+        () -> new EA1p1<>(new BitStringNullaryOperator(),
+            new BitStringUnaryOperator1Flip(problem.n)),
+        0L));
+  }
+
+  /** test that each warm-up can be claimed only once */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testClaim() {
+    final String instance = "testClaim"; //$NON-NLS-1$
+    final String ea = "ea_1swap"; //$NON-NLS-1$
+    Assert.assertTrue(WarmUp.claim(ea, instance));
+    Assert.assertFalse(WarmUp.claim(ea, instance));
+    Assert.assertTrue(WarmUp.claim("ea_nswap", instance)); //$NON-NLS-1$
+    Assert.assertFalse(WarmUp.claim(ea, instance));
+  }
+
+  /**
+   * test that the memory is only stabilized if at most one
+   * worker is running
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testStabilizeIfAlone() {
+    WarmUp.enter();
+    try {
+      TestTools.assertGreaterOrEqual(WarmUp.stabilizeIfAlone(),
+          1);
+      WarmUp.enter();
+      try {
+        Assert.assertEquals(0, WarmUp.stabilizeIfAlone());
+      } finally {
+        WarmUp.leave();
+      }
+    } finally {
+      WarmUp.leave();
+    }
+  }
+
+  /** test the memory stabilization */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testStabilize() {
+    final int rounds = WarmUp.stabilize();
+    TestTools.assertGreaterOrEqual(rounds, 1);
+    TestTools.assertLessOrEqual(rounds, WarmUp.GC_MAX_ROUNDS);
+  }
+}
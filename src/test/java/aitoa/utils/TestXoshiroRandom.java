@@ -0,0 +1,102 @@
+package aitoa.utils;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/** A test for the {@link XoshiroRandom} generator */
+public class TestXoshiroRandom {
+
+  /**
+   * Check the output for a seed against the reference
+   * implementation
+   *
+   * @param seed
+   *          the seed
+   * @param expected
+   *          the expected outputs of {@link Random#nextLong()}
+   */
+  private static void checkReference(final long seed,
+      final long... expected) {
+    final Random random = new XoshiroRandom(seed);
+    for (final long value : expected) {
+      Assert.assertEquals(value, random.nextLong());
+    }
+  }
+
+  /** test against the reference implementation */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testReference() {
+    TestXoshiroRandom.checkReference(0L, -7355399402456485196L,
+        -4652746763540216534L, 1900383378846508768L,
+        7684712102626143532L);
+    TestXoshiroRandom.checkReference(0x123456789L,
+        396242935531483794L, -102001597110335853L,
+        1949112368475840502L, 6402235939413533719L);
+  }
+
+  /**
+   * Draw some numbers of all kinds
+   *
+   * @param random
+   *          the random number generator
+   * @param dest
+   *          the destination array
+   */
+  private static void draw(final Random random,
+      final double[] dest) {
+    for (int i = 0; i < dest.length;) {
+      dest[i++] = random.nextInt();
+      dest[i++] = random.nextInt(1 + (i * 7));
+      dest[i++] = random.nextLong();
+      dest[i++] = random.nextDouble();
+      dest[i++] = random.nextFloat();
+      dest[i++] = random.nextBoolean() ? 1d : 0d;
+      dest[i++] = random.nextGaussian();
+      dest[i++] = random.nextGaussian();
+    }
+  }
+
+  /** test that the same seed yields the same sequence */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testDeterminism() {
+    final ThreadLocalRandom seeds = ThreadLocalRandom.current();
+    final double[] a = new double[800];
+    final double[] b = new double[a.length];
+    for (int test = 100; (--test) >= 0;) {
+      final long seed = seeds.nextLong();
+      final XoshiroRandom random = new XoshiroRandom(seed);
+      TestXoshiroRandom.draw(random, a);
+      TestXoshiroRandom.draw(new XoshiroRandom(seed), b);
+      Assert.assertArrayEquals(a, b, 0d);
+      random.setSeed(seed);
+      TestXoshiroRandom.draw(random, b);
+      Assert.assertArrayEquals(a, b, 0d);
+      TestXoshiroRandom.draw(new XoshiroRandom(~seed), b);
+      Assert.assertNotEquals(a[2], b[2], 0d);
+    }
+  }
+
+  /** test the ranges of the generated numbers */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testRanges() {
+    final XoshiroRandom random = new XoshiroRandom(
+        ThreadLocalRandom.current().nextLong());
+    final int[] counts = new int[10];
+    for (int i = 100000; (--i) >= 0;) {
+      final double d = random.nextDouble();
+      Assert.assertTrue((d >= 0d) && (d < 1d));
+      final float f = random.nextFloat();
+      Assert.assertTrue((f >= 0f) && (f < 1f));
+      counts[random.nextInt(counts.length)]++;
+    }
+    for (final int count : counts) {
+      Assert.assertTrue((count > 9000) && (count < 11000));
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package aitoa.utils;
+
+import java.util.HashSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/** A test for the {@link ZobristHash} */
+public class TestZobristHash {
+
+  /** test the incremental update of hashes of {@code int[]} */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testUpdate() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int test = 1000; (--test) >= 0;) {
+      final int[] x = new int[random.nextInt(1, 100)];
+      for (int i = x.length; (--i) >= 0;) {
+        x[i] = random.nextInt(-10, 10);
+      }
+      final int[] start = x.clone();
+      final long startHash = ZobristHash.hash(start);
+      long hash = startHash;
+      for (int step = 100; (--step) >= 0;) {
+        final int i = random.nextInt(x.length);
+        final int value = random.nextInt(-10, 10);
+        hash = ZobristHash.update(hash, i, x[i], value);
+        x[i] = value;
+        Assert.assertEquals(ZobristHash.hash(x), hash);
+      }
+      Assert.assertEquals(hash,
+          ZobristHash.update(startHash, start, x));
+    }
+  }
+
+  /** test the incremental update of hashes of bit strings */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testFlip() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int test = 1000; (--test) >= 0;) {
+      final boolean[] x = new boolean[random.nextInt(1, 100)];
+      for (int i = x.length; (--i) >= 0;) {
+        x[i] = random.nextBoolean();
+      }
+      final boolean[] start = x.clone();
+      final long startHash = ZobristHash.hash(start);
+      long hash = startHash;
+      for (int step = 100; (--step) >= 0;) {
+        final int i = random.nextInt(x.length);
+        hash = ZobristHash.flip(hash, i);
+        x[i] ^= true;
+        Assert.assertEquals(ZobristHash.hash(x), hash);
+      }
+      Assert.assertEquals(hash,
+          ZobristHash.update(startHash, start, x));
+    }
+    Assert.assertEquals(0L, ZobristHash.hash(new boolean[10]));
+  }
+
+  /** test that all permutations of a small array differ */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 3600000)
+  public void testDistinct() {
+    final HashSet<Long> hashes = new HashSet<>();
+    final int[] x = new int[4];
+    for (int i = 0; i < 65536; i++) {
+      for (int j = x.length; (--j) >= 0;) {
+        x[j] = (i >>> (j << 2)) & 15;
+      }
+      Assert.assertTrue(
+          hashes.add(Long.valueOf(ZobristHash.hash(x))));
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package aitoa.utils.logs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import aitoa.utils.math.Statistics;
+
+/** test the columnar end results table */
+public class EndResultsTableTest {
+
+  /**
+   * create a random end results table
+   *
+   * @param random
+   *          the random number generator
+   * @param list
+   *          the list receiving the end results
+   * @return the table
+   */
+  private static EndResultsTable create(final Random random,
+      final ArrayList<EndResult> list) {
+    final EndResultsTable.Builder builder =
+        new EndResultsTable.Builder();
+    final String[] algorithms = { "ea", "rs", "hc", "sa" }; //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$//$NON-NLS-4$
+    final String[] instances = { "z", "x", "y" }; //$NON-NLS-1$//$NON-NLS-2$//$NON-NLS-3$
+
+    for (int i = 200 + random.nextInt(200); (--i) >= 0;) {
+      final long totalFEs = 1L + random.nextInt(10000);
+      final long totalTime = random.nextInt(1000);
+      final long lastImprovementFE =
+          1L + random.nextInt((int) totalFEs);
+      final EndResult result = new EndResult(
+          algorithms[random.nextInt(algorithms.length)],
+          instances[random.nextInt(instances.length)],
+          random.nextLong(),
+          random.nextBoolean() ? random.nextInt(100)
+              : random.nextGaussian(),
+          totalTime, totalFEs,
+          random.nextInt(1 + (int) totalTime),
+          lastImprovementFE,
+          1L + random.nextInt((int) lastImprovementFE), 1000L,
+          10000L,
+          Double.NEGATIVE_INFINITY);
+      list.add(result);
+      builder.accept(result);
+    }
+    return builder.build();
+  }
+
+  /** test that the table stores the data correctly */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 100000)
+  public void testStore() {
+    final ArrayList<EndResult> list = new ArrayList<>();
+    final EndResultsTable table =
+        EndResultsTableTest.create(new Random(), list);
+
+    Assert.assertEquals(list.size(), table.size());
+    for (int i = 0; i < list.size(); i++) {
+      final EndResult expected = list.get(i);
+      Assert.assertEquals(expected, table.get(i));
+      Assert.assertEquals(expected.algorithm,
+          table.algorithmName(table.algorithm(i)));
+      Assert.assertEquals(expected.instance,
+          table.instanceName(table.instance(i)));
+      Assert.assertEquals(expected.totalFEs, table
+          .getLong(EndResultsTable.Column.TOTAL_FES, i));
+      Assert.assertEquals(expected.bestF, table
+          .getDouble(EndResultsTable.Column.BEST_F, i), 0d);
+    }
+
+    for (int i = 1; i < table.algorithmCount(); i++) {
+      Assert.assertTrue(table.algorithmName(i - 1)
+          .compareTo(table.algorithmName(i)) < 0);
+    }
+    Assert.assertEquals(-1, table.algorithmCode("nope")); //$NON-NLS-1$
+    Assert.assertEquals(table.instanceCount() - 1,
+        table.instanceCode("z")); //$NON-NLS-1$
+  }
+
+  /** test grouping, filtering, and aggregation */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 100000)
+  public void testGroupByAndAggregate() {
+    final ArrayList<EndResult> list = new ArrayList<>();
+    final EndResultsTable table =
+        EndResultsTableTest.create(new Random(), list);
+    final int[] all = table.rows();
+
+    final int[][] groups = table.groupBy(all, true, true);
+    int total = 0;
+    int lastKey = -1;
+    for (final int[] group : groups) {
+      Assert.assertTrue(group.length > 0);
+      total += group.length;
+      final int algo = table.algorithm(group[0]);
+      final int inst = table.instance(group[0]);
+      final int key = (algo * table.instanceCount()) + inst;
+      Assert.assertTrue(key > lastKey);
+      lastKey = key;
+
+      final int[] expected = table.filter(all,
+          r -> (table.algorithm(r) == algo)
+              && (table.instance(r) == inst));
+      Assert.assertArrayEquals(expected, group);
+      Assert.assertEquals(expected.length,
+          EndResultsTable.count(all,
+              r -> (table.algorithm(r) == algo)
+                  && (table.instance(r) == inst)));
+
+      final double[] ps = { 0d, 0.25d, 0.5d, 0.75d, 1d };
+      final long[] fes = table
+          .collectLongs(EndResultsTable.Column.TOTAL_FES, group);
+      Arrays.sort(fes);
+      final Number[] q = table.quantiles(
+          EndResultsTable.Column.TOTAL_FES, group, ps);
+      for (int i = ps.length; (--i) >= 0;) {
+        Assert.assertEquals(Statistics.quantile(ps[i], fes),
+            q[i]);
+      }
+      Assert.assertArrayEquals(
+          Statistics.sampleMeanAndStandardDeviation(fes),
+          table.meanAndStdDev(EndResultsTable.Column.TOTAL_FES,
+              group));
+      Assert.assertEquals(Statistics.sum(fes), table
+          .sum(EndResultsTable.Column.TOTAL_FES, group));
+
+      final double[] f = table
+          .collectDoubles(EndResultsTable.Column.BEST_F, group);
+      Assert.assertEquals(Statistics.sum(f),
+          table.sum(EndResultsTable.Column.BEST_F, group));
+    }
+    Assert.assertEquals(all.length, total);
+
+    Assert.assertEquals(table.algorithmCount(),
+        table.groupBy(all, true, false).length);
+    Assert.assertEquals(table.instanceCount(),
+        table.groupBy(all, false, true).length);
+    Assert.assertArrayEquals(new int[][] { all },
+        table.groupBy(all, false, false));
+  }
+}
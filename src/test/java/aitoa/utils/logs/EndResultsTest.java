@@ -1,9 +1,14 @@
 package aitoa.utils.logs;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -12,6 +17,7 @@ import aitoa.structure.BlackBoxProcessBuilder;
 import aitoa.structure.IBlackBoxProcess;
 import aitoa.structure.IMetaheuristic;
 import aitoa.structure.LogFormat;
+import aitoa.utils.IOUtils;
 import aitoa.utils.TempDir;
 
 /** test the end results table generator */
@@ -71,6 +77,12 @@ public class EndResultsTest {
         a.hashCode();
       }, false);
 
+      final EndResultsTable table =
+          EndResultsTable.load(endResults, false);
+      Assert.assertEquals(4 * 4 * 6, table.size());
+      Assert.assertEquals(4 * 4,
+          table.groupBy(table.rows(), true, true).length);
+
       final Path endResultStatistics = EndResultStatistics
           .makeEndResultStatisticsTable(endResults, evalDir,
               null, null, null, null, false, false);
@@ -92,4 +104,247 @@ public class EndResultsTest {
         /* */ }), false);
     }
   }
+
+  /**
+   * create a few log files
+   *
+   * @param resultsDir
+   *          the results directory
+   * @param maxAlgo
+   *          the last algorithm character
+   * @param runs
+   *          the number of runs per algorithm and instance
+   * @throws IOException
+   *           if i/o fails
+   */
+  private static void createLogs(final Path resultsDir,
+      final char maxAlgo, final int runs) throws IOException {
+    final BlackBoxProcessBuilder<boolean[],
+        boolean[]> builder = Example.problem();
+
+    final IMetaheuristic<boolean[], boolean[]> algorithm =
+        Example.algorithm();
+
+    for (char algo = 'a'; algo <= maxAlgo; algo++) {
+      for (char inst = 'X'; inst <= 'Z'; inst++) {
+        final Path instDir =
+            resultsDir.resolve(Character.toString(algo))
+                .resolve(Character.toString(inst));
+        Files.createDirectories(instDir);
+
+        for (int r = 1; r <= runs; r++) {
+          final Path logFile = instDir.resolve(
+              ((((Character.toString(algo) + '_') + inst) + '_')
+                  + r) + LogFormat.FILE_SUFFIX);
+          if (Files.exists(logFile)) {
+            continue;
+          }
+          builder.setLogPath(logFile);
+          builder.setRandomRandSeed();
+          try (final IBlackBoxProcess<boolean[], boolean[]> p =
+              builder.get()) {
+            algorithm.solve(p);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * test that parsing the log files in parallel yields exactly
+   * the same end results table as parsing them sequentially
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 500000)
+  public void testParallelEqualsSequential() throws IOException {
+    try (final TempDir dir = new TempDir()) {
+      final Path resultsDir = dir.getPath().resolve("results");//$NON-NLS-1$
+      EndResultsTest.createLogs(resultsDir, 'c', 5);
+
+      final Path seqDir = dir.getPath().resolve("seq");//$NON-NLS-1$
+      Files.createDirectories(seqDir);
+      final Path parDir = dir.getPath().resolve("par");//$NON-NLS-1$
+      Files.createDirectories(parDir);
+
+      final byte[] seq =
+          Files.readAllBytes(EndResults.makeEndResultsTable(
+              resultsDir, seqDir, false, false, 1));
+      final byte[] par =
+          Files.readAllBytes(EndResults.makeEndResultsTable(
+              resultsDir, parDir, false, false, 4));
+      Assert.assertTrue(Arrays.equals(seq, par));
+    }
+  }
+
+  /**
+   * test that the incremental update of the end results table
+   * always yields the same table as creating it from scratch
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 500000)
+  public void testIncrementalUpdate() throws IOException {
+    try (final TempDir dir = new TempDir()) {
+      final Path resultsDir = dir.getPath().resolve("results");//$NON-NLS-1$
+      final Path fullDir = dir.getPath().resolve("full");//$NON-NLS-1$
+      Files.createDirectories(fullDir);
+      final Path incDir = dir.getPath().resolve("inc");//$NON-NLS-1$
+      Files.createDirectories(incDir);
+
+      EndResultsTest.createLogs(resultsDir, 'b', 2);
+      Assert.assertTrue(Arrays.equals(
+          Files.readAllBytes(EndResults.makeEndResultsTable(
+              resultsDir, fullDir, false, false, 1)),
+          Files.readAllBytes(EndResults.updateEndResultsTable(
+              resultsDir, incDir, false, 2))));
+      Assert.assertTrue(Files.exists(
+          incDir.resolve(EndResults.INDEX_FILE_NAME)));
+
+      // new runs and a new algorithm
+      EndResultsTest.createLogs(resultsDir, 'c', 3);
+      Assert.assertTrue(Arrays.equals(
+          Files.readAllBytes(EndResults.makeEndResultsTable(
+              resultsDir, fullDir, false, false, 1)),
+          Files.readAllBytes(EndResults.updateEndResultsTable(
+              resultsDir, incDir, false, 2))));
+
+      // a deleted run
+      Files.delete(resultsDir.resolve("a").resolve("X")//$NON-NLS-1$//$NON-NLS-2$
+          .resolve("a_X_1" + LogFormat.FILE_SUFFIX));//$NON-NLS-1$
+      Assert.assertTrue(Arrays.equals(
+          Files.readAllBytes(EndResults.makeEndResultsTable(
+              resultsDir, fullDir, false, false, 1)),
+          Files.readAllBytes(EndResults.updateEndResultsTable(
+              resultsDir, incDir, false, 1))));
+
+      // a run whose path contains separator characters
+      final Path odd = resultsDir.resolve("b").resolve("Y")//$NON-NLS-1$//$NON-NLS-2$
+          .resolve("b_Y_,;1" + LogFormat.FILE_SUFFIX);//$NON-NLS-1$
+      Files.copy(resultsDir.resolve("b").resolve("Y")//$NON-NLS-1$//$NON-NLS-2$
+          .resolve("b_Y_1" + LogFormat.FILE_SUFFIX), odd);//$NON-NLS-1$
+      final byte[] table =
+          Files.readAllBytes(EndResults.makeEndResultsTable(
+              resultsDir, fullDir, false, false, 1));
+      Assert.assertTrue(Arrays.equals(table,
+          Files.readAllBytes(EndResults.updateEndResultsTable(
+              resultsDir, incDir, false, 1))));
+
+      // cached rows are re-used: an unchanged size and time mean
+      // that the file is not parsed again, even if it is broken
+      final FileTime time = Files.getLastModifiedTime(odd);
+      final byte[] garbage = new byte[(int) Files.size(odd)];
+      Arrays.fill(garbage, (byte) 'x');
+      Files.write(odd, garbage);
+      Files.setLastModifiedTime(odd, time);
+      Assert.assertTrue(Arrays.equals(table,
+          Files.readAllBytes(EndResults.updateEndResultsTable(
+              resultsDir, incDir, false, 2))));
+    }
+  }
+
+  /**
+   * test that the columnar table loaded from the end results file
+   * contains the same rows as the ones parsed one by one, and
+   * that the end result statistics computed from the table do
+   * not depend on how success is determined
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 500000)
+  public void testTableAndStatistics() throws IOException {
+    try (final TempDir dir = new TempDir()) {
+      final Path resultsDir = dir.getPath().resolve("results");//$NON-NLS-1$
+      EndResultsTest.createLogs(resultsDir, 'c', 3);
+      final Path evalDir = dir.getPath().resolve("eval");//$NON-NLS-1$
+      Files.createDirectories(evalDir);
+      final Path endResults = EndResults.makeEndResultsTable(
+          resultsDir, evalDir, false, false, 1);
+
+      final ArrayList<EndResult> list = new ArrayList<>();
+      EndResults.parseEndResultsTable(endResults, list::add,
+          false);
+      final EndResultsTable table =
+          EndResultsTable.load(endResults, false);
+      Assert.assertEquals(list.size(), table.size());
+      for (int i = list.size(); (--i) >= 0;) {
+        Assert.assertEquals(list.get(i), table.get(i));
+      }
+
+      final byte[] stat = Files.readAllBytes(
+          EndResultStatistics.makeEndResultStatisticsTable(
+              endResults, evalDir, null, null, null, "a", //$NON-NLS-1$
+              false, false));
+      Assert.assertTrue(Arrays.equals(stat, Files.readAllBytes(
+          EndResultStatistics.makeEndResultStatisticsTable(
+              endResults, evalDir,
+              e -> Double.compare(e.bestF, e.goalF) <= 0, null,
+              null, "b", false, false)))); //$NON-NLS-1$
+
+// map all algorithms to one
+      final Path merged =
+          EndResultStatistics.makeEndResultStatisticsTable(
+              endResults, evalDir, null, null, a -> "x", //$NON-NLS-1$
+              "c", false, false); //$NON-NLS-1$
+      final ArrayList<EndResultStatistic> stats =
+          new ArrayList<>();
+      EndResultStatistics.parseEndResultStatisticsTable(merged,
+          stats::add, false);
+      Assert.assertEquals(3, stats.size());
+      for (final EndResultStatistic es : stats) {
+        Assert.assertEquals("x", es.algorithm); //$NON-NLS-1$
+        Assert.assertEquals(3 * 3, es.runs);
+      }
+    }
+  }
+
+  /**
+   * test that gzip-compressed log files yield exactly the same
+   * end results table as plain ones
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 500000)
+  public void testCompressedLogs() throws IOException {
+    try (final TempDir dir = new TempDir()) {
+      final Path resultsDir = dir.getPath().resolve("results");//$NON-NLS-1$
+      EndResultsTest.createLogs(resultsDir, 'b', 2);
+
+      final Path gzDir = dir.getPath().resolve("gz");//$NON-NLS-1$
+      for (final Path algo : IOUtils
+          .subDirectories(resultsDir)) {
+        for (final Path inst : IOUtils.subDirectories(algo)) {
+          final Path destDir =
+              gzDir.resolve(resultsDir.relativize(inst));
+          Files.createDirectories(destDir);
+          for (final Path file : IOUtils.files(inst)) {
+            final Path dest = destDir.resolve(
+                file.getFileName().toString() + ".gz");//$NON-NLS-1$
+            try (final OutputStream out = new GZIPOutputStream(
+                Files.newOutputStream(dest))) {
+              Files.copy(file, out);
+            }
+          }
+        }
+      }
+
+      final Path plainOut = dir.getPath().resolve("plainOut");//$NON-NLS-1$
+      Files.createDirectories(plainOut);
+      final Path gzOut = dir.getPath().resolve("gzOut");//$NON-NLS-1$
+      Files.createDirectories(gzOut);
+      Assert.assertTrue(Arrays.equals(
+          Files.readAllBytes(EndResults.makeEndResultsTable(
+              resultsDir, plainOut, false, false, 1)),
+          Files.readAllBytes(EndResults.makeEndResultsTable(
+              gzDir, gzOut, false, false, 2))));
+    }
+  }
 }
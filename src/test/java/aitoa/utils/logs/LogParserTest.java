@@ -1,13 +1,21 @@
 package aitoa.utils.logs;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.zip.GZIPInputStream;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import aitoa.TestTools;
 import aitoa.structure.BlackBoxProcessBuilder;
 import aitoa.structure.IBlackBoxProcess;
 import aitoa.structure.IMetaheuristic;
+import aitoa.structure.LogFormat;
 import aitoa.utils.TempDir;
 
 /** test the log parser */
@@ -41,4 +49,285 @@ public class LogParserTest {
       LogParser.parseLogFile(logFile, null, null);
     }
   }
+
+  /**
+   * Parse a log file in several segment sizes and with
+   * different line separators and make sure that the results
+   * are always the same.
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 100000)
+  public void testParseLogPointsInSegments() throws IOException {
+    try (final TempDir dir = new TempDir()) {
+      final BlackBoxProcessBuilder<boolean[],
+          boolean[]> builder = Example.problem();
+
+      final IMetaheuristic<boolean[], boolean[]> algorithm =
+          Example.algorithm();
+
+      final Path logFile = dir.getPath().resolve("log.txt"); //$NON-NLS-1$
+      builder.setLogPath(logFile);
+      builder.setRandomRandSeed();
+      try (final IBlackBoxProcess<boolean[], boolean[]> p =
+          builder.get()) {
+        algorithm.solve(p);
+      }
+
+      final ArrayList<LogLine> expectedLines = new ArrayList<>();
+      final SetupData[] expectedSetup = new SetupData[1];
+      LogParser.parseLogFile(logFile, expectedLines::add,
+          s -> expectedSetup[0] = s);
+      Assert.assertFalse(expectedLines.isEmpty());
+      Assert.assertNotNull(expectedSetup[0]);
+
+      final String text = new String(Files.readAllBytes(logFile),
+          StandardCharsets.UTF_8).replace("\r\n", "\n"); //$NON-NLS-1$//$NON-NLS-2$
+      final Path crlfFile = dir.getPath().resolve("crlf.txt"); //$NON-NLS-1$
+      Files.write(crlfFile,
+          text.replace("\n", "\r\n") //$NON-NLS-1$//$NON-NLS-2$
+              .getBytes(StandardCharsets.UTF_8));
+
+      for (final Path file : new Path[] { logFile, crlfFile }) {
+        for (final long segmentSize : new long[] { 4096L, 1000L,
+            301L, LogParser.SEGMENT_SIZE }) {
+          final ArrayList<LogLine> lines = new ArrayList<>();
+          final SetupData[] setup = new SetupData[1];
+          LogParser.parseLogPoints(file,
+              (feLastImprovement, feMax, timeLastImprovement,
+                  timeMax, improvements, fMin,
+                  isImprovement) -> lines.add(new LogLine(
+                      feLastImprovement, feMax,
+                      timeLastImprovement, timeMax, improvements,
+                      fMin, isImprovement)),
+              s -> setup[0] = s, segmentSize);
+          Assert.assertEquals(expectedLines, lines);
+          Assert.assertEquals(expectedSetup[0], setup[0]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Make sure that the numbers in a log file are parsed exactly
+   * like {@link Double#parseDouble(String)} and
+   * {@link Long#parseLong(String)} would and that invalid log
+   * points are rejected.
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 100000)
+  public void testParseNumbers() throws IOException {
+    final String[] fs = { "1000", " 123.5 ", //$NON-NLS-1$//$NON-NLS-2$
+        "99.999999999999999", "12.25", "0.1", //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$
+        "1.0E-5", "0.000000000000000000000001", //$NON-NLS-1$//$NON-NLS-2$
+        "-0.5", "-3", "-3.0000000000001", //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$
+        "-3.1234567890123456789" }; //$NON-NLS-1$
+
+    final StringBuilder sb = new StringBuilder();
+    sb.append("# BEGIN_LOG\n"); //$NON-NLS-1$
+    long fe = -2L;
+    for (final String f : fs) {
+      fe += 3L;
+      sb.append(f).append(';').append(' ').append(fe).append(';')
+          .append('+').append(fe * 7L).append('\n');
+    }
+    sb.append("# END_OF_LOG\n# BEGIN_STATE\n"); //$NON-NLS-1$
+    sb.append("# CONSUMED_FES: ").append(fe + 1L).append('\n'); //$NON-NLS-1$
+    sb.append("# LAST_IMPROVEMENT_FE: ").append(fe).append('\n'); //$NON-NLS-1$
+    sb.append("# CONSUMED_TIME: ").append(fe * 7L).append('\n'); //$NON-NLS-1$
+    sb.append("# LAST_IMPROVEMENT_TIME: ").append(fe * 7L) //$NON-NLS-1$
+        .append('\n');
+    sb.append("# BEST_F: ").append(fs[fs.length - 1]) //$NON-NLS-1$
+        .append('\n');
+    sb.append(
+        "# END_STATE\n# BEGIN_SETUP\n# MAX_FES: 1000\n# MAX_TIME: 1000\n"); //$NON-NLS-1$
+    sb.append(
+        "# GOAL_F: -Infinity\n# RANDOM_SEED: 0x1\n# END_SETUP"); //$NON-NLS-1$
+
+    try (final TempDir dir = new TempDir()) {
+      final Path logFile = dir.getPath().resolve("log.txt"); //$NON-NLS-1$
+      Files.write(logFile,
+          sb.toString().getBytes(StandardCharsets.UTF_8));
+
+      final ArrayList<LogLine> lines = new ArrayList<>();
+      LogParser.parseLogFile(logFile, lines::add, null);
+      Assert.assertEquals(fs.length + 1, lines.size());
+      for (int i = 0; i < fs.length; i++) {
+        final LogLine line = lines.get(i);
+        Assert.assertEquals(
+            Double.doubleToLongBits(Double.parseDouble(fs[i])),
+            Double.doubleToLongBits(line.fMin));
+        Assert.assertEquals((3L * i) + 1L, line.feMax);
+        Assert.assertEquals(7L * ((3L * i) + 1L), line.timeMax);
+        Assert.assertTrue(line.isImprovement);
+      }
+      Assert.assertEquals(fe + 1L, lines.get(fs.length).feMax);
+      Assert.assertFalse(lines.get(fs.length).isImprovement);
+
+      Files.write(logFile, sb.toString().replace(" 7;", " 3;") //$NON-NLS-1$//$NON-NLS-2$
+          .getBytes(StandardCharsets.UTF_8));
+      try {
+        LogParser.parseLogPoints(logFile, null, null);
+        Assert.fail("Non-monotonous FEs not detected."); //$NON-NLS-1$
+      } catch (@SuppressWarnings("unused") final IOException ioe) {
+        // expected
+      }
+    }
+  }
+
+  /**
+   * Write a gzip-compressed log and make sure that it is parsed
+   * exactly like its decompressed version
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 100000)
+  public void testParseCompressedLog() throws IOException {
+    try (final TempDir dir = new TempDir()) {
+      final BlackBoxProcessBuilder<boolean[],
+          boolean[]> builder = Example.problem();
+
+      final IMetaheuristic<boolean[], boolean[]> algorithm =
+          Example.algorithm();
+
+      final Path logFile = dir.getPath()
+          .resolve("log" + LogFormat.COMPRESSED_FILE_SUFFIX); //$NON-NLS-1$
+      builder.setLogPath(logFile);
+      builder.setCompressLog(true);
+      Assert.assertTrue(builder.isCompressingLog());
+      builder.setRandomRandSeed();
+      try (final IBlackBoxProcess<boolean[], boolean[]> p =
+          builder.get()) {
+        Assert.assertEquals(0L, Files.size(logFile));
+        algorithm.solve(p);
+      }
+
+      final Path plainFile = dir.getPath().resolve("log.txt"); //$NON-NLS-1$
+      try (final InputStream in =
+          new GZIPInputStream(Files.newInputStream(logFile))) {
+        Files.copy(in, plainFile);
+      }
+      TestTools.assertLess(Files.size(logFile),
+          Files.size(plainFile));
+
+      final ArrayList<LogLine> expectedLines = new ArrayList<>();
+      final SetupData[] expectedSetup = new SetupData[1];
+      LogParser.parseLogFile(plainFile, expectedLines::add,
+          s -> expectedSetup[0] = s);
+      Assert.assertFalse(expectedLines.isEmpty());
+
+// tiny initial buffers make lines span refills and enlargements
+      for (final long segmentSize : new long[] { 4096L, 1000L,
+          301L, LogParser.SEGMENT_SIZE }) {
+        for (final int bufferSize : new int[] { 1, 7, 64,
+            1 << 16 }) {
+          final ArrayList<LogLine> lines = new ArrayList<>();
+          final SetupData[] setup = new SetupData[1];
+          LogParser.parseLogPoints(logFile,
+              (feLastImprovement, feMax, timeLastImprovement,
+                  timeMax, improvements, fMin,
+                  isImprovement) -> lines.add(new LogLine(
+                      feLastImprovement, feMax,
+                      timeLastImprovement, timeMax, improvements,
+                      fMin, isImprovement)),
+              s -> setup[0] = s, segmentSize, bufferSize);
+          Assert.assertEquals(expectedLines, lines);
+          Assert.assertEquals(expectedSetup[0], setup[0]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Parse the log of a run which consumed only a single FE but
+   * whose end state was recorded later than that FE: this
+   * results in a non-improving log point at the first FE, which
+   * must be accepted.
+   *
+   * @throws IOException
+   *           if i/o fails
+   * @throws InterruptedException
+   *           if the sleep is interrupted
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 100000)
+  public void testParseSingleFELog()
+      throws IOException, InterruptedException {
+    try (final TempDir dir = new TempDir()) {
+      final BlackBoxProcessBuilder<boolean[],
+          boolean[]> builder = Example.problem();
+      final Path logFile = dir.getPath().resolve("log.txt"); //$NON-NLS-1$
+      builder.setLogPath(logFile);
+      builder.setMaxFEs(1L);
+      builder.setRandomRandSeed();
+
+      try (final IBlackBoxProcess<boolean[], boolean[]> p =
+          builder.get()) {
+        final boolean[] x = p.getSearchSpace().create();
+        p.evaluate(x);
+        final long time = p.getConsumedTime();
+        do {
+          Thread.sleep(20L);
+        } while (p.getConsumedTime() <= time);
+      }
+
+      final ArrayList<LogLine> lines = new ArrayList<>();
+      LogParser.parseLogFile(logFile, lines::add, null);
+      Assert.assertEquals(2, lines.size());
+      Assert.assertTrue(lines.get(0).isImprovement);
+      Assert.assertFalse(lines.get(1).isImprovement);
+      Assert.assertEquals(1L, lines.get(1).feMax);
+      TestTools.assertGreater(lines.get(1).timeMax,
+          lines.get(0).timeMax);
+
+      final long[] count = new long[1];
+      LogParser.parseLogPoints(logFile,
+          (feLastImprovement, feMax, timeLastImprovement,
+              timeMax, improvements, fMin,
+              isImprovement) -> ++count[0],
+          null);
+      Assert.assertEquals(2L, count[0]);
+    }
+  }
+
+  /**
+   * Make sure that the name of the log file must match the
+   * compression setting
+   *
+   * @throws IOException
+   *           if i/o fails
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 100000)
+  public void testCompressedLogName() throws IOException {
+    try (final TempDir dir = new TempDir()) {
+      final BlackBoxProcessBuilder<boolean[],
+          boolean[]> builder = Example.problem();
+      builder.setLogPath(dir.getPath().resolve("log.txt")); //$NON-NLS-1$
+      builder.setCompressLog(true);
+      try (final IBlackBoxProcess<boolean[], boolean[]> p =
+          builder.get()) {
+        Assert.fail("Uncompressed log name accepted."); //$NON-NLS-1$
+      } catch (@SuppressWarnings("unused") final IllegalArgumentException iae) {
+        // expected
+      }
+
+      builder.setLogPath(dir.getPath()
+          .resolve("log" + LogFormat.COMPRESSED_FILE_SUFFIX)); //$NON-NLS-1$
+      builder.setCompressLog(false);
+      try (final IBlackBoxProcess<boolean[], boolean[]> p =
+          builder.get()) {
+        Assert.fail("Compressed log name accepted."); //$NON-NLS-1$
+      } catch (@SuppressWarnings("unused") final IllegalArgumentException iae) {
+        // expected
+      }
+    }
+  }
 }
@@ -1,6 +1,8 @@
 package aitoa.utils.math;
 
+import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Random;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -291,4 +293,83 @@ public class StatisticsTest {
                 -0.5e200d, -0.5e100d, -0.5e200d }),
         0d);
   }
+
+  /**
+   * test that computing several quantiles at once via selection
+   * yields the same results as computing them one by one on
+   * sorted data
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 100000)
+  public void testQuantilesBySelection() {
+    final double[] ps = { 0d, 0.05d,
+        Statistics.GAUSSIAN_QUANTILE_159, 0.25d, 0.5d, 0.75d,
+        Statistics.GAUSSIAN_QUANTILE_841, 0.95d, 1d };
+    final Random random = new Random();
+
+    for (int length = 1; length < 1000;
+        length += 1 + random.nextInt(length)) {
+      final int range = 1 + random.nextInt(length << 1);
+
+      final long[] longs = new long[length];
+      final double[] doubles = new double[length];
+      for (int i = length; (--i) >= 0;) {
+        longs[i] = random.nextInt(range) - (range >>> 1);
+        doubles[i] = longs[i] * 0.37d;
+      }
+      final long[] sortedLongs = longs.clone();
+      Arrays.sort(sortedLongs);
+      final double[] sortedDoubles = doubles.clone();
+      Arrays.sort(sortedDoubles);
+
+      final Number[] ql = Statistics.quantiles(ps, longs);
+      final Number[] qd = Statistics.quantiles(ps, doubles);
+      for (int i = ps.length; (--i) >= 0;) {
+        Assert.assertEquals(
+            Statistics.quantile(ps[i], sortedLongs), ql[i]);
+        Assert.assertEquals(
+            Statistics.quantile(ps[i], sortedDoubles), qd[i]);
+      }
+
+      Arrays.sort(longs);
+      Assert.assertArrayEquals(sortedLongs, longs);
+      Arrays.sort(doubles);
+      Assert.assertArrayEquals(sortedDoubles, doubles, 0d);
+    }
+  }
+
+  /**
+   * test that the sum of long values is exact, even if it
+   * overflows
+   */
+  @SuppressWarnings("static-method")
+  @Test(timeout = 100000)
+  public void testSumLongs() {
+    final Random random = new Random();
+    for (int n = 0; n < 100; n++) {
+      final long[] data = new long[1 + random.nextInt(100)];
+      BigInteger expected = BigInteger.ZERO;
+      for (int i = data.length; (--i) >= 0;) {
+        data[i] = (random.nextInt(3) <= 0) ? random.nextInt()
+            : (random.nextBoolean() ? (random.nextLong() >> 1)
+                : random.nextLong());
+        expected = expected.add(BigInteger.valueOf(data[i]));
+      }
+      final Number sum = Statistics.sum(data);
+      if (expected.bitLength() < Long.SIZE) {
+        Assert.assertEquals(Long.valueOf(expected.longValue()),
+            sum);
+      } else {
+        Assert.assertEquals(expected, sum);
+      }
+    }
+
+    Assert.assertEquals(
+        BigInteger.valueOf(Long.MIN_VALUE).shiftLeft(1),
+        Statistics.sum(
+            new long[] { Long.MIN_VALUE, Long.MIN_VALUE }));
+    Assert.assertEquals(Long.valueOf(Long.MAX_VALUE),
+        Statistics.sum(new long[] { Long.MAX_VALUE,
+            Long.MAX_VALUE, Long.MIN_VALUE, 1L }));
+  }
 }